@@ -0,0 +1,59 @@
+package es.wrapitup.wrapitup_planner;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import es.wrapitup.wrapitup_planner.model.Note;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    // Every @Cache region needs an entry here: missing regions fail startup instead of getting an unbounded cache
+    public static final List<String> REGIONS = List.of(
+            UserModel.class.getName(),
+            Note.class.getName(),
+            Note.class.getName() + ".sharedWith");
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${hibernate.l2-cache.max-entries:10000}") long maxEntries,
+            @Value("${hibernate.l2-cache.ttl-seconds:600}") long ttlSeconds) {
+        return properties -> {
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Hibernate closes the manager with the session factory, so each factory gets its own
+            properties.put(ConfigSettings.CACHE_MANAGER, buildCacheManager(maxEntries, Duration.ofSeconds(ttlSeconds)));
+        };
+    }
+
+    private static CacheManager buildCacheManager(long maxEntries, Duration ttl) {
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("wrapitup-hibernate"), HibernateCacheConfig.class.getClassLoader());
+
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+            // Hibernate stores immutable disassembled state, so copying entries on every access buys nothing
+            configuration.setStoreByValue(false);
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+}
@@ -0,0 +1,204 @@
+package es.wrapitup.wrapitup_planner.controller;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import es.wrapitup.wrapitup_planner.dto.AiNoteJobDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteDTO;
+import es.wrapitup.wrapitup_planner.model.NoteCategory;
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import es.wrapitup.wrapitup_planner.service.AiNoteJobService;
+import es.wrapitup.wrapitup_planner.service.AiNoteProgressListener;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/v1/notes/ai")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:9876"})
+public class AiNoteJobRestController {
+
+    private static final long STREAM_TIMEOUT_MILLIS = 5 * 60 * 1000L;
+
+    private final AiNoteJobService aiNoteJobService;
+
+    public AiNoteJobRestController(AiNoteJobService aiNoteJobService) {
+        this.aiNoteJobService = aiNoteJobService;
+    }
+
+    @PostMapping(value = "/jobs", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submitNoteJob(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false) String visibility,
+            @RequestParam(required = false) String category,
+            HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        String username = principal != null ? principal.getName() : null;
+
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("You must log in to create a note"));
+        }
+
+        try {
+            NoteVisibility visibilityValue = parseVisibility(visibility);
+            NoteCategory categoryValue = parseCategory(category);
+            AiNoteJobDTO job = aiNoteJobService.submitNoteJob(file, username, visibilityValue, categoryValue);
+            URI location = ServletUriComponentsBuilder
+                    .fromCurrentRequest()
+                    .path("/{id}")
+                    .buildAndExpand(job.getId())
+                    .toUri();
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .location(location)
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable Long jobId, HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        String username = principal != null ? principal.getName() : null;
+
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("You must log in to view this job"));
+        }
+
+        try {
+            Optional<AiNoteJobDTO> job = aiNoteJobService.findJob(jobId, username);
+            if (job.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Job not found"));
+            }
+            return ResponseEntity.ok(job.get());
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/stream", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNote(
+            @RequestPart("file") MultipartFile file,
+            @RequestParam(required = false) String visibility,
+            @RequestParam(required = false) String category,
+            HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        String username = principal != null ? principal.getName() : null;
+
+        if (username == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "You must log in to create a note");
+        }
+
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MILLIS);
+        try {
+            NoteVisibility visibilityValue = parseVisibility(visibility);
+            NoteCategory categoryValue = parseCategory(category);
+            aiNoteJobService.submitNoteJob(file, username, visibilityValue, categoryValue, new SseProgressListener(emitter));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (SecurityException e) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+        return emitter;
+    }
+
+    static class SseProgressListener implements AiNoteProgressListener {
+        private final SseEmitter emitter;
+
+        SseProgressListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onQueued(AiNoteJobDTO job) {
+            send("queued", job);
+        }
+
+        @Override
+        public void onExtracted(int characters) {
+            send("extracted", Map.of("characters", characters));
+        }
+
+        @Override
+        public void onToken(String delta) {
+            send("token", delta);
+        }
+
+        @Override
+        public void onSaved(NoteDTO note) {
+            send("saved", note);
+            emitter.complete();
+        }
+
+        @Override
+        public void onFailed(String message) {
+            send("failed", new ErrorResponse(message));
+            emitter.complete();
+        }
+
+        // The job keeps running and saves the note even if the client goes away
+        private void send(String name, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    static class ErrorResponse {
+        private String message;
+
+        public ErrorResponse(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private NoteVisibility parseVisibility(String visibility) {
+        if (visibility == null || visibility.isBlank()) {
+            return null;
+        }
+        return NoteVisibility.valueOf(visibility.toUpperCase());
+    }
+
+    private NoteCategory parseCategory(String category) {
+        if (category == null || category.isBlank()) {
+            return null;
+        }
+        return NoteCategory.valueOf(category.toUpperCase());
+    }
+}
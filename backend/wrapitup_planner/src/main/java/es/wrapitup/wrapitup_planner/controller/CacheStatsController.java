@@ -0,0 +1,74 @@
+package es.wrapitup.wrapitup_planner.controller;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.ResolvedUsers;
+import es.wrapitup.wrapitup_planner.service.EntityCacheStatsService;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/v1/admin/cache-stats")
+@CrossOrigin(origins = {"http://localhost:4200", "http://localhost:9876"})
+public class CacheStatsController {
+
+    private final EntityCacheStatsService entityCacheStatsService;
+    private final UserRepository userRepository;
+
+    public CacheStatsController(EntityCacheStatsService entityCacheStatsService, UserRepository userRepository) {
+        this.entityCacheStatsService = entityCacheStatsService;
+        this.userRepository = userRepository;
+    }
+
+    private boolean isAdmin(String username) {
+        if (username == null) {
+            return false;
+        }
+
+        return ResolvedUsers.findByUsername(username, userRepository)
+                .map(user -> user.getRoles() != null && user.getRoles().contains("ADMIN"))
+                .orElse(false);
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getCacheStats(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        String username = principal != null ? principal.getName() : null;
+
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("You must log in to view cache statistics"));
+        }
+
+        if (!isAdmin(username)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse("Only admins can view cache statistics"));
+        }
+
+        return ResponseEntity.ok(new CacheStatsResponse(
+                entityCacheStatsService.isEnabled(), entityCacheStatsService.getRegionStats()));
+    }
+
+    record CacheStatsResponse(boolean statisticsEnabled, List<EntityCacheStatsService.RegionStats> regions) {
+    }
+
+    static class ErrorResponse {
+        private String message;
+
+        public ErrorResponse(String message) {
+            this.message = message;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
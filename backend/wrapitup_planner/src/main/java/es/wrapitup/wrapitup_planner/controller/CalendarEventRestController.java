@@ -3,6 +3,7 @@ package es.wrapitup.wrapitup_planner.controller;
 import java.net.URI;
 import java.security.Principal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
@@ -127,6 +128,58 @@ public class CalendarEventRestController {
         }
     }
     
+    // A single occurrence of a recurring event, identified by the start its rule gives it
+    @PutMapping("/{id}/occurrence")
+    public ResponseEntity<?> updateOccurrence(@PathVariable Long id, @RequestParam String start,
+            @RequestBody CalendarEventDTO eventDTO, HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        String username = principal != null ? principal.getName() : null;
+        
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("You must log in to update events"));
+        }
+        
+        try {
+            CalendarEventDTO updated = eventService.updateOccurrence(id, LocalDateTime.parse(start), eventDTO, username);
+            return ResponseEntity.ok(updated);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Invalid date format. Use ISO format (YYYY-MM-DDTHH:mm:ss)"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
+    @DeleteMapping("/{id}/occurrence")
+    public ResponseEntity<?> cancelOccurrence(@PathVariable Long id, @RequestParam String start, HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        String username = principal != null ? principal.getName() : null;
+        
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("You must log in to delete events"));
+        }
+        
+        try {
+            eventService.cancelOccurrence(id, LocalDateTime.parse(start), username);
+            return ResponseEntity.ok().build();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Invalid date format. Use ISO format (YYYY-MM-DDTHH:mm:ss)"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+    
     static class ErrorResponse {
         private String message;
         
@@ -2,6 +2,7 @@ package es.wrapitup.wrapitup_planner.controller;
 
 import java.security.Principal;
 import java.time.LocalDate;
+import java.time.YearMonth;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 
 import es.wrapitup.wrapitup_planner.dto.CalendarDayDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarMonthDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarRangeDTO;
 import es.wrapitup.wrapitup_planner.service.CalendarService;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -50,6 +52,53 @@ public class CalendarViewController {
         }
     }
     
+    // Several consecutive months in one response, e.g. /months?start=2026-01&count=6
+    @GetMapping("/months")
+    public ResponseEntity<?> getRangeView(
+            @RequestParam String start,
+            @RequestParam(defaultValue = "3") int count,
+            HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        String username = principal != null ? principal.getName() : null;
+        
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("You must log in to view calendar"));
+        }
+        
+        try {
+            CalendarRangeDTO rangeView = calendarService.getRangeView(username, YearMonth.parse(start), count);
+            return ResponseEntity.ok(rangeView);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Invalid date parameters"));
+        }
+    }
+    
+    @GetMapping("/year/{year}")
+    public ResponseEntity<?> getYearView(
+            @PathVariable int year,
+            HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        String username = principal != null ? principal.getName() : null;
+        
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("You must log in to view calendar"));
+        }
+        
+        try {
+            CalendarRangeDTO yearView = calendarService.getRangeView(username, YearMonth.of(year, 1), 12);
+            return ResponseEntity.ok(yearView);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse("Invalid date parameters"));
+        }
+    }
+    
     @GetMapping("/day/{year}/{month}/{day}")
     public ResponseEntity<?> getDayView(
             @PathVariable int year,
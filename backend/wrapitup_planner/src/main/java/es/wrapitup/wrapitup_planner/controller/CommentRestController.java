@@ -39,6 +39,7 @@ public class CommentRestController {
             @PathVariable Long noteId, 
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest request) {
         Principal principal = request.getUserPrincipal();
         String username = principal != null ? principal.getName() : null;
@@ -52,6 +53,16 @@ public class CommentRestController {
                     .body(new ErrorResponse("You do not have permission to view comments"));
         }
         
+        // Any cursor parameter (empty for the first page) switches to keyset pagination
+        if (cursor != null) {
+            try {
+                return ResponseEntity.ok(commentService.getCommentsFeed(noteId, cursor, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ErrorResponse(e.getMessage()));
+            }
+        }
+        
         Pageable pageable = PageRequest.of(page, size);
         Page<CommentDTO> comments = commentService.getCommentsByNoteIdPaginated(noteId, pageable);
         return ResponseEntity.ok(comments);
@@ -15,10 +15,14 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.multipart.MultipartFile;
 
 import es.wrapitup.wrapitup_planner.dto.NoteDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteShareRequestDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteShareResultDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteSummaryDTO;
 import es.wrapitup.wrapitup_planner.dto.QuizResultDTO;
 import es.wrapitup.wrapitup_planner.model.NoteCategory;
 import es.wrapitup.wrapitup_planner.model.NoteVisibility;
 import es.wrapitup.wrapitup_planner.service.NoteService;
+import es.wrapitup.wrapitup_planner.service.NoteSharingService;
 import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
@@ -27,9 +31,11 @@ import jakarta.servlet.http.HttpServletRequest;
 public class NoteRestController {
     
     private final NoteService noteService;
+    private final NoteSharingService noteSharingService;
     
-    public NoteRestController(NoteService noteService) {
+    public NoteRestController(NoteService noteService, NoteSharingService noteSharingService) {
         this.noteService = noteService;
+        this.noteSharingService = noteSharingService;
     }
 
     @GetMapping("/{id}")
@@ -68,6 +74,7 @@ public class NoteRestController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest request) {
         Principal principal = request.getUserPrincipal();
         String username = principal != null ? principal.getName() : null;
@@ -78,9 +85,20 @@ public class NoteRestController {
         }
         
         try {
+            // Any cursor parameter (empty for the first page) switches to keyset pagination
+            if (cursor != null) {
+                if (search != null && !search.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                            .body(new ErrorResponse("Search results are ranked and paged by page number"));
+                }
+                return ResponseEntity.ok(noteService.findRecentNotesFeed(username, cursor, size, category));
+            }
             Pageable pageable = PageRequest.of(page, size);
-            Page<NoteDTO> recentNotes = noteService.findRecentNotesByUser(username, pageable, category, search);
+            Page<NoteSummaryDTO> recentNotes = noteService.findRecentNotesByUser(username, pageable, category, search);
             return ResponseEntity.ok(recentNotes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(new ErrorResponse(e.getMessage()));
@@ -92,6 +110,7 @@ public class NoteRestController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
             HttpServletRequest request) {
         Principal principal = request.getUserPrincipal();
         String username = principal != null ? principal.getName() : null;
@@ -102,9 +121,19 @@ public class NoteRestController {
         }
         
         try {
+            if (cursor != null) {
+                if (search != null && !search.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                            .body(new ErrorResponse("Search results are ranked and paged by page number"));
+                }
+                return ResponseEntity.ok(noteService.findSharedNotesFeed(username, cursor, size));
+            }
             Pageable pageable = PageRequest.of(page, size);
-            Page<NoteDTO> sharedNotes = noteService.findNotesSharedWithUser(username, pageable, search);
+            Page<NoteSummaryDTO> sharedNotes = noteService.findNotesSharedWithUser(username, pageable, search);
             return ResponseEntity.ok(sharedNotes);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
         } catch (SecurityException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN)
                     .body(new ErrorResponse(e.getMessage()));
@@ -254,6 +283,43 @@ public class NoteRestController {
         return ResponseEntity.ok(updated.get());
     }
 
+    @PostMapping("/{id}/shares")
+    public ResponseEntity<?> shareNoteWithUsernames(@PathVariable Long id, @RequestBody NoteShareRequestDTO request, HttpServletRequest httpRequest) {
+        return changeShares(id, request, httpRequest, true);
+    }
+
+    @PostMapping("/{id}/shares/remove")
+    public ResponseEntity<?> unshareNoteWithUsernames(@PathVariable Long id, @RequestBody NoteShareRequestDTO request, HttpServletRequest httpRequest) {
+        return changeShares(id, request, httpRequest, false);
+    }
+
+    private ResponseEntity<?> changeShares(Long id, NoteShareRequestDTO request, HttpServletRequest httpRequest, boolean share) {
+        Principal principal = httpRequest.getUserPrincipal();
+        String ownerUsername = principal != null ? principal.getName() : null;
+
+        if (ownerUsername == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new ErrorResponse("You must log in to share notes"));
+        }
+
+        try {
+            Optional<NoteShareResultDTO> result = share
+                    ? noteSharingService.shareWithUsernames(id, request.getUsernames(), ownerUsername)
+                    : noteSharingService.unshareWithUsernames(id, request.getUsernames(), ownerUsername);
+            if (result.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(new ErrorResponse("Note not found"));
+            }
+            return ResponseEntity.ok(result.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ErrorResponse(e.getMessage()));
+        } catch (SecurityException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse(e.getMessage()));
+        }
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteNote(@PathVariable Long id, HttpServletRequest request) {
         Principal principal = request.getUserPrincipal();
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RestController;
 import es.wrapitup.wrapitup_planner.dto.CommentDTO;
 import es.wrapitup.wrapitup_planner.model.UserModel;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.ResolvedUsers;
 import es.wrapitup.wrapitup_planner.service.CommentService;
 import jakarta.servlet.http.HttpServletRequest;
 
@@ -40,7 +41,7 @@ public class ReportedCommentsController {
             return false;
         }
         
-        return userRepository.findByUsername(username)
+        return ResolvedUsers.findByUsername(username, userRepository)
                 .map(user -> user.getRoles() != null && user.getRoles().contains("ADMIN"))
                 .orElse(false);
     }
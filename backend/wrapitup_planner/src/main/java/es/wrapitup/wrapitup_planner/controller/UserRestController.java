@@ -2,12 +2,12 @@ package es.wrapitup.wrapitup_planner.controller;
 
 import java.io.IOException;
 import java.security.Principal;
-import java.sql.Blob;
-import java.sql.SQLException;
+import java.time.Duration;
+import java.time.ZoneId;
 import java.util.Optional;
 
-import javax.sql.rowset.serial.SerialBlob;
-
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -19,9 +19,13 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import es.wrapitup.wrapitup_planner.dto.StoredImageDTO;
 import es.wrapitup.wrapitup_planner.dto.UserModelDTO;
+import es.wrapitup.wrapitup_planner.service.ImageStore;
 import es.wrapitup.wrapitup_planner.service.UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -31,9 +35,11 @@ import jakarta.servlet.http.HttpServletResponse;
 public class UserRestController {
     
     private final UserService userService;
+    private final ImageStore imageStore;
     
-    public UserRestController(UserService userService) {
+    public UserRestController(UserService userService, ImageStore imageStore) {
         this.userService = userService;
+        this.imageStore = imageStore;
     }
 
 
@@ -162,44 +168,55 @@ public class UserRestController {
         }
 
         try {
-            // Convert file to Blob
-            byte[] bytes = file.getBytes();
-            Blob blob = new SerialBlob(bytes);
-
-            // Generate URL for the image
-            String imageUrl = "/api/v1/users/profile-image/" + loggedUser.getId();
-
-            // Update user's image
-            UserModelDTO updatedUserDTO = new UserModelDTO();
-            updatedUserDTO.setImage(imageUrl);
-            UserModelDTO updatedUser = userService.updateUserWithBlob(loggedUser.getId(), updatedUserDTO, blob);
+            UserModelDTO updatedUser = userService.updateProfileImage(loggedUser.getId(), file);
 
             return ResponseEntity.ok(updatedUser);
 
-        } catch (IOException | SQLException e) {
+        } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to upload image: " + e.getMessage());
         }
     }
 
+    // Conditional requests are answered from the image metadata alone; only a 200 reads the blob,
+    // and it is streamed to the client rather than copied into memory
     @GetMapping("/profile-image/{userId}")
-    public ResponseEntity<byte[]> getProfileImage(@PathVariable Long userId) {
-        try {
-            Blob imageBlob = userService.getProfileImage(userId);
-            
-            if (imageBlob == null) {
-                return ResponseEntity.notFound().build();
-            }
+    public ResponseEntity<StreamingResponseBody> getProfileImage(@PathVariable Long userId,
+            @RequestParam(value = "v", required = false) String version, WebRequest webRequest,
+            HttpServletResponse response) {
+        Optional<StoredImageDTO> image = imageStore.findProfileImage(userId);
+        if (image.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
 
-            byte[] imageBytes = imageBlob.getBytes(1, (int) imageBlob.length());
-            
-            return ResponseEntity.ok()
-                    .contentType(MediaType.IMAGE_JPEG) 
-                    .body(imageBytes);
+        StoredImageDTO stored = image.get();
+        String etag = "\"" + stored.getHash() + "\"";
+        long lastModified = stored.getUpdatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        // A versioned URL always names the same bytes; bare or outdated ones have to revalidate
+        CacheControl cacheControl = ImageStore.versionOf(stored.getHash()).equals(version)
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
 
-        } catch (SQLException e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(cacheControl).build();
         }
+
+        StreamingResponseBody body = out -> {
+            if (!imageStore.writeTo(stored.getHash(), out)) {
+                // The image was replaced and its blob deleted after the metadata was read. Nothing has been
+                // written yet, so the cacheable 200 headers are dropped for an uncached 404 instead.
+                response.reset();
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(stored.getContentType()))
+                .contentLength(stored.getSize())
+                .eTag(etag)
+                .lastModified(lastModified)
+                .cacheControl(cacheControl)
+                .body(body);
     }
 
     @PostMapping("/{userId}/ban")
@@ -0,0 +1,17 @@
+package es.wrapitup.wrapitup_planner.dto;
+
+import es.wrapitup.wrapitup_planner.model.AiNoteJobStatus;
+import java.time.LocalDateTime;
+import lombok.Data;
+
+@Data
+public class AiNoteJobDTO {
+    private Long id;
+    private AiNoteJobStatus status;
+    private String originalFilename;
+    private Long noteId;
+    private NoteDTO note;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package es.wrapitup.wrapitup_planner.dto;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import es.wrapitup.wrapitup_planner.model.AiNoteJob;
+
+@Mapper(componentModel = "spring")
+public interface AiNoteJobMapper {
+
+    @Mapping(target = "note", ignore = true)
+    AiNoteJobDTO toDto(AiNoteJob job);
+}
@@ -15,6 +15,9 @@ public class CalendarEventDTO {
     private EventColor color;
     private String colorHex;
     private Boolean allDay;
+    private String recurrenceRule;
+    // Start the rule gives this occurrence of a recurring event, used to edit or cancel just this one
+    private LocalDateTime occurrenceStart;
     private LocalDateTime createdAt;
     private LocalDateTime lastModified;
     
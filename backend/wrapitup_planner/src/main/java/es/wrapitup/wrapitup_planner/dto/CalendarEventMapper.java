@@ -9,10 +9,12 @@ public interface CalendarEventMapper {
     
     @Mapping(source = "user.id", target = "userId")
     @Mapping(target = "colorHex", expression = "java(event.getColor() != null ? event.getColor().getHexCode() : null)")
+    @Mapping(target = "occurrenceStart", ignore = true)
     CalendarEventDTO toDto(CalendarEvent event);
     
     @Mapping(source = "userId", target = "user.id")
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "lastModified", ignore = true)
+    @Mapping(target = "seriesEnd", ignore = true)
     CalendarEvent toEntity(CalendarEventDTO dto);
 }
@@ -0,0 +1,17 @@
+package es.wrapitup.wrapitup_planner.dto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarRangeDTO {
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private List<CalendarMonthDTO> months = new ArrayList<>();
+}
@@ -0,0 +1,17 @@
+package es.wrapitup.wrapitup_planner.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One page of a keyset feed; nextCursor is passed back as ?cursor= to read the following page
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> content = new ArrayList<>();
+    private String nextCursor;
+    private boolean last;
+}
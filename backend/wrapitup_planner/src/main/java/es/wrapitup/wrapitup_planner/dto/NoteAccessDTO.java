@@ -0,0 +1,16 @@
+package es.wrapitup.wrapitup_planner.dto;
+
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// What a permission check needs to know about a note for one user, read in a single query
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteAccessDTO {
+    private NoteVisibility visibility;
+    private boolean owner;
+    private boolean shared;
+}
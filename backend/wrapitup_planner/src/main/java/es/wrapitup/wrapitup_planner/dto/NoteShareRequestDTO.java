@@ -0,0 +1,9 @@
+package es.wrapitup.wrapitup_planner.dto;
+
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class NoteShareRequestDTO {
+    private List<String> usernames;
+}
@@ -0,0 +1,19 @@
+package es.wrapitup.wrapitup_planner.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of a bulk share or unshare: changed users, users already in the requested state, and unknown usernames
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteShareResultDTO {
+    private Long noteId;
+    private List<String> changed = new ArrayList<>();
+    private List<String> unchanged = new ArrayList<>();
+    private List<String> notFound = new ArrayList<>();
+    private long sharedWithCount;
+}
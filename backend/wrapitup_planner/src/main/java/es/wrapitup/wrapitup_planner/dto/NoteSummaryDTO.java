@@ -0,0 +1,23 @@
+package es.wrapitup.wrapitup_planner.dto;
+
+import es.wrapitup.wrapitup_planner.model.NoteCategory;
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// List view of a note, built directly by the repository queries; full bodies come from NoteDTO
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NoteSummaryDTO {
+    private Long id;
+    private String title;
+    private NoteCategory category;
+    private NoteVisibility visibility;
+    private LocalDateTime lastModified;
+    private Long userId;
+    private long commentCount;
+    private long sharedWithCount;
+}
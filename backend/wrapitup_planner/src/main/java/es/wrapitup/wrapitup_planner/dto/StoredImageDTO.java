@@ -0,0 +1,17 @@
+package es.wrapitup.wrapitup_planner.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Everything needed to answer an image request except the bytes themselves
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredImageDTO {
+    private String hash;
+    private String contentType;
+    private long size;
+    private LocalDateTime updatedAt;
+}
@@ -11,7 +11,6 @@ public interface UserMapper {
     UserModelDTO toDto(UserModel userModel);
     
     @Mapping(target = "notes", ignore = true)
-    @Mapping(target = "profilePic", ignore = true)
     @Mapping(target = "calendarEvents", ignore = true)
     @Mapping(target = "calendarTasks", ignore = true)
     UserModel toEntity(UserModelDTO dto);
@@ -0,0 +1,74 @@
+package es.wrapitup.wrapitup_planner.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(name = "ai_note_jobs", indexes = {
+    @Index(name = "idx_ai_note_job_status", columnList = "status")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class AiNoteJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "id_user", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private UserModel user;
+
+    @Column(name = "original_filename")
+    private String originalFilename;
+
+    @Enumerated(EnumType.STRING)
+    private NoteVisibility visibility;
+
+    @Enumerated(EnumType.STRING)
+    private NoteCategory category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AiNoteJobStatus status;
+
+    // Plain id instead of a relation so deleting the note does not touch the job history
+    @Column(name = "note_id")
+    private Long noteId;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public AiNoteJob(UserModel user, String originalFilename, NoteVisibility visibility, NoteCategory category) {
+        this.user = user;
+        this.originalFilename = originalFilename;
+        this.visibility = visibility;
+        this.category = category;
+        this.status = AiNoteJobStatus.QUEUED;
+        this.createdAt = LocalDateTime.now();
+        this.updatedAt = this.createdAt;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (status == null) {
+            status = AiNoteJobStatus.QUEUED;
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package es.wrapitup.wrapitup_planner.model;
+
+public enum AiNoteJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
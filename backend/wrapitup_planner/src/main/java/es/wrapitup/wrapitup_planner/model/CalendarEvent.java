@@ -1,20 +1,24 @@
 package es.wrapitup.wrapitup_planner.model;
 
 import jakarta.persistence.*;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "calendar_events")
+@Table(name = "calendar_events", indexes = {
+    @Index(name = "idx_calendar_event_user_series", columnList = "id_user, start_date, series_end")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class CalendarEvent {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calendar_events_seq")
+    @SequenceGenerator(name = "calendar_events_seq", sequenceName = "calendar_events_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -40,6 +44,14 @@ public class CalendarEvent {
     @Column(name = "all_day", nullable = false)
     private Boolean allDay = false;
     
+    // RRULE subset parsed by RecurrenceRule; null for one-off events
+    @Column(name = "recurrence_rule")
+    private String recurrenceRule;
+    
+    // End of the last occurrence (endDate for one-off events), so range queries find a series with one interval check
+    @Column(name = "series_end", nullable = false)
+    private LocalDateTime seriesEnd;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -54,6 +66,7 @@ public class CalendarEvent {
         this.endDate = endDate;
         this.color = color;
         this.allDay = allDay != null ? allDay : false;
+        this.seriesEnd = endDate;
         this.createdAt = LocalDateTime.now();
         this.lastModified = LocalDateTime.now();
     }
@@ -66,5 +79,23 @@ public class CalendarEvent {
         if (lastModified == null) {
             lastModified = LocalDateTime.now();
         }
+        updateSeriesEnd();
+    }
+    
+    @PreUpdate
+    protected void updateSeriesEnd() {
+        seriesEnd = isRecurring() ? getRule().seriesEnd(startDate, getLength()) : endDate;
+    }
+    
+    public boolean isRecurring() {
+        return recurrenceRule != null;
+    }
+    
+    public RecurrenceRule getRule() {
+        return RecurrenceRule.parse(recurrenceRule);
+    }
+    
+    public Duration getLength() {
+        return Duration.between(startDate, endDate);
     }
 }
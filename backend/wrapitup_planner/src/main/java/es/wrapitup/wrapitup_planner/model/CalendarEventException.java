@@ -0,0 +1,57 @@
+package es.wrapitup.wrapitup_planner.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+// One edited or cancelled occurrence of a recurring event, keyed by the start the rule gives it.
+// Null overrides keep the value of the series.
+@Entity
+@Table(name = "calendar_event_exceptions", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_calendar_event_exception_occurrence", columnNames = {"event_id", "occurrence_start"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class CalendarEventException {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calendar_event_exceptions_seq")
+    @SequenceGenerator(name = "calendar_event_exceptions_seq", sequenceName = "calendar_event_exceptions_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private CalendarEvent event;
+
+    @Column(name = "occurrence_start", nullable = false)
+    private LocalDateTime occurrenceStart;
+
+    @Column(nullable = false)
+    private Boolean cancelled = false;
+
+    @Column(length = 100)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "start_date")
+    private LocalDateTime startDate;
+
+    @Column(name = "end_date")
+    private LocalDateTime endDate;
+
+    @Enumerated(EnumType.STRING)
+    private EventColor color;
+
+    public CalendarEventException(CalendarEvent event, LocalDateTime occurrenceStart) {
+        this.event = event;
+        this.occurrenceStart = occurrenceStart;
+    }
+}
@@ -8,14 +8,17 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "calendar_tasks")
+@Table(name = "calendar_tasks", indexes = {
+    @Index(name = "idx_calendar_task_user_date", columnList = "id_user, task_date, completed")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class CalendarTask {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "calendar_tasks_seq")
+    @SequenceGenerator(name = "calendar_tasks_seq", sequenceName = "calendar_tasks_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne
@@ -10,10 +10,15 @@ import lombok.NoArgsConstructor;
 @Getter
 @Setter
 @NoArgsConstructor
+@Table(indexes = {
+    @Index(name = "idx_comment_note_created", columnList = "note_id, created_at, id"),
+    @Index(name = "idx_comment_reported_created", columnList = "is_reported, created_at")
+})
 public class Comment {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, columnDefinition = "TEXT")
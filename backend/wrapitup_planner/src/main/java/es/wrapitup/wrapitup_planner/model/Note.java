@@ -9,14 +9,22 @@ import java.util.Set;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
+@Table(indexes = {
+    @Index(name = "idx_note_user_modified", columnList = "id_user, last_modified, id"),
+    @Index(name = "idx_note_user_category_modified", columnList = "id_user, category, last_modified, id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Note {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "note_seq")
+    @SequenceGenerator(name = "note_seq", sequenceName = "note_seq", allocationSize = 50)
     private Long id;
     
     @Column(length = 100)
@@ -46,10 +54,12 @@ public class Note {
     private UserModel user;
     
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @JoinTable(
         name = "note_shared_users",
         joinColumns = @JoinColumn(name = "note_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "idx_note_shared_users_user", columnList = "user_id, note_id")
     )
     private Set<UserModel> sharedWith = new HashSet<>();
     
@@ -0,0 +1,277 @@
+package es.wrapitup.wrapitup_planner.model;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// The subset of RFC 5545 RRULE the calendar supports: FREQ=DAILY|WEEKLY|MONTHLY|YEARLY with optional
+// INTERVAL, COUNT or UNTIL, and BYDAY for weekly rules, e.g. "FREQ=WEEKLY;BYDAY=MO,WE;COUNT=20".
+// Occurrences keep the time of day of the first one; monthly and yearly rules clamp to the end of
+// shorter months instead of skipping them.
+public final class RecurrenceRule {
+
+    public enum Frequency {
+        DAILY(ChronoUnit.DAYS), WEEKLY(ChronoUnit.WEEKS), MONTHLY(ChronoUnit.MONTHS), YEARLY(ChronoUnit.YEARS);
+
+        private final ChronoUnit unit;
+
+        Frequency(ChronoUnit unit) {
+            this.unit = unit;
+        }
+    }
+
+    // Series without COUNT or UNTIL are stored with this end, so every series is a closed interval for range queries
+    public static final LocalDateTime OPEN_END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    public static final int MAX_INTERVAL = 1000;
+    public static final int MAX_COUNT = 10000;
+    public static final int MAX_OCCURRENCES_PER_WINDOW = 5000;
+
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Integer count;
+    private final LocalDateTime until;
+    private final List<DayOfWeek> byDay;
+
+    private RecurrenceRule(Frequency frequency, int interval, Integer count, LocalDateTime until, List<DayOfWeek> byDay) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.count = count;
+        this.until = until;
+        this.byDay = byDay;
+    }
+
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new IllegalArgumentException("Recurrence rule is empty");
+        }
+        String body = rule.strip();
+        if (body.regionMatches(true, 0, "RRULE:", 0, 6)) {
+            body = body.substring(6);
+        }
+
+        Frequency frequency = null;
+        int interval = 1;
+        Integer count = null;
+        LocalDateTime until = null;
+        TreeSet<DayOfWeek> byDay = new TreeSet<>();
+        for (String part : body.split(";")) {
+            String[] keyValue = part.split("=", 2);
+            if (keyValue.length != 2) {
+                throw invalid(rule);
+            }
+            String value = keyValue[1].strip().toUpperCase();
+            switch (keyValue[0].strip().toUpperCase()) {
+                case "FREQ" -> frequency = parseFrequency(value, rule);
+                case "INTERVAL" -> interval = parseBounded(value, MAX_INTERVAL, rule);
+                case "COUNT" -> count = parseBounded(value, MAX_COUNT, rule);
+                case "UNTIL" -> until = parseUntil(value, rule);
+                case "BYDAY" -> {
+                    for (String day : value.split(",")) {
+                        DayOfWeek dayOfWeek = DAYS.get(day.strip());
+                        if (dayOfWeek == null) {
+                            throw invalid(rule);
+                        }
+                        byDay.add(dayOfWeek);
+                    }
+                }
+                default -> throw invalid(rule);
+            }
+        }
+
+        if (frequency == null) {
+            throw new IllegalArgumentException("Recurrence rule needs a FREQ: " + rule);
+        }
+        if (count != null && until != null) {
+            throw new IllegalArgumentException("Recurrence rule cannot have both COUNT and UNTIL: " + rule);
+        }
+        if (!byDay.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new IllegalArgumentException("BYDAY is only supported for weekly rules: " + rule);
+        }
+        return new RecurrenceRule(frequency, interval, count, until, List.copyOf(byDay));
+    }
+
+    // Starts of the occurrences overlapping [windowStart, windowEnd]. Expansion jumps straight to the first
+    // period that can overlap the window, so its cost depends on the visible occurrences, not on the series age.
+    public List<LocalDateTime> occurrencesBetween(LocalDateTime seriesStart, Duration length,
+            LocalDateTime windowStart, LocalDateTime windowEnd) {
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        LocalDateTime lower = windowStart.minus(length);
+        if (windowEnd.isBefore(seriesStart)) {
+            return occurrences;
+        }
+        return byDay.isEmpty()
+                ? expandPeriods(seriesStart, lower, windowEnd, occurrences)
+                : expandWeekdays(seriesStart, lower, windowEnd, occurrences);
+    }
+
+    public boolean isOccurrence(LocalDateTime seriesStart, LocalDateTime start) {
+        return occurrencesBetween(seriesStart, Duration.ZERO, start, start).contains(start);
+    }
+
+    // Upper bound of the end of the last occurrence, or OPEN_END for series that never stop
+    public LocalDateTime seriesEnd(LocalDateTime seriesStart, Duration length) {
+        try {
+            LocalDateTime last = count != null ? startOf(seriesStart, count - 1) : until;
+            if (last == null || !last.isBefore(OPEN_END.minus(length))) {
+                return OPEN_END;
+            }
+            return last.plus(length);
+        } catch (DateTimeException e) {
+            // Large intervals can count past the last supported year
+            return OPEN_END;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval > 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!byDay.isEmpty()) {
+            rule.append(";BYDAY=");
+            for (int i = 0; i < byDay.size(); i++) {
+                rule.append(i > 0 ? "," : "").append(byDay.get(i).name(), 0, 2);
+            }
+        }
+        if (count != null) {
+            rule.append(";COUNT=").append(count);
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_DATE_TIME.format(until));
+        }
+        return rule.toString();
+    }
+
+    private List<LocalDateTime> expandPeriods(LocalDateTime seriesStart, LocalDateTime lower, LocalDateTime windowEnd,
+            List<LocalDateTime> occurrences) {
+        // One period early, because month and year arithmetic clamps short months
+        long k = lower.isAfter(seriesStart)
+                ? Math.max(0, frequency.unit.between(seriesStart, lower) / interval - 1)
+                : 0;
+        for (;; k++) {
+            LocalDateTime start = seriesStart.plus(k * interval, frequency.unit);
+            if (isPastEnd(k, start, windowEnd) || occurrences.size() >= MAX_OCCURRENCES_PER_WINDOW) {
+                return occurrences;
+            }
+            if (!start.isBefore(lower)) {
+                occurrences.add(start);
+            }
+        }
+    }
+
+    private List<LocalDateTime> expandWeekdays(LocalDateTime seriesStart, LocalDateTime lower, LocalDateTime windowEnd,
+            List<LocalDateTime> occurrences) {
+        LocalDateTime firstWeek = weekOf(seriesStart);
+        long week = lower.isAfter(firstWeek)
+                ? Math.max(0, ChronoUnit.WEEKS.between(firstWeek, lower) / interval - 1)
+                : 0;
+        long index = week == 0 ? 0 : firstWeekCount(seriesStart) + (week - 1) * byDay.size();
+        for (;; week++) {
+            LocalDateTime weekStart = firstWeek.plusWeeks(week * interval);
+            for (DayOfWeek day : byDay) {
+                LocalDateTime start = weekStart.plusDays(day.ordinal());
+                if (week == 0 && start.isBefore(seriesStart)) {
+                    continue;
+                }
+                if (isPastEnd(index, start, windowEnd) || occurrences.size() >= MAX_OCCURRENCES_PER_WINDOW) {
+                    return occurrences;
+                }
+                if (!start.isBefore(lower)) {
+                    occurrences.add(start);
+                }
+                index++;
+            }
+        }
+    }
+
+    private boolean isPastEnd(long index, LocalDateTime start, LocalDateTime windowEnd) {
+        return (count != null && index >= count) || (until != null && start.isAfter(until)) || start.isAfter(windowEnd);
+    }
+
+    // Start of the occurrence with the given zero-based index
+    private LocalDateTime startOf(LocalDateTime seriesStart, long index) {
+        if (byDay.isEmpty()) {
+            return seriesStart.plus(index * interval, frequency.unit);
+        }
+        LocalDateTime firstWeek = weekOf(seriesStart);
+        int firstWeekCount = firstWeekCount(seriesStart);
+        if (index < firstWeekCount) {
+            return firstWeek.plusDays(byDay.get(byDay.size() - firstWeekCount + (int) index).ordinal());
+        }
+        long remaining = index - firstWeekCount;
+        long week = 1 + remaining / byDay.size();
+        return firstWeek.plusWeeks(week * interval).plusDays(byDay.get((int) (remaining % byDay.size())).ordinal());
+    }
+
+    private int firstWeekCount(LocalDateTime seriesStart) {
+        LocalDateTime firstWeek = weekOf(seriesStart);
+        int days = 0;
+        for (DayOfWeek day : byDay) {
+            if (!firstWeek.plusDays(day.ordinal()).isBefore(seriesStart)) {
+                days++;
+            }
+        }
+        return days;
+    }
+
+    private static LocalDateTime weekOf(LocalDateTime start) {
+        return start.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static Frequency parseFrequency(String value, String rule) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw invalid(rule);
+        }
+    }
+
+    private static int parseBounded(String value, int max, String rule) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 1 || parsed > max) {
+                throw invalid(rule);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw invalid(rule);
+        }
+    }
+
+    // Times are local like the rest of the calendar, so a trailing Z is accepted and ignored
+    private static LocalDateTime parseUntil(String value, String rule) {
+        String until = value.endsWith("Z") ? value.substring(0, value.length() - 1) : value;
+        try {
+            if (until.length() == 8) {
+                return LocalDate.parse(until, UNTIL_DATE).atTime(LocalTime.MAX.withNano(0));
+            }
+            return LocalDateTime.parse(until, UNTIL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw invalid(rule);
+        }
+    }
+
+    private static IllegalArgumentException invalid(String rule) {
+        return new IllegalArgumentException("Invalid recurrence rule: " + rule);
+    }
+}
@@ -2,18 +2,23 @@ package es.wrapitup.wrapitup_planner.model;
 
 import java.util.List;
 import jakarta.persistence.*;
-import java.sql.Blob;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_user_model_username", columnNames = "username"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class UserModel {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled ids (a table on MySQL) let Hibernate batch inserts, which IDENTITY rules out
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_model_seq")
+    @SequenceGenerator(name = "user_model_seq", sequenceName = "user_model_seq", allocationSize = 50)
     private Long id;
     
     private String username;
@@ -22,9 +27,6 @@ public class UserModel {
     private String password;
     private String image;
     
-    @Lob
-    private Blob profilePic;
-    
     private List<String> roles;
     
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,16 @@
+package es.wrapitup.wrapitup_planner.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import es.wrapitup.wrapitup_planner.model.AiNoteJob;
+import es.wrapitup.wrapitup_planner.model.AiNoteJobStatus;
+
+@Repository
+public interface AiNoteJobRepository extends JpaRepository<AiNoteJob, Long> {
+
+    List<AiNoteJob> findByStatusIn(Collection<AiNoteJobStatus> statuses);
+}
@@ -0,0 +1,14 @@
+package es.wrapitup.wrapitup_planner.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import es.wrapitup.wrapitup_planner.model.AiResultCacheEntry;
+
+@Repository
+public interface AiResultCacheRepository extends JpaRepository<AiResultCacheEntry, Long> {
+
+    Optional<AiResultCacheEntry> findByCacheKey(String cacheKey);
+}
@@ -0,0 +1,30 @@
+package es.wrapitup.wrapitup_planner.repository;
+
+import es.wrapitup.wrapitup_planner.model.CalendarEvent;
+import es.wrapitup.wrapitup_planner.model.CalendarEventException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CalendarEventExceptionRepository extends JpaRepository<CalendarEventException, Long> {
+    
+    // Exceptions of occurrences that started late enough to reach the range, plus those moved into it
+    @Query("SELECT x FROM CalendarEventException x WHERE x.event.id IN :eventIds " +
+           "AND ((x.occurrenceStart >= :earliestStart AND x.occurrenceStart <= :endDate) " +
+           "OR (x.startDate <= :endDate AND x.endDate >= :startDate))")
+    List<CalendarEventException> findForEventsInRange(
+        @Param("eventIds") Collection<Long> eventIds,
+        @Param("earliestStart") LocalDateTime earliestStart,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate
+    );
+    
+    Optional<CalendarEventException> findByEventAndOccurrenceStart(CalendarEvent event, LocalDateTime occurrenceStart);
+    
+    void deleteByEvent(CalendarEvent event);
+}
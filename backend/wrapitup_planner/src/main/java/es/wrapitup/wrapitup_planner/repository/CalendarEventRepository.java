@@ -11,15 +11,29 @@ import java.util.List;
 
 public interface CalendarEventRepository extends JpaRepository<CalendarEvent, Long> {
     
+    // One-off events overlapping the range plus every series that can have an occurrence in it
     @Query("SELECT e FROM CalendarEvent e WHERE e.user.id = :userId " +
-           "AND e.startDate <= :endDate AND e.endDate >= :startDate " +
-           "ORDER BY e.startDate ASC")
+           "AND e.startDate <= :endDate AND e.seriesEnd >= :startDate " +
+           "ORDER BY e.startDate ASC, e.id ASC")
     List<CalendarEvent> findEventsByUserAndDateRange(
         @Param("userId") Long userId,
         @Param("startDate") LocalDateTime startDate,
         @Param("endDate") LocalDateTime endDate
     );
     
+    @Query("SELECT e FROM CalendarEvent e WHERE e.user.id = :userId " +
+           "AND e.startDate <= :endDate AND e.seriesEnd >= :startDate AND e.recurrenceRule IS NOT NULL " +
+           "ORDER BY e.startDate ASC, e.id ASC")
+    List<CalendarEvent> findRecurringByUserAndDateRange(
+        @Param("userId") Long userId,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate
+    );
+    
+    // Everything CalendarCache keeps for one user, in the order range queries return it
+    @Query("SELECT e FROM CalendarEvent e WHERE e.user.id = :userId ORDER BY e.startDate ASC, e.id ASC")
+    List<CalendarEvent> findAllForCalendar(@Param("userId") Long userId);
+    
     List<CalendarEvent> findByUserOrderByStartDateAsc(UserModel user);
     
     List<CalendarEvent> findByUserAndStartDateGreaterThanEqualOrderByStartDateAsc(
@@ -0,0 +1,82 @@
+package es.wrapitup.wrapitup_planner.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import es.wrapitup.wrapitup_planner.model.EventColor;
+
+// Per-day counts for the calendar month grid computed by the database, so drawing a month reads
+// a few small rows per day instead of every event and task of the user
+@Repository
+public class CalendarSummaryJdbcRepository {
+
+    public record EventDay(int totalEvents, List<FirstEvent> firstEvents) {
+    }
+
+    public record FirstEvent(LocalDateTime startDate, EventColor color) {
+    }
+
+    // A recursive CTE stands in for a calendar table: every day of the range is joined with the events
+    // covering it, then each day keeps its total and the colors of its first events by start date.
+    // Recurring series are left out: their occurrences are expanded in memory for the visible range only.
+    // For one-off events series_end equals end_date, and comparing it keeps the join inside the index.
+    private static final String EVENT_DAYS_SQL = """
+            WITH RECURSIVE range_days (cal_day) AS (
+                SELECT CAST(? AS DATE)
+                UNION ALL
+                SELECT cal_day + INTERVAL 1 DAY FROM range_days WHERE cal_day < ?
+            )
+            SELECT cal_day, start_date, color, total FROM (
+                SELECT d.cal_day, e.start_date, e.color,
+                       COUNT(*) OVER (PARTITION BY d.cal_day) AS total,
+                       ROW_NUMBER() OVER (PARTITION BY d.cal_day ORDER BY e.start_date, e.id) AS position
+                FROM range_days d
+                JOIN calendar_events e
+                  ON e.id_user = ? AND e.start_date < d.cal_day + INTERVAL 1 DAY AND e.series_end >= d.cal_day
+                 AND e.recurrence_rule IS NULL
+            ) ranked
+            WHERE position <= ?
+            ORDER BY cal_day, position
+            """;
+
+    private static final String PENDING_TASKS_SQL = """
+            SELECT task_date, COUNT(*) AS pending FROM calendar_tasks
+            WHERE id_user = ? AND task_date BETWEEN ? AND ? AND completed = FALSE
+            GROUP BY task_date
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CalendarSummaryJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Only days with at least one event are returned
+    public Map<LocalDate, EventDay> findEventDays(Long userId, LocalDate firstDay, LocalDate lastDay, int maxColors) {
+        Map<LocalDate, EventDay> days = new LinkedHashMap<>();
+        jdbcTemplate.query(EVENT_DAYS_SQL, rs -> {
+            int total = rs.getInt("total");
+            days.computeIfAbsent(rs.getDate("cal_day").toLocalDate(), day -> new EventDay(total, new ArrayList<>()))
+                    .firstEvents().add(new FirstEvent(rs.getTimestamp("start_date").toLocalDateTime(),
+                            EventColor.valueOf(rs.getString("color"))));
+        }, Date.valueOf(firstDay), Date.valueOf(lastDay), userId, maxColors);
+        return days;
+    }
+
+    public Map<LocalDate, Integer> countPendingTasksByDay(Long userId, LocalDate firstDay, LocalDate lastDay) {
+        Map<LocalDate, Integer> pending = new LinkedHashMap<>();
+        jdbcTemplate.query(PENDING_TASKS_SQL,
+                rs -> {
+                    pending.put(rs.getDate("task_date").toLocalDate(), rs.getInt("pending"));
+                }, userId, Date.valueOf(firstDay), Date.valueOf(lastDay));
+        return pending;
+    }
+}
@@ -28,6 +28,10 @@ public interface CalendarTaskRepository extends JpaRepository<CalendarTask, Long
         @Param("endDate") LocalDate endDate
     );
     
+    @Query("SELECT t FROM CalendarTask t WHERE t.user.id = :userId " +
+           "ORDER BY t.taskDate ASC, t.completed ASC, t.createdAt ASC, t.id ASC")
+    List<CalendarTask> findAllForCalendar(@Param("userId") Long userId);
+    
     List<CalendarTask> findByUserAndCompletedFalseOrderByTaskDateAsc(UserModel user);
     
     List<CalendarTask> findByUserOrderByTaskDateDescCreatedAtDesc(UserModel user);
@@ -1,10 +1,14 @@
 package es.wrapitup.wrapitup_planner.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import es.wrapitup.wrapitup_planner.model.Comment;
@@ -17,4 +21,10 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByNoteIdOrderByCreatedAtDesc(Long noteId, Pageable pageable);
     
     Page<Comment> findByIsReportedTrueOrderByCreatedAtDesc(Pageable pageable);
+
+    // Keyset feed on idx_comment_note_created, see NoteRepository for the cursor predicate
+    List<Comment> findByNoteIdOrderByCreatedAtDescIdDesc(Long noteId, Limit limit);
+
+    @Query("SELECT c FROM Comment c WHERE c.note.id = :noteId AND c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findFeedByNoteIdAfter(@Param("noteId") Long noteId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
 }
@@ -0,0 +1,18 @@
+package es.wrapitup.wrapitup_planner.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+// Exposes MySQL's MATCH ... AGAINST to JPQL as fulltext_score(title, overview, summary, query),
+// registered through META-INF/services so repository queries can filter and rank by it
+public class FullTextFunctionContributor implements FunctionContributor {
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions.getFunctionRegistry().registerPattern(
+                "fulltext_score",
+                "match(?1, ?2, ?3) against (?4 in boolean mode)",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.DOUBLE));
+    }
+}
@@ -0,0 +1,113 @@
+package es.wrapitup.wrapitup_planner.repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import es.wrapitup.wrapitup_planner.dto.StoredImageDTO;
+
+// Content-addressed image bytes and the per-user pointers to them. Kept in JDBC so blobs are written
+// from and read into streams instead of being materialised as entity fields.
+@Repository
+public class ImageJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ImageJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Returns false when an identical image is already stored
+    public boolean insertIfAbsent(String hash, String contentType, long size, InputStream data) {
+        return jdbcTemplate.update(
+                "INSERT IGNORE INTO image_blob (hash, content_type, size, data, created_at) VALUES (?, ?, ?, ?, ?)",
+                statement -> {
+                    statement.setString(1, hash);
+                    statement.setString(2, contentType);
+                    statement.setLong(3, size);
+                    statement.setBinaryStream(4, data, size);
+                    statement.setTimestamp(5, Timestamp.valueOf(LocalDateTime.now()));
+                }) > 0;
+    }
+
+    public Optional<String> findProfileImageHash(Long userId) {
+        List<String> hashes = jdbcTemplate.queryForList(
+                "SELECT image_hash FROM user_profile_image WHERE user_id = ?", String.class, userId);
+        return hashes.stream().findFirst();
+    }
+
+    public Optional<StoredImageDTO> findProfileImage(Long userId) {
+        List<StoredImageDTO> images = jdbcTemplate.query(
+                "SELECT i.image_hash, b.content_type, b.size, i.updated_at FROM user_profile_image i "
+                        + "JOIN image_blob b ON b.hash = i.image_hash WHERE i.user_id = ?",
+                (rs, rowNum) -> new StoredImageDTO(rs.getString(1), rs.getString(2), rs.getLong(3),
+                        rs.getTimestamp(4).toLocalDateTime()),
+                userId);
+        return images.stream().findFirst();
+    }
+
+    public void setProfileImage(Long userId, String hash) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update(
+                "INSERT INTO user_profile_image (user_id, image_hash, updated_at) VALUES (?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE image_hash = ?, updated_at = ?",
+                userId, hash, now, hash, now);
+    }
+
+    // Shared lock held until the transaction ends, so deleteIfUnused waits for the upload to be assigned.
+    // Returns false if the blob is gone and has to be inserted again.
+    public boolean lockForUse(String hash) {
+        Integer found = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM image_blob WHERE hash = ? LOCK IN SHARE MODE", Integer.class, hash);
+        return found != null && found > 0;
+    }
+
+    // The blob row is locked before the usage check, and the check is a locking read too, so an upload of the
+    // same bytes either is already assigned (and seen here) or waits and inserts the blob again
+    public void deleteIfUnused(String hash) {
+        List<String> locked = jdbcTemplate.queryForList(
+                "SELECT hash FROM image_blob WHERE hash = ? FOR UPDATE", String.class, hash);
+        if (locked.isEmpty()) {
+            return;
+        }
+        Integer users = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM user_profile_image WHERE image_hash = ? FOR UPDATE", Integer.class, hash);
+        if (users != null && users == 0) {
+            jdbcTemplate.update("DELETE FROM image_blob WHERE hash = ?", hash);
+        }
+    }
+
+    // Copies the blob from the result set to the output; returns false if it is gone. The statement streams
+    // its result set, which Connector/J would otherwise buffer first, but the driver still reads the one row
+    // (and so the whole blob) into memory before getBinaryStream hands it out.
+    public boolean writeTo(String hash, OutputStream out) {
+        Boolean found = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT data FROM image_blob WHERE hash = ?",
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setString(1, hash);
+            return statement;
+        }, rs -> {
+            if (!rs.next()) {
+                return false;
+            }
+            try (InputStream data = rs.getBinaryStream(1)) {
+                data.transferTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return true;
+        });
+        return Boolean.TRUE.equals(found);
+    }
+}
@@ -1,7 +1,10 @@
 package es.wrapitup.wrapitup_planner.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +12,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import es.wrapitup.wrapitup_planner.dto.NoteAccessDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteSummaryDTO;
 import es.wrapitup.wrapitup_planner.model.Note;
 import es.wrapitup.wrapitup_planner.model.NoteCategory;
 
@@ -17,24 +22,81 @@ public interface NoteRepository extends JpaRepository<Note, Long>{
     
     List<Note> findByUserId(Long userId);
     Page<Note> findByUserId(Long userId, Pageable pageable);
-    Page<Note> findByUserIdOrderByLastModifiedDesc(Long userId, Pageable pageable);
-    
-    //filter by category
-    Page<Note> findByUserIdAndCategoryOrderByLastModifiedDesc(Long userId, NoteCategory category, Pageable pageable);
-    
-    //search (title)
-    @Query("SELECT n FROM Note n WHERE n.user.id = :userId AND LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY n.lastModified DESC")
-    Page<Note> findByUserIdAndTitleContainingOrderByLastModifiedDesc(@Param("userId") Long userId, @Param("search") String search, Pageable pageable);
-    
-    //filter by both category and search
-    @Query("SELECT n FROM Note n WHERE n.user.id = :userId AND n.category = :category AND LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY n.lastModified DESC")
-    Page<Note> findByUserIdAndCategoryAndTitleContainingOrderByLastModifiedDesc(@Param("userId") Long userId, @Param("category") NoteCategory category, @Param("search") String search, Pageable pageable);
-    
-    //find notes shared with user
-    @Query("SELECT n FROM Note n JOIN n.sharedWith u WHERE u.username = :username ORDER BY n.lastModified DESC")
-    Page<Note> findNotesSharedWithUser(@Param("username") String username, Pageable pageable);
-    
-    //find notes shared with user and search by title
-    @Query("SELECT n FROM Note n JOIN n.sharedWith u WHERE u.username = :username AND LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY n.lastModified DESC")
-    Page<Note> findNotesSharedWithUserAndTitleContaining(@Param("username") String username, @Param("search") String search, Pageable pageable);
+
+    // Owner comes from the note row and sharing from one probe of idx_note_shared_users_user, so the
+    // sharedWith collection is never loaded; a null userId only matches through visibility
+    @Query("SELECT new es.wrapitup.wrapitup_planner.dto.NoteAccessDTO(n.visibility, "
+            + "CASE WHEN n.user.id = :userId THEN true ELSE false END, "
+            + "CASE WHEN EXISTS (SELECT 1 FROM Note s JOIN s.sharedWith u WHERE s.id = n.id AND u.id = :userId) THEN true ELSE false END) "
+            + "FROM Note n WHERE n.id = :noteId")
+    Optional<NoteAccessDTO> findAccess(@Param("noteId") Long noteId, @Param("userId") Long userId);
+
+    // List projections: one query per page, no note bodies, comments or shared users loaded
+    String SUMMARY_SELECT = "SELECT new es.wrapitup.wrapitup_planner.dto.NoteSummaryDTO(n.id, n.title, n.category, n.visibility, n.lastModified, n.user.id, "
+            + "(SELECT COUNT(c) FROM Comment c WHERE c.note = n), SIZE(n.sharedWith)) FROM Note n ";
+
+    @Query(value = SUMMARY_SELECT + "WHERE n.user.id = :userId ORDER BY n.lastModified DESC",
+           countQuery = "SELECT COUNT(n) FROM Note n WHERE n.user.id = :userId")
+    Page<NoteSummaryDTO> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE n.user.id = :userId AND n.category = :category ORDER BY n.lastModified DESC",
+           countQuery = "SELECT COUNT(n) FROM Note n WHERE n.user.id = :userId AND n.category = :category")
+    Page<NoteSummaryDTO> findSummariesByUserIdAndCategory(@Param("userId") Long userId, @Param("category") NoteCategory category, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE n.user.id = :userId AND LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY n.lastModified DESC",
+           countQuery = "SELECT COUNT(n) FROM Note n WHERE n.user.id = :userId AND LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%'))")
+    Page<NoteSummaryDTO> findSummariesByUserIdAndTitleContaining(@Param("userId") Long userId, @Param("search") String search, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE n.user.id = :userId AND n.category = :category AND LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY n.lastModified DESC",
+           countQuery = "SELECT COUNT(n) FROM Note n WHERE n.user.id = :userId AND n.category = :category AND LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%'))")
+    Page<NoteSummaryDTO> findSummariesByUserIdAndCategoryAndTitleContaining(@Param("userId") Long userId, @Param("category") NoteCategory category, @Param("search") String search, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "JOIN n.sharedWith u WHERE u.username = :username ORDER BY n.lastModified DESC",
+           countQuery = "SELECT COUNT(n) FROM Note n JOIN n.sharedWith u WHERE u.username = :username")
+    Page<NoteSummaryDTO> findSummariesSharedWithUser(@Param("username") String username, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "JOIN n.sharedWith u WHERE u.username = :username AND LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%')) ORDER BY n.lastModified DESC",
+           countQuery = "SELECT COUNT(n) FROM Note n JOIN n.sharedWith u WHERE u.username = :username AND LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%'))")
+    Page<NoteSummaryDTO> findSummariesSharedWithUserAndTitleContaining(@Param("username") String username, @Param("search") String search, Pageable pageable);
+
+    // Full-text search over title, overview and summary, best matches first. :query is a boolean-mode
+    // query (see FullTextQuery). The filter is the MATCH alone so rows are found through the FULLTEXT
+    // index; substring title matches are a separate fallback in NoteService.
+    String SEARCH_SCORE = "fulltext_score(n.title, n.overview, n.summary, :query)";
+    String SEARCH_FILTER = SEARCH_SCORE + " > 0";
+
+    @Query(value = SUMMARY_SELECT + "WHERE n.user.id = :userId AND " + SEARCH_FILTER + " ORDER BY " + SEARCH_SCORE + " DESC, n.lastModified DESC",
+           countQuery = "SELECT COUNT(n) FROM Note n WHERE n.user.id = :userId AND " + SEARCH_FILTER)
+    Page<NoteSummaryDTO> findSummariesByUserIdMatching(@Param("userId") Long userId, @Param("query") String query, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE n.user.id = :userId AND n.category = :category AND " + SEARCH_FILTER + " ORDER BY " + SEARCH_SCORE + " DESC, n.lastModified DESC",
+           countQuery = "SELECT COUNT(n) FROM Note n WHERE n.user.id = :userId AND n.category = :category AND " + SEARCH_FILTER)
+    Page<NoteSummaryDTO> findSummariesByUserIdAndCategoryMatching(@Param("userId") Long userId, @Param("category") NoteCategory category, @Param("query") String query, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "JOIN n.sharedWith u WHERE u.username = :username AND " + SEARCH_FILTER + " ORDER BY " + SEARCH_SCORE + " DESC, n.lastModified DESC",
+           countQuery = "SELECT COUNT(n) FROM Note n JOIN n.sharedWith u WHERE u.username = :username AND " + SEARCH_FILTER)
+    Page<NoteSummaryDTO> findSummariesSharedWithUserMatching(@Param("username") String username, @Param("query") String query, Pageable pageable);
+
+    // Keyset feeds ordered by (lastModified, id), read with Limit = page size + 1 instead of OFFSET and COUNT,
+    // so every page is a range scan on idx_note_user_modified / idx_note_user_category_modified
+    String AFTER_CURSOR = "n.lastModified <= :lastModified AND (n.lastModified < :lastModified OR n.id < :id)";
+    String FEED_ORDER = " ORDER BY n.lastModified DESC, n.id DESC";
+
+    @Query(SUMMARY_SELECT + "WHERE n.user.id = :userId" + FEED_ORDER)
+    List<NoteSummaryDTO> findSummaryFeedByUserId(@Param("userId") Long userId, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE n.user.id = :userId AND " + AFTER_CURSOR + FEED_ORDER)
+    List<NoteSummaryDTO> findSummaryFeedByUserIdAfter(@Param("userId") Long userId, @Param("lastModified") LocalDateTime lastModified, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE n.user.id = :userId AND n.category = :category" + FEED_ORDER)
+    List<NoteSummaryDTO> findSummaryFeedByUserIdAndCategory(@Param("userId") Long userId, @Param("category") NoteCategory category, Limit limit);
+
+    @Query(SUMMARY_SELECT + "WHERE n.user.id = :userId AND n.category = :category AND " + AFTER_CURSOR + FEED_ORDER)
+    List<NoteSummaryDTO> findSummaryFeedByUserIdAndCategoryAfter(@Param("userId") Long userId, @Param("category") NoteCategory category, @Param("lastModified") LocalDateTime lastModified, @Param("id") Long id, Limit limit);
+
+    @Query(SUMMARY_SELECT + "JOIN n.sharedWith u WHERE u.username = :username" + FEED_ORDER)
+    List<NoteSummaryDTO> findSummaryFeedSharedWithUser(@Param("username") String username, Limit limit);
+
+    @Query(SUMMARY_SELECT + "JOIN n.sharedWith u WHERE u.username = :username AND " + AFTER_CURSOR + FEED_ORDER)
+    List<NoteSummaryDTO> findSummaryFeedSharedWithUserAfter(@Param("username") String username, @Param("lastModified") LocalDateTime lastModified, @Param("id") Long id, Limit limit);
 }
@@ -0,0 +1,50 @@
+package es.wrapitup.wrapitup_planner.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+// Set-based writes to note_shared_users that bypass the Note.sharedWith collection, so changing a few
+// grantees never rewrites the whole join table. Callers must evict the cached collection afterwards.
+@Repository
+public class NoteShareJdbcRepository {
+
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public NoteShareJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public List<Long> findSharedUserIds(Long noteId) {
+        return jdbcTemplate.queryForList("SELECT user_id FROM note_shared_users WHERE note_id = ?", Long.class, noteId);
+    }
+
+    // IGNORE keeps a concurrent share of the same user from failing the whole batch on the primary key
+    public void insert(Long noteId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT IGNORE INTO note_shared_users (note_id, user_id) VALUES (?, ?)",
+                new ArrayList<>(userIds), BATCH_SIZE, (statement, userId) -> {
+                    statement.setLong(1, noteId);
+                    statement.setLong(2, userId);
+                });
+    }
+
+    public void delete(Long noteId, Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        namedJdbcTemplate.update("DELETE FROM note_shared_users WHERE note_id = :noteId AND user_id IN (:userIds)",
+                Map.of("noteId", noteId, "userIds", userIds));
+    }
+}
@@ -1,5 +1,7 @@
 package es.wrapitup.wrapitup_planner.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,4 +12,6 @@ import es.wrapitup.wrapitup_planner.model.UserModel;
 @Repository
 public interface UserRepository extends JpaRepository<UserModel, Long> {
     Optional<UserModel> findByUsername(String username);
+
+    List<UserModel> findByUsernameIn(Collection<String> usernames);
 }
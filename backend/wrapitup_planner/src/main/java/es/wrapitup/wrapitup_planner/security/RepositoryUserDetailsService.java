@@ -1,17 +1,28 @@
 package es.wrapitup.wrapitup_planner.security;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 
 import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.UserAccessChangedEvent;
+import es.wrapitup.wrapitup_planner.service.UserUpdatedEvent;
 
 
 
@@ -19,14 +30,40 @@ import es.wrapitup.wrapitup_planner.repository.UserRepository;
 public class RepositoryUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    
+
+    // Null when caching is disabled
+    private final Cache<String, CachedUser> cache;
+
     public RepositoryUserDetailsService(UserRepository userRepository) {
+        this(userRepository, 0, 0);
+    }
+
+    @Autowired
+    public RepositoryUserDetailsService(UserRepository userRepository,
+                                        @Value("${security.user-cache.max-size:10000}") long maxSize,
+                                        @Value("${security.user-cache.ttl-seconds:60}") long ttlSeconds) {
         this.userRepository = userRepository;
+        this.cache = maxSize > 0 && ttlSeconds > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                        .recordStats()
+                        .build()
+                : null;
     }
 
     @Override
 	public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
 
+		if (cache != null) {
+			CachedUser cached = cache.getIfPresent(username);
+			if (cached != null) {
+				// A fresh copy every time: authentication erases the password on the instance it is given,
+				// and services are free to modify the user they resolve
+				return new ResolvedUserDetails(cached.toUser(), cached.authorities());
+			}
+		}
+
 		UserModel user = userRepository.findByUsername(username)
 				.orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
@@ -35,8 +72,55 @@ public class RepositoryUserDetailsService implements UserDetailsService {
 			roles.add(new SimpleGrantedAuthority("ROLE_" + role));
 		}
 
-		return new org.springframework.security.core.userdetails.User(user.getUsername(), 
-				user.getPassword(), roles);
+		if (cache != null) {
+			cache.put(username, CachedUser.of(user, roles));
+		}
+		return new ResolvedUserDetails(user, roles);
+
+	}
+
+	// Evicting before the change commits would let a concurrent request cache the old row again
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onUserAccessChanged(UserAccessChangedEvent event) {
+		evict(event.username());
+	}
 
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+	public void onUserUpdated(UserUpdatedEvent event) {
+		evict(event.username());
+	}
+
+	public void evict(String username) {
+		if (cache != null && username != null) {
+			cache.invalidate(username);
+		}
+	}
+
+	public long cachedUsers() {
+		return cache != null ? cache.estimatedSize() : 0;
+	}
+
+	// The columns services read from the resolved user, status included so a ban is seen once it is evicted
+	private record CachedUser(Long id, String username, String displayName, String email, String password,
+							  String image, List<String> roles, UserStatus status, List<GrantedAuthority> authorities) {
+
+		static CachedUser of(UserModel user, List<GrantedAuthority> authorities) {
+			return new CachedUser(user.getId(), user.getUsername(), user.getDisplayName(), user.getEmail(),
+					user.getPassword(), user.getImage(), user.getRoles() != null ? List.copyOf(user.getRoles()) : null,
+					user.getStatus(), List.copyOf(authorities));
+		}
+
+		UserModel toUser() {
+			UserModel user = new UserModel();
+			user.setId(id);
+			user.setUsername(username);
+			user.setDisplayName(displayName);
+			user.setEmail(email);
+			user.setPassword(password);
+			user.setImage(image);
+			user.setRoles(roles);
+			user.setStatus(status);
+			return user;
+		}
 	}
 }
@@ -0,0 +1,23 @@
+package es.wrapitup.wrapitup_planner.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import es.wrapitup.wrapitup_planner.model.UserModel;
+
+// Principal that keeps the UserModel loaded during authentication so the rest of the request can reuse it
+public class ResolvedUserDetails extends User {
+
+    private final transient UserModel user;
+
+    public ResolvedUserDetails(UserModel user, Collection<? extends GrantedAuthority> authorities) {
+        super(user.getUsername(), user.getPassword(), authorities);
+        this.user = user;
+    }
+
+    public UserModel getUser() {
+        return user;
+    }
+}
@@ -0,0 +1,33 @@
+package es.wrapitup.wrapitup_planner.security;
+
+import java.util.Optional;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+
+public final class ResolvedUsers {
+
+    private ResolvedUsers() {
+    }
+
+    // Returns the user resolved by JwtRequestFilter when it is the one asked for, otherwise queries the repository.
+    // Background threads have no security context and always fall back to the repository.
+    public static Optional<UserModel> findByUsername(String username, UserRepository userRepository) {
+        Optional<UserModel> current = current();
+        if (current.isPresent() && current.get().getUsername().equals(username)) {
+            return current;
+        }
+        return userRepository.findByUsername(username);
+    }
+
+    public static Optional<UserModel> current() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof ResolvedUserDetails details) {
+            return Optional.ofNullable(details.getUser());
+        }
+        return Optional.empty();
+    }
+}
@@ -108,10 +108,15 @@ public class WebSecurityConfig {
 					.requestMatchers(HttpMethod.GET, "/api/v1/notes/shared").hasRole("USER")
 					.requestMatchers(HttpMethod.POST, "/api/v1/notes").hasRole("USER")
 					.requestMatchers(HttpMethod.POST, "/api/v1/notes/ai").hasRole("USER")
+					.requestMatchers(HttpMethod.POST, "/api/v1/notes/ai/jobs").hasRole("USER")
+					.requestMatchers(HttpMethod.POST, "/api/v1/notes/ai/stream").hasRole("USER")
+					.requestMatchers(HttpMethod.GET, "/api/v1/notes/ai/jobs/*").hasRole("USER")
 					.requestMatchers(HttpMethod.POST, "/api/v1/notes/*/ai/questions").hasRole("USER")
 					.requestMatchers(HttpMethod.POST, "/api/v1/notes/*/quiz-results").hasRole("USER")
 					.requestMatchers(HttpMethod.PUT, "/api/v1/notes/*").hasRole("USER")
 					.requestMatchers(HttpMethod.PUT, "/api/v1/notes/*/share").hasRole("USER")
+					.requestMatchers(HttpMethod.POST, "/api/v1/notes/*/shares").hasRole("USER")
+					.requestMatchers(HttpMethod.POST, "/api/v1/notes/*/shares/remove").hasRole("USER")
 					
 					// Delete notes - both USER (own notes) and ADMIN (any note)
 					.requestMatchers(HttpMethod.DELETE, "/api/v1/notes/*").hasAnyRole("USER", "ADMIN")
@@ -125,12 +130,15 @@ public class WebSecurityConfig {
 					.requestMatchers(HttpMethod.GET, "/api/v1/admin/reported-comments").hasRole("ADMIN")
 					.requestMatchers(HttpMethod.POST, "/api/v1/admin/reported-comments/*/unreport").hasRole("ADMIN")
 					.requestMatchers(HttpMethod.DELETE, "/api/v1/admin/reported-comments/*").hasRole("ADMIN")
+					.requestMatchers(HttpMethod.GET, "/api/v1/admin/cache-stats").hasRole("ADMIN")
 
 					// Calendar - USER only 
 					.requestMatchers(HttpMethod.GET, "/api/v1/calendar/**").hasRole("USER")
 					.requestMatchers(HttpMethod.POST, "/api/v1/calendar/events").hasRole("USER")
 					.requestMatchers(HttpMethod.PUT, "/api/v1/calendar/events/*").hasRole("USER")
 					.requestMatchers(HttpMethod.DELETE, "/api/v1/calendar/events/*").hasRole("USER")
+					.requestMatchers(HttpMethod.PUT, "/api/v1/calendar/events/*/occurrence").hasRole("USER")
+					.requestMatchers(HttpMethod.DELETE, "/api/v1/calendar/events/*/occurrence").hasRole("USER")
 					
 					.requestMatchers(HttpMethod.GET, "/api/v1/calendar/tasks").hasRole("USER")
 					.requestMatchers(HttpMethod.POST, "/api/v1/calendar/tasks").hasRole("USER")
@@ -4,13 +4,18 @@ import java.io.IOException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import io.jsonwebtoken.Claims;
+
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,9 +30,18 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 	private final JwtTokenProvider jwtTokenProvider;
 
-	public JwtRequestFilter(UserDetailsService userDetailsService, JwtTokenProvider jwtTokenProvider) {
+	private final TokenRevocationService tokenRevocationService;
+
+	// When enabled, authorities come from the signed token and the database is not queried
+	private final boolean claimsOnly;
+
+	public JwtRequestFilter(UserDetailsService userDetailsService, JwtTokenProvider jwtTokenProvider,
+			TokenRevocationService tokenRevocationService,
+			@Value("${security.jwt.claims-only:false}") boolean claimsOnly) {
 		this.userDetailsService = userDetailsService;
 		this.jwtTokenProvider = jwtTokenProvider;
+		this.tokenRevocationService = tokenRevocationService;
+		this.claimsOnly = claimsOnly;
 	}
 
 	@Override
@@ -36,7 +50,7 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
 		try {
 			var claims = jwtTokenProvider.validateToken(request, true);
-			var userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+			var userDetails = claimsOnly ? userFromClaims(claims) : userDetailsService.loadUserByUsername(claims.getSubject());
 
 			UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
 						userDetails, null, userDetails.getAuthorities());
@@ -51,6 +65,13 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 		}
 
 		filterChain.doFilter(request, response);
-	}	
+	}
+
+	private UserDetails userFromClaims(Claims claims) {
+		if (tokenRevocationService.isRevoked(claims.getSubject(), claims.getIssuedAt())) {
+			throw new IllegalStateException("Access token was revoked for user " + claims.getSubject());
+		}
+		return new User(claims.getSubject(), "", jwtTokenProvider.authoritiesFromClaims(claims));
+	}
 
 }
@@ -2,11 +2,15 @@ package es.wrapitup.wrapitup_planner.security.jwt;
 
 
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 import javax.crypto.SecretKey;
 
 import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
@@ -64,6 +68,18 @@ public class JwtTokenProvider {
 		return jwtParser.parseSignedClaims(token).getPayload();
 	}
 
+	public List<GrantedAuthority> authoritiesFromClaims(Claims claims) {
+		List<GrantedAuthority> authorities = new ArrayList<>();
+		if (claims.get("roles") instanceof List<?> roles) {
+			for (Object role : roles) {
+				if (role instanceof String authority) {
+					authorities.add(new SimpleGrantedAuthority(authority));
+				}
+			}
+		}
+		return authorities;
+	}
+
 	public String generateAccessToken(UserDetails userDetails) {
 		return buildToken(TokenType.ACCESS, userDetails).compact();
 	}
@@ -77,7 +93,7 @@ public class JwtTokenProvider {
 		var currentDate = new Date();
 		var expiryDate = Date.from(new Date().toInstant().plus(tokenType.duration));
 		return Jwts.builder()
-				.claim("roles", userDetails.getAuthorities())
+				.claim("roles", userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList())
 				.claim("type", tokenType.name())
 				.subject(userDetails.getUsername())
 				.issuedAt(currentDate)
@@ -0,0 +1,63 @@
+package es.wrapitup.wrapitup_planner.security.jwt;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import es.wrapitup.wrapitup_planner.service.UserAccessChangedEvent;
+
+// Access tokens issued before a user's status/roles changed are rejected in claims-only mode.
+// Entries only need to outlive the access token lifetime, so the set stays small.
+@Component
+public class TokenRevocationService {
+
+    private final Map<String, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public TokenRevocationService() {
+        this(Clock.systemUTC());
+    }
+
+    public TokenRevocationService(Clock clock) {
+        this.clock = clock;
+    }
+
+    @EventListener
+    public void onUserAccessChanged(UserAccessChangedEvent event) {
+        revoke(event.username());
+    }
+
+    public void revoke(String username) {
+        // JWT iat has second precision, so everything issued during the current second is revoked too
+        Instant cutoff = clock.instant().truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+        revokedBefore.put(username, cutoff);
+        purgeExpired();
+    }
+
+    public boolean isRevoked(String username, Date issuedAt) {
+        Instant cutoff = revokedBefore.get(username);
+        if (cutoff == null) {
+            return false;
+        }
+        if (cutoff.plus(TokenType.ACCESS.duration).isBefore(clock.instant())) {
+            revokedBefore.remove(username, cutoff);
+            return false;
+        }
+        return issuedAt == null || issuedAt.toInstant().isBefore(cutoff);
+    }
+
+    public int size() {
+        return revokedBefore.size();
+    }
+
+    private void purgeExpired() {
+        Instant oldest = clock.instant().minus(TokenType.ACCESS.duration);
+        revokedBefore.values().removeIf(cutoff -> cutoff.isBefore(oldest));
+    }
+}
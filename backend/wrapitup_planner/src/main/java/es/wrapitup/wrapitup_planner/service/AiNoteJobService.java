@@ -0,0 +1,173 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import es.wrapitup.wrapitup_planner.dto.AiNoteJobDTO;
+import es.wrapitup.wrapitup_planner.dto.AiNoteJobMapper;
+import es.wrapitup.wrapitup_planner.dto.NoteDTO;
+import es.wrapitup.wrapitup_planner.model.AiNoteJob;
+import es.wrapitup.wrapitup_planner.model.AiNoteJobStatus;
+import es.wrapitup.wrapitup_planner.model.NoteCategory;
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.AiNoteJobRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+@Service
+public class AiNoteJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(AiNoteJobService.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final AiNoteJobRepository jobRepository;
+    private final AiNoteJobMapper jobMapper;
+    private final NoteService noteService;
+    private final Executor executor;
+
+    @Autowired
+    public AiNoteJobService(AiNoteJobRepository jobRepository, AiNoteJobMapper jobMapper, NoteService noteService,
+                            @Value("${ai.jobs.pool-size:2}") int poolSize,
+                            @Value("${ai.jobs.queue-capacity:20}") int queueCapacity) {
+        this(jobRepository, jobMapper, noteService, buildExecutor(poolSize, queueCapacity));
+    }
+
+    public AiNoteJobService(AiNoteJobRepository jobRepository, AiNoteJobMapper jobMapper, NoteService noteService, Executor executor) {
+        this.jobRepository = jobRepository;
+        this.jobMapper = jobMapper;
+        this.noteService = noteService;
+        this.executor = executor;
+    }
+
+    // Not exposed as a bean so Spring Boot keeps its default applicationTaskExecutor
+    private static ThreadPoolTaskExecutor buildExecutor(int poolSize, int queueCapacity) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(queueCapacity);
+        taskExecutor.setThreadNamePrefix("ai-note-job-");
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+
+    public AiNoteJobDTO submitNoteJob(MultipartFile file, String username, NoteVisibility visibility, NoteCategory category) {
+        return submitNoteJob(file, username, visibility, category, null);
+    }
+
+    // With a listener the model output is streamed and progress is reported while the job runs
+    public AiNoteJobDTO submitNoteJob(MultipartFile file, String username, NoteVisibility visibility, NoteCategory category,
+                                      AiNoteProgressListener listener) {
+        if (file == null || file.isEmpty()) {
+            throw new IllegalArgumentException("File is required");
+        }
+
+        UserModel user = noteService.requireNoteAuthor(username);
+
+        SpooledMultipartFile upload;
+        try {
+            upload = SpooledMultipartFile.copyOf(file);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read file", e);
+        }
+
+        AiNoteJob job = jobRepository.save(new AiNoteJob(user, file.getOriginalFilename(), visibility, category));
+        AiNoteJobDTO queued = jobMapper.toDto(job);
+        if (listener != null) {
+            listener.onQueued(queued);
+        }
+
+        try {
+            executor.execute(() -> runNoteJob(job, upload, username, listener));
+        } catch (RejectedExecutionException e) {
+            upload.delete();
+            finish(job, AiNoteJobStatus.FAILED, "Too many AI jobs in progress");
+            throw new IllegalStateException("Too many AI jobs in progress, try again later");
+        }
+        return queued;
+    }
+
+    public Optional<AiNoteJobDTO> findJob(Long jobId, String username) {
+        Optional<AiNoteJob> jobOpt = jobRepository.findById(jobId);
+        if (jobOpt.isEmpty()) {
+            return Optional.empty();
+        }
+
+        AiNoteJob job = jobOpt.get();
+        if (!job.getUser().getUsername().equals(username)) {
+            throw new SecurityException("You do not have permission to view this job");
+        }
+
+        AiNoteJobDTO dto = jobMapper.toDto(job);
+        if (job.getStatus() == AiNoteJobStatus.DONE && job.getNoteId() != null) {
+            noteService.findById(job.getNoteId()).ifPresent(dto::setNote);
+        }
+        return Optional.of(dto);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        List<AiNoteJob> interrupted = jobRepository.findByStatusIn(List.of(AiNoteJobStatus.QUEUED, AiNoteJobStatus.RUNNING));
+        for (AiNoteJob job : interrupted) {
+            finish(job, AiNoteJobStatus.FAILED, "Interrupted by a server restart");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor taskExecutor) {
+            taskExecutor.shutdown();
+        }
+    }
+
+    private void runNoteJob(AiNoteJob job, SpooledMultipartFile upload, String username, AiNoteProgressListener listener) {
+        job.setStatus(AiNoteJobStatus.RUNNING);
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+
+        try {
+            NoteDTO note = listener != null
+                    ? noteService.createNoteFromAi(upload, username, job.getVisibility(), job.getCategory(), listener)
+                    : noteService.createNoteFromAi(upload, username, job.getVisibility(), job.getCategory());
+            job.setNoteId(note.getId());
+            finish(job, AiNoteJobStatus.DONE, null);
+            if (listener != null) {
+                listener.onSaved(note);
+            }
+        } catch (RuntimeException e) {
+            log.warn("AI note job {} failed", job.getId(), e);
+            finish(job, AiNoteJobStatus.FAILED, e.getMessage());
+            if (listener != null) {
+                listener.onFailed(e.getMessage());
+            }
+        } finally {
+            upload.delete();
+        }
+    }
+
+    private void finish(AiNoteJob job, AiNoteJobStatus status, String errorMessage) {
+        job.setStatus(status);
+        job.setErrorMessage(truncate(errorMessage));
+        job.setUpdatedAt(LocalDateTime.now());
+        jobRepository.save(job);
+    }
+
+    private String truncate(String value) {
+        if (value == null || value.length() <= MAX_ERROR_LENGTH) {
+            return value;
+        }
+        return value.substring(0, MAX_ERROR_LENGTH);
+    }
+}
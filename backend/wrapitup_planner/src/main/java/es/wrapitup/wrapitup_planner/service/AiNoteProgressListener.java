@@ -0,0 +1,22 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import es.wrapitup.wrapitup_planner.dto.AiNoteJobDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteDTO;
+
+public interface AiNoteProgressListener {
+
+    default void onQueued(AiNoteJobDTO job) {
+    }
+
+    default void onExtracted(int characters) {
+    }
+
+    default void onToken(String delta) {
+    }
+
+    default void onSaved(NoteDTO note) {
+    }
+
+    default void onFailed(String message) {
+    }
+}
@@ -0,0 +1,142 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import es.wrapitup.wrapitup_planner.model.AiResultCacheEntry;
+import es.wrapitup.wrapitup_planner.repository.AiResultCacheRepository;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AiResultCacheService {
+
+    private static final Logger log = LoggerFactory.getLogger(AiResultCacheService.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final AiResultCacheRepository cacheRepository;
+    private final boolean enabled;
+    private final Map<String, String> memoryTier;
+    // Persistent tier writes run here: put is called from the OpenAI client's completion threads,
+    // which should not wait on JDBC
+    private final Executor writeExecutor;
+
+    @Autowired
+    public AiResultCacheService(AiResultCacheRepository cacheRepository,
+                                @Value("${ai.cache.enabled:true}") boolean enabled,
+                                @Value("${ai.cache.max-entries:256}") int maxEntries,
+                                @Value("${ai.cache.write-queue-capacity:100}") int writeQueueCapacity) {
+        this(cacheRepository, enabled, maxEntries, buildWriteExecutor(writeQueueCapacity));
+    }
+
+    public AiResultCacheService(AiResultCacheRepository cacheRepository, boolean enabled, int maxEntries, Executor writeExecutor) {
+        this.cacheRepository = cacheRepository;
+        this.enabled = enabled;
+        this.writeExecutor = writeExecutor;
+        this.memoryTier = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    // Not exposed as a bean so Spring Boot keeps its default applicationTaskExecutor
+    private static ThreadPoolTaskExecutor buildWriteExecutor(int queueCapacity) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(1);
+        taskExecutor.setMaxPoolSize(1);
+        taskExecutor.setQueueCapacity(queueCapacity);
+        taskExecutor.setThreadNamePrefix("ai-cache-write-");
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+
+    public static String cacheKey(String namespace, String text) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(text, Normalizer.Form.NFC).strip()).replaceAll(" ");
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(namespace.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(normalized.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public Optional<String> get(String key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        synchronized (memoryTier) {
+            String cached = memoryTier.get(key);
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+        }
+
+        try {
+            Optional<String> stored = cacheRepository.findByCacheKey(key).map(AiResultCacheEntry::getPayload);
+            stored.ifPresent(payload -> remember(key, payload));
+            return stored;
+        } catch (DataAccessException e) {
+            log.warn("AI result cache lookup failed", e);
+            return Optional.empty();
+        }
+    }
+
+    public void put(String key, String payload) {
+        if (!enabled || payload == null) {
+            return;
+        }
+
+        remember(key, payload);
+        try {
+            writeExecutor.execute(() -> persist(key, payload));
+        } catch (TaskRejectedException e) {
+            // The memory tier still has it; only a restart loses the entry
+            log.warn("AI result cache write queue is full, not persisting entry");
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (writeExecutor instanceof ThreadPoolTaskExecutor taskExecutor) {
+            taskExecutor.shutdown();
+        }
+    }
+
+    private void persist(String key, String payload) {
+        try {
+            if (cacheRepository.findByCacheKey(key).isEmpty()) {
+                cacheRepository.save(new AiResultCacheEntry(key, payload));
+            }
+        } catch (DataAccessException e) {
+            // A concurrent upload of the same document may have stored it first
+            log.warn("AI result cache write failed", e);
+        }
+    }
+
+    private void remember(String key, String payload) {
+        synchronized (memoryTier) {
+            memoryTier.put(key, payload);
+        }
+    }
+}
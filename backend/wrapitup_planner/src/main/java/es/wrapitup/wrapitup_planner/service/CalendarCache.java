@@ -0,0 +1,102 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarEventMapper;
+import es.wrapitup.wrapitup_planner.dto.CalendarTaskMapper;
+import es.wrapitup.wrapitup_planner.model.CalendarEvent;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarTaskRepository;
+
+// Per-user calendars loaded whole when a day or list view first needs them, so later views answer range
+// queries in memory. Month views only read calendars that are already loaded (see getIfPresent).
+// Entries are weighed by their events and tasks, and writes drop the owner's entry once their transaction
+// completes; a load running at that moment finishes first and is dropped with it.
+@Service
+public class CalendarCache {
+
+    private final CalendarEventRepository eventRepository;
+    private final CalendarTaskRepository taskRepository;
+    private final CalendarEventMapper eventMapper;
+    private final CalendarTaskMapper taskMapper;
+
+    // Null when caching is disabled
+    private final Cache<Long, UserCalendar> cache;
+
+    @Autowired
+    public CalendarCache(CalendarEventRepository eventRepository, CalendarTaskRepository taskRepository,
+            CalendarEventMapper eventMapper, CalendarTaskMapper taskMapper,
+            @Value("${calendar.cache.max-items:200000}") long maxItems,
+            @Value("${calendar.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.eventRepository = eventRepository;
+        this.taskRepository = taskRepository;
+        this.eventMapper = eventMapper;
+        this.taskMapper = taskMapper;
+        this.cache = maxItems > 0 && ttlSeconds > 0
+                ? Caffeine.newBuilder()
+                        .maximumWeight(maxItems)
+                        .<Long, UserCalendar>weigher((userId, calendar) -> calendar.size() + 1)
+                        .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    // Null when caching is disabled or inside a transaction, whose own uncommitted writes the cache cannot see
+    public UserCalendar get(Long userId) {
+        if (cache == null || userId == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        return cache.get(userId, this::load);
+    }
+
+    // Like get, but never loads: a cold user's month grid is cheaper to count in the database than to load
+    // their whole history for
+    public UserCalendar getIfPresent(Long userId) {
+        if (cache == null || userId == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        return cache.getIfPresent(userId);
+    }
+
+    private UserCalendar load(Long userId) {
+        List<IntervalTree.Entry<CalendarEventDTO>> events = new ArrayList<>();
+        for (CalendarEvent event : eventRepository.findAllForCalendar(userId)) {
+            events.add(new IntervalTree.Entry<>(event.getStartDate(), event.getSeriesEnd(), eventMapper.toDto(event)));
+        }
+        return new UserCalendar(events, taskRepository.findAllForCalendar(userId).stream().map(taskMapper::toDto).toList());
+    }
+
+    // Called by every write to a user's events or tasks; readers keep the old entry until the write is visible
+    public void evict(Long userId) {
+        if (cache == null || userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(userId);
+                }
+            });
+        } else {
+            cache.invalidate(userId);
+        }
+    }
+
+    public long cachedUsers() {
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+}
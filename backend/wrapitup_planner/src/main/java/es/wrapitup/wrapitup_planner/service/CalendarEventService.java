@@ -1,7 +1,10 @@
 package es.wrapitup.wrapitup_planner.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -11,10 +14,14 @@ import org.springframework.transaction.annotation.Transactional;
 import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarEventMapper;
 import es.wrapitup.wrapitup_planner.model.CalendarEvent;
+import es.wrapitup.wrapitup_planner.model.CalendarEventException;
+import es.wrapitup.wrapitup_planner.model.RecurrenceRule;
 import es.wrapitup.wrapitup_planner.model.UserModel;
 import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventExceptionRepository;
 import es.wrapitup.wrapitup_planner.repository.CalendarEventRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.ResolvedUsers;
 
 @Service
 public class CalendarEventService {
@@ -24,11 +31,19 @@ public class CalendarEventService {
     private final CalendarEventRepository eventRepository;
     private final CalendarEventMapper eventMapper;
     private final UserRepository userRepository;
+    private final CalendarEventExceptionRepository exceptionRepository;
+    private final RecurringEventExpander recurringEventExpander;
+    private final CalendarCache calendarCache;
     
-    public CalendarEventService(CalendarEventRepository eventRepository, CalendarEventMapper eventMapper, UserRepository userRepository) {
+    public CalendarEventService(CalendarEventRepository eventRepository, CalendarEventMapper eventMapper, UserRepository userRepository,
+            CalendarEventExceptionRepository exceptionRepository, RecurringEventExpander recurringEventExpander,
+            CalendarCache calendarCache) {
         this.eventRepository = eventRepository;
         this.eventMapper = eventMapper;
         this.userRepository = userRepository;
+        this.exceptionRepository = exceptionRepository;
+        this.recurringEventExpander = recurringEventExpander;
+        this.calendarCache = calendarCache;
     }
 
     private static String normalizeTitle(String value) {
@@ -42,6 +57,14 @@ public class CalendarEventService {
         return trimmed.substring(0, TITLE_MAX_LENGTH);
     }
     
+    // Stored in canonical form; blank means no recurrence
+    private static String normalizeRecurrenceRule(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return RecurrenceRule.parse(value).toString();
+    }
+    
     private boolean isAdmin(UserModel user) {
         return user != null && user.getRoles() != null && user.getRoles().contains("ADMIN");
     }
@@ -69,7 +92,7 @@ public class CalendarEventService {
             throw new IllegalArgumentException("Event color is required");
         }
         
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -93,8 +116,10 @@ public class CalendarEventService {
             eventDTO.getColor(),
             eventDTO.getAllDay() != null ? eventDTO.getAllDay() : false
         );
+        event.setRecurrenceRule(normalizeRecurrenceRule(eventDTO.getRecurrenceRule()));
         
         CalendarEvent saved = eventRepository.save(event);
+        calendarCache.evict(user.getId());
         return eventMapper.toDto(saved);
     }
     
@@ -107,7 +132,7 @@ public class CalendarEventService {
         
         CalendarEvent event = eventOpt.get();
         
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -118,6 +143,10 @@ public class CalendarEventService {
             throw new SecurityException("You can only update your own events");
         }
         
+        String previousRule = event.getRecurrenceRule();
+        LocalDateTime previousStart = event.getStartDate();
+        LocalDateTime previousEnd = event.getEndDate();
+        
         if (eventDTO.getTitle() != null) {
             String normalizedTitle = normalizeTitle(eventDTO.getTitle());
             if (normalizedTitle != null && !normalizedTitle.isEmpty()) {
@@ -149,9 +178,20 @@ public class CalendarEventService {
             event.setAllDay(eventDTO.getAllDay());
         }
         
+        if (eventDTO.getRecurrenceRule() != null) {
+            event.setRecurrenceRule(normalizeRecurrenceRule(eventDTO.getRecurrenceRule()));
+        }
+        
+        // Exceptions are keyed by the occurrence starts of the old rule, which no longer line up
+        if (previousRule != null && (!Objects.equals(previousRule, event.getRecurrenceRule())
+                || !previousStart.equals(event.getStartDate()) || !previousEnd.equals(event.getEndDate()))) {
+            exceptionRepository.deleteByEvent(event);
+        }
+        
         event.setLastModified(LocalDateTime.now());
         
         CalendarEvent saved = eventRepository.save(event);
+        calendarCache.evict(user.getId());
         return eventMapper.toDto(saved);
     }
     
@@ -164,7 +204,7 @@ public class CalendarEventService {
         
         CalendarEvent event = eventOpt.get();
         
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -175,25 +215,151 @@ public class CalendarEventService {
             throw new SecurityException("You can only delete your own events");
         }
         
+        // The foreign key cascades too, but exceptions loaded in this session must not outlive their series
+        if (event.isRecurring()) {
+            exceptionRepository.deleteByEvent(event);
+        }
         eventRepository.delete(event);
+        calendarCache.evict(event.getUser().getId());
+    }
+    
+    // Edits one occurrence of a recurring event; fields left null keep the value of the series
+    @Transactional
+    public CalendarEventDTO updateOccurrence(Long id, LocalDateTime occurrenceStart, CalendarEventDTO eventDTO, String username) {
+        CalendarEvent event = findOwnedOccurrence(id, occurrenceStart, username, "You can only update your own events");
+        CalendarEventException exception = exceptionRepository.findByEventAndOccurrenceStart(event, occurrenceStart)
+                .orElseGet(() -> new CalendarEventException(event, occurrenceStart));
+        
+        if (eventDTO.getTitle() != null) {
+            String normalizedTitle = normalizeTitle(eventDTO.getTitle());
+            if (normalizedTitle != null && !normalizedTitle.isEmpty()) {
+                exception.setTitle(normalizedTitle);
+            }
+        }
+        
+        if (eventDTO.getDescription() != null) {
+            exception.setDescription(eventDTO.getDescription());
+        }
+        
+        if (eventDTO.getColor() != null) {
+            exception.setColor(eventDTO.getColor());
+        }
+        
+        if (eventDTO.getStartDate() != null || eventDTO.getEndDate() != null) {
+            LocalDateTime start = eventDTO.getStartDate() != null ? eventDTO.getStartDate()
+                    : exception.getStartDate() != null ? exception.getStartDate() : occurrenceStart;
+            LocalDateTime end = eventDTO.getEndDate() != null ? eventDTO.getEndDate()
+                    : exception.getEndDate() != null ? exception.getEndDate() : occurrenceStart.plus(event.getLength());
+            if (end.isBefore(start)) {
+                throw new IllegalArgumentException("End date must be after or equal to start date");
+            }
+            // Range queries find a series by its start and series end, so occurrences must stay inside them
+            if (start.isBefore(event.getStartDate()) || end.isAfter(event.getSeriesEnd())) {
+                throw new IllegalArgumentException("Occurrences cannot be moved outside their series");
+            }
+            exception.setStartDate(start);
+            exception.setEndDate(end);
+        }
+        
+        exception.setCancelled(false);
+        CalendarEventException saved = exceptionRepository.save(exception);
+        calendarCache.evict(event.getUser().getId());
+        return recurringEventExpander.toOccurrence(event, occurrenceStart, saved);
+    }
+    
+    @Transactional
+    public void cancelOccurrence(Long id, LocalDateTime occurrenceStart, String username) {
+        CalendarEvent event = findOwnedOccurrence(id, occurrenceStart, username, "You can only delete your own events");
+        CalendarEventException exception = exceptionRepository.findByEventAndOccurrenceStart(event, occurrenceStart)
+                .orElseGet(() -> new CalendarEventException(event, occurrenceStart));
+        exception.setCancelled(true);
+        exceptionRepository.save(exception);
+        calendarCache.evict(event.getUser().getId());
+    }
+    
+    private CalendarEvent findOwnedOccurrence(Long id, LocalDateTime occurrenceStart, String username, String forbiddenMessage) {
+        Optional<CalendarEvent> eventOpt = eventRepository.findById(id);
+        if (eventOpt.isEmpty()) {
+            throw new IllegalArgumentException("Event not found");
+        }
+        
+        CalendarEvent event = eventOpt.get();
+        
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
+        if (userOpt.isEmpty()) {
+            throw new IllegalArgumentException("User not found");
+        }
+        
+        if (!event.getUser().getId().equals(userOpt.get().getId())) {
+            throw new SecurityException(forbiddenMessage);
+        }
+        
+        if (!event.isRecurring() || occurrenceStart == null
+                || !event.getRule().isOccurrence(event.getStartDate(), occurrenceStart)) {
+            throw new IllegalArgumentException("Occurrence not found");
+        }
+        
+        return event;
     }
     
     public List<CalendarEventDTO> getEventsByDateRange(String username, LocalDateTime startDate, LocalDateTime endDate) {
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
         
         UserModel user = userOpt.get();
         
-        return eventRepository.findEventsByUserAndDateRange(user.getId(), startDate, endDate)
-                             .stream()
-                             .map(eventMapper::toDto)
-                             .collect(Collectors.toList());
+        UserCalendar calendar = calendarCache.get(user.getId());
+        if (calendar != null) {
+            return getEventsInCalendar(calendar, startDate, endDate);
+        }
+        
+        List<CalendarEventDTO> events = new ArrayList<>();
+        List<CalendarEvent> series = new ArrayList<>();
+        for (CalendarEvent event : eventRepository.findEventsByUserAndDateRange(user.getId(), startDate, endDate)) {
+            if (event.isRecurring()) {
+                series.add(event);
+            } else {
+                events.add(eventMapper.toDto(event));
+            }
+        }
+        if (!series.isEmpty()) {
+            events.addAll(recurringEventExpander.expand(series, startDate, endDate));
+            events.sort(Comparator.comparing(CalendarEventDTO::getStartDate));
+        }
+        return events;
+    }
+    
+    // Same as above, answered from a cached calendar; only the exceptions of series in range are queried
+    public List<CalendarEventDTO> getEventsInCalendar(UserCalendar calendar, LocalDateTime startDate, LocalDateTime endDate) {
+        List<CalendarEventDTO> events = new ArrayList<>();
+        List<CalendarEventDTO> series = new ArrayList<>();
+        for (CalendarEventDTO event : calendar.events(startDate, endDate)) {
+            if (event.getRecurrenceRule() != null) {
+                series.add(event);
+            } else {
+                events.add(event);
+            }
+        }
+        if (!series.isEmpty()) {
+            events.addAll(recurringEventExpander.expandSeries(series, startDate, endDate));
+            events.sort(Comparator.comparing(CalendarEventDTO::getStartDate));
+        }
+        return events;
+    }
+    
+    // Occurrences of the user's recurring events only, for views that count one-off events in the database
+    public List<CalendarEventDTO> getRecurringOccurrences(Long userId, LocalDateTime startDate, LocalDateTime endDate) {
+        List<CalendarEvent> series = eventRepository.findRecurringByUserAndDateRange(userId, startDate, endDate);
+        if (series.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return recurringEventExpander.expand(series, startDate, endDate);
     }
     
     public List<CalendarEventDTO> getAllUserEvents(String username) {
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -0,0 +1,117 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import es.wrapitup.wrapitup_planner.dto.CalendarDaySummaryDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarTaskDTO;
+
+// Builds the per-day summaries of a date range in one pass: every event walks only the days it
+// covers and every task lands on its own day, instead of filtering all items again for each day
+public final class CalendarMonthAggregator {
+
+    public static final int MAX_EVENT_COLORS = 3;
+
+    private final LocalDate firstDay;
+    private final int dayCount;
+    private final int[] eventCounts;
+    private final int[] pendingCounts;
+    private final List<List<DayColor>> colors;
+
+    private record DayColor(LocalDateTime start, String colorHex) {
+    }
+
+    public CalendarMonthAggregator(LocalDate firstDay, LocalDate lastDay) {
+        this.firstDay = firstDay;
+        this.dayCount = (int) ChronoUnit.DAYS.between(firstDay, lastDay) + 1;
+        this.eventCounts = new int[dayCount];
+        this.pendingCounts = new int[dayCount];
+        this.colors = new ArrayList<>(dayCount);
+        for (int i = 0; i < dayCount; i++) {
+            colors.add(new ArrayList<>(MAX_EVENT_COLORS + 1));
+        }
+    }
+
+    // The colors shown are those of the first events by start; events starting together keep their list order
+    public static List<CalendarDaySummaryDTO> summarize(LocalDate firstDay, LocalDate lastDay,
+            List<CalendarEventDTO> events, List<CalendarTaskDTO> tasks) {
+        CalendarMonthAggregator aggregator = new CalendarMonthAggregator(firstDay, lastDay);
+        for (CalendarEventDTO event : events) {
+            aggregator.addEvent(event.getStartDate(), event.getEndDate(), event.getColorHex());
+        }
+        for (CalendarTaskDTO task : tasks) {
+            if (!Boolean.TRUE.equals(task.getCompleted())) {
+                aggregator.addPendingTasks(task.getTaskDate(), 1);
+            }
+        }
+        return aggregator.summaries();
+    }
+
+    public void addEvent(LocalDateTime start, LocalDateTime end, String colorHex) {
+        int from = (int) Math.max(0, ChronoUnit.DAYS.between(firstDay, start.toLocalDate()));
+        int to = (int) Math.min(dayCount - 1, ChronoUnit.DAYS.between(firstDay, end.toLocalDate()));
+        for (int day = from; day <= to; day++) {
+            eventCounts[day]++;
+            offerColor(day, start, colorHex);
+        }
+    }
+
+    // A day the database already counted; its first colors come separately through addEventColor
+    public void addEventDay(LocalDate date, int totalEvents) {
+        int day = indexOf(date);
+        if (day >= 0) {
+            eventCounts[day] += totalEvents;
+        }
+    }
+
+    public void addEventColor(LocalDate date, LocalDateTime start, String colorHex) {
+        int day = indexOf(date);
+        if (day >= 0) {
+            offerColor(day, start, colorHex);
+        }
+    }
+
+    public void addPendingTasks(LocalDate date, int count) {
+        int day = indexOf(date);
+        if (day >= 0) {
+            pendingCounts[day] += count;
+        }
+    }
+
+    public List<CalendarDaySummaryDTO> summaries() {
+        List<CalendarDaySummaryDTO> summaries = new ArrayList<>(dayCount);
+        for (int day = 0; day < dayCount; day++) {
+            CalendarDaySummaryDTO summary = new CalendarDaySummaryDTO(firstDay.plusDays(day));
+            summary.setEventColors(colors.get(day).stream().map(DayColor::colorHex).collect(Collectors.toList()));
+            summary.setTotalEvents(eventCounts[day]);
+            summary.setPendingTasks(pendingCounts[day]);
+            summaries.add(summary);
+        }
+        return summaries;
+    }
+
+    // Keeps at most MAX_EVENT_COLORS colors per day, sorted by start
+    private void offerColor(int day, LocalDateTime start, String colorHex) {
+        List<DayColor> dayColors = colors.get(day);
+        int position = dayColors.size();
+        while (position > 0 && dayColors.get(position - 1).start().isAfter(start)) {
+            position--;
+        }
+        if (position < MAX_EVENT_COLORS) {
+            dayColors.add(position, new DayColor(start, colorHex));
+            if (dayColors.size() > MAX_EVENT_COLORS) {
+                dayColors.remove(MAX_EVENT_COLORS);
+            }
+        }
+    }
+
+    private int indexOf(LocalDate date) {
+        long day = ChronoUnit.DAYS.between(firstDay, date);
+        return day >= 0 && day < dayCount ? (int) day : -1;
+    }
+}
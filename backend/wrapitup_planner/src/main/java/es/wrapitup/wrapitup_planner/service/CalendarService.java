@@ -3,49 +3,166 @@ package es.wrapitup.wrapitup_planner.service;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import es.wrapitup.wrapitup_planner.dto.CalendarDayDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarDaySummaryDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarMonthDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarRangeDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarTaskDTO;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.CalendarSummaryJdbcRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarSummaryJdbcRepository.EventDay;
+import es.wrapitup.wrapitup_planner.repository.CalendarSummaryJdbcRepository.FirstEvent;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.ResolvedUsers;
+import jakarta.annotation.PreDestroy;
 
 @Service
 public class CalendarService {
     
+    public static final int MAX_RANGE_MONTHS = 12;
+    
     private final CalendarEventService eventService;
     private final CalendarTaskService taskService;
+    private final UserRepository userRepository;
+    private final CalendarSummaryJdbcRepository summaryRepository;
+    private final CalendarCache calendarCache;
+    private final Executor executor;
+    
+    @Autowired
+    public CalendarService(CalendarEventService eventService, CalendarTaskService taskService,
+            UserRepository userRepository, CalendarSummaryJdbcRepository summaryRepository, CalendarCache calendarCache,
+            @Value("${calendar.range.pool-size:4}") int poolSize) {
+        this(eventService, taskService, userRepository, summaryRepository, calendarCache, buildExecutor(poolSize));
+    }
     
-    public CalendarService(CalendarEventService eventService, CalendarTaskService taskService) {
+    public CalendarService(CalendarEventService eventService, CalendarTaskService taskService,
+            UserRepository userRepository, CalendarSummaryJdbcRepository summaryRepository, CalendarCache calendarCache,
+            Executor executor) {
         this.eventService = eventService;
         this.taskService = taskService;
+        this.userRepository = userRepository;
+        this.summaryRepository = summaryRepository;
+        this.calendarCache = calendarCache;
+        this.executor = executor;
+    }
+    
+    private static ThreadPoolTaskExecutor buildExecutor(int poolSize) {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(poolSize);
+        taskExecutor.setMaxPoolSize(poolSize);
+        taskExecutor.setQueueCapacity(100);
+        taskExecutor.setThreadNamePrefix("calendar-range-");
+        taskExecutor.initialize();
+        return taskExecutor;
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor taskExecutor) {
+            taskExecutor.shutdown();
+        }
     }
     
     public CalendarMonthDTO getMonthView(String username, int year, int month) {
-        LocalDate firstDayOfMonth = LocalDate.of(year, month, 1);
-        LocalDate lastDayOfMonth = firstDayOfMonth.plusMonths(1).minusDays(1);
-        
-        LocalDateTime startDateTime = firstDayOfMonth.atStartOfDay();
-        LocalDateTime endDateTime = lastDayOfMonth.atTime(LocalTime.MAX);
-        
-        List<CalendarEventDTO> monthEvents = eventService.getEventsByDateRange(username, startDateTime, endDateTime);
-        List<CalendarTaskDTO> monthTasks = taskService.getTasksByDateRange(username, firstDayOfMonth, lastDayOfMonth);
-        
-        CalendarMonthDTO monthDTO = new CalendarMonthDTO(year, month);
-        List<CalendarDaySummaryDTO> daySummaries = new ArrayList<>();
-        
-        for (LocalDate date = firstDayOfMonth; !date.isAfter(lastDayOfMonth); date = date.plusDays(1)) {
-            CalendarDaySummaryDTO daySummary = createDaySummary(date, monthEvents, monthTasks);
-            daySummaries.add(daySummary);
+        return getRangeView(username, YearMonth.of(year, month), 1).getMonths().get(0);
+    }
+    
+    // The grid only needs counts and a few colors per day, so they come from aggregate queries
+    // instead of loading and mapping every event and task. However many months are asked for,
+    // the user is resolved once and the range costs one event query and one task query, plus
+    // the expansion of the recurring series that reach it. A user whose calendar is already cached
+    // skips both queries and is counted in memory; a miss does not load the cache.
+    public CalendarRangeDTO getRangeView(String username, YearMonth firstMonth, int months) {
+        if (months < 1 || months > MAX_RANGE_MONTHS) {
+            throw new IllegalArgumentException("Months must be between 1 and " + MAX_RANGE_MONTHS);
+        }
+        LocalDate firstDay = firstMonth.atDay(1);
+        LocalDate lastDay = firstMonth.plusMonths(months - 1).atEndOfMonth();
+        
+        Long userId = ResolvedUsers.findByUsername(username, userRepository)
+                .map(UserModel::getId)
+                .orElseThrow(() -> new IllegalArgumentException("User not found"));
+        
+        CalendarMonthAggregator aggregator = new CalendarMonthAggregator(firstDay, lastDay);
+        UserCalendar calendar = calendarCache.getIfPresent(userId);
+        if (calendar != null) {
+            for (CalendarEventDTO event : eventService.getEventsInCalendar(calendar, firstDay.atStartOfDay(), lastDay.atTime(LocalTime.MAX))) {
+                aggregator.addEvent(event.getStartDate(), event.getEndDate(), event.getColorHex());
+            }
+            calendar.pendingTasksByDay(firstDay, lastDay).forEach(aggregator::addPendingTasks);
+        } else {
+            CompletableFuture<Map<LocalDate, EventDay>> eventDays = fetch(() ->
+                    summaryRepository.findEventDays(userId, firstDay, lastDay, CalendarMonthAggregator.MAX_EVENT_COLORS));
+            CompletableFuture<Map<LocalDate, Integer>> pendingTasks = fetch(() ->
+                    summaryRepository.countPendingTasksByDay(userId, firstDay, lastDay));
+            CompletableFuture<List<CalendarEventDTO>> occurrences = fetch(() ->
+                    eventService.getRecurringOccurrences(userId, firstDay.atStartOfDay(), lastDay.atTime(LocalTime.MAX)));
+            
+            join(eventDays).forEach((date, day) -> {
+                aggregator.addEventDay(date, day.totalEvents());
+                for (FirstEvent event : day.firstEvents()) {
+                    aggregator.addEventColor(date, event.startDate(), event.color().getHexCode());
+                }
+            });
+            for (CalendarEventDTO occurrence : join(occurrences)) {
+                aggregator.addEvent(occurrence.getStartDate(), occurrence.getEndDate(), occurrence.getColorHex());
+            }
+            join(pendingTasks).forEach(aggregator::addPendingTasks);
         }
         
-        monthDTO.setDays(daySummaries);
-        return monthDTO;
+        List<CalendarDaySummaryDTO> days = aggregator.summaries();
+        List<CalendarMonthDTO> monthDTOs = new ArrayList<>(months);
+        int offset = 0;
+        for (int i = 0; i < months; i++) {
+            YearMonth yearMonth = firstMonth.plusMonths(i);
+            CalendarMonthDTO monthDTO = new CalendarMonthDTO(yearMonth.getYear(), yearMonth.getMonthValue());
+            monthDTO.setDays(new ArrayList<>(days.subList(offset, offset + yearMonth.lengthOfMonth())));
+            monthDTOs.add(monthDTO);
+            offset += yearMonth.lengthOfMonth();
+        }
+        return new CalendarRangeDTO(firstDay, lastDay, monthDTOs);
+    }
+    
+    // Inside a caller's transaction the query stays on its connection so it sees uncommitted writes,
+    // and a full pool runs it on the request thread instead of failing
+    private <T> CompletableFuture<T> fetch(Supplier<T> query) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return CompletableFuture.completedFuture(query.get());
+        }
+        try {
+            return CompletableFuture.supplyAsync(query, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(query.get());
+        }
+    }
+    
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
     
     public CalendarDayDTO getDayView(String username, LocalDate date) {
@@ -68,29 +185,6 @@ public class CalendarService {
         return dayDTO;
     }
     
-    private CalendarDaySummaryDTO createDaySummary(LocalDate date, List<CalendarEventDTO> allEvents, List<CalendarTaskDTO> allTasks) {
-        CalendarDaySummaryDTO summary = new CalendarDaySummaryDTO(date);
-        
-        List<CalendarEventDTO> dayEvents = allEvents.stream()
-            .filter(event -> isEventOnDay(event, date))
-            .collect(Collectors.toList());
-        
-        List<String> eventColors = dayEvents.stream()
-            .map(CalendarEventDTO::getColorHex)
-            .limit(3)
-            .collect(Collectors.toList());
-        
-        long pendingTasksCount = allTasks.stream()
-            .filter(task -> task.getTaskDate().equals(date) && !task.getCompleted())
-            .count();
-        
-        summary.setEventColors(eventColors);
-        summary.setTotalEvents(dayEvents.size());
-        summary.setPendingTasks((int) pendingTasksCount);
-        
-        return summary;
-    }
-    
     private boolean isEventOnDay(CalendarEventDTO event, LocalDate date) {
         LocalDate eventStartDate = event.getStartDate().toLocalDate();
         LocalDate eventEndDate = event.getEndDate().toLocalDate();
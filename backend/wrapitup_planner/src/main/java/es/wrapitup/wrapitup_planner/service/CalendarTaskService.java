@@ -16,6 +16,7 @@ import es.wrapitup.wrapitup_planner.model.UserModel;
 import es.wrapitup.wrapitup_planner.model.UserStatus;
 import es.wrapitup.wrapitup_planner.repository.CalendarTaskRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.ResolvedUsers;
 
 @Service
 public class CalendarTaskService {
@@ -25,11 +26,14 @@ public class CalendarTaskService {
     private final CalendarTaskRepository taskRepository;
     private final CalendarTaskMapper taskMapper;
     private final UserRepository userRepository;
+    private final CalendarCache calendarCache;
     
-    public CalendarTaskService(CalendarTaskRepository taskRepository, CalendarTaskMapper taskMapper, UserRepository userRepository) {
+    public CalendarTaskService(CalendarTaskRepository taskRepository, CalendarTaskMapper taskMapper, UserRepository userRepository,
+            CalendarCache calendarCache) {
         this.taskRepository = taskRepository;
         this.taskMapper = taskMapper;
         this.userRepository = userRepository;
+        this.calendarCache = calendarCache;
     }
 
     private static String normalizeTitle(String value) {
@@ -58,7 +62,7 @@ public class CalendarTaskService {
             throw new IllegalArgumentException("Task date is required");
         }
         
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -81,6 +85,7 @@ public class CalendarTaskService {
         );
         
         CalendarTask saved = taskRepository.save(task);
+        calendarCache.evict(user.getId());
         return taskMapper.toDto(saved);
     }
     
@@ -94,7 +99,7 @@ public class CalendarTaskService {
         CalendarTask task = taskOpt.get();
         
 
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -124,6 +129,7 @@ public class CalendarTaskService {
         task.setLastModified(LocalDateTime.now());
         
         CalendarTask saved = taskRepository.save(task);
+        calendarCache.evict(user.getId());
         return taskMapper.toDto(saved);
     }
     
@@ -136,7 +142,7 @@ public class CalendarTaskService {
         
         CalendarTask task = taskOpt.get();
         
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -151,6 +157,7 @@ public class CalendarTaskService {
         task.setLastModified(LocalDateTime.now());
         
         CalendarTask saved = taskRepository.save(task);
+        calendarCache.evict(user.getId());
         return taskMapper.toDto(saved);
     }
     
@@ -163,7 +170,7 @@ public class CalendarTaskService {
         
         CalendarTask task = taskOpt.get();
         
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -175,16 +182,22 @@ public class CalendarTaskService {
         }
         
         taskRepository.delete(task);
+        calendarCache.evict(task.getUser().getId());
     }
     
     public List<CalendarTaskDTO> getTasksByDay(String username, LocalDate date) {
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
         
         UserModel user = userOpt.get();
         
+        UserCalendar calendar = calendarCache.get(user.getId());
+        if (calendar != null) {
+            return calendar.tasks(date, date);
+        }
+        
         return taskRepository.findByUserAndTaskDateOrderByCompletedAndCreated(user.getId(), date)
                             .stream()
                             .map(taskMapper::toDto)
@@ -192,13 +205,18 @@ public class CalendarTaskService {
     }
     
     public List<CalendarTaskDTO> getTasksByDateRange(String username, LocalDate startDate, LocalDate endDate) {
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
         
         UserModel user = userOpt.get();
         
+        UserCalendar calendar = calendarCache.get(user.getId());
+        if (calendar != null) {
+            return calendar.tasks(startDate, endDate);
+        }
+        
         return taskRepository.findByUserAndDateRangeOrderByDate(user.getId(), startDate, endDate)
                             .stream()
                             .map(taskMapper::toDto)
@@ -206,7 +224,7 @@ public class CalendarTaskService {
     }
     
     public List<CalendarTaskDTO> getPendingTasks(String username) {
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -11,14 +12,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import es.wrapitup.wrapitup_planner.dto.CommentDTO;
 import es.wrapitup.wrapitup_planner.dto.CommentMapper;
+import es.wrapitup.wrapitup_planner.dto.CursorPageDTO;
 import es.wrapitup.wrapitup_planner.model.Comment;
 import es.wrapitup.wrapitup_planner.model.Note;
-import es.wrapitup.wrapitup_planner.model.NoteVisibility;
 import es.wrapitup.wrapitup_planner.model.UserModel;
 import es.wrapitup.wrapitup_planner.model.UserStatus;
 import es.wrapitup.wrapitup_planner.repository.CommentRepository;
 import es.wrapitup.wrapitup_planner.repository.NoteRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.ResolvedUsers;
 
 @Service
 public class CommentService {
@@ -27,13 +29,16 @@ public class CommentService {
     private final CommentMapper commentMapper;
     private final NoteRepository noteRepository;
     private final UserRepository userRepository;
+    private final NoteAccessPolicy noteAccessPolicy;
     
     public CommentService(CommentRepository commentRepository, CommentMapper commentMapper, 
-                         NoteRepository noteRepository, UserRepository userRepository) {
+                         NoteRepository noteRepository, UserRepository userRepository,
+                         NoteAccessPolicy noteAccessPolicy) {
         this.commentRepository = commentRepository;
         this.commentMapper = commentMapper;
         this.noteRepository = noteRepository;
         this.userRepository = userRepository;
+        this.noteAccessPolicy = noteAccessPolicy;
     }
     
     private boolean isAdmin(UserModel user) {
@@ -60,7 +65,7 @@ public class CommentService {
             throw new IllegalArgumentException("Note not found");
         }
         
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -90,6 +95,21 @@ public class CommentService {
                                 .map(commentMapper::toDto);
     }
     
+    public CursorPageDTO<CommentDTO> getCommentsFeed(Long noteId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        Limit limit = KeysetCursor.limit(pageSize);
+        
+        List<Comment> rows = after == null
+                ? commentRepository.findByNoteIdOrderByCreatedAtDescIdDesc(noteId, limit)
+                : commentRepository.findFeedByNoteIdAfter(noteId, after.timestamp(), after.id(), limit);
+        
+        List<CommentDTO> comments = rows.stream()
+                                        .map(commentMapper::toDto)
+                                        .collect(Collectors.toList());
+        return KeysetCursor.page(comments, pageSize, comment -> new KeysetCursor(comment.getCreatedAt(), comment.getId()));
+    }
+    
     @Transactional
     public void deleteComment(Long commentId, String username) {
         Optional<Comment> commentOpt = commentRepository.findById(commentId);
@@ -99,7 +119,7 @@ public class CommentService {
         
         Comment comment = commentOpt.get();
         
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -115,39 +135,7 @@ public class CommentService {
     }
     
     public boolean canUserAccessComments(Long noteId, String username) {
-        Optional<Note> noteOpt = noteRepository.findById(noteId);
-        if (noteOpt.isEmpty()) {
-            return false;
-        }
-        
-        Note note = noteOpt.get();
-        
-        if (note.getVisibility() == NoteVisibility.PUBLIC) {
-            return true;
-        }
-        
-        if (username == null) {
-            return false;
-        }
-        
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
-        if (userOpt.isEmpty()) {
-            return false;
-        }
-        
-        UserModel user = userOpt.get();
-        
-        
-        if (isAdmin(user)) {
-            return true;
-        }
-        
-        if (note.getUser().getId().equals(user.getId())) {
-            return true;
-        }
-        
-        return note.getSharedWith().stream()
-                .anyMatch(u -> u.getId().equals(user.getId()));
+        return noteAccessPolicy.accessFor(noteId, username).canRead();
     }
     
     public Page<CommentDTO> getReportedComments(Pageable pageable) {
@@ -165,7 +153,7 @@ public class CommentService {
         Comment comment = commentOpt.get();
         
         // Verify user is authenticated
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -185,7 +173,7 @@ public class CommentService {
         Comment comment = commentOpt.get();
         
         // Only admins can unreport comments
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -1,18 +1,27 @@
 package es.wrapitup.wrapitup_planner.service;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.sql.Blob;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
-import java.util.HashSet;
-import java.util.Set;
-
-import org.hibernate.engine.jdbc.BlobProxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import es.wrapitup.wrapitup_planner.model.CalendarEvent;
 import es.wrapitup.wrapitup_planner.model.CalendarTask;
@@ -28,102 +37,149 @@ import es.wrapitup.wrapitup_planner.repository.CalendarTaskRepository;
 import es.wrapitup.wrapitup_planner.repository.CommentRepository;
 import es.wrapitup.wrapitup_planner.repository.NoteRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
-import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
+// Seeds the demo users with their notes, comments and calendar once the application is ready.
+// It runs on its own thread so startup never waits for it, skips databases that already have the
+// demo users, and writes everything in one batched transaction so a failed run leaves nothing behind.
 @Service
-public class DatabaseInitizalizer {
+public class DemoDataSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(DemoDataSeeder.class);
+
+    private static final String DEMO_PASSWORD = "12345678";
+    private static final List<String> DEMO_USERNAMES = List.of("genericUser", "secondUser", "thirdUser", "admin");
 
     private final UserRepository userRepository;
+    private final ImageStore imageStore;
     private final NoteRepository noteRepository;
     private final CommentRepository commentRepository;
     private final CalendarEventRepository eventRepository;
     private final CalendarTaskRepository taskRepository;
     private final PasswordEncoder passwordEncoder;
-    
-    public DatabaseInitizalizer(UserRepository userRepository, NoteRepository noteRepository, 
-                                CommentRepository commentRepository, CalendarEventRepository eventRepository,
-                                CalendarTaskRepository taskRepository, PasswordEncoder passwordEncoder) {
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final ThreadPoolTaskExecutor executor;
+
+    public DemoDataSeeder(UserRepository userRepository, ImageStore imageStore,
+                          NoteRepository noteRepository, CommentRepository commentRepository,
+                          CalendarEventRepository eventRepository, CalendarTaskRepository taskRepository,
+                          PasswordEncoder passwordEncoder, PlatformTransactionManager transactionManager,
+                          @Value("${seed.enabled:true}") boolean enabled) {
         this.userRepository = userRepository;
+        this.imageStore = imageStore;
         this.noteRepository = noteRepository;
         this.commentRepository = commentRepository;
         this.eventRepository = eventRepository;
         this.taskRepository = taskRepository;
         this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.executor = buildExecutor();
+    }
+
+    private static ThreadPoolTaskExecutor buildExecutor() {
+        ThreadPoolTaskExecutor taskExecutor = new ThreadPoolTaskExecutor();
+        taskExecutor.setCorePoolSize(1);
+        taskExecutor.setMaxPoolSize(1);
+        taskExecutor.setThreadNamePrefix("demo-data-seed-");
+        taskExecutor.initialize();
+        return taskExecutor;
     }
 
-    public Blob saveImageFromFile(String resourcePath) throws IOException {
-    ClassLoader classLoader = getClass().getClassLoader();
-    try (InputStream inputStream = classLoader.getResourceAsStream(resourcePath)) {
-        if (inputStream == null) {
-            throw new IOException("File not found in classpath: " + resourcePath);
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedInBackground() {
+        if (!enabled) {
+            return;
         }
+        // CI waits for one of these log lines before the end-to-end tests log in as the demo users
+        executor.execute(() -> {
+            try {
+                if (!seed()) {
+                    log.info("Demo data already present");
+                }
+            } catch (RuntimeException e) {
+                // Another instance seeding at the same time loses on the username constraint and rolls back
+                log.warn("Demo data seeding failed", e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
 
-        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-        byte[] data = new byte[1024];
-        int bytesRead;
-        while ((bytesRead = inputStream.read(data, 0, data.length)) != -1) {
-            buffer.write(data, 0, bytesRead);
+    // Returns false when the demo users are already there
+    public boolean seed() {
+        if (!userRepository.findByUsernameIn(DEMO_USERNAMES).isEmpty()) {
+            return false;
         }
-        
-        return BlobProxy.generateProxy(buffer.toByteArray());
+
+        long started = System.nanoTime();
+        // BCrypt is slow on purpose, so the demo passwords are hashed in parallel while the images load
+        CompletableFuture<byte[]> calendarImage = CompletableFuture.supplyAsync(() -> readResource("images/calendar.jpg"));
+        CompletableFuture<byte[]> notebookImage = CompletableFuture.supplyAsync(() -> readResource("images/notebook.jpg"));
+        Map<String, String> passwordHashes = DEMO_USERNAMES.parallelStream()
+                .collect(Collectors.toMap(Function.identity(), username -> passwordEncoder.encode(DEMO_PASSWORD)));
+
+        transactionTemplate.executeWithoutResult(status ->
+                insert(passwordHashes, calendarImage.join(), notebookImage.join()));
+        log.info("Seeded demo data in {} ms", (System.nanoTime() - started) / 1_000_000);
+        return true;
     }
-}
 
-    @PostConstruct
-    public void init() throws IOException{
+    private byte[] readResource(String resourcePath) {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(resourcePath)) {
+            if (inputStream == null) {
+                throw new IOException("File not found in classpath: " + resourcePath);
+            }
+            return inputStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-            UserModel user = new UserModel(
+    private void insert(Map<String, String> passwordHashes, byte[] calendarImage, byte[] notebookImage) {
+        UserModel user = new UserModel(
             "genericUser",
             "genericUser@example.com",
-            passwordEncoder.encode("12345678"),
+            passwordHashes.get("genericUser"),
             UserStatus.ACTIVE,
             "USER"
         );
 
-        user.setProfilePic(saveImageFromFile("images/calendar.jpg"));
-
-        user = userRepository.save(user);
-
-        user.setImage("/api/v1/users/profile-image/" + user.getId());
-
-        userRepository.save(user);
-
-        // User 2: secondUser
         UserModel secondUser = new UserModel(
-            "secondUser", 
-            "secondUser@example.com", 
-            passwordEncoder.encode("12345678"), 
-            UserStatus.ACTIVE, 
+            "secondUser",
+            "secondUser@example.com",
+            passwordHashes.get("secondUser"),
+            UserStatus.ACTIVE,
             "USER"
         );
-        secondUser.setProfilePic(saveImageFromFile("images/notebook.jpg"));
-        userRepository.save(secondUser);
-        secondUser.setImage("/api/v1/users/profile-image/" + secondUser.getId());
-        userRepository.save(secondUser);
 
-        // User 3: thirdUser
         UserModel thirdUser = new UserModel(
             "thirdUser",
             "thirdUser@example.com",
-            passwordEncoder.encode("12345678"),
+            passwordHashes.get("thirdUser"),
             UserStatus.ACTIVE,
             "USER"
         );
-        thirdUser.setProfilePic(saveImageFromFile("images/calendar.jpg"));
-        userRepository.save(thirdUser);
-        thirdUser.setImage("/api/v1/users/profile-image/" + thirdUser.getId());
-        userRepository.save(thirdUser);
 
-        // admin
         UserModel admin = new UserModel(
-            "admin", 
-            "admin@example.com", 
-            passwordEncoder.encode("12345678"), 
-            UserStatus.ACTIVE, 
+            "admin",
+            "admin@example.com",
+            passwordHashes.get("admin"),
+            UserStatus.ACTIVE,
             "ADMIN", "USER"
         );
 
-        userRepository.save(admin);
+        // The image pointers are written with JDBC, so the users have to reach the database first
+        userRepository.saveAllAndFlush(List.of(user, secondUser, thirdUser, admin));
+        String calendarHash = imageStore.store(calendarImage, "image/jpeg");
+        String notebookHash = imageStore.store(notebookImage, "image/jpeg");
+        user.setImage(imageStore.assignProfileImage(user.getId(), calendarHash));
+        secondUser.setImage(imageStore.assignProfileImage(secondUser.getId(), notebookHash));
+        thirdUser.setImage(imageStore.assignProfileImage(thirdUser.getId(), calendarHash));
 
         // Notes for genericUser
                 String note1JsonQuestions = """
@@ -505,50 +561,23 @@ public class DatabaseInitizalizer {
         );
         note25.setCategory(NoteCategory.SCIENCE);
 
-        noteRepository.save(note1);
-        noteRepository.save(note2);
-        noteRepository.save(note3);
-        noteRepository.save(note4);
-        noteRepository.save(note5);
-        noteRepository.save(note6);
-        noteRepository.save(note7);
-        noteRepository.save(note8);
-        noteRepository.save(note9);
-        noteRepository.save(note10);
-        noteRepository.save(note11);
-        noteRepository.save(note21);
-        noteRepository.save(note22);
-        noteRepository.save(note23);
-        noteRepository.save(note19);
-        noteRepository.save(note20);
-        noteRepository.save(note24);
-        noteRepository.save(note25);
-        noteRepository.save(note12);
-        noteRepository.save(note13);
-        noteRepository.save(note14);
-        noteRepository.save(note15);
-        noteRepository.save(note16);
-        noteRepository.save(note17);
-        noteRepository.save(note18);
+        noteRepository.saveAll(List.of(
+                note1, note2, note3, note4, note5, note6,
+                note7, note8, note9, note10, note11, note21,
+                note22, note23, note19, note20, note24, note25,
+                note12, note13, note14, note15, note16, note17,
+                note18
+        ));
 
         // Share some notes
         // note1 (genericUser's Pythagorean Theorem) shared with secondUser
-        Set<UserModel> sharedWith1 = new HashSet<>();
-        sharedWith1.add(secondUser);
-        note1.setSharedWith(sharedWith1);
-        noteRepository.save(note1);
+        note1.getSharedWith().add(secondUser);
 
         // note6 (secondUser's Quadratic Equations) shared with genericUser
-        Set<UserModel> sharedWith6 = new HashSet<>();
-        sharedWith6.add(user);
-        note6.setSharedWith(sharedWith6);
-        noteRepository.save(note6);
+        note6.getSharedWith().add(user);
 
         // note9 (secondUser's Impresionismo) shared with genericUser
-        Set<UserModel> sharedWith9 = new HashSet<>();
-        sharedWith9.add(user);
-        note9.setSharedWith(sharedWith9);
-        noteRepository.save(note9);
+        note9.getSharedWith().add(user);
 
         // thirdUser comments on notes from genericUser and secondUser
         Comment comment13 = new Comment("Nice explanation, very clear", note1, thirdUser);
@@ -558,12 +587,7 @@ public class DatabaseInitizalizer {
         Comment comment17 = new Comment("The timeline format works well", note23, user);
         Comment comment18 = new Comment("Good intro to the topic", note24, user);
 
-        commentRepository.save(comment13);
-        commentRepository.save(comment14);
-        commentRepository.save(comment15);
-        commentRepository.save(comment16);
-        commentRepository.save(comment17);
-        commentRepository.save(comment18);
+        commentRepository.saveAll(List.of(comment13, comment14, comment15, comment16, comment17, comment18));
 
 
         Comment comment1 = new Comment("Useful, thanks", note1, secondUser);
@@ -591,24 +615,11 @@ public class DatabaseInitizalizer {
         comment23.setReported(true);
         comment24.setReported(true);
 
-        commentRepository.save(comment1);
-        commentRepository.save(comment2);
-        commentRepository.save(comment3);
-        commentRepository.save(comment4);
-        commentRepository.save(comment5);
-        commentRepository.save(comment6);
-        commentRepository.save(comment7);
-        commentRepository.save(comment8);
-        commentRepository.save(comment9);
-        commentRepository.save(comment10);
-        commentRepository.save(comment11);
-        commentRepository.save(comment12);
-        commentRepository.save(comment19);
-        commentRepository.save(comment20);
-        commentRepository.save(comment21);
-        commentRepository.save(comment22);
-        commentRepository.save(comment23);
-        commentRepository.save(comment24);
+        commentRepository.saveAll(List.of(
+                comment1, comment2, comment3, comment4, comment5, comment6,
+                comment7, comment8, comment9, comment10, comment11, comment12,
+                comment19, comment20, comment21, comment22, comment23, comment24
+        ));
 
         CalendarEvent event1 = new CalendarEvent(
             user,
@@ -680,13 +691,10 @@ public class DatabaseInitizalizer {
             false
         );
 
-        eventRepository.save(event1);
-        eventRepository.save(event4);
-        eventRepository.save(event6);
-        eventRepository.save(event7);
-        eventRepository.save(event11);
-        eventRepository.save(event13);
-        eventRepository.save(event14);
+        eventRepository.saveAll(List.of(
+                event1, event4, event6, event7, event11, event13,
+                event14
+        ));
 
         CalendarEvent event15 = new CalendarEvent(
             secondUser,
@@ -728,10 +736,7 @@ public class DatabaseInitizalizer {
             false
         );
 
-        eventRepository.save(event15);
-        eventRepository.save(event16);
-        eventRepository.save(event17);
-        eventRepository.save(event18);
+        eventRepository.saveAll(List.of(event15, event16, event17, event18));
 
         CalendarTask task1 = new CalendarTask(
             user,
@@ -948,33 +953,14 @@ public class DatabaseInitizalizer {
             false
         );
 
-        taskRepository.save(task1);
-        taskRepository.save(task2);
-        taskRepository.save(task3);
-        taskRepository.save(task4);
-        taskRepository.save(task5);
-        taskRepository.save(task6);
-        taskRepository.save(task7);
-        taskRepository.save(task8);
-        taskRepository.save(task9);
-        taskRepository.save(task10);
-        taskRepository.save(task11);
-        taskRepository.save(task12);
-        taskRepository.save(task13);
-        taskRepository.save(task14);
-        taskRepository.save(task15);
-        taskRepository.save(task16);
-        taskRepository.save(task17);
-        taskRepository.save(task18);
-        taskRepository.save(task19);
-        taskRepository.save(task20);
-        taskRepository.save(task21);
-        taskRepository.save(task22);
-        taskRepository.save(task23);
-        taskRepository.save(task24);
-
-        eventRepository.save(thirdUserEvent1);
-        eventRepository.save(thirdUserEvent2);
+        taskRepository.saveAll(List.of(
+                task1, task2, task3, task4, task5, task6,
+                task7, task8, task9, task10, task11, task12,
+                task13, task14, task15, task16, task17, task18,
+                task19, task20, task21, task22, task23, task24
+        ));
+
+        eventRepository.saveAll(List.of(thirdUserEvent1, thirdUserEvent2));
     }
 
     private LocalDate currentMonthDate(int dayOfMonth) {
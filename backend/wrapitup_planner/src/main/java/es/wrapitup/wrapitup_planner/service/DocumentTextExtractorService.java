@@ -1,23 +1,99 @@
 package es.wrapitup.wrapitup_planner.service;
 
+import jakarta.annotation.PreDestroy;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParser;
+import javax.xml.parsers.SAXParserFactory;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.text.PDFTextStripper;
-import org.apache.poi.xslf.usermodel.XMLSlideShow;
-import org.apache.poi.xslf.usermodel.XSLFShape;
-import org.apache.poi.xslf.usermodel.XSLFSlide;
-import org.apache.poi.xslf.usermodel.XSLFTextShape;
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.Attributes;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
+// Extracts text without materializing whole documents: PDFs spill to a scratch file and are
+// stripped page by page (large ones in parallel page ranges), OOXML parts are read with SAX straight from the zip stream, and
+// every reader stops as soon as the character limit is exceeded
 @Service
 public class DocumentTextExtractorService {
 
+    private static final int DEFAULT_MAX_CHARS = 1_000_000;
+    private static final int DEFAULT_PARALLEL_MIN_PAGES = 16;
+
+    // PDFBox keeps up to this much in memory and spills the rest to a temp file
+    private static final long PDF_MAIN_MEMORY_BYTES = 8L * 1024 * 1024;
+
+    private static final String WORDPROCESSING_NS = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+    private static final String DRAWING_NS = "http://schemas.openxmlformats.org/drawingml/2006/main";
+
+    private static final Pattern SLIDE_PART = Pattern.compile("ppt/slides/slide(\\d+)\\.xml");
+
+    private static final int MIN_PAGES_PER_RANGE = 4;
+
+    private final int maxChars;
+    private final ForkJoinPool pdfPool;
+    private final int pdfParallelMinPages;
+
+    public DocumentTextExtractorService() {
+        this(DEFAULT_MAX_CHARS, 0);
+    }
+
+    public DocumentTextExtractorService(int maxInputChars, int maxDocumentChars) {
+        this(maxInputChars, maxDocumentChars, 0, DEFAULT_PARALLEL_MIN_PAGES);
+    }
+
+    // pdfParallelism 0 uses one worker per core, 1 keeps extraction sequential on the calling thread
+    @Autowired
+    public DocumentTextExtractorService(@Value("${openai.max-input-chars:50000}") int maxInputChars,
+                                        @Value("${openai.max-document-chars:1000000}") int maxDocumentChars,
+                                        @Value("${ai.extraction.pdf-parallelism:0}") int pdfParallelism,
+                                        @Value("${ai.extraction.pdf-parallel-min-pages:16}") int pdfParallelMinPages) {
+        this.maxChars = Math.max(maxInputChars, maxDocumentChars);
+        int workers = pdfParallelism > 0 ? pdfParallelism : Runtime.getRuntime().availableProcessors();
+        this.pdfPool = workers > 1 ? new ForkJoinPool(workers, pdfWorkerFactory(), null, false) : null;
+        this.pdfParallelMinPages = pdfParallelMinPages;
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory pdfWorkerFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("pdf-extract-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     public String extractText(MultipartFile file) {
         if (file == null || file.isEmpty()) {
             throw new IllegalArgumentException("File is required");
@@ -40,8 +116,14 @@ public class DocumentTextExtractorService {
     }
 
     private String readPlainText(MultipartFile file) {
-        try {
-            String content = new String(file.getBytes(), StandardCharsets.UTF_8).trim();
+        try (Reader reader = new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8)) {
+            BoundedText text = new BoundedText(maxChars);
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = reader.read(buffer)) != -1) {
+                text.append(buffer, 0, read);
+            }
+            String content = text.toString().trim();
             if (content.isBlank()) {
                 throw new IllegalArgumentException("File is empty or unreadable");
             }
@@ -52,58 +134,206 @@ public class DocumentTextExtractorService {
     }
 
     private String readPdf(MultipartFile file) {
-        try (InputStream inputStream = file.getInputStream(); PDDocument document = PDDocument.load(inputStream)) {
-            PDFTextStripper stripper = new PDFTextStripper();
-            String text = stripper.getText(document).trim();
-            if (text.isBlank()) {
+        Path pdf = null;
+        try {
+            // Spooled once so parallel range tasks can each open their own PDDocument
+            pdf = Files.createTempFile("wrapitup-pdf-", ".pdf");
+            try (InputStream inputStream = file.getInputStream()) {
+                Files.copy(inputStream, pdf, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            BoundedText text = new BoundedText(maxChars);
+            try (PDDocument document = loadPdf(pdf)) {
+                int pages = document.getNumberOfPages();
+                if (pdfPool == null || pages < pdfParallelMinPages) {
+                    stripPages(document, 1, pages, text);
+                } else {
+                    stripInParallel(pdf, pages, text);
+                }
+            }
+
+            String result = text.toString().trim();
+            if (result.isBlank()) {
                 throw new IllegalArgumentException("PDF contains no readable text");
             }
-            return text;
+            return result;
         } catch (IOException e) {
             throw new IllegalArgumentException("Unable to read PDF", e);
+        } finally {
+            deleteQuietly(pdf);
         }
     }
 
-    private String readDocx(MultipartFile file) {
-        try (InputStream inputStream = file.getInputStream(); XWPFDocument document = new XWPFDocument(inputStream)) {
-            StringBuilder builder = new StringBuilder();
-            for (XWPFParagraph paragraph : document.getParagraphs()) {
-                String text = paragraph.getText();
-                if (text != null && !text.isBlank()) {
-                    builder.append(text).append('\n');
+    // PDDocument is not thread safe, so every range task loads its own copy from the spooled file.
+    // The ranges draw on the budget of the final text, so together they never hold more than the limit.
+    private void stripInParallel(Path pdf, int pages, BoundedText text) throws IOException {
+        int rangeSize = Math.max(MIN_PAGES_PER_RANGE, (pages + pdfPool.getParallelism() * 2 - 1) / (pdfPool.getParallelism() * 2));
+        List<ForkJoinTask<BoundedText>> ranges = new ArrayList<>();
+        for (int start = 1; start <= pages; start += rangeSize) {
+            int first = start;
+            int last = Math.min(pages, start + rangeSize - 1);
+            ranges.add(pdfPool.submit(() -> {
+                try (PDDocument document = loadPdf(pdf)) {
+                    BoundedText range = text.sharingBudget();
+                    stripPages(document, first, last, range);
+                    return range;
                 }
+            }));
+        }
+
+        try {
+            for (ForkJoinTask<BoundedText> range : ranges) {
+                text.appendCounted(range.get());
             }
-            String result = builder.toString().trim();
-            if (result.isBlank()) {
-                throw new IllegalArgumentException("Word document contains no readable text");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("PDF extraction was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
             }
-            return result;
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("PDF extraction failed", e.getCause());
+        } finally {
+            ranges.forEach(range -> range.cancel(false));
+        }
+    }
+
+    // One pass over the range; the stripper writes as it goes, so the limit is checked line by line
+    private void stripPages(PDDocument document, int first, int last, BoundedText text) throws IOException {
+        PDFTextStripper stripper = new PDFTextStripper();
+        stripper.setStartPage(first);
+        stripper.setEndPage(last);
+        stripper.writeText(document, text.writer());
+    }
+
+    private PDDocument loadPdf(Path pdf) throws IOException {
+        return PDDocument.load(pdf.toFile(), MemoryUsageSetting.setupMixed(PDF_MAIN_MEMORY_BYTES));
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
         } catch (IOException e) {
+            path.toFile().deleteOnExit();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (pdfPool != null) {
+            pdfPool.shutdownNow();
+        }
+    }
+
+    private String readDocx(MultipartFile file) {
+        BoundedText text = new BoundedText(maxChars);
+        try (ZipInputStream zip = new ZipInputStream(file.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if ("word/document.xml".equals(entry.getName())) {
+                    parse(zip, new ParagraphTextHandler(WORDPROCESSING_NS, text));
+                    break;
+                }
+            }
+        } catch (IOException | SAXException e) {
             throw new IllegalArgumentException("Unable to read Word document", e);
         }
+
+        String result = text.toString().trim();
+        if (result.isBlank()) {
+            throw new IllegalArgumentException("Word document contains no readable text");
+        }
+        return result;
     }
 
     private String readPptx(MultipartFile file) {
-        try (InputStream inputStream = file.getInputStream(); XMLSlideShow slideShow = new XMLSlideShow(inputStream)) {
-            StringBuilder builder = new StringBuilder();
-            for (XSLFSlide slide : slideShow.getSlides()) {
-                for (XSLFShape shape : slide.getShapes()) {
-                    if (shape instanceof XSLFTextShape) {
-                        String text = ((XSLFTextShape) shape).getText();
-                        if (text != null && !text.isBlank()) {
-                            builder.append(text).append('\n');
-                        }
-                    }
+        // Slide parts may appear in any order inside the zip, so each slide is buffered
+        // (the buffers share the character limit) and ordered once the whole zip was read
+        BoundedText budget = new BoundedText(maxChars);
+        Map<String, String> slideTexts = new HashMap<>();
+        List<String> slideOrder = new ArrayList<>();
+        Map<String, String> relationships = new HashMap<>();
+
+        try (ZipInputStream zip = new ZipInputStream(file.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (SLIDE_PART.matcher(name).matches()) {
+                    BoundedText slide = budget.sharingBudget();
+                    parse(zip, new ParagraphTextHandler(DRAWING_NS, slide));
+                    slideTexts.put(name, slide.toString());
+                } else if ("ppt/presentation.xml".equals(name)) {
+                    parse(zip, new SlideListHandler(slideOrder));
+                } else if ("ppt/_rels/presentation.xml.rels".equals(name)) {
+                    parse(zip, new RelationshipHandler(relationships));
                 }
             }
-            String result = builder.toString().trim();
-            if (result.isBlank()) {
-                throw new IllegalArgumentException("PowerPoint contains no readable text");
-            }
-            return result;
-        } catch (IOException e) {
+        } catch (IOException | SAXException e) {
             throw new IllegalArgumentException("Unable to read PowerPoint", e);
         }
+
+        StringBuilder builder = new StringBuilder();
+        for (String slide : orderSlides(slideTexts, slideOrder, relationships)) {
+            if (!slide.isBlank()) {
+                // Blank line between slides so long decks can be chunked on slide boundaries
+                builder.append(slide).append('\n');
+            }
+        }
+        String result = builder.toString().trim();
+        if (result.isBlank()) {
+            throw new IllegalArgumentException("PowerPoint contains no readable text");
+        }
+        return result;
+    }
+
+    // Follows the presentation's slide list; falls back to slide number for parts it does not reference
+    private List<String> orderSlides(Map<String, String> slideTexts, List<String> slideOrder, Map<String, String> relationships) {
+        List<String> ordered = new ArrayList<>();
+        for (String relationshipId : slideOrder) {
+            String target = relationships.get(relationshipId);
+            if (target == null) {
+                continue;
+            }
+            String part = target.startsWith("/") ? target.substring(1) : "ppt/" + target;
+            String slide = slideTexts.remove(part);
+            if (slide != null) {
+                ordered.add(slide);
+            }
+        }
+
+        TreeMap<Integer, String> remaining = new TreeMap<>();
+        for (Map.Entry<String, String> slide : slideTexts.entrySet()) {
+            Matcher matcher = SLIDE_PART.matcher(slide.getKey());
+            if (matcher.matches()) {
+                remaining.put(Integer.parseInt(matcher.group(1)), slide.getValue());
+            }
+        }
+        ordered.addAll(remaining.values());
+        return ordered;
+    }
+
+    private void parse(InputStream part, DefaultHandler handler) throws IOException, SAXException {
+        try {
+            SAXParserFactory factory = SAXParserFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            SAXParser parser = factory.newSAXParser();
+            // The parser closes its input, which would close the whole zip stream
+            parser.parse(new FilterInputStream(part) {
+                @Override
+                public void close() {
+                }
+            }, handler);
+        } catch (ParserConfigurationException e) {
+            throw new IllegalStateException("XML parser is not available", e);
+        }
     }
 
     private String getExtension(String filename) {
@@ -116,4 +346,158 @@ public class DocumentTextExtractorService {
         }
         return filename.substring(lastDot + 1).toLowerCase(Locale.ROOT);
     }
+
+    // Text buffer charged against a character budget that several buffers may share (and fill from different threads)
+    private static final class BoundedText {
+        private final AtomicInteger remaining;
+        private final StringBuilder builder = new StringBuilder();
+
+        private BoundedText(int maxChars) {
+            this(new AtomicInteger(maxChars));
+        }
+
+        private BoundedText(AtomicInteger remaining) {
+            this.remaining = remaining;
+        }
+
+        // An empty buffer drawing on the same budget as this one
+        private BoundedText sharingBudget() {
+            return new BoundedText(remaining);
+        }
+
+        private void append(String value) {
+            append(value.toCharArray(), 0, value.length());
+        }
+
+        private void append(char[] chars, int start, int length) {
+            if (remaining.addAndGet(-length) < 0) {
+                throw new IllegalArgumentException("File exceeds maximum character limit");
+            }
+            builder.append(chars, start, length);
+        }
+
+        // Appends a buffer that already paid from this one's budget
+        private void appendCounted(BoundedText other) {
+            builder.append(other.builder);
+        }
+
+        private int remaining() {
+            return remaining.get();
+        }
+
+        private Writer writer() {
+            return new Writer() {
+                @Override
+                public void write(char[] chars, int start, int length) {
+                    BoundedText.this.append(chars, start, length);
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+
+    // Collects the text runs of WordprocessingML or DrawingML and ends each non-blank paragraph with a newline
+    private static final class ParagraphTextHandler extends DefaultHandler {
+        private final String namespace;
+        private final BoundedText text;
+        private final StringBuilder paragraph = new StringBuilder();
+        private boolean inText;
+
+        private ParagraphTextHandler(String namespace, BoundedText text) {
+            this.namespace = namespace;
+            this.text = text;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if (!namespace.equals(uri)) {
+                return;
+            }
+            switch (localName) {
+                case "t" -> inText = true;
+                case "tab" -> paragraph.append('\t');
+                case "br" -> paragraph.append('\n');
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            if (!namespace.equals(uri)) {
+                return;
+            }
+            if ("t".equals(localName)) {
+                inText = false;
+            } else if ("p".equals(localName)) {
+                if (!paragraph.toString().isBlank()) {
+                    paragraph.append('\n');
+                    text.append(paragraph.toString());
+                }
+                paragraph.setLength(0);
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inText) {
+                if (paragraph.length() + length > text.remaining()) {
+                    throw new IllegalArgumentException("File exceeds maximum character limit");
+                }
+                paragraph.append(ch, start, length);
+            }
+        }
+    }
+
+    private static final class SlideListHandler extends DefaultHandler {
+        private static final String RELATIONSHIPS_NS =
+                "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+        private final List<String> slideOrder;
+
+        private SlideListHandler(List<String> slideOrder) {
+            this.slideOrder = slideOrder;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if ("sldId".equals(localName)) {
+                String relationshipId = attributes.getValue(RELATIONSHIPS_NS, "id");
+                if (relationshipId != null) {
+                    slideOrder.add(relationshipId);
+                }
+            }
+        }
+    }
+
+    private static final class RelationshipHandler extends DefaultHandler {
+        private final Map<String, String> relationships;
+
+        private RelationshipHandler(Map<String, String> relationships) {
+            this.relationships = relationships;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            if ("Relationship".equals(localName)) {
+                String id = attributes.getValue("Id");
+                String target = attributes.getValue("Target");
+                if (id != null && target != null) {
+                    relationships.put(id, target);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,47 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import es.wrapitup.wrapitup_planner.HibernateCacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+
+@Service
+public class EntityCacheStatsService {
+
+    private final Statistics statistics;
+
+    public EntityCacheStatsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public boolean isEnabled() {
+        return statistics.isStatisticsEnabled();
+    }
+
+    // Counters are empty until hibernate.generate_statistics is on
+    public List<RegionStats> getRegionStats() {
+        return HibernateCacheConfig.REGIONS.stream()
+                .map(this::regionStats)
+                .toList();
+    }
+
+    private RegionStats regionStats(String region) {
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        if (regionStatistics == null) {
+            return new RegionStats(region, 0, 0, 0, 0, 0);
+        }
+        long hits = regionStatistics.getHitCount();
+        long misses = regionStatistics.getMissCount();
+        double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        return new RegionStats(region, hits, misses, regionStatistics.getPutCount(),
+                regionStatistics.getElementCountInMemory(), hitRatio);
+    }
+
+    public record RegionStats(String region, long hits, long misses, long puts, long entries, double hitRatio) {
+    }
+}
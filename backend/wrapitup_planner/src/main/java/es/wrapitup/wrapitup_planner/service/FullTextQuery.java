@@ -0,0 +1,46 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Turns a free-text search box value into a MySQL boolean-mode query where every word is
+// required and matched as a prefix, e.g. "pyth theorem" -> "+pyth* +theorem*"
+public final class FullTextQuery {
+
+    // InnoDB does not index tokens shorter than innodb_ft_min_token_size (3 by default)
+    public static final int MIN_TERM_LENGTH = 3;
+    public static final int MAX_TERMS = 10;
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}_]+");
+
+    private FullTextQuery() {
+    }
+
+    // Returns null when no word is long enough for the index, so callers fall back to a plain title search
+    public static String toBooleanMode(String search) {
+        if (search == null || search.isBlank()) {
+            return null;
+        }
+
+        Set<String> terms = new LinkedHashSet<>();
+        for (String word : NON_WORD.split(search.strip().toLowerCase(Locale.ROOT))) {
+            if (word.length() >= MIN_TERM_LENGTH && terms.size() < MAX_TERMS) {
+                terms.add(word);
+            }
+        }
+        if (terms.isEmpty()) {
+            return null;
+        }
+
+        StringBuilder query = new StringBuilder();
+        for (String term : terms) {
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append('+').append(term).append('*');
+        }
+        return query.toString();
+    }
+}
@@ -0,0 +1,125 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import es.wrapitup.wrapitup_planner.dto.StoredImageDTO;
+import es.wrapitup.wrapitup_planner.repository.ImageJdbcRepository;
+
+// Stores images by the SHA-256 of their bytes and points each user's profile picture at one of them
+@Service
+public class ImageStore {
+
+    private static final int VERSION_LENGTH = 12;
+
+    // An insert only has to be repeated when a concurrent delete removed the blob in between
+    private static final int MAX_STORE_ATTEMPTS = 3;
+
+    // Served back with the stored type, so anything scriptable such as SVG falls back to JPEG like before
+    private static final Set<String> RASTER_TYPES = Set.of("image/jpeg", "image/png", "image/gif", "image/webp");
+
+    private final ImageJdbcRepository imageRepository;
+
+    public ImageStore(ImageJdbcRepository imageRepository) {
+        this.imageRepository = imageRepository;
+    }
+
+    public static String profileImageUrl(Long userId, String hash) {
+        return "/api/v1/users/profile-image/" + userId + "?v=" + versionOf(hash);
+    }
+
+    public static String versionOf(String hash) {
+        return hash.substring(0, VERSION_LENGTH);
+    }
+
+    // Stores the upload and points the user's picture at it in one transaction, so a failed assignment
+    // leaves no orphan blob behind
+    @Transactional
+    public String assignProfileImage(Long userId, MultipartFile file) throws IOException {
+        return assignProfileImage(userId, store(file));
+    }
+
+    // The upload is read twice, once to hash it and once to stream it into the table,
+    // so it never has to be held in memory as a whole. Run it in the transaction that assigns the image:
+    // the blob stays locked against deleteIfUnused until that transaction ends.
+    public String store(MultipartFile file) throws IOException {
+        String hash;
+        try (InputStream in = file.getInputStream()) {
+            hash = sha256(in);
+        }
+        storeBlob(hash, rasterType(file.getContentType()), file.getSize(), file);
+        return hash;
+    }
+
+    public String store(byte[] data, String contentType) {
+        try {
+            String hash = sha256(new ByteArrayInputStream(data));
+            storeBlob(hash, rasterType(contentType), data.length, new ByteArrayResource(data));
+            return hash;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not hash in-memory image", e);
+        }
+    }
+
+    // Returns the versioned URL of the new picture; the previous image is dropped once nobody uses it
+    @Transactional
+    public String assignProfileImage(Long userId, String hash) {
+        Optional<String> previous = imageRepository.findProfileImageHash(userId);
+        imageRepository.setProfileImage(userId, hash);
+        previous.filter(old -> !old.equals(hash)).ifPresent(imageRepository::deleteIfUnused);
+        return profileImageUrl(userId, hash);
+    }
+
+    public Optional<StoredImageDTO> findProfileImage(Long userId) {
+        return imageRepository.findProfileImage(userId);
+    }
+
+    public boolean writeTo(String hash, OutputStream out) {
+        return imageRepository.writeTo(hash, out);
+    }
+
+    // An identical blob may already be stored, or be about to be deleted by another user's image change
+    private void storeBlob(String hash, String contentType, long size, InputStreamSource data) throws IOException {
+        for (int attempt = 0; attempt < MAX_STORE_ATTEMPTS; attempt++) {
+            boolean inserted;
+            try (InputStream in = data.getInputStream()) {
+                inserted = imageRepository.insertIfAbsent(hash, contentType, size, in);
+            }
+            if (inserted || imageRepository.lockForUse(hash)) {
+                return;
+            }
+        }
+        throw new IllegalStateException("Image was deleted while it was being stored, try again");
+    }
+
+    private static String rasterType(String contentType) {
+        return contentType != null && RASTER_TYPES.contains(contentType) ? contentType : "image/jpeg";
+    }
+
+    private static String sha256(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        try (DigestInputStream digestStream = new DigestInputStream(in, digest)) {
+            digestStream.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
@@ -0,0 +1,90 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Immutable set of closed [start, end] intervals. Entries are kept sorted by start in an array that doubles
+// as a balanced search tree (each range's middle is its root), and every root also stores the latest end
+// below it, so an overlap query skips whole subtrees that end too early or start too late.
+public final class IntervalTree<T> {
+
+    public record Entry<T>(LocalDateTime start, LocalDateTime end, T value) {
+    }
+
+    private final LocalDateTime[] starts;
+    private final LocalDateTime[] ends;
+    private final LocalDateTime[] maxEnds;
+    private final Object[] values;
+
+    public IntervalTree(List<Entry<T>> entries) {
+        List<Entry<T>> sorted = new ArrayList<>(entries);
+        // Stable, so entries with the same start keep the order they were given in
+        sorted.sort(Comparator.comparing(Entry::start));
+        int size = sorted.size();
+        starts = new LocalDateTime[size];
+        ends = new LocalDateTime[size];
+        maxEnds = new LocalDateTime[size];
+        values = new Object[size];
+        for (int i = 0; i < size; i++) {
+            Entry<T> entry = sorted.get(i);
+            if (entry.end().isBefore(entry.start())) {
+                throw new IllegalArgumentException("Interval ends before it starts");
+            }
+            starts[i] = entry.start();
+            ends[i] = entry.end();
+            values[i] = entry.value();
+        }
+        computeMaxEnds(0, size - 1);
+    }
+
+    private LocalDateTime computeMaxEnds(int low, int high) {
+        if (low > high) {
+            return null;
+        }
+        int middle = (low + high) >>> 1;
+        LocalDateTime maxEnd = ends[middle];
+        LocalDateTime left = computeMaxEnds(low, middle - 1);
+        LocalDateTime right = computeMaxEnds(middle + 1, high);
+        if (left != null && left.isAfter(maxEnd)) {
+            maxEnd = left;
+        }
+        if (right != null && right.isAfter(maxEnd)) {
+            maxEnd = right;
+        }
+        maxEnds[middle] = maxEnd;
+        return maxEnd;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    // Values whose interval overlaps [from, to], in start order
+    public List<T> overlapping(LocalDateTime from, LocalDateTime to) {
+        List<T> result = new ArrayList<>();
+        collect(0, values.length - 1, from, to, result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void collect(int low, int high, LocalDateTime from, LocalDateTime to, List<T> result) {
+        if (low > high) {
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        if (maxEnds[middle].isBefore(from)) {
+            return;
+        }
+        collect(low, middle - 1, from, to, result);
+        // Everything to the right starts at or after this entry
+        if (starts[middle].isAfter(to)) {
+            return;
+        }
+        if (!ends[middle].isBefore(from)) {
+            result.add((T) values[middle]);
+        }
+        collect(middle + 1, high, from, to, result);
+    }
+}
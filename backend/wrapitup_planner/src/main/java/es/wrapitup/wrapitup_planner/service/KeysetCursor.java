@@ -0,0 +1,56 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import es.wrapitup.wrapitup_planner.dto.CursorPageDTO;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Limit;
+
+// Position in a feed ordered by (timestamp DESC, id DESC), handed to clients as an opaque string
+public record KeysetCursor(LocalDateTime timestamp, Long id) {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // A null or blank cursor means the first page
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.strip()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public static int pageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // One extra row tells whether another page exists without a COUNT query
+    public static Limit limit(int pageSize) {
+        return Limit.of(pageSize + 1);
+    }
+
+    public static <T> CursorPageDTO<T> page(List<T> rows, int pageSize, Function<T, KeysetCursor> position) {
+        boolean hasNext = rows.size() > pageSize;
+        List<T> content = new ArrayList<>(hasNext ? rows.subList(0, pageSize) : rows);
+        String nextCursor = hasNext ? position.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPageDTO<>(content, nextCursor, !hasNext);
+    }
+}
@@ -0,0 +1,14 @@
+package es.wrapitup.wrapitup_planner.service;
+
+// Why a user may read a note; NONE also covers notes that do not exist
+public enum NoteAccess {
+    NONE,
+    PUBLIC,
+    SHARED,
+    OWNER,
+    ADMIN;
+
+    public boolean canRead() {
+        return this != NONE;
+    }
+}
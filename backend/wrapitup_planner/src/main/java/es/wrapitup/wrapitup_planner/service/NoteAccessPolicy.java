@@ -0,0 +1,56 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import es.wrapitup.wrapitup_planner.dto.NoteAccessDTO;
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.ResolvedUsers;
+
+// Read access to a note for notes and comments, decided by one indexed query instead of loading sharedWith
+@Service
+public class NoteAccessPolicy {
+
+    private final NoteRepository noteRepository;
+    private final UserRepository userRepository;
+
+    public NoteAccessPolicy(NoteRepository noteRepository, UserRepository userRepository) {
+        this.noteRepository = noteRepository;
+        this.userRepository = userRepository;
+    }
+
+    public NoteAccess accessFor(Long noteId, String username) {
+        // Unknown usernames are treated like anonymous visitors
+        UserModel user = username != null
+                ? ResolvedUsers.findByUsername(username, userRepository).orElse(null)
+                : null;
+
+        Optional<NoteAccessDTO> access = noteRepository.findAccess(noteId, user != null ? user.getId() : null);
+        if (access.isEmpty()) {
+            return NoteAccess.NONE;
+        }
+
+        NoteAccessDTO facts = access.get();
+        if (facts.isOwner()) {
+            return NoteAccess.OWNER;
+        }
+        if (isAdmin(user)) {
+            return NoteAccess.ADMIN;
+        }
+        if (facts.isShared()) {
+            return NoteAccess.SHARED;
+        }
+        if (facts.getVisibility() == NoteVisibility.PUBLIC) {
+            return NoteAccess.PUBLIC;
+        }
+        return NoteAccess.NONE;
+    }
+
+    private boolean isAdmin(UserModel user) {
+        return user != null && user.getRoles() != null && user.getRoles().contains("ADMIN");
+    }
+}
@@ -1,8 +1,10 @@
 package es.wrapitup.wrapitup_planner.service;
 
 import es.wrapitup.wrapitup_planner.dto.AiNoteResult;
+import es.wrapitup.wrapitup_planner.dto.CursorPageDTO;
 import es.wrapitup.wrapitup_planner.dto.NoteDTO;
 import es.wrapitup.wrapitup_planner.dto.NoteMapper;
+import es.wrapitup.wrapitup_planner.dto.NoteSummaryDTO;
 import es.wrapitup.wrapitup_planner.dto.QuizResultDTO;
 import es.wrapitup.wrapitup_planner.model.Note;
 import es.wrapitup.wrapitup_planner.model.NoteCategory;
@@ -13,12 +15,14 @@ import es.wrapitup.wrapitup_planner.model.UserStatus;
 import es.wrapitup.wrapitup_planner.repository.NoteRepository;
 import es.wrapitup.wrapitup_planner.repository.QuizScoreRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.ResolvedUsers;
 import java.time.LocalDateTime;
-import java.util.HashSet;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -32,14 +36,16 @@ public class NoteService {
     private final OpenAiService openAiService;
     private final DocumentTextExtractorService documentTextExtractorService;
     private final QuizScoreRepository quizScoreRepository;
+    private final NoteAccessPolicy noteAccessPolicy;
 
-    public NoteService(NoteRepository noteRepository, NoteMapper noteMapper, UserRepository userRepository, OpenAiService openAiService, DocumentTextExtractorService documentTextExtractorService, QuizScoreRepository quizScoreRepository) {
+    public NoteService(NoteRepository noteRepository, NoteMapper noteMapper, UserRepository userRepository, OpenAiService openAiService, DocumentTextExtractorService documentTextExtractorService, QuizScoreRepository quizScoreRepository, NoteAccessPolicy noteAccessPolicy) {
         this.noteRepository = noteRepository;
         this.noteMapper = noteMapper;
         this.userRepository = userRepository;
         this.openAiService = openAiService;
         this.documentTextExtractorService = documentTextExtractorService;
         this.quizScoreRepository = quizScoreRepository;
+        this.noteAccessPolicy = noteAccessPolicy;
     }
     private boolean isAdmin(UserModel user) {
         return user != null && user.getRoles() != null && user.getRoles().contains("ADMIN");
@@ -57,7 +63,7 @@ public class NoteService {
         }
         
         
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -92,8 +98,8 @@ public class NoteService {
         Note saved = noteRepository.save(note);
         return noteMapper.toDto(saved);
     }
-    public NoteDTO createNoteFromAi(MultipartFile file, String username, NoteVisibility visibility, NoteCategory category) {
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+    UserModel requireNoteAuthor(String username) {
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isEmpty()) {
             throw new IllegalArgumentException("User not found");
         }
@@ -107,10 +113,28 @@ public class NoteService {
         if (isAdmin(user)) {
             throw new SecurityException("Admins cannot create notes");
         }
+        return user;
+    }
+
+    public NoteDTO createNoteFromAi(MultipartFile file, String username, NoteVisibility visibility, NoteCategory category) {
+        UserModel user = requireNoteAuthor(username);
 
         String extractedText = documentTextExtractorService.extractText(file);
         AiNoteResult aiResult = openAiService.generateNoteFromText(extractedText);
+        return saveAiNote(user, aiResult, visibility, category);
+    }
+
+    public NoteDTO createNoteFromAi(MultipartFile file, String username, NoteVisibility visibility, NoteCategory category,
+                                    AiNoteProgressListener listener) {
+        UserModel user = requireNoteAuthor(username);
 
+        String extractedText = documentTextExtractorService.extractText(file);
+        listener.onExtracted(extractedText.length());
+        AiNoteResult aiResult = openAiService.streamNoteFromText(extractedText, listener::onToken);
+        return saveAiNote(user, aiResult, visibility, category);
+    }
+
+    private NoteDTO saveAiNote(UserModel user, AiNoteResult aiResult, NoteVisibility visibility, NoteCategory category) {
         String title = aiResult.getTitle();
         if (title == null || title.isBlank()) {
             throw new IllegalArgumentException("AI did not generate a title");
@@ -139,7 +163,7 @@ public class NoteService {
             return Optional.empty();
         }
 
-        Optional<UserModel> currentUserOpt = userRepository.findByUsername(username);
+        Optional<UserModel> currentUserOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (currentUserOpt.isEmpty()) {
             return Optional.empty();
         }
@@ -174,7 +198,7 @@ public class NoteService {
     }
 
     public List<NoteDTO> findUsersNotesById (String username) {
-        Optional<UserModel> currentUserOpt = userRepository.findByUsername(username);
+        Optional<UserModel> currentUserOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (currentUserOpt.isEmpty()) {
             return null;
         }
@@ -187,7 +211,7 @@ public class NoteService {
     }
 
     public Page<NoteDTO> findUsersNotesPaginated(String username, Pageable pageable) {
-        Optional<UserModel> currentUserOpt = userRepository.findByUsername(username);
+        Optional<UserModel> currentUserOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (currentUserOpt.isEmpty()) {
             return null;
         }
@@ -196,8 +220,8 @@ public class NoteService {
                                 .map(noteMapper::toDto);
     }
     
-    public Page<NoteDTO> findRecentNotesByUser(String username, Pageable pageable, String category, String search) {
-        Optional<UserModel> currentUserOpt = userRepository.findByUsername(username);
+    public Page<NoteSummaryDTO> findRecentNotesByUser(String username, Pageable pageable, String category, String search) {
+        Optional<UserModel> currentUserOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (currentUserOpt.isEmpty()) {
             return Page.empty();
         }
@@ -211,98 +235,130 @@ public class NoteService {
         
         Long userId = user.getId();
         
-        Page<Note> notes;
+        Page<NoteSummaryDTO> notes;
         
         
         boolean hasCategory = category != null && !category.isEmpty();
         boolean hasSearch = search != null && !search.isEmpty();
+        String fullTextQuery = hasSearch ? FullTextQuery.toBooleanMode(search) : null;
         
         if (hasCategory && hasSearch) {
             // Both filters
             NoteCategory noteCategory = NoteCategory.valueOf(category.toUpperCase());
-            notes = noteRepository.findByUserIdAndCategoryAndTitleContainingOrderByLastModifiedDesc(userId, noteCategory, search, pageable);
+            Supplier<Page<NoteSummaryDTO>> titleSearch = () ->
+                    noteRepository.findSummariesByUserIdAndCategoryAndTitleContaining(userId, noteCategory, search, pageable);
+            notes = fullTextQuery != null
+                    ? orTitleMatches(noteRepository.findSummariesByUserIdAndCategoryMatching(userId, noteCategory, fullTextQuery, pageable), titleSearch)
+                    : titleSearch.get();
         } else if (hasCategory) {
             // Category only
             NoteCategory noteCategory = NoteCategory.valueOf(category.toUpperCase());
-            notes = noteRepository.findByUserIdAndCategoryOrderByLastModifiedDesc(userId, noteCategory, pageable);
+            notes = noteRepository.findSummariesByUserIdAndCategory(userId, noteCategory, pageable);
         } else if (hasSearch) {
             // Search only
-            notes = noteRepository.findByUserIdAndTitleContainingOrderByLastModifiedDesc(userId, search, pageable);
+            Supplier<Page<NoteSummaryDTO>> titleSearch = () ->
+                    noteRepository.findSummariesByUserIdAndTitleContaining(userId, search, pageable);
+            notes = fullTextQuery != null
+                    ? orTitleMatches(noteRepository.findSummariesByUserIdMatching(userId, fullTextQuery, pageable), titleSearch)
+                    : titleSearch.get();
         } else {
             // No filters
-            notes = noteRepository.findByUserIdOrderByLastModifiedDesc(userId, pageable);
+            notes = noteRepository.findSummariesByUserId(userId, pageable);
         }
         
-        return notes.map(noteMapper::toDto);
+        return notes;
     }
     
-    public Page<NoteDTO> findNotesSharedWithUser(String username, Pageable pageable, String search) {
+    public Page<NoteSummaryDTO> findNotesSharedWithUser(String username, Pageable pageable, String search) {
         if (username == null || username.isEmpty()) {
             return Page.empty();
         }
         
         // Check if user is admin
-        Optional<UserModel> userOpt = userRepository.findByUsername(username);
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (userOpt.isPresent() && isAdmin(userOpt.get())) {
             throw new SecurityException("Admins do not have shared notes");
         }
         
-        Page<Note> notes;
+        Page<NoteSummaryDTO> notes;
         
-        if (search != null && !search.isEmpty()) {
-            notes = noteRepository.findNotesSharedWithUserAndTitleContaining(username, search, pageable);
+        String fullTextQuery = FullTextQuery.toBooleanMode(search);
+        if (fullTextQuery != null) {
+            notes = orTitleMatches(noteRepository.findSummariesSharedWithUserMatching(username, fullTextQuery, pageable),
+                    () -> noteRepository.findSummariesSharedWithUserAndTitleContaining(username, search, pageable));
+        } else if (search != null && !search.isEmpty()) {
+            notes = noteRepository.findSummariesSharedWithUserAndTitleContaining(username, search, pageable);
         } else {
-            notes = noteRepository.findNotesSharedWithUser(username, pageable);
+            notes = noteRepository.findSummariesSharedWithUser(username, pageable);
         }
         
-        return notes.map(noteMapper::toDto);
+        return notes;
     }
 
-    public Optional<NoteDTO> findByIdWithPermissions(Long id, String username) {
-        Optional<Note> noteOpt = noteRepository.findById(id);
-        
-        if (noteOpt.isEmpty()) {
-            return Optional.empty();
+    // Substring title matches (e.g. "orem" in "Theorem") cannot use the FULLTEXT index, so they are
+    // only searched when the index finds nothing at all
+    private static Page<NoteSummaryDTO> orTitleMatches(Page<NoteSummaryDTO> matches, Supplier<Page<NoteSummaryDTO>> titleSearch) {
+        return matches.getTotalElements() > 0 ? matches : titleSearch.get();
+    }
+
+    public CursorPageDTO<NoteSummaryDTO> findRecentNotesFeed(String username, String cursor, int size, String category) {
+        Optional<UserModel> currentUserOpt = ResolvedUsers.findByUsername(username, userRepository);
+        if (currentUserOpt.isEmpty()) {
+            return new CursorPageDTO<>(new ArrayList<>(), null, true);
         }
         
-        Note note = noteOpt.get();
-        
-        
-        if (note.getVisibility() == NoteVisibility.PUBLIC) {
-            return Optional.of(noteMapper.toDto(note));
+        UserModel user = currentUserOpt.get();
+        if (isAdmin(user)) {
+            throw new SecurityException("Admins do not have their own notes");
         }
         
+        Long userId = user.getId();
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        Limit limit = KeysetCursor.limit(pageSize);
         
-        if (username == null) {
-            return Optional.empty(); 
-        }
-        
-        Optional<UserModel> currentUserOpt = userRepository.findByUsername(username);
-        if (currentUserOpt.isEmpty()) {
-            return Optional.empty();
+        List<NoteSummaryDTO> rows;
+        if (category != null && !category.isEmpty()) {
+            NoteCategory noteCategory = NoteCategory.valueOf(category.toUpperCase());
+            rows = after == null
+                    ? noteRepository.findSummaryFeedByUserIdAndCategory(userId, noteCategory, limit)
+                    : noteRepository.findSummaryFeedByUserIdAndCategoryAfter(userId, noteCategory, after.timestamp(), after.id(), limit);
+        } else {
+            rows = after == null
+                    ? noteRepository.findSummaryFeedByUserId(userId, limit)
+                    : noteRepository.findSummaryFeedByUserIdAfter(userId, after.timestamp(), after.id(), limit);
         }
         
-        UserModel currentUser = currentUserOpt.get();
-        
-        
-        if (isAdmin(currentUser)) {
-            return Optional.of(noteMapper.toDto(note));
+        return KeysetCursor.page(rows, pageSize, note -> new KeysetCursor(note.getLastModified(), note.getId()));
+    }
+    
+    public CursorPageDTO<NoteSummaryDTO> findSharedNotesFeed(String username, String cursor, int size) {
+        if (username == null || username.isEmpty()) {
+            return new CursorPageDTO<>(new ArrayList<>(), null, true);
         }
         
-        
-        if (note.getUser().getId().equals(currentUser.getId())) {
-            return Optional.of(noteMapper.toDto(note));
+        Optional<UserModel> userOpt = ResolvedUsers.findByUsername(username, userRepository);
+        if (userOpt.isPresent() && isAdmin(userOpt.get())) {
+            throw new SecurityException("Admins do not have shared notes");
         }
         
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int pageSize = KeysetCursor.pageSize(size);
+        Limit limit = KeysetCursor.limit(pageSize);
         
-        boolean isShared = note.getSharedWith().stream()
-                .anyMatch(u -> u.getId().equals(currentUser.getId()));
+        List<NoteSummaryDTO> rows = after == null
+                ? noteRepository.findSummaryFeedSharedWithUser(username, limit)
+                : noteRepository.findSummaryFeedSharedWithUserAfter(username, after.timestamp(), after.id(), limit);
         
-        if (isShared) {
-            return Optional.of(noteMapper.toDto(note));
+        return KeysetCursor.page(rows, pageSize, note -> new KeysetCursor(note.getLastModified(), note.getId()));
+    }
+
+    public Optional<NoteDTO> findByIdWithPermissions(Long id, String username) {
+        if (!noteAccessPolicy.accessFor(id, username).canRead()) {
+            return Optional.empty();
         }
-        
-        return Optional.empty(); 
+        return noteRepository.findById(id)
+                .map(noteMapper::toDto);
     }
 
     public Optional<NoteDTO> updateNote(Long id, NoteDTO noteDTO, String username) {
@@ -315,7 +371,7 @@ public class NoteService {
         Note note = existingNote.get();
         
         
-        Optional<UserModel> currentUserOpt = userRepository.findByUsername(username);
+        Optional<UserModel> currentUserOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (currentUserOpt.isEmpty()) {
             return Optional.empty();
         }
@@ -379,16 +435,15 @@ public class NoteService {
             return Optional.empty();
         }
         
-        Optional<UserModel> userToShare = userRepository.findByUsername(username);
+        Optional<UserModel> userToShare = ResolvedUsers.findByUsername(username, userRepository);
         if (userToShare.isEmpty()) {
             return Optional.empty();
         }
         
+        // Adding to the managed collection lets Hibernate insert one row instead of rewriting the join table
         Note note = existingNote.get();
-        Set<UserModel> sharedUsers = new HashSet<>(note.getSharedWith());
-        sharedUsers.add(userToShare.get());
+        note.getSharedWith().add(userToShare.get());
         
-        note.setSharedWith(sharedUsers);
         Note updated = noteRepository.save(note);
         return Optional.of(noteMapper.toDto(updated));
     }
@@ -403,7 +458,7 @@ public class NoteService {
         Note note = existingNote.get();
         
         
-        Optional<UserModel> currentUserOpt = userRepository.findByUsername(username);
+        Optional<UserModel> currentUserOpt = ResolvedUsers.findByUsername(username, userRepository);
         if (currentUserOpt.isEmpty()) {
             return false;
         }
@@ -434,15 +489,14 @@ public class NoteService {
             throw new IllegalArgumentException("quizScore must be between 0 and quizMaxScore");
         }
 
-        Optional<NoteDTO> permitted = findByIdWithPermissions(noteId, username);
-        if (permitted.isEmpty()) {
+        if (!noteAccessPolicy.accessFor(noteId, username).canRead()) {
             throw new SecurityException("You do not have permission to submit quiz results for this note");
         }
 
         Note note = noteRepository.findById(noteId)
                 .orElseThrow(() -> new IllegalArgumentException("Note not found"));
 
-        UserModel user = userRepository.findByUsername(username)
+        UserModel user = ResolvedUsers.findByUsername(username, userRepository)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
 
         quizScoreRepository.save(new QuizScore(note, user, score, maxScore));
@@ -0,0 +1,144 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import es.wrapitup.wrapitup_planner.dto.NoteShareResultDTO;
+import es.wrapitup.wrapitup_planner.model.Note;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.NoteShareJdbcRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+// Shares a note with many users at once: usernames are resolved in one IN query and only
+// the rows that are actually missing (or present, for unsharing) are written
+@Service
+public class NoteSharingService {
+
+    static final int MAX_USERNAMES = 500;
+
+    private static final String SHARED_WITH_ROLE = Note.class.getName() + ".sharedWith";
+
+    private final NoteRepository noteRepository;
+    private final UserRepository userRepository;
+    private final NoteShareJdbcRepository noteShareJdbcRepository;
+    private final NoteAccessPolicy noteAccessPolicy;
+    private final Cache secondLevelCache;
+
+    public NoteSharingService(NoteRepository noteRepository, UserRepository userRepository,
+            NoteShareJdbcRepository noteShareJdbcRepository, NoteAccessPolicy noteAccessPolicy,
+            EntityManagerFactory entityManagerFactory) {
+        this.noteRepository = noteRepository;
+        this.userRepository = userRepository;
+        this.noteShareJdbcRepository = noteShareJdbcRepository;
+        this.noteAccessPolicy = noteAccessPolicy;
+        this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    @Transactional
+    public Optional<NoteShareResultDTO> shareWithUsernames(Long noteId, Collection<String> usernames, String ownerUsername) {
+        return apply(noteId, usernames, ownerUsername, true);
+    }
+
+    @Transactional
+    public Optional<NoteShareResultDTO> unshareWithUsernames(Long noteId, Collection<String> usernames, String ownerUsername) {
+        return apply(noteId, usernames, ownerUsername, false);
+    }
+
+    private Optional<NoteShareResultDTO> apply(Long noteId, Collection<String> usernames, String ownerUsername, boolean share) {
+        Set<String> requested = normalize(usernames);
+
+        if (noteAccessPolicy.accessFor(noteId, ownerUsername) != NoteAccess.OWNER) {
+            if (!noteRepository.existsById(noteId)) {
+                return Optional.empty();
+            }
+            throw new SecurityException("Only the owner can change who this note is shared with");
+        }
+
+        Map<String, UserModel> found = userRepository.findByUsernameIn(requested).stream()
+                .collect(Collectors.toMap(UserModel::getUsername, Function.identity()));
+        Set<Long> current = new HashSet<>(noteShareJdbcRepository.findSharedUserIds(noteId));
+
+        List<String> changed = new ArrayList<>();
+        List<String> unchanged = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+        List<Long> delta = new ArrayList<>();
+        for (String username : requested) {
+            UserModel user = found.get(username);
+            if (user == null) {
+                notFound.add(username);
+            } else if (username.equals(ownerUsername) || current.contains(user.getId()) == share) {
+                // The owner always has access, so sharing with them is a no-op
+                unchanged.add(username);
+            } else {
+                changed.add(username);
+                delta.add(user.getId());
+            }
+        }
+
+        if (!delta.isEmpty()) {
+            if (share) {
+                noteShareJdbcRepository.insert(noteId, delta);
+                current.addAll(delta);
+            } else {
+                noteShareJdbcRepository.delete(noteId, delta);
+                delta.forEach(current::remove);
+            }
+            evictSharedWith(noteId);
+        }
+
+        changed.sort(null);
+        unchanged.sort(null);
+        notFound.sort(null);
+        return Optional.of(new NoteShareResultDTO(noteId, changed, unchanged, notFound, current.size()));
+    }
+
+    private Set<String> normalize(Collection<String> usernames) {
+        if (usernames == null || usernames.isEmpty()) {
+            throw new IllegalArgumentException("At least one username is required");
+        }
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String username : usernames) {
+            if (username != null && !username.isBlank()) {
+                normalized.add(username.trim());
+            }
+        }
+        if (normalized.isEmpty()) {
+            throw new IllegalArgumentException("At least one username is required");
+        }
+        if (normalized.size() > MAX_USERNAMES) {
+            throw new IllegalArgumentException("A note can be shared with at most " + MAX_USERNAMES + " users per request");
+        }
+        return normalized;
+    }
+
+    // The JDBC writes bypass Hibernate, so the cached collection is dropped now and again after commit
+    // in case another transaction re-cached the old rows in between
+    private void evictSharedWith(Long noteId) {
+        secondLevelCache.evictCollectionData(SHARED_WITH_ROLE, noteId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    secondLevelCache.evictCollectionData(SHARED_WITH_ROLE, noteId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Caps concurrent upstream calls without parking a thread per waiting request. Waiters leave the queue as soon
+// as they are cancelled or have waited longer than maxQueueWait, so they never take a permit nobody uses.
+public class OpenAiRequestGate {
+
+    private final int maxInFlight;
+    private final int maxQueued;
+    // Zero waits as long as it takes
+    private final Duration maxQueueWait;
+    private final Deque<PendingRequest<?>> queue = new ArrayDeque<>();
+
+    private int inFlight;
+    private long started;
+    private long rejected;
+    private long abandoned;
+    private long totalQueued;
+    private long totalQueueWaitNanos;
+
+    public OpenAiRequestGate(int maxInFlight, int maxQueued) {
+        this(maxInFlight, maxQueued, Duration.ZERO);
+    }
+
+    public OpenAiRequestGate(int maxInFlight, int maxQueued, Duration maxQueueWait) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be greater than 0");
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = Math.max(0, maxQueued);
+        this.maxQueueWait = maxQueueWait.isNegative() ? Duration.ZERO : maxQueueWait;
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<CompletableFuture<T>> request) {
+        PendingRequest<T> pending = new PendingRequest<>(request, new CompletableFuture<>(), System.nanoTime());
+
+        synchronized (this) {
+            if (inFlight < maxInFlight) {
+                inFlight++;
+                started++;
+            } else if (queue.size() < maxQueued) {
+                queue.addLast(pending);
+                totalQueued++;
+                waitInQueue(pending);
+                return pending.result;
+            } else {
+                rejected++;
+                return CompletableFuture.failedFuture(
+                        new IllegalStateException("Too many AI requests in progress, try again later"));
+            }
+        }
+
+        start(pending);
+        return pending.result;
+    }
+
+    public synchronized Stats getStats() {
+        double averageWaitMillis = totalQueued == 0 ? 0.0 : (totalQueueWaitNanos / 1_000_000.0) / totalQueued;
+        return new Stats(maxInFlight, maxQueued, inFlight, queue.size(), started, totalQueued, rejected, abandoned,
+                averageWaitMillis);
+    }
+
+    // Called with the lock held, right after the request was queued
+    private void waitInQueue(PendingRequest<?> pending) {
+        // A caller cancelling (or failing) the result gives up its place
+        pending.result.whenComplete((value, error) -> {
+            if (error != null) {
+                leaveQueue(pending);
+            }
+        });
+        if (!maxQueueWait.isZero()) {
+            CompletableFuture.delayedExecutor(maxQueueWait.toMillis(), TimeUnit.MILLISECONDS).execute(() -> {
+                if (leaveQueue(pending)) {
+                    pending.result.completeExceptionally(
+                            new IllegalStateException("Timed out waiting for a free AI request slot, try again later"));
+                }
+            });
+        }
+    }
+
+    // False once the request has been started or has already left
+    private synchronized boolean leaveQueue(PendingRequest<?> pending) {
+        if (!queue.remove(pending)) {
+            return false;
+        }
+        abandoned++;
+        return true;
+    }
+
+    private <T> void start(PendingRequest<T> pending) {
+        CompletableFuture<T> call;
+        try {
+            call = pending.request.get();
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+
+        call.whenComplete((value, error) -> {
+            release();
+            if (error != null) {
+                pending.result.completeExceptionally(error);
+            } else {
+                pending.result.complete(value);
+            }
+        });
+    }
+
+    private void release() {
+        PendingRequest<?> next;
+        synchronized (this) {
+            next = queue.pollFirst();
+            // Skips a waiter given up on just before it could leave the queue itself
+            while (next != null && next.result.isDone()) {
+                abandoned++;
+                next = queue.pollFirst();
+            }
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            started++;
+            totalQueueWaitNanos += System.nanoTime() - next.enqueuedAt;
+        }
+        start(next);
+    }
+
+    public record Stats(int maxInFlight, int maxQueued, int inFlight, int queued,
+                        long started, long totalQueued, long rejected, long abandoned, double averageQueueWaitMillis) {
+    }
+
+    private record PendingRequest<T>(Supplier<CompletableFuture<T>> request, CompletableFuture<T> result, long enqueuedAt) {
+    }
+}
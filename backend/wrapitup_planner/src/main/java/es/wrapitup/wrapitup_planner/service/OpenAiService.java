@@ -5,12 +5,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import es.wrapitup.wrapitup_planner.dto.AiNoteResult;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -18,12 +33,18 @@ import org.springframework.stereotype.Service;
 public class OpenAiService {
     private final ObjectMapper objectMapper;
     private final HttpClient httpClient;
+    private final ExecutorService httpExecutor;
+    private final OpenAiRequestGate requestGate;
+    private final AiResultCacheService resultCache;
 
     @Value("${openai.api-key:}")
     private String apiKey;
 
     private static final String MODEL = "gpt-4o";
 
+    // Bump whenever buildPrompt/buildQuizPrompt change so cached results are not reused
+    private static final String PROMPT_VERSION = "1";
+
     @Value("${openai.api-base:https://api.openai.com/v1}")
     private String apiBase;
 
@@ -36,24 +57,242 @@ public class OpenAiService {
     @Value("${openai.max-summary-chars:5000}")
     private int maxSummaryChars;
 
+    // Longer documents are summarized chunk by chunk; 0 keeps the single-request limit
+    @Value("${openai.max-document-chars:1000000}")
+    private int maxDocumentChars;
+
+    @Value("${openai.chunk-chars:12000}")
+    private int chunkChars = 12000;
+
+    @Value("${openai.chunk-parallelism:4}")
+    private int chunkParallelism = 4;
+
+    @Value("${openai.request-timeout-seconds:120}")
+    private long requestTimeoutSeconds = 120;
+
     public OpenAiService(ObjectMapper objectMapper) {
+        this(objectMapper, null, 10, 4, 50, 60);
+    }
+
+    @Autowired
+    public OpenAiService(ObjectMapper objectMapper,
+                         AiResultCacheService resultCache,
+                         @Value("${openai.connect-timeout-seconds:10}") long connectTimeoutSeconds,
+                         @Value("${openai.max-in-flight:4}") int maxInFlight,
+                         @Value("${openai.max-queued:50}") int maxQueued,
+                         @Value("${openai.max-queue-wait-seconds:60}") long maxQueueWaitSeconds) {
         this.objectMapper = objectMapper;
-        this.httpClient = HttpClient.newBuilder().build();
+        this.resultCache = resultCache;
+        this.httpExecutor = Executors.newFixedThreadPool(Math.max(2, maxInFlight), daemonThreadFactory());
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(connectTimeoutSeconds))
+                .executor(httpExecutor)
+                .build();
+        this.requestGate = new OpenAiRequestGate(maxInFlight, maxQueued, Duration.ofSeconds(maxQueueWaitSeconds));
     }
 
     public AiNoteResult generateNoteFromText(String text) {
-        validateInput(text);
-
-        String prompt = buildPrompt(text);
-        String responseBody = callOpenAi(prompt);
-        return parseResponse(responseBody);
+        validateDocument(text);
+        return await(noteFromText(text));
     }
 
     public String generateQuizFromText(String text) {
         validateInput(text);
-        String prompt = buildQuizPrompt(text);
-        String responseBody = callOpenAi(prompt);
-        return parseQuizResponse(responseBody);
+        return await(quizFromText(text));
+    }
+
+    public CompletableFuture<AiNoteResult> generateNoteFromTextAsync(String text) {
+        try {
+            validateDocument(text);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return noteFromText(text);
+    }
+
+    public CompletableFuture<String> generateQuizFromTextAsync(String text) {
+        try {
+            validateInput(text);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return quizFromText(text);
+    }
+
+    // Same result as generateNoteFromText, but content deltas are handed to onDelta as they arrive
+    public AiNoteResult streamNoteFromText(String text, Consumer<String> onDelta) {
+        validateDocument(text);
+        return await(streamedNoteFromText(text, onDelta));
+    }
+
+    private CompletableFuture<AiNoteResult> noteFromText(String text) {
+        String cacheKey = noteCacheKey(text);
+        Optional<AiNoteResult> cached = cachedNote(cacheKey);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        if (text.length() > maxInputChars) {
+            return condense(text)
+                    .thenCompose(this::noteFromText)
+                    .thenApply(result -> {
+                        cacheNote(cacheKey, result);
+                        return result;
+                    });
+        }
+        return callOpenAiAsync(buildPrompt(text))
+                .thenApply(this::parseResponse)
+                .thenApply(result -> {
+                    cacheNote(cacheKey, result);
+                    return result;
+                });
+    }
+
+    private CompletableFuture<AiNoteResult> streamedNoteFromText(String text, Consumer<String> onDelta) {
+        String cacheKey = noteCacheKey(text);
+        Optional<AiNoteResult> cached = cachedNote(cacheKey);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        if (text.length() > maxInputChars) {
+            // Only the final reduce pass is streamed, chunk summaries are not user facing
+            return condense(text)
+                    .thenCompose(digest -> streamedNoteFromText(digest, onDelta))
+                    .thenApply(result -> {
+                        cacheNote(cacheKey, result);
+                        return result;
+                    });
+        }
+
+        HttpRequest request = buildHttpRequest(buildRequestBody(buildPrompt(text), true));
+        ChatStreamSubscriber subscriber = new ChatStreamSubscriber(onDelta);
+
+        return requestGate.submit(() -> httpClient.sendAsync(request,
+                        HttpResponse.BodyHandlers.fromLineSubscriber(subscriber, ChatStreamSubscriber::content, null)))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw translateError(unwrap(error));
+                    }
+                    if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                        throw new IllegalStateException("OpenAI request failed with status " + response.statusCode());
+                    }
+                    String content = response.body();
+                    if (content == null || content.isBlank()) {
+                        throw new IllegalStateException("OpenAI response is empty");
+                    }
+                    return parseNoteContent(content);
+                })
+                .thenApply(result -> {
+                    cacheNote(cacheKey, result);
+                    return result;
+                });
+    }
+
+    // Map step of the map-reduce: summarizes chunks until the combined digest fits in one request
+    private CompletableFuture<String> condense(String text) {
+        List<String> chunks = TextChunker.split(text, Math.min(chunkChars, maxInputChars));
+        int summaryChars = Math.max(500, Math.min(maxSummaryChars, maxInputChars / chunks.size() - 2));
+
+        return summarizeChunks(chunks, summaryChars).thenCompose(summaries -> {
+            String digest = String.join("\n\n", summaries);
+            if (digest.length() <= maxInputChars) {
+                return CompletableFuture.completedFuture(digest);
+            }
+            if (digest.length() >= text.length()) {
+                throw new IllegalStateException("Document could not be condensed below the input limit");
+            }
+            return condense(digest);
+        });
+    }
+
+    // Keeps at most chunkParallelism chunk requests in flight so large documents do not flood the gate queue
+    private CompletableFuture<List<String>> summarizeChunks(List<String> chunks, int summaryChars) {
+        String[] summaries = new String[chunks.size()];
+        CompletableFuture<List<String>> result = new CompletableFuture<>();
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger remaining = new AtomicInteger(chunks.size());
+
+        Runnable[] launcher = new Runnable[1];
+        launcher[0] = () -> {
+            int index = next.getAndIncrement();
+            if (index >= chunks.size() || result.isDone()) {
+                return;
+            }
+            callOpenAiAsync(buildChunkPrompt(chunks.get(index), index + 1, chunks.size(), summaryChars))
+                    .thenApply(this::parseChunkResponse)
+                    .whenComplete((summary, error) -> {
+                        if (error != null) {
+                            result.completeExceptionally(unwrap(error));
+                            return;
+                        }
+                        summaries[index] = truncate(summary, summaryChars);
+                        if (remaining.decrementAndGet() == 0) {
+                            result.complete(List.of(summaries));
+                        } else {
+                            launcher[0].run();
+                        }
+                    });
+        };
+
+        for (int i = 0; i < Math.max(1, chunkParallelism); i++) {
+            launcher[0].run();
+        }
+        return result;
+    }
+
+    private String noteCacheKey(String text) {
+        return AiResultCacheService.cacheKey(
+                "note|" + PROMPT_VERSION + "|" + MODEL + "|" + maxOverviewChars + "|" + maxSummaryChars, text);
+    }
+
+    private CompletableFuture<String> quizFromText(String text) {
+        String cacheKey = AiResultCacheService.cacheKey("quiz|" + PROMPT_VERSION + "|" + MODEL, text);
+        Optional<String> cached = resultCache != null ? resultCache.get(cacheKey) : Optional.empty();
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.get());
+        }
+        return callOpenAiAsync(buildQuizPrompt(text))
+                .thenApply(this::parseQuizResponse)
+                .thenApply(result -> {
+                    if (resultCache != null) {
+                        resultCache.put(cacheKey, result);
+                    }
+                    return result;
+                });
+    }
+
+    private Optional<AiNoteResult> cachedNote(String cacheKey) {
+        if (resultCache == null) {
+            return Optional.empty();
+        }
+        Optional<String> payload = resultCache.get(cacheKey);
+        if (payload.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(payload.get(), AiNoteResult.class));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void cacheNote(String cacheKey, AiNoteResult result) {
+        if (resultCache == null) {
+            return;
+        }
+        try {
+            resultCache.put(cacheKey, objectMapper.writeValueAsString(result));
+        } catch (IOException e) {
+            // Caching is best effort, the generated note is still returned
+        }
+    }
+
+    public OpenAiRequestGate.Stats getRequestStats() {
+        return requestGate.getStats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        httpExecutor.shutdownNow();
     }
 
     private String buildPrompt(String text) {
@@ -88,6 +327,21 @@ public class OpenAiService {
                 text;
     }
 
+    private String buildChunkPrompt(String chunk, int part, int parts, int summaryChars) {
+        return "The following text is part " + part + " of " + parts + " of a longer document.\n" +
+                "Summarize it so the parts can later be combined into a single set of study notes.\n" +
+                "Return ONLY valid JSON with this exact structure:\n" +
+                "{\n" +
+                "  \"summary\": \"Dense summary of this part\"\n" +
+                "}\n" +
+                "Write the summary in the same language as the original text.\n" +
+                "Keep concrete details: definitions, steps, formulas, names, dates and examples.\n" +
+                "Do NOT use meta-references like 'this part' or 'the text'.\n" +
+                "Limit: summary max " + summaryChars + " characters.\n" +
+                "Text:\n" +
+                chunk;
+    }
+
     private String buildQuizPrompt(String text) {
         return "Analyze the following text and create ONLY a multiple-choice quiz.\n" +
                 "Return ONLY valid JSON with this exact structure:\n" +
@@ -107,45 +361,104 @@ public class OpenAiService {
                 text;
     }
 
-    private String callOpenAi(String prompt) {
-        String requestBody = buildRequestBody(prompt);
-        HttpRequest request = HttpRequest.newBuilder()
+    private HttpRequest buildHttpRequest(String requestBody) {
+        return HttpRequest.newBuilder()
                 .uri(URI.create(apiBase + "/chat/completions"))
+                .timeout(Duration.ofSeconds(requestTimeoutSeconds))
                 .header("Authorization", "Bearer " + apiKey)
                 .header("Content-Type", "application/json")
                 .POST(HttpRequest.BodyPublishers.ofString(requestBody, StandardCharsets.UTF_8))
                 .build();
+    }
 
+    private CompletableFuture<String> callOpenAiAsync(String prompt) {
+        HttpRequest request = buildHttpRequest(buildRequestBody(prompt));
+
+        return requestGate.submit(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .handle((response, error) -> {
+                    if (error != null) {
+                        throw translateError(unwrap(error));
+                    }
+                    if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                        throw new IllegalStateException("OpenAI request failed with status " + response.statusCode());
+                    }
+                    return response.body();
+                });
+    }
+
+    private RuntimeException translateError(Throwable error) {
+        if (error instanceof HttpTimeoutException) {
+            return new IllegalStateException("OpenAI request timed out", error);
+        }
+        if (error instanceof IOException) {
+            return new IllegalStateException("Failed to call OpenAI", error);
+        }
+        if (error instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Failed to call OpenAI", error);
+    }
+
+    private <T> T await(CompletableFuture<T> future) {
         try {
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() < 200 || response.statusCode() >= 300) {
-                throw new IllegalStateException("OpenAI request failed with status " + response.statusCode());
-            }
-            return response.body();
+            return future.get();
         } catch (InterruptedException e) {
+            future.cancel(true);
             Thread.currentThread().interrupt();
             throw new IllegalStateException("OpenAI call was interrupted", e);
-        } catch (IOException e) {
-            throw new IllegalStateException("Failed to call OpenAI", e);
+        } catch (ExecutionException e) {
+            throw translateError(unwrap(e.getCause()));
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable current = error;
+        while (current instanceof CompletionException && current.getCause() != null) {
+            current = current.getCause();
         }
+        return current;
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "openai-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 
     private void validateInput(String text) {
+        validateInput(text, maxInputChars);
+    }
+
+    private void validateDocument(String text) {
+        validateInput(text, Math.max(maxInputChars, maxDocumentChars));
+    }
+
+    private void validateInput(String text, int limit) {
         if (apiKey == null || apiKey.isBlank()) {
             throw new IllegalStateException("OpenAI API key is not configured");
         }
         if (text == null || text.isBlank()) {
             throw new IllegalArgumentException("File content is empty");
         }
-        if (text.length() > maxInputChars) {
+        if (text.length() > limit) {
             throw new IllegalArgumentException("File exceeds maximum character limit");
         }
     }
 
     private String buildRequestBody(String prompt) {
+        return buildRequestBody(prompt, false);
+    }
+
+    private String buildRequestBody(String prompt, boolean stream) {
         ObjectNode root = objectMapper.createObjectNode();
         root.put("model", MODEL);
         root.put("temperature", 0.2);
+        if (stream) {
+            root.put("stream", true);
+        }
 
         ArrayNode messages = root.putArray("messages");
         ObjectNode system = messages.addObject();
@@ -163,8 +476,17 @@ public class OpenAiService {
     }
 
     private AiNoteResult parseResponse(String body) {
+        String content;
+        try {
+            content = extractContent(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to parse OpenAI response", e);
+        }
+        return parseNoteContent(content);
+    }
+
+    private AiNoteResult parseNoteContent(String content) {
         try {
-            String content = extractContent(body);
             JsonNode contentRoot = objectMapper.readTree(content);
 
             AiNoteResult result = new AiNoteResult();
@@ -195,6 +517,18 @@ public class OpenAiService {
         }
     }
 
+    private String parseChunkResponse(String body) {
+        try {
+            String summary = objectMapper.readTree(extractContent(body)).path("summary").asText("");
+            if (summary.isBlank()) {
+                throw new IllegalStateException("OpenAI response is empty");
+            }
+            return summary;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to parse OpenAI response", e);
+        }
+    }
+
     private String parseQuizResponse(String body) {
         try {
             String content = extractContent(body);
@@ -270,4 +604,53 @@ public class OpenAiService {
         }
         return trimmed.substring(0, maxLength);
     }
+
+    private final class ChatStreamSubscriber implements Flow.Subscriber<String> {
+        private final Consumer<String> onDelta;
+        private final StringBuilder content = new StringBuilder();
+
+        private ChatStreamSubscriber(Consumer<String> onDelta) {
+            this.onDelta = onDelta;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!line.startsWith("data:")) {
+                return;
+            }
+            String data = line.substring(5).trim();
+            if (data.isEmpty() || "[DONE]".equals(data)) {
+                return;
+            }
+            try {
+                JsonNode delta = objectMapper.readTree(data).path("choices").path(0).path("delta").path("content");
+                if (!delta.isTextual()) {
+                    return;
+                }
+                content.append(delta.asText());
+                onDelta.accept(delta.asText());
+            } catch (IOException e) {
+                // Skip malformed chunks, the final content is validated as a whole
+            } catch (RuntimeException e) {
+                // A listener failure (e.g. client gone) must not abort generation
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        private String content() {
+            return content.toString();
+        }
+    }
 }
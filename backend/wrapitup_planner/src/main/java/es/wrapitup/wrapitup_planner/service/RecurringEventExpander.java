@@ -0,0 +1,135 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarEventMapper;
+import es.wrapitup.wrapitup_planner.model.CalendarEvent;
+import es.wrapitup.wrapitup_planner.model.CalendarEventException;
+import es.wrapitup.wrapitup_planner.model.RecurrenceRule;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventExceptionRepository;
+
+// Turns stored series into the occurrences visible in a range. Nothing is materialized: each rule is
+// expanded from the first period that can reach the range, and the exceptions of all series come in one query.
+@Service
+public class RecurringEventExpander {
+
+    private final CalendarEventExceptionRepository exceptionRepository;
+    private final CalendarEventMapper eventMapper;
+
+    public RecurringEventExpander(CalendarEventExceptionRepository exceptionRepository, CalendarEventMapper eventMapper) {
+        this.exceptionRepository = exceptionRepository;
+        this.eventMapper = eventMapper;
+    }
+
+    // Occurrences overlapping [start, end] sorted by start, with cancelled ones left out and edited ones applied
+    public List<CalendarEventDTO> expand(List<CalendarEvent> series, LocalDateTime start, LocalDateTime end) {
+        List<CalendarEventDTO> dtos = new ArrayList<>(series.size());
+        for (CalendarEvent event : series) {
+            dtos.add(eventMapper.toDto(event));
+        }
+        return expandSeries(dtos, start, end);
+    }
+
+    // Same for series already mapped, as CalendarCache holds them
+    public List<CalendarEventDTO> expandSeries(List<CalendarEventDTO> series, LocalDateTime start, LocalDateTime end) {
+        if (series.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Duration longest = Duration.ZERO;
+        List<Long> ids = new ArrayList<>(series.size());
+        for (CalendarEventDTO event : series) {
+            ids.add(event.getId());
+            if (lengthOf(event).compareTo(longest) > 0) {
+                longest = lengthOf(event);
+            }
+        }
+        Map<Long, Map<LocalDateTime, CalendarEventException>> exceptionsByEvent = new HashMap<>();
+        for (CalendarEventException exception : exceptionRepository.findForEventsInRange(ids, start.minus(longest), start, end)) {
+            exceptionsByEvent.computeIfAbsent(exception.getEvent().getId(), id -> new HashMap<>())
+                    .put(exception.getOccurrenceStart(), exception);
+        }
+
+        List<CalendarEventDTO> occurrences = new ArrayList<>();
+        for (CalendarEventDTO base : series) {
+            Duration length = lengthOf(base);
+            Map<LocalDateTime, CalendarEventException> exceptions = exceptionsByEvent.getOrDefault(base.getId(), Map.of());
+            Set<LocalDateTime> expanded = new HashSet<>();
+            RecurrenceRule rule = RecurrenceRule.parse(base.getRecurrenceRule());
+            for (LocalDateTime occurrenceStart : rule.occurrencesBetween(base.getStartDate(), length, start, end)) {
+                expanded.add(occurrenceStart);
+                addIfVisible(occurrences, toOccurrence(base, length, occurrenceStart, exceptions.get(occurrenceStart)), start, end);
+            }
+            // Occurrences moved into the range from outside it
+            for (CalendarEventException exception : exceptions.values()) {
+                if (!expanded.contains(exception.getOccurrenceStart())) {
+                    addIfVisible(occurrences, toOccurrence(base, length, exception.getOccurrenceStart(), exception), start, end);
+                }
+            }
+        }
+        occurrences.sort(Comparator.comparing(CalendarEventDTO::getStartDate));
+        return occurrences;
+    }
+
+    private static Duration lengthOf(CalendarEventDTO event) {
+        return Duration.between(event.getStartDate(), event.getEndDate());
+    }
+
+    // A single occurrence of the series, or null when it is cancelled
+    public CalendarEventDTO toOccurrence(CalendarEvent event, LocalDateTime occurrenceStart, CalendarEventException exception) {
+        return toOccurrence(eventMapper.toDto(event), event.getLength(), occurrenceStart, exception);
+    }
+
+    private static CalendarEventDTO toOccurrence(CalendarEventDTO base, Duration length, LocalDateTime occurrenceStart,
+            CalendarEventException exception) {
+        if (exception != null && Boolean.TRUE.equals(exception.getCancelled())) {
+            return null;
+        }
+        CalendarEventDTO occurrence = new CalendarEventDTO();
+        occurrence.setId(base.getId());
+        occurrence.setUserId(base.getUserId());
+        occurrence.setTitle(base.getTitle());
+        occurrence.setDescription(base.getDescription());
+        occurrence.setColor(base.getColor());
+        occurrence.setAllDay(base.getAllDay());
+        occurrence.setRecurrenceRule(base.getRecurrenceRule());
+        occurrence.setCreatedAt(base.getCreatedAt());
+        occurrence.setLastModified(base.getLastModified());
+        occurrence.setOccurrenceStart(occurrenceStart);
+        occurrence.setStartDate(occurrenceStart);
+        occurrence.setEndDate(occurrenceStart.plus(length));
+        if (exception != null) {
+            if (exception.getTitle() != null) {
+                occurrence.setTitle(exception.getTitle());
+            }
+            if (exception.getDescription() != null) {
+                occurrence.setDescription(exception.getDescription());
+            }
+            if (exception.getColor() != null) {
+                occurrence.setColor(exception.getColor());
+            }
+            if (exception.getStartDate() != null) {
+                occurrence.setStartDate(exception.getStartDate());
+                occurrence.setEndDate(exception.getEndDate());
+            }
+        }
+        return occurrence;
+    }
+
+    private static void addIfVisible(List<CalendarEventDTO> occurrences, CalendarEventDTO occurrence,
+            LocalDateTime start, LocalDateTime end) {
+        if (occurrence != null && !occurrence.getStartDate().isAfter(end) && !occurrence.getEndDate().isBefore(start)) {
+            occurrences.add(occurrence);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+// Splits extracted text into chunks of at most maxChars, preferring paragraph/slide breaks,
+// then line breaks, then sentence ends, and only cutting mid-word as a last resort
+public final class TextChunker {
+
+    private static final Pattern[] BOUNDARIES = {
+            Pattern.compile("\\n\\s*\\n"),
+            Pattern.compile("\\n"),
+            Pattern.compile("(?<=[.!?])\\s+"),
+            Pattern.compile("\\s+")
+    };
+
+    private static final String[] SEPARATORS = { "\n\n", "\n", " ", " " };
+
+    private TextChunker() {
+    }
+
+    public static List<String> split(String text, int maxChars) {
+        if (maxChars <= 0) {
+            throw new IllegalArgumentException("maxChars must be greater than 0");
+        }
+        if (text == null || text.isBlank()) {
+            return new ArrayList<>();
+        }
+        return pack(text.strip(), maxChars, 0);
+    }
+
+    // Splits on the boundary for this level, recursing into parts that are still too long,
+    // then greedily packs consecutive parts back together up to maxChars
+    private static List<String> pack(String text, int maxChars, int level) {
+        List<String> chunks = new ArrayList<>();
+        if (text.length() <= maxChars) {
+            chunks.add(text);
+            return chunks;
+        }
+        if (level >= BOUNDARIES.length) {
+            for (int start = 0; start < text.length(); start += maxChars) {
+                chunks.add(text.substring(start, Math.min(text.length(), start + maxChars)));
+            }
+            return chunks;
+        }
+
+        String separator = SEPARATORS[level];
+        StringBuilder current = new StringBuilder();
+        for (String part : BOUNDARIES[level].split(text)) {
+            String trimmed = part.strip();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            for (String piece : pack(trimmed, maxChars, level + 1)) {
+                if (current.length() > 0 && current.length() + separator.length() + piece.length() > maxChars) {
+                    chunks.add(current.toString());
+                    current.setLength(0);
+                }
+                if (current.length() > 0) {
+                    current.append(separator);
+                }
+                current.append(piece);
+            }
+        }
+        if (current.length() > 0) {
+            chunks.add(current.toString());
+        }
+        return chunks;
+    }
+}
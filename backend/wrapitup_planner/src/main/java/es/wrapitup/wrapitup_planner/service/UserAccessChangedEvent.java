@@ -0,0 +1,5 @@
+package es.wrapitup.wrapitup_planner.service;
+
+// Published when a user's status or roles change, so anything caching their authentication can drop it
+public record UserAccessChangedEvent(String username) {
+}
@@ -0,0 +1,109 @@
+package es.wrapitup.wrapitup_planner.service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarTaskDTO;
+
+// Snapshot of one user's events and tasks held by CalendarCache. Series span from their first start to their
+// series end, so a range finds them the same way the database query does. DTOs are copied on the way out
+// because callers are free to modify what they get.
+public final class UserCalendar {
+
+    private final IntervalTree<CalendarEventDTO> events;
+    private final TreeMap<LocalDate, List<CalendarTaskDTO>> tasksByDate = new TreeMap<>();
+    private final int taskCount;
+
+    // Tasks are expected in the order a day lists them: pending first, then by creation
+    public UserCalendar(List<IntervalTree.Entry<CalendarEventDTO>> events, List<CalendarTaskDTO> tasks) {
+        this.events = new IntervalTree<>(events);
+        for (CalendarTaskDTO task : tasks) {
+            tasksByDate.computeIfAbsent(task.getTaskDate(), date -> new ArrayList<>()).add(task);
+        }
+        this.taskCount = tasks.size();
+    }
+
+    public int size() {
+        return events.size() + taskCount;
+    }
+
+    // One-off events overlapping [start, end] and every series that can have an occurrence in it, in start order
+    public List<CalendarEventDTO> events(LocalDateTime start, LocalDateTime end) {
+        List<CalendarEventDTO> result = new ArrayList<>();
+        for (CalendarEventDTO event : events.overlapping(start, end)) {
+            result.add(copy(event));
+        }
+        return result;
+    }
+
+    public List<CalendarTaskDTO> tasks(LocalDate startDate, LocalDate endDate) {
+        List<CalendarTaskDTO> result = new ArrayList<>();
+        for (List<CalendarTaskDTO> day : days(startDate, endDate).values()) {
+            for (CalendarTaskDTO task : day) {
+                result.add(copy(task));
+            }
+        }
+        return result;
+    }
+
+    public Map<LocalDate, Integer> pendingTasksByDay(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, Integer> pending = new TreeMap<>();
+        days(startDate, endDate).forEach((date, day) -> {
+            int count = 0;
+            for (CalendarTaskDTO task : day) {
+                if (!Boolean.TRUE.equals(task.getCompleted())) {
+                    count++;
+                }
+            }
+            if (count > 0) {
+                pending.put(date, count);
+            }
+        });
+        return pending;
+    }
+
+    // Like BETWEEN, a reversed range is empty rather than an error
+    private Map<LocalDate, List<CalendarTaskDTO>> days(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            return Map.of();
+        }
+        return tasksByDate.subMap(startDate, true, endDate, true);
+    }
+
+    private static CalendarEventDTO copy(CalendarEventDTO event) {
+        CalendarEventDTO copy = new CalendarEventDTO();
+        copy.setId(event.getId());
+        copy.setUserId(event.getUserId());
+        copy.setTitle(event.getTitle());
+        copy.setDescription(event.getDescription());
+        copy.setStartDate(event.getStartDate());
+        copy.setEndDate(event.getEndDate());
+        copy.setColor(event.getColor());
+        copy.setColorHex(event.getColorHex());
+        copy.setAllDay(event.getAllDay());
+        copy.setRecurrenceRule(event.getRecurrenceRule());
+        copy.setOccurrenceStart(event.getOccurrenceStart());
+        copy.setCreatedAt(event.getCreatedAt());
+        copy.setLastModified(event.getLastModified());
+        return copy;
+    }
+
+    private static CalendarTaskDTO copy(CalendarTaskDTO task) {
+        CalendarTaskDTO copy = new CalendarTaskDTO();
+        copy.setId(task.getId());
+        copy.setUserId(task.getUserId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setTaskDate(task.getTaskDate());
+        copy.setCompleted(task.getCompleted());
+        copy.setCompletedAt(task.getCompletedAt());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.setLastModified(task.getLastModified());
+        return copy;
+    }
+}
@@ -1,17 +1,22 @@
 package es.wrapitup.wrapitup_planner.service;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
 import es.wrapitup.wrapitup_planner.dto.UserMapper;
 import es.wrapitup.wrapitup_planner.dto.UserModelDTO;
 import es.wrapitup.wrapitup_planner.model.UserModel;
 import es.wrapitup.wrapitup_planner.model.UserStatus;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.ResolvedUsers;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import java.sql.Blob;
 
 @Service
 public class UserService {
@@ -21,12 +26,17 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
     private final UserRepository userRepository;
+    private final ImageStore imageStore;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, ImageStore imageStore,
+                       UserMapper userMapper, PasswordEncoder passwordEncoder, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
+        this.imageStore = imageStore;
         this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
     }
 
     private static String normalizeUsername(String value) {
@@ -72,7 +82,7 @@ public class UserService {
 
 
     public UserModelDTO findByName(String username) {
-    return userRepository.findByUsername(username)
+    return ResolvedUsers.findByUsername(username, userRepository)
             .map(userMapper::toDto)
             .orElse(null);
     }
@@ -88,9 +98,15 @@ public class UserService {
         UserModel user = new UserModel(normalizedUsername, userDTO.getEmail(), passwordEncoder.encode(userDTO.getPassword()), UserStatus.ACTIVE , "USER");
         // Set displayName to username by default
         user.setDisplayName(normalizedUsername);
-        userRepository.save(user);
+        try {
+            userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with another registration for the same username
+            throw new IllegalArgumentException("User already exists", e);
+        }
     }
 
+    @Transactional
     public UserModelDTO updateUser(Long id, UserModelDTO userDTO) {
         Optional<UserModel> existingUser = userRepository.findById(id);
         
@@ -116,48 +132,31 @@ public class UserService {
         }
         
         UserModel updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserUpdatedEvent(user.getUsername()));
         return userMapper.toDto(updatedUser);
     }
 
     public boolean usernameExists(String username) {
-        return userRepository.findByUsername(username).isPresent();
+        return ResolvedUsers.findByUsername(username, userRepository).isPresent();
     }
 
-    public UserModelDTO updateUserWithBlob(Long id, UserModelDTO userDTO, Blob profilePic) {
+    @Transactional
+    public UserModelDTO updateProfileImage(Long id, MultipartFile image) throws IOException {
         Optional<UserModel> existingUser = userRepository.findById(id);
-        
+
         if (existingUser.isEmpty()) {
             return null;
         }
-        
+
         UserModel user = existingUser.get();
-        
-        if (userDTO.getDisplayName() != null) {
-            String normalizedDisplayName = normalizeDisplayName(userDTO.getDisplayName());
-            if (normalizedDisplayName != null && !normalizedDisplayName.isEmpty()) {
-                userDTO.setDisplayName(normalizedDisplayName);
-                user.setDisplayName(normalizedDisplayName);
-            }
-        }
-        if (userDTO.getEmail() != null && !userDTO.getEmail().isEmpty()) {
-            user.setEmail(userDTO.getEmail());
-        }
-        if (userDTO.getImage() != null) {
-            user.setImage(userDTO.getImage());
-        }
-        if (profilePic != null) {
-            user.setProfilePic(profilePic);
-        }
-        
+        user.setImage(imageStore.assignProfileImage(user.getId(), image));
+
         UserModel updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserUpdatedEvent(user.getUsername()));
         return userMapper.toDto(updatedUser);
     }
 
-    public Blob getProfileImage(Long userId) {
-        Optional<UserModel> user = userRepository.findById(userId);
-        return user.map(UserModel::getProfilePic).orElse(null);
-    }
-
+    @Transactional
     public UserModelDTO banUser(Long userId) {
         Optional<UserModel> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
@@ -167,9 +166,11 @@ public class UserService {
         UserModel user = userOpt.get();
         user.setStatus(UserStatus.BANNED);
         UserModel updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getUsername()));
         return userMapper.toDto(updatedUser);
     }
 
+    @Transactional
     public UserModelDTO unbanUser(Long userId) {
         Optional<UserModel> userOpt = userRepository.findById(userId);
         if (userOpt.isEmpty()) {
@@ -179,11 +180,12 @@ public class UserService {
         UserModel user = userOpt.get();
         user.setStatus(UserStatus.ACTIVE);
         UserModel updatedUser = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccessChangedEvent(user.getUsername()));
         return userMapper.toDto(updatedUser);
     }
 
     public boolean isUserBanned(String username) {
-        return userRepository.findByUsername(username)
+        return ResolvedUsers.findByUsername(username, userRepository)
                 .map(user -> user.getStatus() == UserStatus.BANNED)
                 .orElse(false);
     }
@@ -0,0 +1,5 @@
+package es.wrapitup.wrapitup_planner.service;
+
+// Published after a user's profile is saved; unlike UserAccessChangedEvent it does not revoke issued tokens
+public record UserUpdatedEvent(String username) {
+}
@@ -0,0 +1,127 @@
+-- Baseline schema, matching the JPA mappings as of the switch from ddl-auto to Flyway.
+-- Composite indexes back the hot repository queries; foreign keys reuse them where the
+-- leading columns match instead of getting an extra single-column index.
+
+CREATE TABLE user_model (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    display_name VARCHAR(255),
+    email VARCHAR(255),
+    image VARCHAR(255),
+    password VARCHAR(255),
+    username VARCHAR(255),
+    roles VARBINARY(255),
+    profile_pic LONGBLOB,
+    status ENUM ('ACTIVE','BANNED'),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_user_model_username UNIQUE (username)
+) ENGINE=InnoDB;
+
+CREATE TABLE note (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    id_user BIGINT NOT NULL,
+    last_modified DATETIME(6) NOT NULL,
+    title VARCHAR(100),
+    json_questions TEXT,
+    overview TEXT,
+    summary TEXT,
+    category ENUM ('ART','HISTORY','LANGUAGES','MATHS','OTHERS','SCIENCE') NOT NULL,
+    visibility ENUM ('PRIVATE','PUBLIC'),
+    PRIMARY KEY (id),
+    INDEX idx_note_user_modified (id_user, last_modified, id),
+    INDEX idx_note_user_category_modified (id_user, category, last_modified, id),
+    FULLTEXT INDEX ft_note_search (title, overview, summary),
+    CONSTRAINT fk_note_user FOREIGN KEY (id_user) REFERENCES user_model (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE note_shared_users (
+    note_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (note_id, user_id),
+    INDEX idx_note_shared_users_user (user_id, note_id),
+    CONSTRAINT fk_note_shared_users_note FOREIGN KEY (note_id) REFERENCES note (id),
+    CONSTRAINT fk_note_shared_users_user FOREIGN KEY (user_id) REFERENCES user_model (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE comment (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    note_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    content TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    user_profile_pic_url VARCHAR(255),
+    is_reported BIT NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_comment_note_created (note_id, created_at, id),
+    INDEX idx_comment_reported_created (is_reported, created_at),
+    CONSTRAINT fk_comment_note FOREIGN KEY (note_id) REFERENCES note (id),
+    CONSTRAINT fk_comment_user FOREIGN KEY (user_id) REFERENCES user_model (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE quiz_score (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    note_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    score INTEGER,
+    max_score INTEGER,
+    created_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_quiz_score_note_user_created (note_id, user_id, created_at),
+    CONSTRAINT fk_quiz_score_note FOREIGN KEY (note_id) REFERENCES note (id) ON DELETE CASCADE,
+    CONSTRAINT fk_quiz_score_user FOREIGN KEY (user_id) REFERENCES user_model (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE calendar_events (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    id_user BIGINT NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description TEXT,
+    start_date DATETIME(6) NOT NULL,
+    end_date DATETIME(6) NOT NULL,
+    color ENUM ('BLUE','GREEN','PURPLE','RED','YELLOW') NOT NULL,
+    all_day BIT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    last_modified DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_calendar_event_user_range (id_user, start_date, end_date),
+    CONSTRAINT fk_calendar_event_user FOREIGN KEY (id_user) REFERENCES user_model (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE calendar_tasks (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    id_user BIGINT NOT NULL,
+    title VARCHAR(100) NOT NULL,
+    description TEXT,
+    task_date DATE NOT NULL,
+    completed BIT NOT NULL,
+    completed_at DATETIME(6),
+    created_at DATETIME(6) NOT NULL,
+    last_modified DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_calendar_task_user_date (id_user, task_date, completed),
+    CONSTRAINT fk_calendar_task_user FOREIGN KEY (id_user) REFERENCES user_model (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE ai_note_jobs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    id_user BIGINT NOT NULL,
+    original_filename VARCHAR(255),
+    visibility ENUM ('PRIVATE','PUBLIC'),
+    category ENUM ('ART','HISTORY','LANGUAGES','MATHS','OTHERS','SCIENCE'),
+    status ENUM ('DONE','FAILED','QUEUED','RUNNING') NOT NULL,
+    note_id BIGINT,
+    error_message VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_ai_note_job_status (status),
+    CONSTRAINT fk_ai_note_job_user FOREIGN KEY (id_user) REFERENCES user_model (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE ai_result_cache (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    cache_key VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ai_result_cache_key UNIQUE (cache_key)
+) ENGINE=InnoDB;
@@ -0,0 +1,12 @@
+-- Profile pictures move to their own table so user rows stay small enough for the second-level cache
+CREATE TABLE user_profile_image (
+    user_id BIGINT NOT NULL,
+    data LONGBLOB NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_user_profile_image_user FOREIGN KEY (user_id) REFERENCES user_model (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+INSERT INTO user_profile_image (user_id, data)
+SELECT id, profile_pic FROM user_model WHERE profile_pic IS NOT NULL;
+
+ALTER TABLE user_model DROP COLUMN profile_pic;
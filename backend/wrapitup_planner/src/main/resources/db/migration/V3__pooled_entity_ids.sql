@@ -0,0 +1,39 @@
+-- Hibernate can only batch inserts when it assigns ids itself, so the bulk-created entities switch from
+-- AUTO_INCREMENT to pooled ids. MySQL has no sequences, so each one is a single-row table.
+-- Seeding at MAX(id) + allocation size + 1 makes the first pool start just above the existing rows.
+
+CREATE TABLE user_model_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO user_model_seq (next_val) SELECT COALESCE(MAX(id) + 51, 1) FROM user_model;
+
+CREATE TABLE note_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO note_seq (next_val) SELECT COALESCE(MAX(id) + 51, 1) FROM note;
+
+CREATE TABLE comment_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO comment_seq (next_val) SELECT COALESCE(MAX(id) + 51, 1) FROM comment;
+
+CREATE TABLE quiz_score_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO quiz_score_seq (next_val) SELECT COALESCE(MAX(id) + 51, 1) FROM quiz_score;
+
+CREATE TABLE calendar_events_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO calendar_events_seq (next_val) SELECT COALESCE(MAX(id) + 51, 1) FROM calendar_events;
+
+CREATE TABLE calendar_tasks_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO calendar_tasks_seq (next_val) SELECT COALESCE(MAX(id) + 51, 1) FROM calendar_tasks;
@@ -0,0 +1,31 @@
+-- Image bytes move to a table keyed by their SHA-256: identical uploads are stored once, and the hash
+-- doubles as the ETag so conditional requests are answered without reading the blob.
+CREATE TABLE image_blob (
+    hash CHAR(64) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size BIGINT NOT NULL,
+    data LONGBLOB NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (hash)
+) ENGINE=InnoDB;
+
+-- Existing uploads were always served as JPEG
+INSERT IGNORE INTO image_blob (hash, content_type, size, data, created_at)
+SELECT SHA2(data, 256), 'image/jpeg', LENGTH(data), data, NOW(6) FROM user_profile_image;
+
+ALTER TABLE user_profile_image
+    ADD COLUMN image_hash CHAR(64),
+    ADD COLUMN updated_at DATETIME(6);
+
+UPDATE user_profile_image SET image_hash = SHA2(data, 256), updated_at = NOW(6);
+
+ALTER TABLE user_profile_image
+    DROP COLUMN data,
+    MODIFY image_hash CHAR(64) NOT NULL,
+    MODIFY updated_at DATETIME(6) NOT NULL,
+    ADD INDEX idx_user_profile_image_hash (image_hash),
+    ADD CONSTRAINT fk_user_profile_image_blob FOREIGN KEY (image_hash) REFERENCES image_blob (hash);
+
+-- Versioned URLs change with the image, so clients can cache them for good
+UPDATE user_model u JOIN user_profile_image i ON i.user_id = u.id
+SET u.image = CONCAT('/api/v1/users/profile-image/', u.id, '?v=', LEFT(i.image_hash, 12));
@@ -0,0 +1,35 @@
+-- Recurring events are stored once with their rule. series_end bounds the last occurrence (end_date for
+-- one-off events), so one index range over (id_user, start_date, series_end) finds every event or series
+-- that can show up in a window, and only those series are expanded.
+ALTER TABLE calendar_events
+    ADD COLUMN recurrence_rule VARCHAR(255),
+    ADD COLUMN series_end DATETIME(6);
+
+UPDATE calendar_events SET series_end = end_date;
+
+ALTER TABLE calendar_events
+    MODIFY series_end DATETIME(6) NOT NULL,
+    ADD INDEX idx_calendar_event_user_series (id_user, start_date, series_end),
+    DROP INDEX idx_calendar_event_user_range;
+
+-- Edited or cancelled occurrences, keyed by the start the rule gives them
+CREATE TABLE calendar_event_exceptions (
+    id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    occurrence_start DATETIME(6) NOT NULL,
+    cancelled BIT NOT NULL,
+    title VARCHAR(100),
+    description TEXT,
+    start_date DATETIME(6),
+    end_date DATETIME(6),
+    color ENUM ('BLUE','GREEN','PURPLE','RED','YELLOW'),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_calendar_event_exception_occurrence UNIQUE (event_id, occurrence_start),
+    CONSTRAINT fk_calendar_event_exception_event FOREIGN KEY (event_id) REFERENCES calendar_events (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE calendar_event_exceptions_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO calendar_event_exceptions_seq (next_val) VALUES (1);
@@ -0,0 +1,247 @@
+-- Schemas created with ddl-auto=update before the switch to Flyway have tables but no history. They are
+-- baselined at version 5 (spring.flyway.baseline-version) and this migration gives them what V1-V5 would have:
+-- the missing tables, the profile picture move, recurring event columns and the named indexes.
+-- Every step checks information_schema or the table contents first, so schemas built by V1-V5 are left as they are.
+
+-- Tables the pre-Flyway schema did not have, in the shape V1-V5 leave them
+
+CREATE TABLE IF NOT EXISTS ai_note_jobs (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    id_user BIGINT NOT NULL,
+    original_filename VARCHAR(255),
+    visibility ENUM ('PRIVATE','PUBLIC'),
+    category ENUM ('ART','HISTORY','LANGUAGES','MATHS','OTHERS','SCIENCE'),
+    status ENUM ('DONE','FAILED','QUEUED','RUNNING') NOT NULL,
+    note_id BIGINT,
+    error_message VARCHAR(500),
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    INDEX idx_ai_note_job_status (status),
+    CONSTRAINT fk_ai_note_job_user FOREIGN KEY (id_user) REFERENCES user_model (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS ai_result_cache (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    cache_key VARCHAR(64) NOT NULL,
+    payload TEXT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ai_result_cache_key UNIQUE (cache_key)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS image_blob (
+    hash CHAR(64) NOT NULL,
+    content_type VARCHAR(100) NOT NULL,
+    size BIGINT NOT NULL,
+    data LONGBLOB NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (hash)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS user_profile_image (
+    user_id BIGINT NOT NULL,
+    image_hash CHAR(64) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (user_id),
+    INDEX idx_user_profile_image_hash (image_hash),
+    CONSTRAINT fk_user_profile_image_user FOREIGN KEY (user_id) REFERENCES user_model (id) ON DELETE CASCADE,
+    CONSTRAINT fk_user_profile_image_blob FOREIGN KEY (image_hash) REFERENCES image_blob (hash)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS calendar_event_exceptions (
+    id BIGINT NOT NULL,
+    event_id BIGINT NOT NULL,
+    occurrence_start DATETIME(6) NOT NULL,
+    cancelled BIT NOT NULL,
+    title VARCHAR(100),
+    description TEXT,
+    start_date DATETIME(6),
+    end_date DATETIME(6),
+    color ENUM ('BLUE','GREEN','PURPLE','RED','YELLOW'),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_calendar_event_exception_occurrence UNIQUE (event_id, occurrence_start),
+    CONSTRAINT fk_calendar_event_exception_event FOREIGN KEY (event_id) REFERENCES calendar_events (id) ON DELETE CASCADE
+) ENGINE=InnoDB;
+
+-- Pooled id tables, seeded like V3 only when they are still empty
+
+CREATE TABLE IF NOT EXISTS user_model_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO user_model_seq (next_val)
+SELECT next_val FROM (SELECT COALESCE(MAX(id) + 51, 1) AS next_val FROM user_model) ids
+WHERE NOT EXISTS (SELECT 1 FROM user_model_seq);
+
+CREATE TABLE IF NOT EXISTS note_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO note_seq (next_val)
+SELECT next_val FROM (SELECT COALESCE(MAX(id) + 51, 1) AS next_val FROM note) ids
+WHERE NOT EXISTS (SELECT 1 FROM note_seq);
+
+CREATE TABLE IF NOT EXISTS comment_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO comment_seq (next_val)
+SELECT next_val FROM (SELECT COALESCE(MAX(id) + 51, 1) AS next_val FROM comment) ids
+WHERE NOT EXISTS (SELECT 1 FROM comment_seq);
+
+CREATE TABLE IF NOT EXISTS quiz_score_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO quiz_score_seq (next_val)
+SELECT next_val FROM (SELECT COALESCE(MAX(id) + 51, 1) AS next_val FROM quiz_score) ids
+WHERE NOT EXISTS (SELECT 1 FROM quiz_score_seq);
+
+CREATE TABLE IF NOT EXISTS calendar_events_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO calendar_events_seq (next_val)
+SELECT next_val FROM (SELECT COALESCE(MAX(id) + 51, 1) AS next_val FROM calendar_events) ids
+WHERE NOT EXISTS (SELECT 1 FROM calendar_events_seq);
+
+CREATE TABLE IF NOT EXISTS calendar_tasks_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO calendar_tasks_seq (next_val)
+SELECT next_val FROM (SELECT COALESCE(MAX(id) + 51, 1) AS next_val FROM calendar_tasks) ids
+WHERE NOT EXISTS (SELECT 1 FROM calendar_tasks_seq);
+
+CREATE TABLE IF NOT EXISTS calendar_event_exceptions_seq (
+    next_val BIGINT
+) ENGINE=InnoDB;
+
+INSERT INTO calendar_event_exceptions_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM calendar_event_exceptions_seq);
+
+-- Profile pictures still stored on user_model move to the content-addressed store, as in V2 and V4
+
+SET @legacy_pictures = (SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'user_model' AND column_name = 'profile_pic');
+
+SET @ddl = IF(@legacy_pictures > 0,
+    'INSERT IGNORE INTO image_blob (hash, content_type, size, data, created_at)
+     SELECT SHA2(profile_pic, 256), ''image/jpeg'', LENGTH(profile_pic), profile_pic, NOW(6) FROM user_model WHERE profile_pic IS NOT NULL',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(@legacy_pictures > 0,
+    'INSERT INTO user_profile_image (user_id, image_hash, updated_at)
+     SELECT id, SHA2(profile_pic, 256), NOW(6) FROM user_model WHERE profile_pic IS NOT NULL',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(@legacy_pictures > 0,
+    'UPDATE user_model u JOIN user_profile_image i ON i.user_id = u.id
+     SET u.image = CONCAT(''/api/v1/users/profile-image/'', u.id, ''?v='', LEFT(i.image_hash, 12))',
+    'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF(@legacy_pictures > 0, 'ALTER TABLE user_model DROP COLUMN profile_pic', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Recurring event columns from V5
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'calendar_events' AND column_name = 'series_end') = 0,
+    'ALTER TABLE calendar_events ADD COLUMN recurrence_rule VARCHAR(255), ADD COLUMN series_end DATETIME(6)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+UPDATE calendar_events SET series_end = end_date WHERE series_end IS NULL;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+        WHERE table_schema = DATABASE() AND table_name = 'calendar_events' AND column_name = 'series_end'
+        AND is_nullable = 'YES') > 0,
+    'ALTER TABLE calendar_events MODIFY series_end DATETIME(6) NOT NULL', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+-- Named indexes and constraints from V1 and V5
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'user_model' AND index_name = 'uk_user_model_username') = 0,
+    'ALTER TABLE user_model ADD CONSTRAINT uk_user_model_username UNIQUE (username)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'note' AND index_name = 'idx_note_user_modified') = 0,
+    'ALTER TABLE note ADD INDEX idx_note_user_modified (id_user, last_modified, id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'note' AND index_name = 'idx_note_user_category_modified') = 0,
+    'ALTER TABLE note ADD INDEX idx_note_user_category_modified (id_user, category, last_modified, id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'note' AND index_name = 'ft_note_search') = 0,
+    'ALTER TABLE note ADD FULLTEXT INDEX ft_note_search (title, overview, summary)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'note_shared_users' AND index_name = 'idx_note_shared_users_user') = 0,
+    'ALTER TABLE note_shared_users ADD INDEX idx_note_shared_users_user (user_id, note_id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'comment' AND index_name = 'idx_comment_note_created') = 0,
+    'ALTER TABLE comment ADD INDEX idx_comment_note_created (note_id, created_at, id)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'comment' AND index_name = 'idx_comment_reported_created') = 0,
+    'ALTER TABLE comment ADD INDEX idx_comment_reported_created (is_reported, created_at)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'quiz_score' AND index_name = 'idx_quiz_score_note_user_created') = 0,
+    'ALTER TABLE quiz_score ADD INDEX idx_quiz_score_note_user_created (note_id, user_id, created_at)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'calendar_events' AND index_name = 'idx_calendar_event_user_series') = 0,
+    'ALTER TABLE calendar_events ADD INDEX idx_calendar_event_user_series (id_user, start_date, series_end)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+        WHERE table_schema = DATABASE() AND table_name = 'calendar_tasks' AND index_name = 'idx_calendar_task_user_date') = 0,
+    'ALTER TABLE calendar_tasks ADD INDEX idx_calendar_task_user_date (id_user, task_date, completed)', 'DO 0');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
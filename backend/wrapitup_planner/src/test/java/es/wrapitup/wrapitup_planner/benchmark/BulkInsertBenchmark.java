@@ -0,0 +1,147 @@
+package es.wrapitup.wrapitup_planner.benchmark;
+
+import es.wrapitup.wrapitup_planner.WrapitupPlannerApplication;
+import es.wrapitup.wrapitup_planner.model.CalendarEvent;
+import es.wrapitup.wrapitup_planner.model.CalendarTask;
+import es.wrapitup.wrapitup_planner.model.Comment;
+import es.wrapitup.wrapitup_planner.model.EventColor;
+import es.wrapitup.wrapitup_planner.model.Note;
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarTaskRepository;
+import es.wrapitup.wrapitup_planner.repository.CommentRepository;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Rows per second when creating notes, comments and calendar rows in bulk, unbatched vs batched.
+// Needs the database from SPRING_DATASOURCE_URL. Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=es.wrapitup.wrapitup_planner.benchmark.BulkInsertBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 500;
+
+    // 1 turns JDBC batching off, which is what every insert got while ids were IDENTITY
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transaction;
+    private NoteRepository noteRepository;
+    private CommentRepository commentRepository;
+    private CalendarEventRepository eventRepository;
+    private CalendarTaskRepository taskRepository;
+    private UserModel owner;
+    private Note commentedNote;
+
+    @Setup
+    public void setUp() {
+        // Command-line arguments, because builder defaults would lose to application.properties
+        context = new SpringApplicationBuilder(WrapitupPlannerApplication.class).run(
+                "--server.port=0",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=" + (batchSize > 1),
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        noteRepository = context.getBean(NoteRepository.class);
+        commentRepository = context.getBean(CommentRepository.class);
+        eventRepository = context.getBean(CalendarEventRepository.class);
+        taskRepository = context.getBean(CalendarTaskRepository.class);
+
+        String username = "bulkbench" + System.nanoTime();
+        owner = context.getBean(UserRepository.class)
+                .save(new UserModel(username, username + "@bench.test", "x", UserStatus.ACTIVE, "USER"));
+        commentedNote = noteRepository.save(note(0));
+    }
+
+    @TearDown
+    public void tearDown() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        Long userId = owner.getId();
+        jdbcTemplate.update("DELETE FROM comment WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM note WHERE id_user = ?", userId);
+        jdbcTemplate.update("DELETE FROM calendar_events WHERE id_user = ?", userId);
+        jdbcTemplate.update("DELETE FROM calendar_tasks WHERE id_user = ?", userId);
+        jdbcTemplate.update("DELETE FROM user_model WHERE id = ?", userId);
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Note> insertNotes() {
+        List<Note> notes = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            notes.add(note(i));
+        }
+        return transaction.execute(status -> noteRepository.saveAll(notes));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<Comment> insertComments() {
+        List<Comment> comments = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            comments.add(new Comment("Benchmark comment " + i, commentedNote, owner));
+        }
+        return transaction.execute(status -> commentRepository.saveAll(comments));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int insertCalendarRows() {
+        List<CalendarEvent> events = new ArrayList<>(ROWS / 2);
+        List<CalendarTask> tasks = new ArrayList<>(ROWS / 2);
+        LocalDateTime start = LocalDateTime.now();
+        for (int i = 0; i < ROWS / 2; i++) {
+            events.add(new CalendarEvent(owner, "Event " + i, null, start.plusHours(i), start.plusHours(i + 1),
+                    EventColor.BLUE, false));
+            tasks.add(new CalendarTask(owner, "Task " + i, null, LocalDate.now().plusDays(i)));
+        }
+        return transaction.execute(status -> eventRepository.saveAll(events).size() + taskRepository.saveAll(tasks).size());
+    }
+
+    private Note note(int i) {
+        return new Note(owner, "Benchmark note " + i, "Overview " + i, "Summary " + i, "{}", NoteVisibility.PRIVATE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,109 @@
+package es.wrapitup.wrapitup_planner.benchmark;
+
+import es.wrapitup.wrapitup_planner.dto.CalendarDaySummaryDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarTaskDTO;
+import es.wrapitup.wrapitup_planner.model.EventColor;
+import es.wrapitup.wrapitup_planner.service.CalendarMonthAggregator;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Month view day summaries: filtering every item again for each day vs the single-pass aggregator.
+// Items are split evenly between events (some spanning several days) and tasks.
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=es.wrapitup.wrapitup_planner.benchmark.CalendarMonthViewBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarMonthViewBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2026, 3, 1);
+    private static final LocalDate LAST_DAY = LocalDate.of(2026, 3, 31);
+
+    @Param({"10", "1000", "10000"})
+    private int items;
+
+    private List<CalendarEventDTO> events;
+    private List<CalendarTaskDTO> tasks;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        EventColor[] colors = EventColor.values();
+        events = new ArrayList<>();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < items / 2; i++) {
+            LocalDateTime start = FIRST_DAY.atTime(8, 0).plusDays(random.nextInt(31));
+            CalendarEventDTO event = new CalendarEventDTO();
+            event.setStartDate(start);
+            event.setEndDate(start.plusHours(random.nextInt(10) == 0 ? 72 : 2));
+            event.setColor(colors[random.nextInt(colors.length)]);
+            events.add(event);
+
+            CalendarTaskDTO task = new CalendarTaskDTO();
+            task.setTaskDate(FIRST_DAY.plusDays(random.nextInt(31)));
+            task.setCompleted(random.nextBoolean());
+            tasks.add(task);
+        }
+    }
+
+    @Benchmark
+    public List<CalendarDaySummaryDTO> perDayFiltering() {
+        List<CalendarDaySummaryDTO> summaries = new ArrayList<>();
+        for (LocalDate date = FIRST_DAY; !date.isAfter(LAST_DAY); date = date.plusDays(1)) {
+            summaries.add(perDaySummary(date));
+        }
+        return summaries;
+    }
+
+    @Benchmark
+    public List<CalendarDaySummaryDTO> singlePass() {
+        return CalendarMonthAggregator.summarize(FIRST_DAY, LAST_DAY, events, tasks);
+    }
+
+    // The implementation CalendarService.getMonthView used before the aggregator
+    private CalendarDaySummaryDTO perDaySummary(LocalDate date) {
+        CalendarDaySummaryDTO summary = new CalendarDaySummaryDTO(date);
+        List<CalendarEventDTO> dayEvents = events.stream()
+                .filter(event -> !date.isBefore(event.getStartDate().toLocalDate())
+                        && !date.isAfter(event.getEndDate().toLocalDate()))
+                .collect(Collectors.toList());
+        List<String> eventColors = dayEvents.stream()
+                .map(CalendarEventDTO::getColorHex)
+                .limit(3)
+                .collect(Collectors.toList());
+        long pendingTasksCount = tasks.stream()
+                .filter(task -> task.getTaskDate().equals(date) && !task.getCompleted())
+                .count();
+        summary.setEventColors(eventColors);
+        summary.setTotalEvents(dayEvents.size());
+        summary.setPendingTasks((int) pendingTasksCount);
+        return summary;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CalendarMonthViewBenchmark.class.getSimpleName()).build()).run();
+    }
+}
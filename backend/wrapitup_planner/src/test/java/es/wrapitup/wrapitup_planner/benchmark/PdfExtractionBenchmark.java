@@ -0,0 +1,95 @@
+package es.wrapitup.wrapitup_planner.benchmark;
+
+import es.wrapitup.wrapitup_planner.service.DocumentTextExtractorService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockMultipartFile;
+
+// Sequential vs parallel page-range PDF extraction.
+// Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+//   -Dexec.mainClass=es.wrapitup.wrapitup_planner.benchmark.PdfExtractionBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfExtractionBenchmark {
+
+    @Param({"30", "300"})
+    private int pages;
+
+    private MockMultipartFile pdf;
+    private DocumentTextExtractorService sequential;
+    private DocumentTextExtractorService parallel;
+
+    @Setup
+    public void setUp() throws IOException {
+        pdf = new MockMultipartFile("file", "handout.pdf", "application/pdf", buildPdf(pages));
+        sequential = new DocumentTextExtractorService(50000, 1000000, 1, 16);
+        parallel = new DocumentTextExtractorService(50000, 1000000, 0, 16);
+    }
+
+    @TearDown
+    public void tearDown() {
+        sequential.shutdown();
+        parallel.shutdown();
+    }
+
+    @Benchmark
+    public String sequentialExtraction() {
+        return sequential.extractText(pdf);
+    }
+
+    @Benchmark
+    public String parallelExtraction() {
+        return parallel.extractText(pdf);
+    }
+
+    private static byte[] buildPdf(int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(PDType1Font.HELVETICA, 10);
+                    contentStream.setLeading(12);
+                    contentStream.newLineAtOffset(40, 750);
+                    for (int line = 0; line < 50; line++) {
+                        contentStream.showText("Page " + i + " line " + line + " of the course handout text");
+                        contentStream.newLine();
+                    }
+                    contentStream.endText();
+                }
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PdfExtractionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
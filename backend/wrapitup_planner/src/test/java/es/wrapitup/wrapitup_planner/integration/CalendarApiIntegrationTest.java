@@ -80,6 +80,47 @@ public class CalendarApiIntegrationTest {
             .body("days.size()", equalTo(28));
     }
 
+    @Test
+    void getYearViewReturnsTwelveMonths() {
+        given()
+            .cookie("AuthToken", authToken)
+        .when()
+            .get("/api/v1/calendar/year/2026")
+        .then()
+            .statusCode(OK.value())
+            .body("startDate", equalTo("2026-01-01"))
+            .body("endDate", equalTo("2026-12-31"))
+            .body("months.size()", equalTo(12))
+            .body("months[1].days.size()", equalTo(28));
+    }
+
+    @Test
+    void getRangeViewReturnsRequestedMonths() {
+        given()
+            .cookie("AuthToken", authToken)
+            .queryParam("start", "2025-11")
+            .queryParam("count", 3)
+        .when()
+            .get("/api/v1/calendar/months")
+        .then()
+            .statusCode(OK.value())
+            .body("months.size()", equalTo(3))
+            .body("months[2].year", equalTo(2026))
+            .body("months[2].month", equalTo(1));
+    }
+
+    @Test
+    void getRangeViewWithTooManyMonthsReturnsBadRequest() {
+        given()
+            .cookie("AuthToken", authToken)
+            .queryParam("start", "2026-01")
+            .queryParam("count", 24)
+        .when()
+            .get("/api/v1/calendar/months")
+        .then()
+            .statusCode(BAD_REQUEST.value());
+    }
+
     @Test
     void getDayViewReturnsEventsAndTasks() {
         given()
@@ -238,6 +279,101 @@ public class CalendarApiIntegrationTest {
             .body("$", notNullValue());
     }
 
+    @Test
+    void recurringEventOccurrencesCanBeEditedAndCancelled() {
+        String createJson = """
+            {
+                "title": "Standup",
+                "startDate": "2026-03-02T09:00:00",
+                "endDate": "2026-03-02T09:15:00",
+                "color": "GREEN",
+                "allDay": false,
+                "recurrenceRule": "FREQ=WEEKLY;BYDAY=MO,WE;COUNT=6"
+            }
+            """;
+
+        int eventId = given()
+            .cookie("AuthToken", authToken)
+            .contentType(ContentType.JSON)
+            .body(createJson)
+        .when()
+            .post("/api/v1/calendar/events")
+        .then()
+            .statusCode(CREATED.value())
+            .body("recurrenceRule", equalTo("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=6"))
+            .extract().path("id");
+
+        given()
+            .cookie("AuthToken", authToken)
+            .contentType(ContentType.JSON)
+            .queryParam("start", "2026-03-04T09:00:00")
+            .body("{\"title\": \"Planning\"}")
+        .when()
+            .put("/api/v1/calendar/events/" + eventId + "/occurrence")
+        .then()
+            .statusCode(OK.value())
+            .body("title", equalTo("Planning"))
+            .body("occurrenceStart", equalTo("2026-03-04T09:00:00"));
+
+        given()
+            .cookie("AuthToken", authToken)
+            .queryParam("start", "2026-03-09T09:00:00")
+        .when()
+            .delete("/api/v1/calendar/events/" + eventId + "/occurrence")
+        .then()
+            .statusCode(OK.value());
+
+        given()
+            .cookie("AuthToken", authToken)
+            .queryParam("start", "2026-03-10T09:00:00")
+        .when()
+            .delete("/api/v1/calendar/events/" + eventId + "/occurrence")
+        .then()
+            .statusCode(NOT_FOUND.value());
+
+        given()
+            .cookie("AuthToken", authToken)
+            .queryParam("start", "2026-03-01T00:00:00")
+            .queryParam("end", "2026-03-31T23:59:59")
+        .when()
+            .get("/api/v1/calendar/events")
+        .then()
+            .statusCode(OK.value())
+            .body("findAll { it.id == %d }.size()".formatted(eventId), equalTo(5))
+            .body("find { it.occurrenceStart == '2026-03-04T09:00:00' }.title", equalTo("Planning"));
+
+        given()
+            .cookie("AuthToken", authToken)
+        .when()
+            .get("/api/v1/calendar/month/2026/3")
+        .then()
+            .statusCode(OK.value())
+            .body("days[1].totalEvents", greaterThanOrEqualTo(1))
+            .body("days[8].totalEvents", equalTo(0));
+    }
+
+    @Test
+    void createEventWithInvalidRecurrenceRuleReturnsBadRequest() {
+        String createJson = """
+            {
+                "title": "Hourly",
+                "startDate": "2026-03-02T09:00:00",
+                "endDate": "2026-03-02T09:15:00",
+                "color": "GREEN",
+                "recurrenceRule": "FREQ=HOURLY"
+            }
+            """;
+
+        given()
+            .cookie("AuthToken", authToken)
+            .contentType(ContentType.JSON)
+            .body(createJson)
+        .when()
+            .post("/api/v1/calendar/events")
+        .then()
+            .statusCode(BAD_REQUEST.value());
+    }
+
     // Task API tests
 
     @Test
@@ -0,0 +1,70 @@
+package es.wrapitup.wrapitup_planner.system;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import es.wrapitup.wrapitup_planner.model.Note;
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+@Tag("system")
+@Transactional
+@SpringBootTest
+public class BatchInsertSystemTest {
+
+    private static final int ROWS = 120;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private UserModel owner;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.saveAndFlush(new UserModel("batchowner", "batchowner@test.com", "x", UserStatus.ACTIVE, "USER"));
+    }
+
+    @Test
+    void bulkNoteInsertsAreBatched() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        assertEquals(50, sessionFactory.getSessionFactoryOptions().getJdbcBatchSize());
+
+        List<Note> notes = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            notes.add(new Note(owner, "Batch note " + i, "Overview", "Summary", "{}", NoteVisibility.PRIVATE));
+        }
+
+        Statistics statistics = sessionFactory.getStatistics();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        noteRepository.saveAllAndFlush(notes);
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+
+        // One statement per batch plus a couple of pooled id fetches, instead of one per row
+        assertTrue(statements < 10, "expected batched inserts but prepared " + statements + " statements");
+        assertEquals(ROWS, new HashSet<>(notes.stream().map(Note::getId).toList()).size());
+        assertEquals(ROWS, noteRepository.findSummariesByUserId(owner.getId(), PageRequest.of(0, 1)).getTotalElements());
+    }
+}
@@ -0,0 +1,186 @@
+package es.wrapitup.wrapitup_planner.system;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarRangeDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarTaskDTO;
+import es.wrapitup.wrapitup_planner.model.EventColor;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarTaskRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.CalendarCache;
+import es.wrapitup.wrapitup_planner.service.CalendarEventService;
+import es.wrapitup.wrapitup_planner.service.CalendarService;
+import es.wrapitup.wrapitup_planner.service.CalendarTaskService;
+
+// Not @Transactional: the calendar cache is bypassed inside transactions and only dropped once writes commit,
+// so every step runs on its own like separate requests would
+@Tag("system")
+@SpringBootTest
+public class CalendarCacheSystemTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Autowired
+    private CalendarEventService eventService;
+
+    @Autowired
+    private CalendarTaskService taskService;
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private CalendarCache calendarCache;
+
+    @Autowired
+    private CalendarEventRepository eventRepository;
+
+    @Autowired
+    private CalendarTaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private UserModel owner;
+    private UserModel admin;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            owner = userRepository.save(new UserModel("calendarcache", "calendarcache@test.com", "x", UserStatus.ACTIVE, "USER"));
+            admin = userRepository.save(new UserModel("calendaradmin", "calendaradmin@test.com", "x", UserStatus.ACTIVE, "USER", "ADMIN"));
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            eventRepository.deleteByUser(owner);
+            taskRepository.deleteByUser(owner);
+            userRepository.deleteById(admin.getId());
+            userRepository.deleteById(owner.getId());
+        });
+        calendarCache.evict(owner.getId());
+    }
+
+    @Test
+    void readsComeFromTheCacheUntilAWriteCommits() {
+        CalendarEventDTO first = eventService.createEvent(event("First", 9, null), "calendarcache");
+        assertEquals(List.of("First"), titlesOn(DAY));
+
+        // Rows removed behind the services' back stay visible until the cache is told
+        transaction.executeWithoutResult(status -> eventRepository.deleteById(first.getId()));
+        assertEquals(List.of("First"), titlesOn(DAY));
+
+        eventService.createEvent(event("Second", 11, null), "calendarcache");
+        assertEquals(List.of("Second"), titlesOn(DAY));
+    }
+
+    @Test
+    void everyWriteKeepsTheCachedCalendarCoherent() {
+        CalendarEventDTO meeting = eventService.createEvent(event("Meeting", 9, null), "calendarcache");
+        CalendarEventDTO standup = eventService.createEvent(event("Standup", 8, "FREQ=DAILY;COUNT=5"), "calendarcache");
+        assertEquals(List.of("Standup", "Meeting"), titlesOn(DAY));
+
+        CalendarEventDTO rename = new CalendarEventDTO();
+        rename.setTitle("Review");
+        eventService.updateEvent(meeting.getId(), rename, "calendarcache");
+        assertEquals(List.of("Standup", "Review"), titlesOn(DAY));
+
+        eventService.cancelOccurrence(standup.getId(), DAY.atTime(8, 0), "calendarcache");
+        assertEquals(List.of("Review"), titlesOn(DAY));
+
+        eventService.updateOccurrence(standup.getId(), DAY.plusDays(1).atTime(8, 0), rename, "calendarcache");
+        assertEquals(List.of("Review"), titlesOn(DAY.plusDays(1)));
+
+        // An admin deleting the event must drop the owner's calendar, not their own
+        eventService.deleteEvent(meeting.getId(), "calendaradmin");
+        assertEquals(List.of(), titlesOn(DAY));
+
+        CalendarTaskDTO newTask = new CalendarTaskDTO();
+        newTask.setTitle("Report");
+        newTask.setTaskDate(DAY);
+        CalendarTaskDTO task = taskService.createTask(newTask, "calendarcache");
+        assertEquals(1, pendingOn(DAY));
+
+        taskService.toggleTaskComplete(task.getId(), "calendarcache");
+        assertEquals(0, pendingOn(DAY));
+        assertTrue(taskService.getTasksByDay("calendarcache", DAY).get(0).getCompleted());
+
+        taskService.deleteTask(task.getId(), "calendarcache");
+        assertTrue(taskService.getTasksByDay("calendarcache", DAY).isEmpty());
+    }
+
+    @Test
+    void cachedMonthViewMatchesTheDatabaseAggregates() {
+        eventService.createEvent(event("Meeting", 9, null), "calendarcache");
+        CalendarEventDTO trip = event("Trip", 20, null);
+        trip.setEndDate(DAY.plusDays(3).atTime(8, 0));
+        trip.setColor(EventColor.RED);
+        eventService.createEvent(trip, "calendarcache");
+        CalendarEventDTO standup = event("Standup", 8, "FREQ=WEEKLY;BYDAY=MO,WE,FR");
+        standup.setColor(EventColor.GREEN);
+        eventService.createEvent(standup, "calendarcache");
+        CalendarTaskDTO newTask = new CalendarTaskDTO();
+        newTask.setTitle("Report");
+        newTask.setTaskDate(DAY);
+        taskService.createTask(newTask, "calendarcache");
+
+        // Month views never load the cache themselves, so a day view warms it first
+        long cachedBefore = calendarCache.cachedUsers();
+        CalendarRangeDTO cold = calendarService.getRangeView("calendarcache", YearMonth.of(2026, 3), 2);
+        assertEquals(cachedBefore, calendarCache.cachedUsers());
+        taskService.getTasksByDay("calendarcache", DAY);
+        CalendarRangeDTO cached = calendarService.getRangeView("calendarcache", YearMonth.of(2026, 3), 2);
+        // Inside a transaction the cache is bypassed and the aggregate queries run instead
+        CalendarRangeDTO aggregated = transaction.execute(status ->
+                calendarService.getRangeView("calendarcache", YearMonth.of(2026, 3), 2));
+
+        assertTrue(calendarCache.cachedUsers() > 0);
+        assertEquals(aggregated, cached);
+        assertEquals(aggregated, cold);
+    }
+
+    private CalendarEventDTO event(String title, int hour, String rule) {
+        CalendarEventDTO event = new CalendarEventDTO();
+        event.setTitle(title);
+        event.setStartDate(DAY.atTime(hour, 0));
+        event.setEndDate(DAY.atTime(hour, 30));
+        event.setColor(EventColor.BLUE);
+        event.setRecurrenceRule(rule);
+        return event;
+    }
+
+    private List<String> titlesOn(LocalDate date) {
+        return eventService.getEventsByDateRange("calendarcache", date.atStartOfDay(), date.atTime(LocalTime.MAX))
+                .stream().map(CalendarEventDTO::getTitle).toList();
+    }
+
+    private int pendingOn(LocalDate date) {
+        return calendarService.getMonthView("calendarcache", date.getYear(), date.getMonthValue())
+                .getDays().get(date.getDayOfMonth() - 1).getPendingTasks();
+    }
+}
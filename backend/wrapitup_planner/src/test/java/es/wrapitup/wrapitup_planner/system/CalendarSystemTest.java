@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.Arrays;
 import java.util.List;
 
@@ -15,20 +16,25 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
 import es.wrapitup.wrapitup_planner.dto.CalendarDayDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarDaySummaryDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarMonthDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarRangeDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarTaskDTO;
 import es.wrapitup.wrapitup_planner.model.CalendarEvent;
 import es.wrapitup.wrapitup_planner.model.CalendarTask;
 import es.wrapitup.wrapitup_planner.model.EventColor;
+import es.wrapitup.wrapitup_planner.model.RecurrenceRule;
 import es.wrapitup.wrapitup_planner.model.UserModel;
 import es.wrapitup.wrapitup_planner.model.UserStatus;
 import es.wrapitup.wrapitup_planner.repository.CommentRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventExceptionRepository;
 import es.wrapitup.wrapitup_planner.repository.CalendarEventRepository;
 import es.wrapitup.wrapitup_planner.repository.CalendarTaskRepository;
 import es.wrapitup.wrapitup_planner.repository.NoteRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
 import es.wrapitup.wrapitup_planner.service.CalendarEventService;
+import es.wrapitup.wrapitup_planner.service.CalendarMonthAggregator;
 import es.wrapitup.wrapitup_planner.service.CalendarService;
 import es.wrapitup.wrapitup_planner.service.CalendarTaskService;
 
@@ -52,6 +58,9 @@ public class CalendarSystemTest {
     @Autowired
     private CalendarTaskRepository taskRepository;
 
+    @Autowired
+    private CalendarEventExceptionRepository exceptionRepository;
+
     @Autowired
     private CommentRepository commentRepository;
 
@@ -281,6 +290,8 @@ public class CalendarSystemTest {
         task.setTaskDate(LocalDate.of(2026, 2, 15));
         taskService.createTask(task, "calsystemuser");
 
+        // The summaries are read over JDBC, which does not flush pending inserts first
+        eventRepository.flush();
         CalendarMonthDTO monthView = calendarService.getMonthView("calsystemuser", 2026, 2);
 
         assertNotNull(monthView);
@@ -288,6 +299,53 @@ public class CalendarSystemTest {
         assertEquals(2, monthView.getMonth());
         assertNotNull(monthView.getDays());
         assertEquals(28, monthView.getDays().size()); 
+        assertEquals(1, monthView.getDays().get(14).getTotalEvents());
+        assertEquals(1, monthView.getDays().get(14).getPendingTasks());
+    }
+
+    @Test
+    void getMonthViewAggregatesInDatabaseLikeInMemory() {
+        EventColor[] colors = EventColor.values();
+        for (int i = 0; i < 40; i++) {
+            LocalDateTime start = LocalDateTime.of(2026, 1, 27, 8, 0).plusHours(i * 19L);
+            eventRepository.save(new CalendarEvent(testUser, "Event " + i, null, start,
+                    start.plusHours(i % 4 == 0 ? 60 : 1), colors[i % colors.length], false));
+            CalendarTask task = new CalendarTask(testUser, "Task " + i, null, LocalDate.of(2026, 1, 30).plusDays(i % 33));
+            task.setCompleted(i % 3 == 0);
+            taskRepository.save(task);
+        }
+        eventRepository.flush();
+        taskRepository.flush();
+
+        LocalDate first = LocalDate.of(2026, 2, 1);
+        LocalDate last = LocalDate.of(2026, 2, 28);
+        List<CalendarDaySummaryDTO> expected = CalendarMonthAggregator.summarize(first, last,
+                eventService.getEventsByDateRange("calsystemuser", first.atStartOfDay(), last.atTime(23, 59, 59)),
+                taskService.getTasksByDateRange("calsystemuser", first, last));
+
+        assertEquals(expected, calendarService.getMonthView("calsystemuser", 2026, 2).getDays());
+    }
+
+    @Test
+    void getRangeViewMatchesSingleMonthViews() {
+        for (int i = 0; i < 6; i++) {
+            LocalDateTime start = LocalDateTime.of(2025, 12, 20, 9, 0).plusDays(i * 9L);
+            eventRepository.save(new CalendarEvent(testUser, "Event " + i, null, start, start.plusDays(2), EventColor.PURPLE, false));
+            taskRepository.save(new CalendarTask(testUser, "Task " + i, null, start.toLocalDate()));
+        }
+        eventRepository.flush();
+        taskRepository.flush();
+
+        CalendarRangeDTO range = calendarService.getRangeView("calsystemuser", YearMonth.of(2025, 12), 3);
+
+        assertEquals(3, range.getMonths().size());
+        assertEquals(calendarService.getMonthView("calsystemuser", 2025, 12), range.getMonths().get(0));
+        assertEquals(calendarService.getMonthView("calsystemuser", 2026, 1), range.getMonths().get(1));
+        assertEquals(calendarService.getMonthView("calsystemuser", 2026, 2), range.getMonths().get(2));
+        assertEquals(6, range.getMonths().stream()
+                .flatMap(month -> month.getDays().stream())
+                .mapToInt(CalendarDaySummaryDTO::getPendingTasks)
+                .sum());
     }
 
     @Test
@@ -363,4 +421,111 @@ public class CalendarSystemTest {
         assertEquals("Pending Task", pendingTasks.get(0).getTitle());
         assertFalse(pendingTasks.get(0).getCompleted());
     }
+
+    // Recurring event system tests
+
+    @Test
+    void recurringEventIsStoredOnceAndExpandedWithItsExceptions() {
+        CalendarEventDTO created = eventService.createEvent(recurringEvent("FREQ=DAILY;COUNT=10"), "calsystemuser");
+        Long id = created.getId();
+
+        eventService.cancelOccurrence(id, LocalDateTime.of(2026, 3, 3, 9, 0), "calsystemuser");
+        CalendarEventDTO renamed = new CalendarEventDTO();
+        renamed.setTitle("Retro");
+        eventService.updateOccurrence(id, LocalDateTime.of(2026, 3, 4, 9, 0), renamed, "calsystemuser");
+        CalendarEventDTO moved = new CalendarEventDTO();
+        moved.setStartDate(LocalDateTime.of(2026, 3, 9, 15, 0));
+        moved.setEndDate(LocalDateTime.of(2026, 3, 9, 16, 0));
+        eventService.updateOccurrence(id, LocalDateTime.of(2026, 3, 5, 9, 0), moved, "calsystemuser");
+
+        assertEquals(1, eventRepository.count());
+        assertEquals(LocalDateTime.of(2026, 3, 10, 10, 0), eventRepository.findById(id).orElseThrow().getSeriesEnd());
+
+        List<CalendarEventDTO> march = eventService.getEventsByDateRange("calsystemuser",
+                LocalDateTime.of(2026, 3, 1, 0, 0), LocalDateTime.of(2026, 3, 31, 23, 59));
+        assertEquals(9, march.size());
+        assertEquals("Retro", march.get(2).getTitle());
+        assertEquals(LocalDateTime.of(2026, 3, 4, 9, 0), march.get(2).getOccurrenceStart());
+
+        List<CalendarEventDTO> ninth = eventService.getEventsByDateRange("calsystemuser",
+                LocalDateTime.of(2026, 3, 9, 0, 0), LocalDateTime.of(2026, 3, 9, 23, 59));
+        assertEquals(List.of(LocalDateTime.of(2026, 3, 9, 9, 0), LocalDateTime.of(2026, 3, 5, 9, 0)),
+                ninth.stream().map(CalendarEventDTO::getOccurrenceStart).toList());
+
+        assertTrue(eventService.getEventsByDateRange("calsystemuser",
+                LocalDateTime.of(2026, 3, 11, 0, 0), LocalDateTime.of(2026, 12, 31, 0, 0)).isEmpty());
+    }
+
+    @Test
+    void occurrencesCannotLeaveTheirSeries() {
+        Long id = eventService.createEvent(recurringEvent("FREQ=WEEKLY;COUNT=3"), "calsystemuser").getId();
+        CalendarEventDTO moved = new CalendarEventDTO();
+        moved.setStartDate(LocalDateTime.of(2026, 4, 1, 9, 0));
+        moved.setEndDate(LocalDateTime.of(2026, 4, 1, 10, 0));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> eventService.updateOccurrence(id, LocalDateTime.of(2026, 3, 8, 9, 0), moved, "calsystemuser"));
+        assertThrows(IllegalArgumentException.class,
+                () -> eventService.cancelOccurrence(id, LocalDateTime.of(2026, 3, 22, 9, 0), "calsystemuser"));
+    }
+
+    @Test
+    void changingTheRuleDropsExceptionsAndDeletingTheSeriesRemovesThem() {
+        Long id = eventService.createEvent(recurringEvent("FREQ=DAILY"), "calsystemuser").getId();
+        eventService.cancelOccurrence(id, LocalDateTime.of(2026, 3, 2, 9, 0), "calsystemuser");
+        assertEquals(1, exceptionRepository.count());
+
+        CalendarEventDTO update = new CalendarEventDTO();
+        update.setRecurrenceRule("FREQ=WEEKLY");
+        eventService.updateEvent(id, update, "calsystemuser");
+        eventRepository.flush();
+        assertEquals(0, exceptionRepository.count());
+        assertEquals(RecurrenceRule.OPEN_END, eventRepository.findById(id).orElseThrow().getSeriesEnd());
+        assertEquals(1, eventRepository.findRecurringByUserAndDateRange(testUser.getId(),
+                LocalDateTime.of(2030, 1, 1, 0, 0), LocalDateTime.of(2030, 1, 31, 0, 0)).size());
+
+        eventService.cancelOccurrence(id, LocalDateTime.of(2026, 3, 8, 9, 0), "calsystemuser");
+        eventRepository.flush();
+        eventService.deleteEvent(id, "calsystemuser");
+        eventRepository.flush();
+        assertEquals(0, exceptionRepository.count());
+    }
+
+    @Test
+    void getMonthViewCountsRecurringOccurrencesLikeTheEventList() {
+        eventService.createEvent(recurringEvent("FREQ=WEEKLY;BYDAY=MO,TH"), "calsystemuser");
+        CalendarEventDTO trip = recurringEvent("FREQ=MONTHLY;COUNT=4");
+        trip.setStartDate(LocalDateTime.of(2026, 1, 30, 8, 0));
+        trip.setEndDate(LocalDateTime.of(2026, 2, 2, 8, 0));
+        trip.setColor(EventColor.RED);
+        Long tripId = eventService.createEvent(trip, "calsystemuser").getId();
+        eventService.cancelOccurrence(tripId, LocalDateTime.of(2026, 3, 30, 8, 0), "calsystemuser");
+        for (int i = 0; i < 12; i++) {
+            LocalDateTime start = LocalDateTime.of(2026, 3, 1, 7, 0).plusHours(i * 55L);
+            eventRepository.save(new CalendarEvent(testUser, "Event " + i, null, start, start.plusHours(2),
+                    EventColor.values()[i % EventColor.values().length], false));
+        }
+        eventRepository.flush();
+
+        LocalDate first = LocalDate.of(2026, 3, 1);
+        LocalDate last = LocalDate.of(2026, 3, 31);
+        List<CalendarDaySummaryDTO> expected = CalendarMonthAggregator.summarize(first, last,
+                eventService.getEventsByDateRange("calsystemuser", first.atStartOfDay(), last.atTime(23, 59, 59)),
+                List.of());
+
+        List<CalendarDaySummaryDTO> days = calendarService.getMonthView("calsystemuser", 2026, 3).getDays();
+        assertEquals(expected, days);
+        assertEquals(2, days.get(1).getTotalEvents());
+        assertEquals(1, days.get(29).getTotalEvents());
+    }
+
+    private static CalendarEventDTO recurringEvent(String rule) {
+        CalendarEventDTO event = new CalendarEventDTO();
+        event.setTitle("Standup");
+        event.setStartDate(LocalDateTime.of(2026, 3, 1, 9, 0));
+        event.setEndDate(LocalDateTime.of(2026, 3, 1, 10, 0));
+        event.setColor(EventColor.GREEN);
+        event.setRecurrenceRule(rule);
+        return event;
+    }
 }
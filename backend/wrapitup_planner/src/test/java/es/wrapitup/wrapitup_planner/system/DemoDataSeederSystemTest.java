@@ -0,0 +1,61 @@
+package es.wrapitup.wrapitup_planner.system;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Transactional;
+
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.DemoDataSeeder;
+import es.wrapitup.wrapitup_planner.service.ImageStore;
+
+// The seeder joins the test transaction, so whatever it writes is rolled back. Background seeding is off
+// so it cannot race the test, and demo data an already running backend seeded is left alone.
+@Tag("system")
+@Transactional
+@SpringBootTest(properties = "seed.enabled=false")
+public class DemoDataSeederSystemTest {
+
+    @Autowired
+    private DemoDataSeeder seeder;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void seedingIsIdempotentAndCreatesUsableDemoAccounts() {
+        seeder.seed();
+
+        assertFalse(seeder.seed());
+
+        List<UserModel> users = userRepository.findByUsernameIn(List.of("genericUser", "secondUser", "thirdUser", "admin"));
+        assertEquals(4, users.size());
+        for (UserModel user : users) {
+            assertTrue(passwordEncoder.matches("12345678", user.getPassword()));
+        }
+
+        UserModel genericUser = userRepository.findByUsername("genericUser").orElseThrow();
+        String hash = imageStore.findProfileImage(genericUser.getId()).orElseThrow().getHash();
+        assertEquals(ImageStore.profileImageUrl(genericUser.getId(), hash), genericUser.getImage());
+        assertTrue(noteRepository.findSummariesByUserId(genericUser.getId(), PageRequest.of(0, 1)).getTotalElements() > 0);
+        assertTrue(noteRepository.findSummariesSharedWithUser("genericUser", PageRequest.of(0, 1)).getTotalElements() > 0);
+    }
+}
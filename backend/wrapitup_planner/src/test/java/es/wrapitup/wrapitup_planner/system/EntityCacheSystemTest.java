@@ -0,0 +1,121 @@
+package es.wrapitup.wrapitup_planner.system;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import es.wrapitup.wrapitup_planner.dto.NoteDTO;
+import es.wrapitup.wrapitup_planner.model.Note;
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.EntityCacheStatsService;
+import es.wrapitup.wrapitup_planner.service.NoteService;
+
+// Not @Transactional: the second-level cache only sees what has been committed,
+// so every step runs in its own transaction like separate requests would
+@Tag("system")
+@SpringBootTest
+public class EntityCacheSystemTest {
+
+    @Autowired
+    private NoteService noteService;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityCacheStatsService entityCacheStatsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Long ownerId;
+    private Long readerId;
+    private Long noteId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            UserModel owner = userRepository.save(new UserModel("cacheowner", "cacheowner@test.com", "x", UserStatus.ACTIVE, "USER"));
+            UserModel reader = userRepository.save(new UserModel("cachereader", "cachereader@test.com", "x", UserStatus.ACTIVE, "USER"));
+            ownerId = owner.getId();
+            readerId = reader.getId();
+            noteId = noteRepository.save(new Note(owner, "Cached note", "Overview", "Summary", "{}", NoteVisibility.PRIVATE)).getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            noteRepository.findById(noteId).ifPresent(noteRepository::delete);
+            userRepository.deleteById(readerId);
+            userRepository.deleteById(ownerId);
+        });
+    }
+
+    @Test
+    void repeatedViewsAreServedFromTheCache() {
+        assertTrue(view("cacheowner").isPresent());
+        long hitsBefore = hits(Note.class.getName());
+
+        assertTrue(view("cacheowner").isPresent());
+
+        assertTrue(hits(Note.class.getName()) > hitsBefore);
+    }
+
+    @Test
+    void sharingInvalidatesCachedSharedUsers() {
+        assertTrue(view("cachereader").isEmpty());
+
+        transaction.executeWithoutResult(status -> noteService.shareNoteWithUsername(noteId, "cachereader", "cacheowner"));
+
+        assertTrue(view("cachereader").isPresent());
+        long hitsBefore = hits(Note.class.getName() + ".sharedWith");
+        assertTrue(view("cachereader").isPresent());
+        assertTrue(hits(Note.class.getName() + ".sharedWith") > hitsBefore);
+    }
+
+    @Test
+    void updateAndDeleteInvalidateCachedNote() {
+        assertEquals("Cached note", view("cacheowner").orElseThrow().getTitle());
+
+        NoteDTO changes = new NoteDTO();
+        changes.setTitle("Renamed note");
+        changes.setVisibility(NoteVisibility.PUBLIC);
+        transaction.executeWithoutResult(status -> noteService.updateNote(noteId, changes, "cacheowner"));
+
+        assertEquals("Renamed note", view(null).orElseThrow().getTitle());
+
+        transaction.executeWithoutResult(status -> noteService.deleteNote(noteId, "cacheowner"));
+
+        assertTrue(view("cacheowner").isEmpty());
+    }
+
+    private Optional<NoteDTO> view(String username) {
+        return transaction.execute(status -> noteService.findByIdWithPermissions(noteId, username));
+    }
+
+    private long hits(String region) {
+        return entityCacheStatsService.getRegionStats().stream()
+                .filter(stats -> stats.region().equals(region))
+                .mapToLong(EntityCacheStatsService.RegionStats::hits)
+                .sum();
+    }
+}
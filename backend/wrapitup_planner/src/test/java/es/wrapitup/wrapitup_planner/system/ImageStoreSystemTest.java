@@ -0,0 +1,116 @@
+package es.wrapitup.wrapitup_planner.system;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.ImageStore;
+
+// Not @Transactional: the upload and the image change run in their own concurrent transactions
+@Tag("system")
+@SpringBootTest
+public class ImageStoreSystemTest {
+
+    private static final byte[] SHARED = "image-store-race-shared".getBytes();
+    private static final byte[] REPLACEMENT = "image-store-race-replacement".getBytes();
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private UserModel replacing;
+    private UserModel uploading;
+    private String sharedHash;
+    private String replacementHash;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        replacing = userRepository.save(new UserModel("imagerace1", "imagerace1@test.com", "x", UserStatus.ACTIVE, "USER"));
+        uploading = userRepository.save(new UserModel("imagerace2", "imagerace2@test.com", "x", UserStatus.ACTIVE, "USER"));
+        sharedHash = transaction.execute(status -> {
+            String hash = imageStore.store(SHARED, "image/png");
+            imageStore.assignProfileImage(replacing.getId(), hash);
+            return hash;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM user_profile_image WHERE user_id IN (?, ?)", replacing.getId(), uploading.getId());
+        jdbcTemplate.update("DELETE FROM image_blob WHERE hash IN (?, ?)", sharedHash, replacementHash);
+        userRepository.deleteAllById(List.of(replacing.getId(), uploading.getId()));
+    }
+
+    @Test
+    void uploadOfTheSameBytesSurvivesTheOldOwnerChangingImage() throws Exception {
+        CountDownLatch stored = new CountDownLatch(1);
+        CountDownLatch assign = new CountDownLatch(1);
+
+        // The upload finds the blob already stored, then the previous owner switches images before it is assigned
+        CompletableFuture<String> upload = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            String hash = imageStore.store(SHARED, "image/png");
+            stored.countDown();
+            await(assign);
+            return imageStore.assignProfileImage(uploading.getId(), hash);
+        }));
+        assertTrue(stored.await(10, TimeUnit.SECONDS));
+
+        CompletableFuture<String> change = CompletableFuture.supplyAsync(() -> transaction.execute(status -> {
+            replacementHash = imageStore.store(REPLACEMENT, "image/png");
+            return imageStore.assignProfileImage(replacing.getId(), replacementHash);
+        }));
+        Thread.sleep(500);
+        assertFalse(change.isDone(), "the cleanup should wait for the upload's lock on the blob");
+        assign.countDown();
+
+        assertNotNull(upload.get(30, TimeUnit.SECONDS));
+        assertNotNull(change.get(30, TimeUnit.SECONDS));
+        assertEquals(sharedHash, imageStore.findProfileImage(uploading.getId()).orElseThrow().getHash());
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM image_blob WHERE hash = ?", Integer.class, sharedHash));
+    }
+
+    @Test
+    void unusedImageIsDeletedOnceReplaced() {
+        transaction.execute(status -> {
+            replacementHash = imageStore.store(REPLACEMENT, "image/png");
+            return imageStore.assignProfileImage(replacing.getId(), replacementHash);
+        });
+
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM image_blob WHERE hash = ?", Integer.class, sharedHash));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package es.wrapitup.wrapitup_planner.system;
 
-import es.wrapitup.wrapitup_planner.dto.NoteDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteSummaryDTO;
 import es.wrapitup.wrapitup_planner.model.Note;
 import es.wrapitup.wrapitup_planner.model.NoteCategory;
 import es.wrapitup.wrapitup_planner.model.NoteVisibility;
@@ -99,7 +99,7 @@ public class NoteFilteringSystemTest {
         noteRepository.save(note3);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<NoteDTO> result = noteService.findRecentNotesByUser("user", pageable, null, "Pythagorean");
+        Page<NoteSummaryDTO> result = noteService.findRecentNotesByUser("user", pageable, null, "Pythagorean");
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
@@ -142,7 +142,7 @@ public class NoteFilteringSystemTest {
         noteRepository.save(scienceNote);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<NoteDTO> result = noteService.findRecentNotesByUser("user", pageable, "MATHS", "Algebra");
+        Page<NoteSummaryDTO> result = noteService.findRecentNotesByUser("user", pageable, "MATHS", "Algebra");
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
@@ -184,7 +184,7 @@ public class NoteFilteringSystemTest {
         noteRepository.save(sharedNote2);
 
         Pageable pageable = PageRequest.of(0, 10);
-        Page<NoteDTO> result = noteService.findNotesSharedWithUser("user", pageable, "Pythagorean");
+        Page<NoteSummaryDTO> result = noteService.findNotesSharedWithUser("user", pageable, "Pythagorean");
 
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
@@ -195,7 +195,7 @@ public class NoteFilteringSystemTest {
     @Test
     void findNotesSharedWithUserReturnsEmptyForEmptyUsername() {
         Pageable pageable = PageRequest.of(0, 10);
-        Page<NoteDTO> result = noteService.findNotesSharedWithUser("", pageable, null);
+        Page<NoteSummaryDTO> result = noteService.findNotesSharedWithUser("", pageable, null);
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
@@ -1,6 +1,7 @@
 package es.wrapitup.wrapitup_planner.system;
 
 import es.wrapitup.wrapitup_planner.dto.NoteDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteShareResultDTO;
 import es.wrapitup.wrapitup_planner.dto.QuizResultDTO;
 import es.wrapitup.wrapitup_planner.model.Note;
 import es.wrapitup.wrapitup_planner.model.NoteCategory;
@@ -9,9 +10,11 @@ import es.wrapitup.wrapitup_planner.model.UserModel;
 import es.wrapitup.wrapitup_planner.model.UserStatus;
 import es.wrapitup.wrapitup_planner.repository.CommentRepository;
 import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.NoteShareJdbcRepository;
 import es.wrapitup.wrapitup_planner.repository.QuizScoreRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
 import es.wrapitup.wrapitup_planner.service.NoteService;
+import es.wrapitup.wrapitup_planner.service.NoteSharingService;
 
 import org.junit.jupiter.api.BeforeEach;
 import java.time.LocalDateTime;
@@ -24,6 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
@@ -40,6 +44,12 @@ public class NoteSystemTest {
     @Autowired
     private NoteRepository noteRepository;
 
+    @Autowired
+    private NoteSharingService noteSharingService;
+
+    @Autowired
+    private NoteShareJdbcRepository noteShareJdbcRepository;
+
     @Autowired
     private CommentRepository commentRepository;
 
@@ -292,6 +302,41 @@ public class NoteSystemTest {
 
     }
 
+    @Test
+    void bulkShareWritesOnlyNewRowsAndUnshareRemovesThem() {
+        Note note = new Note(testUser, "Class note", "Overview", "Summary", "{}", NoteVisibility.PRIVATE);
+        note = noteRepository.saveAndFlush(note);
+        noteService.shareNoteWithUsername(note.getId(), "otheruser", "systemuser");
+        noteRepository.flush();
+
+        NoteShareResultDTO shared = noteSharingService
+                .shareWithUsernames(note.getId(), List.of("otheruser", "adminuser", "nobody"), "systemuser")
+                .orElseThrow();
+
+        assertEquals(List.of("adminuser"), shared.getChanged());
+        assertEquals(List.of("otheruser"), shared.getUnchanged());
+        assertEquals(List.of("nobody"), shared.getNotFound());
+        assertEquals(2, noteShareJdbcRepository.findSharedUserIds(note.getId()).size());
+        assertTrue(noteRepository.findAccess(note.getId(), adminUser.getId()).orElseThrow().isShared());
+
+        NoteShareResultDTO removed = noteSharingService
+                .unshareWithUsernames(note.getId(), List.of("otheruser", "adminuser"), "systemuser")
+                .orElseThrow();
+
+        assertEquals(List.of("adminuser", "otheruser"), removed.getChanged());
+        assertEquals(0, removed.getSharedWithCount());
+        assertTrue(noteShareJdbcRepository.findSharedUserIds(note.getId()).isEmpty());
+    }
+
+    @Test
+    void onlyOwnerCanBulkShare() {
+        Note note = noteRepository.saveAndFlush(new Note(testUser, "Note", "Overview", "Summary", "{}", NoteVisibility.PUBLIC));
+
+        assertThrows(SecurityException.class,
+                () -> noteSharingService.shareWithUsernames(note.getId(), List.of("adminuser"), "otheruser"));
+        assertTrue(noteSharingService.shareWithUsernames(-1L, List.of("adminuser"), "systemuser").isEmpty());
+    }
+
 
     // delete notes tests
 
@@ -0,0 +1,268 @@
+package es.wrapitup.wrapitup_planner.system;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import es.wrapitup.wrapitup_planner.model.AiNoteJobStatus;
+import es.wrapitup.wrapitup_planner.model.CalendarEvent;
+import es.wrapitup.wrapitup_planner.model.CalendarTask;
+import es.wrapitup.wrapitup_planner.model.Comment;
+import es.wrapitup.wrapitup_planner.model.EventColor;
+import es.wrapitup.wrapitup_planner.model.Note;
+import es.wrapitup.wrapitup_planner.model.NoteCategory;
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import es.wrapitup.wrapitup_planner.model.QuizScore;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.AiNoteJobRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventExceptionRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarSummaryJdbcRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarTaskRepository;
+import es.wrapitup.wrapitup_planner.repository.CommentRepository;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.QuizScoreRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+
+// Runs the hot repository queries, then EXPLAINs the exact SQL and bind values Hibernate sent
+// and fails if any table in the plan has no index it can use
+@Tag("system")
+@Transactional
+@SpringBootTest
+public class QueryPlanSystemTest {
+
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+        @Bean
+        static BeanPostProcessor recordingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? StatementRecorder.wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NoteRepository noteRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private QuizScoreRepository quizScoreRepository;
+
+    @Autowired
+    private CalendarEventRepository eventRepository;
+
+    @Autowired
+    private CalendarTaskRepository taskRepository;
+
+    @Autowired
+    private AiNoteJobRepository jobRepository;
+
+    @Autowired
+    private CalendarSummaryJdbcRepository summaryRepository;
+
+    @Autowired
+    private CalendarEventExceptionRepository exceptionRepository;
+
+    private UserModel owner;
+    private UserModel reader;
+    private Note note;
+    private Comment comment;
+    private CalendarEvent series;
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(new UserModel("planowner", "planowner@test.com", "x", UserStatus.ACTIVE, "USER"));
+        reader = userRepository.save(new UserModel("planreader", "planreader@test.com", "x", UserStatus.ACTIVE, "USER"));
+
+        for (int i = 0; i < 20; i++) {
+            Note n = new Note(owner, "Plan note " + i, "Overview " + i, "Summary " + i, "{}", NoteVisibility.PRIVATE);
+            n.setCategory(i % 2 == 0 ? NoteCategory.MATHS : NoteCategory.HISTORY);
+            n.setLastModified(LocalDateTime.now().minusHours(i));
+            n.getSharedWith().add(reader);
+            note = noteRepository.save(n);
+            comment = commentRepository.save(new Comment("Comment " + i, note, reader));
+            quizScoreRepository.save(new QuizScore(note, reader, i, 20));
+            eventRepository.save(new CalendarEvent(owner, "Event " + i, null, LocalDateTime.now().plusDays(i),
+                    LocalDateTime.now().plusDays(i).plusHours(1), EventColor.BLUE, false));
+            taskRepository.save(new CalendarTask(owner, "Task " + i, null, LocalDate.now().plusDays(i)));
+        }
+        series = new CalendarEvent(owner, "Weekly", null, LocalDateTime.now(), LocalDateTime.now().plusHours(1), EventColor.RED, false);
+        series.setRecurrenceRule("FREQ=WEEKLY");
+        series = eventRepository.save(series);
+        noteRepository.flush();
+    }
+
+    @Test
+    void userAndNoteListingQueriesUseIndexes() {
+        Long userId = owner.getId();
+        LocalDateTime lastModified = note.getLastModified();
+        PageRequest page = PageRequest.of(1, 5);
+
+        assertIndexed("findByUsername", () -> userRepository.findByUsername("planowner"));
+        assertIndexed("findAccess", () -> noteRepository.findAccess(note.getId(), reader.getId()));
+        assertIndexed("findSummariesByUserId", () -> noteRepository.findSummariesByUserId(userId, page));
+        assertIndexed("findSummariesByUserIdAndCategory", () -> noteRepository.findSummariesByUserIdAndCategory(userId, NoteCategory.MATHS, page));
+        assertIndexed("findSummariesByUserIdAndTitleContaining", () -> noteRepository.findSummariesByUserIdAndTitleContaining(userId, "note", page));
+        assertIndexed("findSummariesByUserIdMatching", () -> noteRepository.findSummariesByUserIdMatching(userId, "+plan*", page));
+        assertIndexed("findSummariesSharedWithUser", () -> noteRepository.findSummariesSharedWithUser("planreader", page));
+        assertIndexed("findSummariesSharedWithUserMatching", () -> noteRepository.findSummariesSharedWithUserMatching("planreader", "+plan*", page));
+        assertIndexed("findSummaryFeedByUserIdAfter", () -> noteRepository.findSummaryFeedByUserIdAfter(userId, lastModified, note.getId(), Limit.of(6)));
+        assertIndexed("findSummaryFeedByUserIdAndCategoryAfter", () -> noteRepository.findSummaryFeedByUserIdAndCategoryAfter(userId, NoteCategory.MATHS, lastModified, note.getId(), Limit.of(6)));
+        assertIndexed("findSummaryFeedSharedWithUserAfter", () -> noteRepository.findSummaryFeedSharedWithUserAfter("planreader", lastModified, note.getId(), Limit.of(6)));
+    }
+
+    @Test
+    void commentAndQuizQueriesUseIndexes() {
+        Long noteId = note.getId();
+
+        assertIndexed("findByNoteIdOrderByCreatedAtDesc", () -> commentRepository.findByNoteIdOrderByCreatedAtDesc(noteId, PageRequest.of(0, 10)));
+        assertIndexed("findFeedByNoteIdAfter", () -> commentRepository.findFeedByNoteIdAfter(noteId, comment.getCreatedAt(), comment.getId(), Limit.of(11)));
+        assertIndexed("findByIsReportedTrueOrderByCreatedAtDesc", () -> commentRepository.findByIsReportedTrueOrderByCreatedAtDesc(PageRequest.of(0, 10)));
+        assertIndexed("findByNoteIdAndUserIdOrderByCreatedAtAsc", () -> quizScoreRepository.findByNoteIdAndUserIdOrderByCreatedAtAsc(noteId, reader.getId()));
+    }
+
+    @Test
+    void calendarAndJobQueriesUseIndexes() {
+        Long userId = owner.getId();
+        LocalDate today = LocalDate.now();
+
+        assertIndexed("findEventsByUserAndDateRange", () -> eventRepository.findEventsByUserAndDateRange(userId, today.atStartOfDay(), today.plusDays(7).atStartOfDay()));
+        assertIndexed("findRecurringByUserAndDateRange", () -> eventRepository.findRecurringByUserAndDateRange(userId, today.atStartOfDay(), today.plusDays(7).atStartOfDay()));
+        assertIndexed("findForEventsInRange", () -> exceptionRepository.findForEventsInRange(List.of(series.getId()), today.atStartOfDay(), today.atStartOfDay(), today.plusDays(7).atStartOfDay()));
+        assertIndexed("findByUserAndTaskDateOrderByCompletedAndCreated", () -> taskRepository.findByUserAndTaskDateOrderByCompletedAndCreated(userId, today));
+        assertIndexed("findByUserAndDateRangeOrderByDate", () -> taskRepository.findByUserAndDateRangeOrderByDate(userId, today, today.plusDays(7)));
+        assertIndexed("findByUserAndCompletedFalseOrderByTaskDateAsc", () -> taskRepository.findByUserAndCompletedFalseOrderByTaskDateAsc(owner));
+        assertIndexed("findEventDays", () -> summaryRepository.findEventDays(userId, today, today.plusDays(30), 3));
+        assertIndexed("countPendingTasksByDay", () -> summaryRepository.countPendingTasksByDay(userId, today, today.plusDays(30)));
+        assertIndexed("findByStatusIn", () -> jobRepository.findByStatusIn(List.of(AiNoteJobStatus.QUEUED, AiNoteJobStatus.RUNNING)));
+    }
+
+    private void assertIndexed(String query, Supplier<?> call) {
+        List<StatementRecorder.Statement> statements = StatementRecorder.record(call);
+        assertFalse(statements.isEmpty(), query + " did not run any SQL");
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        for (StatementRecorder.Statement statement : statements) {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql())) {
+                for (Map.Entry<Integer, Object> parameter : statement.parameters().entrySet()) {
+                    explain.setObject(parameter.getKey(), parameter.getValue());
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    while (plan.next()) {
+                        String table = plan.getString("table");
+                        if (table == null || table.startsWith("<")) {
+                            continue;
+                        }
+                        // On a fixture this small the optimizer may still prefer a scan, so a usable index is enough
+                        String key = plan.getString("key") != null ? plan.getString("key") : plan.getString("possible_keys");
+                        assertNotNull(key, query + " reads " + table + " without an index in: " + statement.sql());
+                    }
+                }
+            } catch (SQLException e) {
+                fail("Could not EXPLAIN " + query + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Wraps the DataSource so the test can see each prepared statement together with its bind values
+    static final class StatementRecorder {
+
+        record Statement(String sql, Map<Integer, Object> parameters) {
+        }
+
+        private static final ThreadLocal<List<Statement>> RECORDED = new ThreadLocal<>();
+
+        static List<Statement> record(Supplier<?> call) {
+            RECORDED.set(new ArrayList<>());
+            try {
+                call.get();
+                return RECORDED.get();
+            } finally {
+                RECORDED.remove();
+            }
+        }
+
+        static DataSource wrap(DataSource target) {
+            return proxy(DataSource.class, target, (method, args, result) ->
+                    result instanceof Connection connection ? wrapConnection(connection) : result);
+        }
+
+        private static Connection wrapConnection(Connection target) {
+            return proxy(Connection.class, target, (method, args, result) ->
+                    result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                            ? wrapStatement(statement, (String) args[0])
+                            : result);
+        }
+
+        private static PreparedStatement wrapStatement(PreparedStatement target, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, target, (method, args, result) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                    parameters.put(index, args[1]);
+                } else if (name.startsWith("execute") && RECORDED.get() != null) {
+                    RECORDED.get().add(new Statement(sql, new TreeMap<>(parameters)));
+                }
+                return result;
+            });
+        }
+
+        private interface AfterCall {
+            Object apply(Method method, Object[] args, Object result) throws Throwable;
+        }
+
+        private static <T> T proxy(Class<T> type, T target, AfterCall after) {
+            Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (p, method, args) -> {
+                if (method.getName().equals("unwrap") || method.getName().equals("isWrapperFor")) {
+                    return method.invoke(target, args);
+                }
+                try {
+                    return after.apply(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+            return type.cast(proxy);
+        }
+    }
+}
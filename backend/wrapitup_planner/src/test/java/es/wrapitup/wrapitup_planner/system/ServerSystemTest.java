@@ -6,17 +6,16 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.sql.Blob;
+import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.Optional;
 
-import javax.sql.rowset.serial.SerialBlob;
-
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,6 +27,7 @@ import es.wrapitup.wrapitup_planner.security.jwt.AuthResponse;
 import es.wrapitup.wrapitup_planner.security.jwt.AuthResponse.Status;
 import es.wrapitup.wrapitup_planner.security.jwt.LoginRequest;
 import es.wrapitup.wrapitup_planner.security.jwt.UserLoginService;
+import es.wrapitup.wrapitup_planner.service.ImageStore;
 import es.wrapitup.wrapitup_planner.service.UserService;
 import jakarta.servlet.http.Cookie;
 
@@ -39,6 +39,9 @@ public class ServerSystemTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ImageStore imageStore;
+
     @Autowired
     private UserService userService;
 
@@ -152,50 +155,58 @@ public class ServerSystemTest {
     }
 
     @Test
-    void updateUserWithBlobSavesImageToDatabase() throws Exception {
-        UserModel user = new UserModel();
-        user.setUsername("currentUser");
-        user.setEmail("currentuser@example.com");
-        user.setRoles(Arrays.asList("USER"));
-        user.setStatus(UserStatus.ACTIVE);
-        user.setPassword(passwordEncoder.encode("Password123"));
-        userRepository.save(user);
+    void updateProfileImageStoresImageInDatabase() throws Exception {
+        UserModel user = saveUser("currentUser");
 
         byte[] imageData = "fake-image-data".getBytes();
-        Blob imageBlob = new SerialBlob(imageData);
+        UserModelDTO result = userService.updateProfileImage(user.getId(),
+                new MockMultipartFile("image", "a.png", "image/png", imageData));
 
-        UserModelDTO updateDTO = new UserModelDTO();
-        updateDTO.setImage("/api/v1/users/profile-image/" + user.getId());
+        String hash = imageStore.findProfileImage(user.getId()).orElseThrow().getHash();
+        assertEquals(ImageStore.profileImageUrl(user.getId(), hash), result.getImage());
+        assertEquals("image/png", imageStore.findProfileImage(user.getId()).get().getContentType());
+        assertArrayEquals(imageData, read(hash));
+    }
 
-        userService.updateUserWithBlob(user.getId(), updateDTO, imageBlob);
+    @Test
+    void identicalProfileImagesAreStoredOnce() throws Exception {
+        UserModel first = saveUser("currentUser");
+        UserModel second = saveUser("otherUser");
 
-        // Verify in database
-        UserModel updatedUser = userRepository.findById(user.getId()).orElse(null);
-        assertNotNull(updatedUser);
-        assertNotNull(updatedUser.getProfilePic());
-        
-        byte[] savedImageData = updatedUser.getProfilePic().getBytes(1, (int) updatedUser.getProfilePic().length());
-        assertArrayEquals(imageData, savedImageData);
+        byte[] imageData = "shared-image".getBytes();
+        userService.updateProfileImage(first.getId(), new MockMultipartFile("image", "a.png", "image/png", imageData));
+        userService.updateProfileImage(second.getId(), new MockMultipartFile("image", "b.png", "image/png", imageData));
+
+        assertEquals(imageStore.findProfileImage(first.getId()).orElseThrow().getHash(),
+                imageStore.findProfileImage(second.getId()).orElseThrow().getHash());
     }
 
     @Test
-    void getProfileImageRetrievesFromDatabase() throws Exception {
+    void replacingProfileImageDeletesUnusedBlob() throws Exception {
+        UserModel user = saveUser("currentUser");
+
+        userService.updateProfileImage(user.getId(), new MockMultipartFile("image", "a.png", "image/png", "old".getBytes()));
+        String oldHash = imageStore.findProfileImage(user.getId()).orElseThrow().getHash();
+        userService.updateProfileImage(user.getId(), new MockMultipartFile("image", "b.png", "image/png", "new".getBytes()));
+
+        assertFalse(imageStore.writeTo(oldHash, new ByteArrayOutputStream()));
+        assertArrayEquals("new".getBytes(), read(imageStore.findProfileImage(user.getId()).orElseThrow().getHash()));
+    }
+
+    private UserModel saveUser(String username) {
         UserModel user = new UserModel();
-        user.setUsername("currentUser");
-        user.setEmail("currentuser@example.com");
+        user.setUsername(username);
+        user.setEmail(username.toLowerCase() + "@example.com");
         user.setRoles(Arrays.asList("USER"));
         user.setStatus(UserStatus.ACTIVE);
         user.setPassword(passwordEncoder.encode("Password123"));
-        
-        byte[] imageData = "test-image".getBytes();
-        user.setProfilePic(new SerialBlob(imageData));
-        userRepository.save(user);
-
-        Blob result = userService.getProfileImage(user.getId());
+        return userRepository.saveAndFlush(user);
+    }
 
-        assertNotNull(result);
-        byte[] resultData = result.getBytes(1, (int) result.length());
-        assertArrayEquals(imageData, resultData);
+    private byte[] read(String hash) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertTrue(imageStore.writeTo(hash, out));
+        return out.toByteArray();
     }
 
     @Test
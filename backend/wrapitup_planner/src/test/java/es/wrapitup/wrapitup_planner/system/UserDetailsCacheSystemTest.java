@@ -0,0 +1,84 @@
+package es.wrapitup.wrapitup_planner.system;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.RepositoryUserDetailsService;
+import es.wrapitup.wrapitup_planner.security.ResolvedUserDetails;
+import es.wrapitup.wrapitup_planner.service.UserService;
+
+// Not @Transactional: cached users are only evicted once the change commits
+@Tag("system")
+@SpringBootTest
+public class UserDetailsCacheSystemTest {
+
+    @Autowired
+    private RepositoryUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        user = transaction.execute(status ->
+                userRepository.save(new UserModel("detailscache", "detailscache@test.com", "x", UserStatus.ACTIVE, "USER")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> userRepository.deleteById(user.getId()));
+        userDetailsService.evict("detailscache");
+    }
+
+    @Test
+    void banIsSeenOnceItCommits() {
+        userDetailsService.loadUserByUsername("detailscache");
+
+        transaction.executeWithoutResult(status -> {
+            userService.banUser(user.getId());
+            // Still cached until the ban commits, so nothing can reload the old row in between
+            assertEquals(UserStatus.ACTIVE, resolvedStatus());
+        });
+
+        assertEquals(UserStatus.BANNED, resolvedStatus());
+    }
+
+    @Test
+    void rolledBackChangesKeepTheCachedUser() {
+        userDetailsService.loadUserByUsername("detailscache");
+        long cached = userDetailsService.cachedUsers();
+
+        transaction.executeWithoutResult(status -> {
+            userService.banUser(user.getId());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(cached, userDetailsService.cachedUsers());
+        assertEquals(UserStatus.ACTIVE, resolvedStatus());
+    }
+
+    private UserStatus resolvedStatus() {
+        return ((ResolvedUserDetails) userDetailsService.loadUserByUsername("detailscache")).getUser().getStatus();
+    }
+}
@@ -0,0 +1,275 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+
+import es.wrapitup.wrapitup_planner.dto.AiNoteJobDTO;
+import es.wrapitup.wrapitup_planner.dto.AiNoteJobMapper;
+import es.wrapitup.wrapitup_planner.dto.AiNoteResult;
+import es.wrapitup.wrapitup_planner.dto.NoteDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteMapper;
+import es.wrapitup.wrapitup_planner.model.AiNoteJob;
+import es.wrapitup.wrapitup_planner.model.AiNoteJobStatus;
+import es.wrapitup.wrapitup_planner.model.Note;
+import es.wrapitup.wrapitup_planner.model.NoteCategory;
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.AiNoteJobRepository;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.QuizScoreRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.AiNoteJobService;
+import es.wrapitup.wrapitup_planner.service.AiNoteProgressListener;
+import es.wrapitup.wrapitup_planner.service.DocumentTextExtractorService;
+import es.wrapitup.wrapitup_planner.service.NoteAccessPolicy;
+import es.wrapitup.wrapitup_planner.service.NoteService;
+import es.wrapitup.wrapitup_planner.service.OpenAiService;
+
+@Tag("unit")
+public class AiNoteJobServiceUnitTest {
+
+    @Mock
+    private AiNoteJobRepository jobRepository;
+
+    @Mock
+    private AiNoteJobMapper jobMapper;
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private NoteMapper noteMapper;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OpenAiService openAiService;
+
+    @Mock
+    private DocumentTextExtractorService documentTextExtractorService;
+
+    @Mock
+    private QuizScoreRepository quizScoreRepository;
+
+    private NoteService noteService;
+    private UserModel testUser;
+    private MockMultipartFile file;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        noteService = new NoteService(noteRepository, noteMapper, userRepository, openAiService, documentTextExtractorService, quizScoreRepository,
+                new NoteAccessPolicy(noteRepository, userRepository));
+
+        testUser = new UserModel();
+        testUser.setId(1L);
+        testUser.setUsername("testuser");
+        testUser.setRoles(List.of("USER"));
+        testUser.setStatus(UserStatus.ACTIVE);
+
+        file = new MockMultipartFile("file", "note.txt", "text/plain", "hello".getBytes());
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(jobRepository.save(any(AiNoteJob.class))).thenAnswer(invocation -> {
+            AiNoteJob job = invocation.getArgument(0);
+            if (job.getId() == null) {
+                job.setId(10L);
+            }
+            return job;
+        });
+        when(jobMapper.toDto(any(AiNoteJob.class))).thenAnswer(invocation -> {
+            AiNoteJob job = invocation.getArgument(0);
+            AiNoteJobDTO dto = new AiNoteJobDTO();
+            dto.setId(job.getId());
+            dto.setStatus(job.getStatus());
+            dto.setNoteId(job.getNoteId());
+            dto.setErrorMessage(job.getErrorMessage());
+            return dto;
+        });
+    }
+
+    @Test
+    void submitNoteJobReturnsQueuedJobAndCompletesInBackground() {
+        AiNoteResult aiResult = new AiNoteResult();
+        aiResult.setTitle("AI Title");
+        aiResult.setOverview("Overview");
+        aiResult.setCompleteSummary("Summary");
+
+        Note saved = new Note();
+        saved.setId(5L);
+        NoteDTO savedDto = new NoteDTO();
+        savedDto.setId(5L);
+
+        when(documentTextExtractorService.extractText(any())).thenReturn("extracted");
+        when(openAiService.generateNoteFromText("extracted")).thenReturn(aiResult);
+        when(noteRepository.save(any(Note.class))).thenReturn(saved);
+        when(noteMapper.toDto(saved)).thenReturn(savedDto);
+
+        AiNoteJobService service = new AiNoteJobService(jobRepository, jobMapper, noteService, Runnable::run);
+        AiNoteJobDTO result = service.submitNoteJob(file, "testuser", NoteVisibility.PRIVATE, NoteCategory.SCIENCE);
+
+        assertEquals(10L, result.getId());
+        assertEquals(AiNoteJobStatus.QUEUED, result.getStatus());
+
+        ArgumentCaptor<AiNoteJob> captor = ArgumentCaptor.forClass(AiNoteJob.class);
+        verify(jobRepository, times(3)).save(captor.capture());
+        AiNoteJob job = captor.getValue();
+        assertEquals(AiNoteJobStatus.DONE, job.getStatus());
+        assertEquals(5L, job.getNoteId());
+        assertEquals(NoteCategory.SCIENCE, job.getCategory());
+    }
+
+    @Test
+    void submitNoteJobMarksJobFailedWhenAiCallFails() {
+        when(documentTextExtractorService.extractText(any())).thenReturn("extracted");
+        when(openAiService.generateNoteFromText("extracted")).thenThrow(new IllegalStateException("OpenAI request failed with status 500"));
+
+        AiNoteJobService service = new AiNoteJobService(jobRepository, jobMapper, noteService, Runnable::run);
+        service.submitNoteJob(file, "testuser", null, null);
+
+        ArgumentCaptor<AiNoteJob> captor = ArgumentCaptor.forClass(AiNoteJob.class);
+        verify(jobRepository, times(3)).save(captor.capture());
+        assertEquals(AiNoteJobStatus.FAILED, captor.getValue().getStatus());
+        assertEquals("OpenAI request failed with status 500", captor.getValue().getErrorMessage());
+        verify(noteRepository, never()).save(any());
+    }
+
+    @Test
+    void submitNoteJobRejectedWhenQueueIsFull() {
+        AiNoteJobService service = new AiNoteJobService(jobRepository, jobMapper, noteService, task -> {
+            throw new RejectedExecutionException("full");
+        });
+
+        assertThrows(IllegalStateException.class, () -> service.submitNoteJob(file, "testuser", null, null));
+        ArgumentCaptor<AiNoteJob> captor = ArgumentCaptor.forClass(AiNoteJob.class);
+        verify(jobRepository, times(2)).save(captor.capture());
+        assertEquals(AiNoteJobStatus.FAILED, captor.getValue().getStatus());
+        verify(openAiService, never()).generateNoteFromText(any());
+    }
+
+    @Test
+    void submitNoteJobForAdminThrowsSecurityException() {
+        testUser.setRoles(List.of("USER", "ADMIN"));
+        AiNoteJobService service = new AiNoteJobService(jobRepository, jobMapper, noteService, Runnable::run);
+
+        assertThrows(SecurityException.class, () -> service.submitNoteJob(file, "testuser", null, null));
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void submitNoteJobWithEmptyFileThrowsIllegalArgument() {
+        AiNoteJobService service = new AiNoteJobService(jobRepository, jobMapper, noteService, Runnable::run);
+        MockMultipartFile empty = new MockMultipartFile("file", "note.txt", "text/plain", new byte[0]);
+
+        assertThrows(IllegalArgumentException.class, () -> service.submitNoteJob(empty, "testuser", null, null));
+    }
+
+    @Test
+    void findJobOwnedByAnotherUserThrowsSecurityException() {
+        AiNoteJob job = new AiNoteJob(testUser, "note.txt", null, null);
+        job.setId(10L);
+        when(jobRepository.findById(10L)).thenReturn(Optional.of(job));
+
+        AiNoteJobService service = new AiNoteJobService(jobRepository, jobMapper, noteService, Runnable::run);
+
+        assertThrows(SecurityException.class, () -> service.findJob(10L, "otheruser"));
+    }
+
+    @Test
+    void findDoneJobIncludesNote() {
+        AiNoteJob job = new AiNoteJob(testUser, "note.txt", null, null);
+        job.setId(10L);
+        job.setStatus(AiNoteJobStatus.DONE);
+        job.setNoteId(5L);
+        Note note = new Note();
+        note.setId(5L);
+        NoteDTO noteDto = new NoteDTO();
+        noteDto.setId(5L);
+
+        when(jobRepository.findById(10L)).thenReturn(Optional.of(job));
+        when(noteRepository.findById(5L)).thenReturn(Optional.of(note));
+        when(noteMapper.toDto(note)).thenReturn(noteDto);
+
+        AiNoteJobService service = new AiNoteJobService(jobRepository, jobMapper, noteService, Runnable::run);
+        Optional<AiNoteJobDTO> result = service.findJob(10L, "testuser");
+
+        assertTrue(result.isPresent());
+        assertEquals(5L, result.get().getNote().getId());
+    }
+
+    @Test
+    void failInterruptedJobsMarksPendingJobsFailed() {
+        AiNoteJob running = new AiNoteJob(testUser, "note.txt", null, null);
+        running.setStatus(AiNoteJobStatus.RUNNING);
+        when(jobRepository.findByStatusIn(any())).thenReturn(List.of(running));
+
+        AiNoteJobService service = new AiNoteJobService(jobRepository, jobMapper, noteService, Runnable::run);
+        service.failInterruptedJobs();
+
+        assertEquals(AiNoteJobStatus.FAILED, running.getStatus());
+        verify(jobRepository).save(running);
+    }
+
+    @Test
+    void submitNoteJobWithListenerStreamsProgress() {
+        AiNoteResult aiResult = new AiNoteResult();
+        aiResult.setTitle("AI Title");
+
+        Note saved = new Note();
+        saved.setId(5L);
+        NoteDTO savedDto = new NoteDTO();
+        savedDto.setId(5L);
+
+        when(documentTextExtractorService.extractText(any())).thenReturn("extracted");
+        when(openAiService.streamNoteFromText(eq("extracted"), any())).thenAnswer(invocation -> {
+            Consumer<String> onDelta = invocation.getArgument(1);
+            onDelta.accept("{\"title\"");
+            return aiResult;
+        });
+        when(noteRepository.save(any(Note.class))).thenReturn(saved);
+        when(noteMapper.toDto(saved)).thenReturn(savedDto);
+
+        AiNoteProgressListener listener = mock(AiNoteProgressListener.class);
+        AiNoteJobService service = new AiNoteJobService(jobRepository, jobMapper, noteService, Runnable::run);
+        service.submitNoteJob(file, "testuser", null, null, listener);
+
+        InOrder inOrder = inOrder(listener);
+        inOrder.verify(listener).onQueued(any(AiNoteJobDTO.class));
+        inOrder.verify(listener).onExtracted(9);
+        inOrder.verify(listener).onToken("{\"title\"");
+        inOrder.verify(listener).onSaved(savedDto);
+        verify(listener, never()).onFailed(any());
+        verify(openAiService, never()).generateNoteFromText(any());
+    }
+
+    @Test
+    void submitNoteJobWithListenerReportsFailure() {
+        when(documentTextExtractorService.extractText(any())).thenReturn("extracted");
+        when(openAiService.streamNoteFromText(eq("extracted"), any())).thenThrow(new IllegalStateException("OpenAI request timed out"));
+
+        AiNoteProgressListener listener = mock(AiNoteProgressListener.class);
+        AiNoteJobService service = new AiNoteJobService(jobRepository, jobMapper, noteService, Runnable::run);
+        service.submitNoteJob(file, "testuser", null, null, listener);
+
+        verify(listener).onFailed("OpenAI request timed out");
+        verify(listener, never()).onSaved(any());
+    }
+}
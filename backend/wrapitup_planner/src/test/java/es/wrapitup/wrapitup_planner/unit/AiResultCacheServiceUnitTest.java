@@ -0,0 +1,129 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import es.wrapitup.wrapitup_planner.model.AiResultCacheEntry;
+import es.wrapitup.wrapitup_planner.repository.AiResultCacheRepository;
+import es.wrapitup.wrapitup_planner.service.AiResultCacheService;
+
+@Tag("unit")
+public class AiResultCacheServiceUnitTest {
+
+    @Mock
+    private AiResultCacheRepository cacheRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(cacheRepository.findByCacheKey(any())).thenReturn(Optional.empty());
+    }
+
+    @Test
+    void cacheKeyIgnoresWhitespaceDifferences() {
+        String first = AiResultCacheService.cacheKey("note|1", "  Photosynthesis\n\nconverts   light ");
+        String second = AiResultCacheService.cacheKey("note|1", "Photosynthesis converts light");
+
+        assertEquals(first, second);
+        assertEquals(64, first.length());
+    }
+
+    @Test
+    void cacheKeyDependsOnNamespace() {
+        assertNotEquals(
+            AiResultCacheService.cacheKey("note|1|600|5000", "text"),
+            AiResultCacheService.cacheKey("note|1|600|4000", "text"));
+    }
+
+    @Test
+    void putStoresInBothTiersAndGetServesFromMemory() {
+        AiResultCacheService cache = new AiResultCacheService(cacheRepository, true, 10, Runnable::run);
+
+        cache.put("key", "payload");
+
+        verify(cacheRepository).save(any(AiResultCacheEntry.class));
+        assertEquals(Optional.of("payload"), cache.get("key"));
+        verify(cacheRepository, times(1)).findByCacheKey("key");
+    }
+
+    @Test
+    void getFallsBackToPersistentTier() {
+        when(cacheRepository.findByCacheKey("key")).thenReturn(Optional.of(new AiResultCacheEntry("key", "stored")));
+        AiResultCacheService cache = new AiResultCacheService(cacheRepository, true, 10, Runnable::run);
+
+        assertEquals(Optional.of("stored"), cache.get("key"));
+        assertEquals(Optional.of("stored"), cache.get("key"));
+        verify(cacheRepository, times(1)).findByCacheKey("key");
+    }
+
+    @Test
+    void memoryTierEvictsLeastRecentlyUsedEntry() {
+        AiResultCacheService cache = new AiResultCacheService(cacheRepository, true, 2, Runnable::run);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        clearInvocations(cacheRepository);
+        cache.get("a");
+        cache.get("b");
+
+        verify(cacheRepository, never()).findByCacheKey("a");
+        verify(cacheRepository).findByCacheKey("b");
+    }
+
+    @Test
+    void disabledCacheNeverHitsRepository() {
+        AiResultCacheService cache = new AiResultCacheService(cacheRepository, false, 10, Runnable::run);
+
+        cache.put("key", "payload");
+
+        assertTrue(cache.get("key").isEmpty());
+        verifyNoInteractions(cacheRepository);
+    }
+
+    @Test
+    void concurrentWriteFailureIsIgnored() {
+        when(cacheRepository.save(any(AiResultCacheEntry.class))).thenThrow(new DataIntegrityViolationException("duplicate"));
+        AiResultCacheService cache = new AiResultCacheService(cacheRepository, true, 10, Runnable::run);
+
+        assertDoesNotThrow(() -> cache.put("key", "payload"));
+        assertEquals(Optional.of("payload"), cache.get("key"));
+    }
+
+    @Test
+    void putLeavesTheDatabaseWriteToTheWriteExecutor() {
+        List<Runnable> writes = new ArrayList<>();
+        AiResultCacheService cache = new AiResultCacheService(cacheRepository, true, 10, writes::add);
+
+        cache.put("key", "payload");
+
+        verify(cacheRepository, never()).save(any(AiResultCacheEntry.class));
+        assertEquals(Optional.of("payload"), cache.get("key"));
+        writes.forEach(Runnable::run);
+        verify(cacheRepository).save(any(AiResultCacheEntry.class));
+    }
+
+    @Test
+    void fullWriteQueueKeepsTheMemoryTier() {
+        AiResultCacheService cache = new AiResultCacheService(cacheRepository, true, 10, write -> {
+            throw new TaskRejectedException("full");
+        });
+
+        assertDoesNotThrow(() -> cache.put("key", "payload"));
+        assertEquals(Optional.of("payload"), cache.get("key"));
+    }
+}
@@ -0,0 +1,154 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarEventMapper;
+import es.wrapitup.wrapitup_planner.dto.CalendarTaskDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarTaskMapper;
+import es.wrapitup.wrapitup_planner.model.CalendarEvent;
+import es.wrapitup.wrapitup_planner.model.CalendarTask;
+import es.wrapitup.wrapitup_planner.model.EventColor;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarTaskRepository;
+import es.wrapitup.wrapitup_planner.service.CalendarCache;
+import es.wrapitup.wrapitup_planner.service.UserCalendar;
+
+@Tag("unit")
+public class CalendarCacheUnitTest {
+
+    private CalendarEventRepository eventRepository;
+    private CalendarTaskRepository taskRepository;
+    private CalendarEventMapper eventMapper;
+    private CalendarTaskMapper taskMapper;
+    private CalendarCache calendarCache;
+    private CalendarEvent standup;
+
+    @BeforeEach
+    void setUp() {
+        eventRepository = mock(CalendarEventRepository.class);
+        taskRepository = mock(CalendarTaskRepository.class);
+        eventMapper = mock(CalendarEventMapper.class);
+        taskMapper = mock(CalendarTaskMapper.class);
+        calendarCache = new CalendarCache(eventRepository, taskRepository, eventMapper, taskMapper, 1000, 60);
+
+        UserModel user = new UserModel();
+        user.setId(1L);
+        standup = new CalendarEvent(user, "Standup", null, LocalDateTime.of(2026, 3, 2, 9, 0),
+                LocalDateTime.of(2026, 3, 2, 9, 15), EventColor.GREEN, false);
+        standup.setRecurrenceRule("FREQ=DAILY;COUNT=5");
+        standup.setSeriesEnd(LocalDateTime.of(2026, 3, 6, 9, 15));
+        CalendarEventDTO standupDTO = new CalendarEventDTO();
+        standupDTO.setTitle("Standup");
+        standupDTO.setStartDate(standup.getStartDate());
+        standupDTO.setEndDate(standup.getEndDate());
+        standupDTO.setRecurrenceRule(standup.getRecurrenceRule());
+        when(eventRepository.findAllForCalendar(1L)).thenReturn(List.of(standup));
+        when(eventMapper.toDto(standup)).thenReturn(standupDTO);
+
+        CalendarTask task = new CalendarTask(user, "Review", null, LocalDate.of(2026, 3, 4));
+        CalendarTaskDTO taskDTO = new CalendarTaskDTO();
+        taskDTO.setTitle("Review");
+        taskDTO.setTaskDate(task.getTaskDate());
+        taskDTO.setCompleted(false);
+        when(taskRepository.findAllForCalendar(1L)).thenReturn(List.of(task));
+        when(taskMapper.toDto(task)).thenReturn(taskDTO);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void loadsOnceAndFindsSeriesUntilTheirSeriesEnd() {
+        UserCalendar calendar = calendarCache.get(1L);
+
+        assertSame(calendar, calendarCache.get(1L));
+        verify(eventRepository, times(1)).findAllForCalendar(1L);
+        verify(taskRepository, times(1)).findAllForCalendar(1L);
+        assertEquals(1, calendar.events(LocalDateTime.of(2026, 3, 5, 0, 0), LocalDateTime.of(2026, 3, 5, 23, 59)).size());
+        assertTrue(calendar.events(LocalDateTime.of(2026, 3, 6, 10, 0), LocalDateTime.of(2026, 3, 7, 0, 0)).isEmpty());
+        assertEquals("Review", calendar.tasks(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)).get(0).getTitle());
+        assertEquals(1, calendar.pendingTasksByDay(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)).get(LocalDate.of(2026, 3, 4)));
+        assertTrue(calendar.tasks(LocalDate.of(2026, 3, 31), LocalDate.of(2026, 3, 1)).isEmpty());
+    }
+
+    @Test
+    void getIfPresentNeverLoads() {
+        assertNull(calendarCache.getIfPresent(1L));
+        verifyNoInteractions(eventRepository, taskRepository);
+
+        UserCalendar calendar = calendarCache.get(1L);
+
+        assertSame(calendar, calendarCache.getIfPresent(1L));
+        verify(eventRepository, times(1)).findAllForCalendar(1L);
+    }
+
+    @Test
+    void returnedEventsAreCopies() {
+        calendarCache.get(1L).events(LocalDateTime.of(2026, 3, 2, 0, 0), LocalDateTime.of(2026, 3, 2, 23, 59)).get(0).setTitle("Changed");
+
+        assertEquals("Standup", calendarCache.get(1L)
+                .events(LocalDateTime.of(2026, 3, 2, 0, 0), LocalDateTime.of(2026, 3, 2, 23, 59)).get(0).getTitle());
+    }
+
+    @Test
+    void evictWithoutATransactionReloadsOnNextAccess() {
+        UserCalendar calendar = calendarCache.get(1L);
+
+        calendarCache.evict(1L);
+
+        assertNotSame(calendar, calendarCache.get(1L));
+        verify(eventRepository, times(2)).findAllForCalendar(1L);
+    }
+
+    @Test
+    void evictInsideATransactionWaitsForItToComplete() {
+        UserCalendar calendar = calendarCache.get(1L);
+        TransactionSynchronizationManager.initSynchronization();
+
+        calendarCache.evict(1L);
+
+        assertSame(calendar, calendarCache.get(1L));
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+        assertNotSame(calendar, calendarCache.get(1L));
+    }
+
+    @Test
+    void transactionsReadTheDatabase() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        assertNull(calendarCache.get(1L));
+        verifyNoInteractions(eventRepository, taskRepository);
+    }
+
+    @Test
+    void disabledCacheNeverLoads() {
+        CalendarCache disabled = new CalendarCache(eventRepository, taskRepository, eventMapper, taskMapper, 0, 60);
+
+        assertNull(disabled.get(1L));
+        disabled.evict(1L);
+        assertEquals(0, disabled.cachedUsers());
+        verify(eventRepository, never()).findAllForCalendar(any());
+    }
+}
@@ -20,12 +20,19 @@ import org.mockito.ArgumentCaptor;
 import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarEventMapper;
 import es.wrapitup.wrapitup_planner.model.CalendarEvent;
+import es.wrapitup.wrapitup_planner.model.CalendarEventException;
 import es.wrapitup.wrapitup_planner.model.EventColor;
+import es.wrapitup.wrapitup_planner.model.RecurrenceRule;
 import es.wrapitup.wrapitup_planner.model.UserModel;
 import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventExceptionRepository;
 import es.wrapitup.wrapitup_planner.repository.CalendarEventRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.CalendarCache;
 import es.wrapitup.wrapitup_planner.service.CalendarEventService;
+import es.wrapitup.wrapitup_planner.service.IntervalTree;
+import es.wrapitup.wrapitup_planner.service.RecurringEventExpander;
+import es.wrapitup.wrapitup_planner.service.UserCalendar;
 
 @Tag("unit")
 public class CalendarEventServiceUnitTest {
@@ -39,6 +46,15 @@ public class CalendarEventServiceUnitTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CalendarEventExceptionRepository exceptionRepository;
+
+    @Mock
+    private RecurringEventExpander recurringEventExpander;
+
+    @Mock
+    private CalendarCache calendarCache;
+
     @InjectMocks
     private CalendarEventService eventService;
 
@@ -115,6 +131,7 @@ public class CalendarEventServiceUnitTest {
         assertNotNull(result);
         assertEquals("Test Event", result.getTitle());
         verify(eventRepository).save(any(CalendarEvent.class));
+        verify(calendarCache).evict(1L);
     }
 
     @Test
@@ -294,6 +311,7 @@ public class CalendarEventServiceUnitTest {
         eventService.deleteEvent(1L, "admin");
 
         verify(eventRepository).delete(testEvent);
+        verify(calendarCache).evict(1L);
     }
 
     @Test
@@ -315,6 +333,7 @@ public class CalendarEventServiceUnitTest {
         });
 
         verify(eventRepository, never()).delete(any(CalendarEvent.class));
+        verify(calendarCache, never()).evict(any());
     }
 
     // Get events tests
@@ -467,4 +486,193 @@ public class CalendarEventServiceUnitTest {
             eventService.getAllUserEvents(null);
         });
     }
+
+    // Recurring events
+
+    @Test
+    void createEventStoresCanonicalRecurrenceRule() {
+        testEventDTO.setRecurrenceRule("rrule:freq=weekly;byday=we,mo;count=10");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.save(any(CalendarEvent.class))).thenReturn(testEvent);
+
+        eventService.createEvent(testEventDTO, "testuser");
+
+        ArgumentCaptor<CalendarEvent> eventCaptor = ArgumentCaptor.forClass(CalendarEvent.class);
+        verify(eventRepository).save(eventCaptor.capture());
+        assertEquals("FREQ=WEEKLY;BYDAY=MO,WE;COUNT=10", eventCaptor.getValue().getRecurrenceRule());
+    }
+
+    @Test
+    void createEventWithInvalidRecurrenceRuleThrowsException() {
+        testEventDTO.setRecurrenceRule("FREQ=HOURLY");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            eventService.createEvent(testEventDTO, "testuser");
+        });
+
+        verify(eventRepository, never()).save(any(CalendarEvent.class));
+    }
+
+    @Test
+    void getEventsByDateRangeMergesExpandedOccurrences() {
+        LocalDateTime startDate = LocalDateTime.of(2026, 2, 1, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2026, 2, 28, 23, 59);
+        testEvent.setStartDate(LocalDateTime.of(2026, 2, 25, 10, 0));
+        CalendarEvent series = recurringEvent("FREQ=DAILY");
+        CalendarEventDTO occurrence = new CalendarEventDTO();
+        occurrence.setStartDate(LocalDateTime.of(2026, 2, 20, 9, 0));
+
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findEventsByUserAndDateRange(1L, startDate, endDate)).thenReturn(List.of(series, testEvent));
+        when(eventMapper.toDto(testEvent)).thenReturn(testEventDTO);
+        when(recurringEventExpander.expand(List.of(series), startDate, endDate)).thenReturn(List.of(occurrence));
+
+        List<CalendarEventDTO> result = eventService.getEventsByDateRange("testuser", startDate, endDate);
+
+        assertEquals(List.of(occurrence, testEventDTO), result);
+        verify(eventMapper, never()).toDto(series);
+    }
+
+    @Test
+    void getEventsByDateRangeWithoutSeriesSkipsExpansion() {
+        LocalDateTime startDate = LocalDateTime.of(2026, 2, 25, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2026, 2, 25, 23, 59);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.findEventsByUserAndDateRange(1L, startDate, endDate)).thenReturn(List.of(testEvent));
+        when(eventMapper.toDto(testEvent)).thenReturn(testEventDTO);
+
+        eventService.getEventsByDateRange("testuser", startDate, endDate);
+
+        verifyNoInteractions(recurringEventExpander);
+    }
+
+    @Test
+    void cancelOccurrenceStoresCancelledException() {
+        CalendarEvent series = recurringEvent("FREQ=DAILY;COUNT=5");
+        LocalDateTime occurrenceStart = LocalDateTime.of(2026, 3, 3, 9, 0);
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(series));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(exceptionRepository.findByEventAndOccurrenceStart(series, occurrenceStart)).thenReturn(Optional.empty());
+
+        eventService.cancelOccurrence(7L, occurrenceStart, "testuser");
+
+        ArgumentCaptor<CalendarEventException> captor = ArgumentCaptor.forClass(CalendarEventException.class);
+        verify(exceptionRepository).save(captor.capture());
+        assertTrue(captor.getValue().getCancelled());
+        assertEquals(occurrenceStart, captor.getValue().getOccurrenceStart());
+        assertSame(series, captor.getValue().getEvent());
+        verify(calendarCache).evict(1L);
+    }
+
+    @Test
+    void cancelOccurrenceOutsideTheRuleThrowsException() {
+        CalendarEvent series = recurringEvent("FREQ=DAILY;COUNT=5");
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(series));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            eventService.cancelOccurrence(7L, LocalDateTime.of(2026, 3, 3, 10, 0), "testuser");
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            eventService.cancelOccurrence(7L, LocalDateTime.of(2026, 3, 6, 9, 0), "testuser");
+        });
+
+        verify(exceptionRepository, never()).save(any(CalendarEventException.class));
+    }
+
+    @Test
+    void updateOccurrenceByOtherUserThrowsSecurityException() {
+        CalendarEvent series = recurringEvent("FREQ=DAILY");
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(series));
+        when(userRepository.findByUsername("otheruser")).thenReturn(Optional.of(otherUser));
+
+        assertThrows(SecurityException.class, () -> {
+            eventService.updateOccurrence(7L, LocalDateTime.of(2026, 3, 3, 9, 0), testEventDTO, "otheruser");
+        });
+
+        verify(exceptionRepository, never()).save(any(CalendarEventException.class));
+    }
+
+    @Test
+    void updateOccurrenceCannotMoveBeforeTheSeries() {
+        CalendarEvent series = recurringEvent("FREQ=DAILY");
+        CalendarEventDTO moved = new CalendarEventDTO();
+        moved.setStartDate(LocalDateTime.of(2026, 2, 27, 9, 0));
+        moved.setEndDate(LocalDateTime.of(2026, 2, 27, 10, 0));
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(series));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(exceptionRepository.findByEventAndOccurrenceStart(any(), any())).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            eventService.updateOccurrence(7L, LocalDateTime.of(2026, 3, 3, 9, 0), moved, "testuser");
+        });
+    }
+
+    @Test
+    void updateEventMovingASeriesDropsItsExceptions() {
+        CalendarEvent series = recurringEvent("FREQ=DAILY");
+        CalendarEventDTO update = new CalendarEventDTO();
+        update.setStartDate(LocalDateTime.of(2026, 3, 1, 10, 0));
+        update.setEndDate(LocalDateTime.of(2026, 3, 1, 11, 0));
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(series));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.save(series)).thenReturn(series);
+
+        eventService.updateEvent(7L, update, "testuser");
+
+        verify(exceptionRepository).deleteByEvent(series);
+    }
+
+    @Test
+    void updateEventKeepingTheScheduleKeepsExceptions() {
+        CalendarEvent series = recurringEvent("FREQ=DAILY");
+        CalendarEventDTO update = new CalendarEventDTO();
+        update.setTitle("Renamed");
+        update.setRecurrenceRule("freq=daily");
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(series));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(eventRepository.save(series)).thenReturn(series);
+
+        eventService.updateEvent(7L, update, "testuser");
+
+        verify(exceptionRepository, never()).deleteByEvent(any());
+        assertEquals("Renamed", series.getTitle());
+    }
+
+    @Test
+    void getEventsByDateRangeForCachedCalendarSkipsTheRangeQuery() {
+        LocalDateTime startDate = LocalDateTime.of(2026, 3, 2, 0, 0);
+        LocalDateTime endDate = LocalDateTime.of(2026, 3, 2, 23, 59);
+        CalendarEventDTO seriesDTO = new CalendarEventDTO();
+        seriesDTO.setId(7L);
+        seriesDTO.setStartDate(LocalDateTime.of(2026, 3, 1, 9, 0));
+        seriesDTO.setEndDate(LocalDateTime.of(2026, 3, 1, 9, 30));
+        seriesDTO.setRecurrenceRule("FREQ=DAILY");
+        testEventDTO.setStartDate(LocalDateTime.of(2026, 3, 2, 10, 0));
+        testEventDTO.setEndDate(LocalDateTime.of(2026, 3, 2, 11, 0));
+        UserCalendar calendar = new UserCalendar(List.of(
+                new IntervalTree.Entry<>(seriesDTO.getStartDate(), RecurrenceRule.OPEN_END, seriesDTO),
+                new IntervalTree.Entry<>(testEventDTO.getStartDate(), testEventDTO.getEndDate(), testEventDTO)), List.of());
+        CalendarEventDTO occurrence = new CalendarEventDTO();
+        occurrence.setStartDate(LocalDateTime.of(2026, 3, 2, 9, 0));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(calendarCache.get(1L)).thenReturn(calendar);
+        when(recurringEventExpander.expandSeries(List.of(seriesDTO), startDate, endDate)).thenReturn(List.of(occurrence));
+
+        List<CalendarEventDTO> result = eventService.getEventsByDateRange("testuser", startDate, endDate);
+
+        assertEquals(List.of(occurrence, testEventDTO), result);
+        assertNotSame(testEventDTO, result.get(1));
+        verify(eventRepository, never()).findEventsByUserAndDateRange(any(), any(), any());
+    }
+
+    private CalendarEvent recurringEvent(String rule) {
+        CalendarEvent series = new CalendarEvent(testUser, "Standup", null, LocalDateTime.of(2026, 3, 1, 9, 0),
+                LocalDateTime.of(2026, 3, 1, 9, 30), EventColor.GREEN, false);
+        series.setId(7L);
+        series.setRecurrenceRule(rule);
+        series.setSeriesEnd(series.getRule().seriesEnd(series.getStartDate(), series.getLength()));
+        return series;
+    }
 }
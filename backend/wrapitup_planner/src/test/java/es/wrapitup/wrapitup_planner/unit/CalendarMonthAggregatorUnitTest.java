@@ -0,0 +1,134 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import es.wrapitup.wrapitup_planner.dto.CalendarDaySummaryDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarTaskDTO;
+import es.wrapitup.wrapitup_planner.model.EventColor;
+import es.wrapitup.wrapitup_planner.service.CalendarMonthAggregator;
+
+@Tag("unit")
+public class CalendarMonthAggregatorUnitTest {
+
+    private static final LocalDate FIRST = LocalDate.of(2026, 3, 1);
+    private static final LocalDate LAST = LocalDate.of(2026, 3, 31);
+
+    @Test
+    void eventsSpanningMonthBoundariesAreClampedToTheMonth() {
+        CalendarEventDTO event = event(LocalDateTime.of(2026, 2, 20, 9, 0), LocalDateTime.of(2026, 3, 2, 9, 0), EventColor.RED);
+        CalendarEventDTO trip = event(LocalDateTime.of(2026, 3, 30, 9, 0), LocalDateTime.of(2026, 4, 5, 9, 0), EventColor.BLUE);
+
+        List<CalendarDaySummaryDTO> days = CalendarMonthAggregator.summarize(FIRST, LAST, List.of(event, trip), List.of());
+
+        assertEquals(31, days.size());
+        assertEquals(1, days.get(0).getTotalEvents());
+        assertEquals(1, days.get(1).getTotalEvents());
+        assertFalse(days.get(2).isHasEvents());
+        assertEquals(List.of(EventColor.BLUE.getHexCode()), days.get(29).getEventColors());
+        assertEquals(1, days.get(30).getTotalEvents());
+    }
+
+    @Test
+    void colorsAreCappedButEveryEventIsCounted() {
+        List<CalendarEventDTO> events = new ArrayList<>();
+        EventColor[] colors = { EventColor.RED, EventColor.GREEN, EventColor.BLUE, EventColor.PURPLE, EventColor.YELLOW };
+        for (EventColor color : colors) {
+            events.add(event(LocalDateTime.of(2026, 3, 10, 9, 0), LocalDateTime.of(2026, 3, 10, 10, 0), color));
+        }
+
+        CalendarDaySummaryDTO day = CalendarMonthAggregator.summarize(FIRST, LAST, events, List.of()).get(9);
+
+        assertEquals(5, day.getTotalEvents());
+        assertEquals(List.of(EventColor.RED.getHexCode(), EventColor.GREEN.getHexCode(), EventColor.BLUE.getHexCode()),
+                day.getEventColors());
+    }
+
+    @Test
+    void colorsFollowStartOrderWhateverTheInsertionOrder() {
+        CalendarMonthAggregator aggregator = new CalendarMonthAggregator(FIRST, LAST);
+        LocalDate day = LocalDate.of(2026, 3, 10);
+        aggregator.addEventDay(day, 2);
+        aggregator.addEventColor(day, day.atTime(9, 0), EventColor.RED.getHexCode());
+        aggregator.addEventColor(day, day.atTime(12, 0), EventColor.GREEN.getHexCode());
+        aggregator.addEvent(day.atTime(7, 0), day.atTime(8, 0), EventColor.BLUE.getHexCode());
+        aggregator.addEvent(day.atTime(9, 0), day.atTime(10, 0), EventColor.YELLOW.getHexCode());
+        aggregator.addEvent(day.atTime(13, 0), day.atTime(14, 0), EventColor.PURPLE.getHexCode());
+
+        CalendarDaySummaryDTO summary = aggregator.summaries().get(9);
+
+        assertEquals(5, summary.getTotalEvents());
+        assertEquals(List.of(EventColor.BLUE.getHexCode(), EventColor.RED.getHexCode(), EventColor.YELLOW.getHexCode()),
+                summary.getEventColors());
+    }
+
+    @Test
+    void onlyPendingTasksInsideTheRangeAreCounted() {
+        List<CalendarTaskDTO> tasks = List.of(
+                task(LocalDate.of(2026, 3, 5), false),
+                task(LocalDate.of(2026, 3, 5), false),
+                task(LocalDate.of(2026, 3, 5), true),
+                task(LocalDate.of(2026, 4, 1), false));
+
+        List<CalendarDaySummaryDTO> days = CalendarMonthAggregator.summarize(FIRST, LAST, List.of(), tasks);
+
+        assertEquals(2, days.get(4).getPendingTasks());
+        assertTrue(days.get(4).isHasTasks());
+        assertEquals(2, days.stream().mapToInt(CalendarDaySummaryDTO::getPendingTasks).sum());
+    }
+
+    @Test
+    void matchesFilteringEachDaySeparately() {
+        Random random = new Random(42);
+        List<CalendarEventDTO> events = new ArrayList<>();
+        List<CalendarTaskDTO> tasks = new ArrayList<>();
+        EventColor[] colors = EventColor.values();
+        for (int i = 0; i < 300; i++) {
+            LocalDateTime start = FIRST.minusDays(5).atStartOfDay().plusHours(random.nextInt(40 * 24));
+            events.add(event(start, start.plusHours(random.nextInt(96)), colors[random.nextInt(colors.length)]));
+            tasks.add(task(FIRST.plusDays(random.nextInt(31)), random.nextBoolean()));
+        }
+        // Colors follow start order, which is how event lists come from the service
+        events.sort(Comparator.comparing(CalendarEventDTO::getStartDate));
+
+        List<CalendarDaySummaryDTO> days = CalendarMonthAggregator.summarize(FIRST, LAST, events, tasks);
+
+        for (CalendarDaySummaryDTO day : days) {
+            LocalDate date = day.getDate();
+            List<String> expectedColors = events.stream()
+                    .filter(e -> !date.isBefore(e.getStartDate().toLocalDate()) && !date.isAfter(e.getEndDate().toLocalDate()))
+                    .map(CalendarEventDTO::getColorHex)
+                    .toList();
+            long expectedPending = tasks.stream().filter(t -> t.getTaskDate().equals(date) && !t.getCompleted()).count();
+
+            assertEquals(expectedColors.size(), day.getTotalEvents(), date.toString());
+            assertEquals(expectedColors.subList(0, Math.min(3, expectedColors.size())), day.getEventColors(), date.toString());
+            assertEquals(expectedPending, day.getPendingTasks(), date.toString());
+        }
+    }
+
+    private static CalendarEventDTO event(LocalDateTime start, LocalDateTime end, EventColor color) {
+        CalendarEventDTO event = new CalendarEventDTO();
+        event.setStartDate(start);
+        event.setEndDate(end);
+        event.setColor(color);
+        return event;
+    }
+
+    private static CalendarTaskDTO task(LocalDate date, boolean completed) {
+        CalendarTaskDTO task = new CalendarTaskDTO();
+        task.setTaskDate(date);
+        task.setCompleted(completed);
+        return task;
+    }
+}
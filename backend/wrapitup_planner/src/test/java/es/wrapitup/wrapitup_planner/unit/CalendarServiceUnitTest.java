@@ -7,14 +7,18 @@ import static org.mockito.Mockito.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -22,11 +26,19 @@ import es.wrapitup.wrapitup_planner.dto.CalendarDayDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarDaySummaryDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarMonthDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarRangeDTO;
 import es.wrapitup.wrapitup_planner.dto.CalendarTaskDTO;
 import es.wrapitup.wrapitup_planner.model.EventColor;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.CalendarSummaryJdbcRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarSummaryJdbcRepository.EventDay;
+import es.wrapitup.wrapitup_planner.repository.CalendarSummaryJdbcRepository.FirstEvent;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.CalendarCache;
 import es.wrapitup.wrapitup_planner.service.CalendarEventService;
 import es.wrapitup.wrapitup_planner.service.CalendarService;
 import es.wrapitup.wrapitup_planner.service.CalendarTaskService;
+import es.wrapitup.wrapitup_planner.service.UserCalendar;
 
 @Tag("unit")
 public class CalendarServiceUnitTest {
@@ -37,9 +49,19 @@ public class CalendarServiceUnitTest {
     @Mock
     private CalendarTaskService taskService;
 
-    @InjectMocks
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CalendarSummaryJdbcRepository summaryRepository;
+
+    @Mock
+    private CalendarCache calendarCache;
+
     private CalendarService calendarService;
 
+    private final List<Runnable> submitted = new ArrayList<>();
+
     private CalendarEventDTO testEvent1;
     private CalendarEventDTO testEvent2;
     private CalendarTaskDTO testTask1;
@@ -49,6 +71,16 @@ public class CalendarServiceUnitTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
 
+        UserModel user = new UserModel();
+        user.setId(1L);
+        user.setUsername("testuser");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+
+        calendarService = new CalendarService(eventService, taskService, userRepository, summaryRepository, calendarCache, task -> {
+            submitted.add(task);
+            task.run();
+        });
+
         testEvent1 = new CalendarEventDTO();
         testEvent1.setId(1L);
         testEvent1.setUserId(1L);
@@ -94,13 +126,12 @@ public class CalendarServiceUnitTest {
         int month = 2;
         String username = "testuser";
 
-        List<CalendarEventDTO> events = Arrays.asList(testEvent1, testEvent2);
-        List<CalendarTaskDTO> tasks = Arrays.asList(testTask1, testTask2);
-
-        when(eventService.getEventsByDateRange(eq(username), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(events);
-        when(taskService.getTasksByDateRange(eq(username), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(tasks);
+        LocalDate first = LocalDate.of(2026, 2, 1);
+        LocalDate last = LocalDate.of(2026, 2, 28);
+        when(summaryRepository.findEventDays(1L, first, last, 3))
+            .thenReturn(Map.of(LocalDate.of(2026, 2, 25), new EventDay(1, List.of(firstEvent(LocalDate.of(2026, 2, 25), EventColor.BLUE)))));
+        when(summaryRepository.countPendingTasksByDay(1L, first, last))
+            .thenReturn(Map.of(LocalDate.of(2026, 2, 25), 1));
 
         CalendarMonthDTO result = calendarService.getMonthView(username, year, month);
 
@@ -109,9 +140,16 @@ public class CalendarServiceUnitTest {
         assertEquals(month, result.getMonth());
         assertNotNull(result.getDays());
         assertEquals(28, result.getDays().size()); 
+        CalendarDaySummaryDTO day25 = result.getDays().get(24);
+        assertEquals(1, day25.getTotalEvents());
+        assertEquals(1, day25.getPendingTasks());
+        assertEquals(List.of(EventColor.BLUE.getHexCode()), day25.getEventColors());
         
-        verify(eventService).getEventsByDateRange(eq(username), any(LocalDateTime.class), any(LocalDateTime.class));
-        verify(taskService).getTasksByDateRange(eq(username), any(LocalDate.class), any(LocalDate.class));
+        verify(summaryRepository).findEventDays(1L, first, last, 3);
+        verify(summaryRepository).countPendingTasksByDay(1L, first, last);
+        verify(eventService).getRecurringOccurrences(1L, first.atStartOfDay(), last.atTime(LocalTime.MAX));
+        verify(eventService, never()).getEventsByDateRange(any(), any(), any());
+        verifyNoInteractions(taskService);
     }
 
     @Test
@@ -120,11 +158,6 @@ public class CalendarServiceUnitTest {
         int month = 2;
         String username = "testuser";
 
-        when(eventService.getEventsByDateRange(eq(username), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(Collections.emptyList());
-        when(taskService.getTasksByDateRange(eq(username), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(Collections.emptyList());
-
         CalendarMonthDTO result = calendarService.getMonthView(username, year, month);
 
         assertNotNull(result);
@@ -221,11 +254,6 @@ public class CalendarServiceUnitTest {
         int month = 3;
         String username = "testuser";
 
-        when(eventService.getEventsByDateRange(eq(username), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(Collections.emptyList());
-        when(taskService.getTasksByDateRange(eq(username), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(Collections.emptyList());
-
         CalendarMonthDTO result = calendarService.getMonthView(username, year, month);
 
         assertNotNull(result);
@@ -238,11 +266,10 @@ public class CalendarServiceUnitTest {
         int month = 2;
         String username = "testuser";
 
-        List<CalendarEventDTO> events = Arrays.asList(testEvent1, testEvent2);
-        when(eventService.getEventsByDateRange(eq(username), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(events);
-        when(taskService.getTasksByDateRange(eq(username), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(Collections.emptyList());
+        when(summaryRepository.findEventDays(eq(1L), any(LocalDate.class), any(LocalDate.class), eq(3)))
+            .thenReturn(Map.of(LocalDate.of(2026, 2, 25), new EventDay(5, List.of(
+                firstEvent(LocalDate.of(2026, 2, 25), EventColor.BLUE), firstEvent(LocalDate.of(2026, 2, 25), EventColor.GREEN),
+                firstEvent(LocalDate.of(2026, 2, 25), EventColor.RED)))));
 
         CalendarMonthDTO result = calendarService.getMonthView(username, year, month);
 
@@ -252,7 +279,41 @@ public class CalendarServiceUnitTest {
             .findFirst()
             .orElse(null);
         assertNotNull(day25);
-        assertTrue(day25.getTotalEvents() > 0);
+        assertEquals(5, day25.getTotalEvents());
+        assertEquals(3, day25.getEventColors().size());
+    }
+
+    @Test
+    void getMonthViewMergesRecurringOccurrencesByStart() {
+        LocalDate first = LocalDate.of(2026, 2, 1);
+        LocalDate last = LocalDate.of(2026, 2, 28);
+        when(summaryRepository.findEventDays(1L, first, last, 3))
+            .thenReturn(Map.of(LocalDate.of(2026, 2, 25), new EventDay(3, List.of(
+                new FirstEvent(LocalDateTime.of(2026, 2, 25, 8, 0), EventColor.BLUE),
+                new FirstEvent(LocalDateTime.of(2026, 2, 25, 10, 0), EventColor.GREEN),
+                new FirstEvent(LocalDateTime.of(2026, 2, 25, 11, 0), EventColor.RED)))));
+        CalendarEventDTO occurrence = new CalendarEventDTO();
+        occurrence.setStartDate(LocalDateTime.of(2026, 2, 25, 9, 0));
+        occurrence.setEndDate(LocalDateTime.of(2026, 2, 26, 9, 0));
+        occurrence.setColor(EventColor.YELLOW);
+        when(eventService.getRecurringOccurrences(1L, first.atStartOfDay(), last.atTime(LocalTime.MAX)))
+            .thenReturn(List.of(occurrence));
+
+        CalendarMonthDTO result = calendarService.getMonthView("testuser", 2026, 2);
+
+        CalendarDaySummaryDTO day25 = result.getDays().get(24);
+        assertEquals(4, day25.getTotalEvents());
+        assertEquals(List.of(EventColor.BLUE.getHexCode(), EventColor.YELLOW.getHexCode(), EventColor.GREEN.getHexCode()),
+                day25.getEventColors());
+        assertEquals(List.of(EventColor.YELLOW.getHexCode()), result.getDays().get(25).getEventColors());
+    }
+
+    @Test
+    void getMonthViewForUnknownUserThrows() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> calendarService.getMonthView("ghost", 2026, 2));
+        verifyNoInteractions(summaryRepository);
     }
 
     @Test
@@ -287,14 +348,83 @@ public class CalendarServiceUnitTest {
         int month = 2;
         String username = "testuser";
 
-        when(eventService.getEventsByDateRange(eq(username), any(LocalDateTime.class), any(LocalDateTime.class)))
-            .thenReturn(Collections.emptyList());
-        when(taskService.getTasksByDateRange(eq(username), any(LocalDate.class), any(LocalDate.class)))
-            .thenReturn(Collections.emptyList());
-
         CalendarMonthDTO result = calendarService.getMonthView(username, year, month);
 
         assertNotNull(result);
         assertEquals(29, result.getDays().size());
     }
+
+    // Range view tests
+
+    @Test
+    void getRangeViewForYearRunsItsQueriesConcurrently() {
+        LocalDate first = LocalDate.of(2026, 1, 1);
+        LocalDate last = LocalDate.of(2026, 12, 31);
+        when(summaryRepository.findEventDays(1L, first, last, 3))
+            .thenReturn(Map.of(LocalDate.of(2026, 3, 1), new EventDay(2, List.of(
+                firstEvent(LocalDate.of(2026, 3, 1), EventColor.RED), firstEvent(LocalDate.of(2026, 3, 1), EventColor.BLUE)))));
+        when(summaryRepository.countPendingTasksByDay(1L, first, last))
+            .thenReturn(Map.of(LocalDate.of(2026, 12, 31), 4));
+
+        CalendarRangeDTO result = calendarService.getRangeView("testuser", YearMonth.of(2026, 1), 12);
+
+        assertEquals(first, result.getStartDate());
+        assertEquals(last, result.getEndDate());
+        assertEquals(12, result.getMonths().size());
+        assertEquals(28, result.getMonths().get(1).getDays().size());
+        assertEquals(2, result.getMonths().get(2).getDays().get(0).getTotalEvents());
+        assertEquals(4, result.getMonths().get(11).getDays().get(30).getPendingTasks());
+        assertEquals(3, submitted.size());
+        verify(userRepository, times(1)).findByUsername("testuser");
+        verify(summaryRepository, times(1)).findEventDays(any(), any(), any(), anyInt());
+        verify(summaryRepository, times(1)).countPendingTasksByDay(any(), any(), any());
+    }
+
+    @Test
+    void getRangeViewForCachedCalendarSkipsTheDatabase() {
+        LocalDate first = LocalDate.of(2026, 2, 1);
+        LocalDate last = LocalDate.of(2026, 3, 31);
+        UserCalendar calendar = new UserCalendar(List.of(), List.of(testTask1, testTask2));
+        when(calendarCache.getIfPresent(1L)).thenReturn(calendar);
+        CalendarEventDTO occurrence = new CalendarEventDTO();
+        occurrence.setStartDate(LocalDateTime.of(2026, 2, 28, 22, 0));
+        occurrence.setEndDate(LocalDateTime.of(2026, 3, 1, 1, 0));
+        occurrence.setColor(EventColor.YELLOW);
+        when(eventService.getEventsInCalendar(calendar, first.atStartOfDay(), last.atTime(LocalTime.MAX)))
+            .thenReturn(List.of(testEvent1, occurrence));
+
+        CalendarRangeDTO result = calendarService.getRangeView("testuser", YearMonth.of(2026, 2), 2);
+
+        CalendarDaySummaryDTO day25 = result.getMonths().get(0).getDays().get(24);
+        assertEquals(1, day25.getTotalEvents());
+        assertEquals(1, day25.getPendingTasks());
+        assertEquals(List.of(EventColor.BLUE.getHexCode()), day25.getEventColors());
+        assertEquals(1, result.getMonths().get(0).getDays().get(27).getTotalEvents());
+        assertEquals(List.of(EventColor.YELLOW.getHexCode()), result.getMonths().get(1).getDays().get(0).getEventColors());
+        assertTrue(submitted.isEmpty());
+        verifyNoInteractions(summaryRepository);
+        verify(eventService, never()).getRecurringOccurrences(any(), any(), any());
+    }
+
+    @Test
+    void getRangeViewAcrossYearBoundary() {
+        CalendarRangeDTO result = calendarService.getRangeView("testuser", YearMonth.of(2025, 11), 3);
+
+        assertEquals(LocalDate.of(2025, 11, 1), result.getStartDate());
+        assertEquals(LocalDate.of(2026, 1, 31), result.getEndDate());
+        assertEquals(2026, result.getMonths().get(2).getYear());
+        assertEquals(1, result.getMonths().get(2).getMonth());
+        assertEquals(LocalDate.of(2026, 1, 1), result.getMonths().get(2).getDays().get(0).getDate());
+    }
+
+    @Test
+    void getRangeViewRejectsTooManyMonths() {
+        assertThrows(IllegalArgumentException.class, () -> calendarService.getRangeView("testuser", YearMonth.of(2026, 1), 13));
+        assertThrows(IllegalArgumentException.class, () -> calendarService.getRangeView("testuser", YearMonth.of(2026, 1), 0));
+        verifyNoInteractions(summaryRepository);
+    }
+
+    private static FirstEvent firstEvent(LocalDate date, EventColor color) {
+        return new FirstEvent(date.atTime(9, 0), color);
+    }
 }
@@ -24,7 +24,9 @@ import es.wrapitup.wrapitup_planner.model.UserModel;
 import es.wrapitup.wrapitup_planner.model.UserStatus;
 import es.wrapitup.wrapitup_planner.repository.CalendarTaskRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.CalendarCache;
 import es.wrapitup.wrapitup_planner.service.CalendarTaskService;
+import es.wrapitup.wrapitup_planner.service.UserCalendar;
 
 @Tag("unit")
 public class CalendarTaskServiceUnitTest {
@@ -38,6 +40,9 @@ public class CalendarTaskServiceUnitTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CalendarCache calendarCache;
+
     @InjectMocks
     private CalendarTaskService taskService;
 
@@ -110,6 +115,7 @@ public class CalendarTaskServiceUnitTest {
         assertNotNull(result);
         assertEquals("Test Task", result.getTitle());
         verify(taskRepository).save(any(CalendarTask.class));
+        verify(calendarCache).evict(1L);
     }
 
     @Test
@@ -287,6 +293,7 @@ public class CalendarTaskServiceUnitTest {
         taskService.deleteTask(1L, "admin");
 
         verify(taskRepository).delete(testTask);
+        verify(calendarCache).evict(1L);
     }
 
     @Test
@@ -345,6 +352,22 @@ public class CalendarTaskServiceUnitTest {
         assertEquals("Test Task", result.get(0).getTitle());
     }
 
+    @Test
+    void getTasksByDateRangeForCachedCalendarSkipsTheRangeQuery() {
+        CalendarTaskDTO later = new CalendarTaskDTO();
+        later.setTitle("Later");
+        later.setTaskDate(LocalDate.of(2026, 3, 5));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(calendarCache.get(1L)).thenReturn(new UserCalendar(List.of(), List.of(testTaskDTO, later)));
+
+        List<CalendarTaskDTO> result = taskService.getTasksByDateRange("testuser", LocalDate.of(2026, 2, 25), LocalDate.of(2026, 2, 28));
+
+        assertEquals(List.of(testTaskDTO), result);
+        assertNotSame(testTaskDTO, result.get(0));
+        assertEquals(List.of(later), taskService.getTasksByDay("testuser", LocalDate.of(2026, 3, 5)));
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void getTasksByDateRangeWithNonExistentUserThrowsException() {
         LocalDate startDate = LocalDate.of(2026, 2, 25);
@@ -2,6 +2,7 @@ package es.wrapitup.wrapitup_planner.unit;
 
 import es.wrapitup.wrapitup_planner.dto.CommentDTO;
 import es.wrapitup.wrapitup_planner.dto.CommentMapper;
+import es.wrapitup.wrapitup_planner.dto.CursorPageDTO;
 import es.wrapitup.wrapitup_planner.model.Comment;
 import es.wrapitup.wrapitup_planner.model.Note;
 import es.wrapitup.wrapitup_planner.model.NoteVisibility;
@@ -11,6 +12,8 @@ import es.wrapitup.wrapitup_planner.repository.CommentRepository;
 import es.wrapitup.wrapitup_planner.repository.NoteRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
 import es.wrapitup.wrapitup_planner.service.CommentService;
+import es.wrapitup.wrapitup_planner.service.NoteAccess;
+import es.wrapitup.wrapitup_planner.service.NoteAccessPolicy;
 
 import org.junit.jupiter.api.BeforeEach;
 import java.time.LocalDateTime;
@@ -21,6 +24,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -33,6 +37,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @Tag("unit")
@@ -51,6 +56,9 @@ public class CommentServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private NoteAccessPolicy noteAccessPolicy;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -202,6 +210,36 @@ public class CommentServiceTest {
         assertEquals("Test comment", result.getContent().get(0).getContent());
     }
 
+    @Test
+    void getCommentsFeedReadsOneExtraRowAndContinuesFromCursor() {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 5, 1, 9, 30);
+        Comment older = new Comment();
+        older.setId(7L);
+        CommentDTO newerDTO = new CommentDTO();
+        newerDTO.setId(8L);
+        newerDTO.setCreatedAt(createdAt);
+        CommentDTO olderDTO = new CommentDTO();
+        olderDTO.setId(7L);
+        olderDTO.setCreatedAt(createdAt);
+
+        when(commentRepository.findByNoteIdOrderByCreatedAtDescIdDesc(eq(1L), eq(Limit.of(2)))).thenReturn(List.of(testComment, older));
+        when(commentMapper.toDto(testComment)).thenReturn(newerDTO);
+        when(commentMapper.toDto(older)).thenReturn(olderDTO);
+
+        CursorPageDTO<CommentDTO> first = commentService.getCommentsFeed(1L, "", 1);
+
+        assertEquals(List.of(newerDTO), first.getContent());
+        assertFalse(first.isLast());
+
+        when(commentRepository.findFeedByNoteIdAfter(eq(1L), eq(createdAt), eq(8L), eq(Limit.of(2)))).thenReturn(List.of(older));
+
+        CursorPageDTO<CommentDTO> second = commentService.getCommentsFeed(1L, first.getNextCursor(), 1);
+
+        assertEquals(List.of(olderDTO), second.getContent());
+        assertTrue(second.isLast());
+        assertNull(second.getNextCursor());
+    }
+
     // delete comment tests
 
     @Test
@@ -241,8 +279,7 @@ public class CommentServiceTest {
 
     @Test
     void canUserAccessPublicNoteComments() {
-        testNote.setVisibility(NoteVisibility.PUBLIC);
-        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
+        when(noteAccessPolicy.accessFor(1L, null)).thenReturn(NoteAccess.PUBLIC);
 
         boolean result = commentService.canUserAccessComments(1L, null);
 
@@ -251,8 +288,7 @@ public class CommentServiceTest {
 
     @Test
     void canOwnerAccessPrivateNoteComments() {
-        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(noteAccessPolicy.accessFor(1L, "testuser")).thenReturn(NoteAccess.OWNER);
 
         boolean result = commentService.canUserAccessComments(1L, "testuser");
 
@@ -261,7 +297,7 @@ public class CommentServiceTest {
 
     @Test
     void cannotAccessPrivateNoteCommentsWithoutAuth() {
-        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
+        when(noteAccessPolicy.accessFor(1L, null)).thenReturn(NoteAccess.NONE);
 
         boolean result = commentService.canUserAccessComments(1L, null);
 
@@ -270,9 +306,7 @@ public class CommentServiceTest {
 
     @Test
     void canSharedUserAccessPrivateNoteComments() {
-        testNote.getSharedWith().add(otherUser);
-        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
-        when(userRepository.findByUsername("otheruser")).thenReturn(Optional.of(otherUser));
+        when(noteAccessPolicy.accessFor(1L, "otheruser")).thenReturn(NoteAccess.SHARED);
 
         boolean result = commentService.canUserAccessComments(1L, "otheruser");
 
@@ -281,7 +315,7 @@ public class CommentServiceTest {
 
     @Test
     void cannotAccessNonExistentNoteComments() {
-        when(noteRepository.findById(999L)).thenReturn(Optional.empty());
+        when(noteAccessPolicy.accessFor(999L, "testuser")).thenReturn(NoteAccess.NONE);
 
         boolean result = commentService.canUserAccessComments(999L, "testuser");
 
@@ -300,8 +334,7 @@ public class CommentServiceTest {
 
     @Test
     void adminCanAccessPrivateNoteComments() {
-        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(adminUser));
+        when(noteAccessPolicy.accessFor(1L, "admin")).thenReturn(NoteAccess.ADMIN);
 
         boolean result = commentService.canUserAccessComments(1L, "admin");
 
@@ -0,0 +1,105 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventRepository;
+import es.wrapitup.wrapitup_planner.repository.CalendarTaskRepository;
+import es.wrapitup.wrapitup_planner.repository.CommentRepository;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.DemoDataSeeder;
+import es.wrapitup.wrapitup_planner.service.ImageStore;
+
+@Tag("unit")
+public class DemoDataSeederUnitTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ImageStore imageStore;
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private CalendarEventRepository eventRepository;
+
+    @Mock
+    private CalendarTaskRepository taskRepository;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private DemoDataSeeder seeder;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        seeder = new DemoDataSeeder(userRepository, imageStore, noteRepository, commentRepository,
+                eventRepository, taskRepository, passwordEncoder, transactionManager, true);
+        when(passwordEncoder.encode("12345678")).thenReturn("hashed");
+    }
+
+    @Test
+    void seedSkipsWhenDemoUsersExist() {
+        when(userRepository.findByUsernameIn(anyCollection())).thenReturn(List.of(new UserModel()));
+
+        assertFalse(seeder.seed());
+
+        verifyNoInteractions(passwordEncoder, transactionManager, noteRepository);
+        verify(userRepository, never()).saveAllAndFlush(any());
+        seeder.shutdown();
+    }
+
+    @Test
+    void seedWritesEverythingInOneTransaction() {
+        when(userRepository.findByUsernameIn(anyCollection())).thenReturn(List.of());
+
+        assertTrue(seeder.seed());
+
+        verify(passwordEncoder, times(4)).encode("12345678");
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+        verify(userRepository).saveAllAndFlush(argThat(users -> ((List<?>) users).size() == 4));
+        verify(imageStore, times(2)).store(any(byte[].class), eq("image/jpeg"));
+        verify(imageStore, times(3)).assignProfileImage(any(), nullable(String.class));
+        verify(noteRepository).saveAll(any());
+        verify(commentRepository, times(2)).saveAll(any());
+        verify(taskRepository).saveAll(any());
+        verify(eventRepository, atLeastOnce()).saveAll(any());
+        verify(userRepository, never()).save(any());
+        seeder.shutdown();
+    }
+
+    @Test
+    void disabledSeederDoesNotRunOnStartup() {
+        DemoDataSeeder disabled = new DemoDataSeeder(userRepository, imageStore, noteRepository,
+                commentRepository, eventRepository, taskRepository, passwordEncoder, transactionManager, false);
+
+        disabled.seedInBackground();
+        disabled.shutdown();
+
+        verifyNoInteractions(userRepository, transactionManager);
+        seeder.shutdown();
+    }
+}
@@ -235,4 +235,145 @@ public class DocumentTextExtractorServiceUnitTest {
         );
     }
 
+    @Test
+    void extractPlainTextAboveLimitThrowsException() {
+        DocumentTextExtractorService limited = new DocumentTextExtractorService(5, 0);
+        MockMultipartFile file = new MockMultipartFile("file", "note.txt", "text/plain", "abcdefgh".getBytes());
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> limited.extractText(file));
+        assertEquals("File exceeds maximum character limit", error.getMessage());
+    }
+
+    @Test
+    void extractPdfStopsAtCharacterLimit() throws IOException {
+        byte[] data;
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < 3; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(PDType1Font.HELVETICA, 12);
+                    contentStream.newLineAtOffset(50, 700);
+                    contentStream.showText("Page number " + i + " with some content");
+                    contentStream.endText();
+                }
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            document.save(outputStream);
+            data = outputStream.toByteArray();
+        }
+
+        DocumentTextExtractorService limited = new DocumentTextExtractorService(50, 0);
+        MockMultipartFile file = new MockMultipartFile("file", "note.pdf", "application/pdf", data);
+
+        assertThrows(IllegalArgumentException.class, () -> limited.extractText(file));
+        assertTrue(service.extractText(file).contains("Page number 2"));
+    }
+
+    @Test
+    void extractDocxIncludesTableText() throws IOException {
+        byte[] data;
+        try (XWPFDocument document = new XWPFDocument()) {
+            document.createParagraph().createRun().setText("Intro");
+            document.createTable(1, 1).getRow(0).getCell(0).setText("Cell content");
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            document.write(outputStream);
+            data = outputStream.toByteArray();
+        }
+
+        MockMultipartFile file = new MockMultipartFile("file", "note.docx",
+            "application/vnd.openxmlformats-officedocument.wordprocessingml.document", data);
+
+        assertEquals("Intro\nCell content", service.extractText(file));
+    }
+
+    @Test
+    void extractPptxKeepsSlideOrderAndSeparatesSlides() throws IOException {
+        byte[] data;
+        try (XMLSlideShow slideShow = new XMLSlideShow()) {
+            XSLFSlide first = slideShow.createSlide();
+            first.createTextBox().setText("First slide");
+            XSLFSlide second = slideShow.createSlide();
+            second.createTextBox().setText("Second slide");
+            slideShow.setSlideOrder(second, 0);
+
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            slideShow.write(outputStream);
+            data = outputStream.toByteArray();
+        }
+
+        MockMultipartFile file = new MockMultipartFile("file", "note.pptx",
+            "application/vnd.openxmlformats-officedocument.presentationml.presentation", data);
+
+        assertEquals("Second slide\n\nFirst slide", service.extractText(file));
+    }
+
+    @Test
+    void extractPptxAboveLimitThrowsException() throws IOException {
+        byte[] data;
+        try (XMLSlideShow slideShow = new XMLSlideShow()) {
+            for (int i = 0; i < 5; i++) {
+                slideShow.createSlide().createTextBox().setText("Slide text number " + i);
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            slideShow.write(outputStream);
+            data = outputStream.toByteArray();
+        }
+
+        DocumentTextExtractorService limited = new DocumentTextExtractorService(40, 0);
+        MockMultipartFile file = new MockMultipartFile("file", "note.pptx",
+            "application/vnd.openxmlformats-officedocument.presentationml.presentation", data);
+
+        assertThrows(IllegalArgumentException.class, () -> limited.extractText(file));
+    }
+
+    @Test
+    void extractPdfInParallelRangesKeepsPageOrder() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "note.pdf", "application/pdf", pdfWithPages(12));
+
+        DocumentTextExtractorService sequential = new DocumentTextExtractorService(50000, 0, 1, 2);
+        DocumentTextExtractorService parallel = new DocumentTextExtractorService(50000, 0, 3, 2);
+        try {
+            String expected = sequential.extractText(file);
+            assertEquals(expected, parallel.extractText(file));
+            assertTrue(expected.indexOf("Page 3") < expected.indexOf("Page 11"));
+        } finally {
+            sequential.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void extractPdfInParallelRangesSharesCharacterLimit() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "note.pdf", "application/pdf", pdfWithPages(12));
+
+        // Every range fits on its own, the pages together do not
+        DocumentTextExtractorService parallel = new DocumentTextExtractorService(60, 0, 3, 2);
+        try {
+            assertThrows(IllegalArgumentException.class, () -> parallel.extractText(file));
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    private static byte[] pdfWithPages(int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                PDPage page = new PDPage();
+                document.addPage(page);
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    contentStream.beginText();
+                    contentStream.setFont(PDType1Font.HELVETICA, 12);
+                    contentStream.newLineAtOffset(50, 700);
+                    contentStream.showText("Page " + i);
+                    contentStream.endText();
+                }
+            }
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            document.save(outputStream);
+            return outputStream.toByteArray();
+        }
+    }
 }
@@ -0,0 +1,59 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Locale;
+
+import es.wrapitup.wrapitup_planner.service.FullTextQuery;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+public class FullTextQueryUnitTest {
+
+    @Test
+    void everyWordIsRequiredAndPrefixMatched() {
+        assertEquals("+pyth* +theorem*", FullTextQuery.toBooleanMode("Pyth Theorem"));
+    }
+
+    @Test
+    void booleanOperatorsInInputAreStripped() {
+        assertEquals("+algebra* +notes*", FullTextQuery.toBooleanMode("-algebra +\"notes\"*"));
+    }
+
+    @Test
+    void shortAndDuplicateWordsAreDropped() {
+        assertEquals("+the* +cell*", FullTextQuery.toBooleanMode("the cell of a CELL"));
+    }
+
+    @Test
+    void keepsAccentedWords() {
+        assertEquals("+álgebra* +lineal*", FullTextQuery.toBooleanMode("Álgebra lineal"));
+    }
+
+    @Test
+    void lowercasesIndependentlyOfTheDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            assertEquals("+title*", FullTextQuery.toBooleanMode("TITLE"));
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void returnsNullWhenNothingIsIndexable() {
+        assertNull(FullTextQuery.toBooleanMode(null));
+        assertNull(FullTextQuery.toBooleanMode("  "));
+        assertNull(FullTextQuery.toBooleanMode("c# ai"));
+    }
+
+    @Test
+    void limitsNumberOfTerms() {
+        String query = FullTextQuery.toBooleanMode("aaa bbb ccc ddd eee fff ggg hhh iii jjj kkk lll");
+
+        assertEquals(FullTextQuery.MAX_TERMS, query.split(" ").length);
+    }
+}
@@ -0,0 +1,84 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayOutputStream;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import es.wrapitup.wrapitup_planner.repository.ImageJdbcRepository;
+
+@Tag("unit")
+public class ImageJdbcRepositoryUnitTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    private ImageJdbcRepository imageRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        imageRepository = new ImageJdbcRepository(jdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writeToUsesAStreamingStatement() throws Exception {
+        when(jdbcTemplate.query(any(PreparedStatementCreator.class), any(ResultSetExtractor.class))).thenReturn(true);
+        when(connection.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(statement);
+
+        assertTrue(imageRepository.writeTo("abc", new ByteArrayOutputStream()));
+
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        verify(jdbcTemplate).query(creator.capture(), any(ResultSetExtractor.class));
+        assertSame(statement, creator.getValue().createPreparedStatement(connection));
+        verify(connection).prepareStatement(anyString(), eq(ResultSet.TYPE_FORWARD_ONLY), eq(ResultSet.CONCUR_READ_ONLY));
+        verify(statement).setFetchSize(Integer.MIN_VALUE);
+        verify(statement).setString(1, "abc");
+    }
+
+    @Test
+    void deleteIfUnusedLocksTheBlobBeforeCheckingUsers() {
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE"), eq(String.class), eq("abc"))).thenReturn(List.of("abc"));
+        when(jdbcTemplate.queryForObject(contains("user_profile_image"), eq(Integer.class), eq("abc"))).thenReturn(0);
+
+        imageRepository.deleteIfUnused("abc");
+
+        InOrder order = inOrder(jdbcTemplate);
+        order.verify(jdbcTemplate).queryForList(contains("FOR UPDATE"), eq(String.class), eq("abc"));
+        order.verify(jdbcTemplate).queryForObject(contains("FOR UPDATE"), eq(Integer.class), eq("abc"));
+        order.verify(jdbcTemplate).update("DELETE FROM image_blob WHERE hash = ?", "abc");
+    }
+
+    @Test
+    void deleteIfUnusedKeepsABlobThatIsStillAssigned() {
+        when(jdbcTemplate.queryForList(contains("FOR UPDATE"), eq(String.class), eq("abc"))).thenReturn(List.of("abc"));
+        when(jdbcTemplate.queryForObject(contains("user_profile_image"), eq(Integer.class), eq("abc"))).thenReturn(1);
+
+        imageRepository.deleteIfUnused("abc");
+
+        verify(jdbcTemplate, never()).update("DELETE FROM image_blob WHERE hash = ?", "abc");
+    }
+}
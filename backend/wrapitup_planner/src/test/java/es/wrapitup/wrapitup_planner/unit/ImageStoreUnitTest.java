@@ -0,0 +1,112 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.InputStream;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+
+import es.wrapitup.wrapitup_planner.repository.ImageJdbcRepository;
+import es.wrapitup.wrapitup_planner.service.ImageStore;
+
+@Tag("unit")
+public class ImageStoreUnitTest {
+
+    private static final String ABC_SHA256 = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    @Mock
+    private ImageJdbcRepository imageRepository;
+
+    private ImageStore imageStore;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        imageStore = new ImageStore(imageRepository);
+        when(imageRepository.insertIfAbsent(anyString(), anyString(), anyLong(), any(InputStream.class))).thenReturn(true);
+    }
+
+    @Test
+    void storeKeysImageBySha256OfItsBytes() throws Exception {
+        String hash = imageStore.store(new MockMultipartFile("image", "a.png", "image/png", "abc".getBytes()));
+
+        assertEquals(ABC_SHA256, hash);
+        verify(imageRepository).insertIfAbsent(eq(ABC_SHA256), eq("image/png"), eq(3L), any(InputStream.class));
+    }
+
+    @Test
+    void storeFallsBackToJpegForNonRasterTypes() throws Exception {
+        imageStore.store(new MockMultipartFile("image", "a.svg", "image/svg+xml", "<svg/>".getBytes()));
+        imageStore.store("abc".getBytes(), null);
+
+        verify(imageRepository, times(2)).insertIfAbsent(anyString(), eq("image/jpeg"), anyLong(), any(InputStream.class));
+    }
+
+    @Test
+    void storeLocksAnIdenticalBlobThatIsAlreadyStored() throws Exception {
+        when(imageRepository.insertIfAbsent(anyString(), anyString(), anyLong(), any(InputStream.class))).thenReturn(false);
+        when(imageRepository.lockForUse(ABC_SHA256)).thenReturn(true);
+
+        imageStore.store("abc".getBytes(), "image/png");
+
+        verify(imageRepository).insertIfAbsent(eq(ABC_SHA256), eq("image/png"), eq(3L), any(InputStream.class));
+        verify(imageRepository).lockForUse(ABC_SHA256);
+    }
+
+    @Test
+    void storeInsertsAgainWhenTheExistingBlobWasDeletedMeanwhile() throws Exception {
+        when(imageRepository.insertIfAbsent(eq(ABC_SHA256), anyString(), anyLong(), any(InputStream.class)))
+                .thenReturn(false, true);
+        when(imageRepository.lockForUse(ABC_SHA256)).thenReturn(false);
+
+        imageStore.store(new MockMultipartFile("image", "a.png", "image/png", "abc".getBytes()));
+
+        verify(imageRepository, times(2)).insertIfAbsent(eq(ABC_SHA256), eq("image/png"), eq(3L), any(InputStream.class));
+    }
+
+    @Test
+    void storeGivesUpWhenTheBlobKeepsDisappearing() throws Exception {
+        when(imageRepository.insertIfAbsent(anyString(), anyString(), anyLong(), any(InputStream.class))).thenReturn(false);
+        when(imageRepository.lockForUse(ABC_SHA256)).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> imageStore.store("abc".getBytes(), "image/png"));
+    }
+
+    @Test
+    void assignProfileImageFromUploadStoresThenAssigns() throws Exception {
+        when(imageRepository.findProfileImageHash(1L)).thenReturn(Optional.empty());
+
+        String url = imageStore.assignProfileImage(1L, new MockMultipartFile("image", "a.png", "image/png", "abc".getBytes()));
+
+        assertEquals("/api/v1/users/profile-image/1?v=ba7816bf8f01", url);
+        verify(imageRepository).setProfileImage(1L, ABC_SHA256);
+    }
+
+    @Test
+    void assignProfileImageDeletesPreviousImageWhenReplaced() {
+        when(imageRepository.findProfileImageHash(1L)).thenReturn(Optional.of("old"));
+
+        String url = imageStore.assignProfileImage(1L, ABC_SHA256);
+
+        assertEquals("/api/v1/users/profile-image/1?v=ba7816bf8f01", url);
+        verify(imageRepository).setProfileImage(1L, ABC_SHA256);
+        verify(imageRepository).deleteIfUnused("old");
+    }
+
+    @Test
+    void assignProfileImageKeepsImageWhenUnchanged() {
+        when(imageRepository.findProfileImageHash(1L)).thenReturn(Optional.of(ABC_SHA256));
+
+        imageStore.assignProfileImage(1L, ABC_SHA256);
+
+        verify(imageRepository, never()).deleteIfUnused(any());
+    }
+}
@@ -0,0 +1,94 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import es.wrapitup.wrapitup_planner.service.IntervalTree;
+import es.wrapitup.wrapitup_planner.service.IntervalTree.Entry;
+
+@Tag("unit")
+public class IntervalTreeUnitTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    @Test
+    void boundsAreInclusive() {
+        IntervalTree<String> tree = new IntervalTree<>(List.of(
+                new Entry<>(at(10), at(20), "a"),
+                new Entry<>(at(30), at(30), "b")));
+
+        assertEquals(List.of("a"), tree.overlapping(at(0), at(10)));
+        assertEquals(List.of("a"), tree.overlapping(at(20), at(25)));
+        assertEquals(List.of("b"), tree.overlapping(at(30), at(40)));
+        assertEquals(List.of(), tree.overlapping(at(21), at(29)));
+        assertEquals(List.of("a", "b"), tree.overlapping(at(0), at(100)));
+    }
+
+    @Test
+    void longIntervalsAreFoundFromAnyPoint() {
+        List<Entry<String>> entries = new ArrayList<>();
+        entries.add(new Entry<>(at(0), at(1000), "long"));
+        for (int i = 1; i < 100; i++) {
+            entries.add(new Entry<>(at(i * 5), at(i * 5 + 1), "short" + i));
+        }
+        IntervalTree<String> tree = new IntervalTree<>(entries);
+
+        assertEquals(List.of("long"), tree.overlapping(at(600), at(700)));
+        assertEquals(List.of("long", "short10"), tree.overlapping(at(50), at(51)));
+    }
+
+    @Test
+    void sameStartKeepsTheGivenOrder() {
+        IntervalTree<String> tree = new IntervalTree<>(List.of(
+                new Entry<>(at(5), at(6), "second"),
+                new Entry<>(at(1), at(9), "first"),
+                new Entry<>(at(5), at(7), "third")));
+
+        assertEquals(List.of("first", "second", "third"), tree.overlapping(at(0), at(10)));
+    }
+
+    @Test
+    void emptyTreeAndReversedIntervals() {
+        assertTrue(new IntervalTree<String>(List.of()).overlapping(at(0), at(10)).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> new IntervalTree<>(List.of(new Entry<>(at(2), at(1), "x"))));
+    }
+
+    @Test
+    void matchesScanningEveryInterval() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            List<Entry<Integer>> entries = new ArrayList<>();
+            int size = random.nextInt(300);
+            for (int i = 0; i < size; i++) {
+                int start = random.nextInt(2000);
+                int length = random.nextInt(10) == 0 ? random.nextInt(1500) : random.nextInt(20);
+                entries.add(new Entry<>(at(start), at(start + length), i));
+            }
+            IntervalTree<Integer> tree = new IntervalTree<>(entries);
+            int from = random.nextInt(2100);
+            int to = from + random.nextInt(200);
+
+            List<Entry<Integer>> sorted = new ArrayList<>(entries);
+            sorted.sort((a, b) -> a.start().compareTo(b.start()));
+            List<Integer> expected = new ArrayList<>();
+            for (Entry<Integer> entry : sorted) {
+                if (!entry.start().isAfter(at(to)) && !entry.end().isBefore(at(from))) {
+                    expected.add(entry.value());
+                }
+            }
+
+            assertEquals(expected, tree.overlapping(at(from), at(to)));
+        }
+    }
+
+    private static LocalDateTime at(int minutes) {
+        return BASE.plusMinutes(minutes);
+    }
+}
@@ -0,0 +1,70 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.wrapitup.wrapitup_planner.dto.CursorPageDTO;
+import es.wrapitup.wrapitup_planner.service.KeysetCursor;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+public class KeysetCursorUnitTest {
+
+    @Test
+    void encodedCursorRoundTrips() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2025, 3, 4, 10, 15, 30, 123456000), 42L);
+
+        String encoded = cursor.encode();
+
+        assertFalse(encoded.contains("|"));
+        assertEquals(cursor, KeysetCursor.decode(encoded));
+    }
+
+    @Test
+    void blankCursorMeansFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor!"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("eWVzdGVyZGF5fDE"));
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertEquals(1, KeysetCursor.pageSize(0));
+        assertEquals(20, KeysetCursor.pageSize(20));
+        assertEquals(KeysetCursor.MAX_PAGE_SIZE, KeysetCursor.pageSize(10_000));
+        assertEquals(21, KeysetCursor.limit(20).max());
+    }
+
+    @Test
+    void extraRowProducesNextCursorFromLastReturnedRow() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<Long> rows = List.of(5L, 4L, 3L);
+
+        CursorPageDTO<Long> page = KeysetCursor.page(rows, 2, id -> new KeysetCursor(now, id));
+
+        assertEquals(List.of(5L, 4L), page.getContent());
+        assertFalse(page.isLast());
+        assertEquals(new KeysetCursor(now, 4L), KeysetCursor.decode(page.getNextCursor()));
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        CursorPageDTO<Long> page = KeysetCursor.page(List.of(1L), 2, id -> new KeysetCursor(LocalDateTime.now(), id));
+
+        assertEquals(List.of(1L), page.getContent());
+        assertTrue(page.isLast());
+        assertNull(page.getNextCursor());
+    }
+}
@@ -0,0 +1,109 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import es.wrapitup.wrapitup_planner.dto.NoteAccessDTO;
+import es.wrapitup.wrapitup_planner.model.NoteVisibility;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.NoteAccess;
+import es.wrapitup.wrapitup_planner.service.NoteAccessPolicy;
+
+@Tag("unit")
+public class NoteAccessPolicyUnitTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private NoteAccessPolicy noteAccessPolicy;
+
+    private UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        user = new UserModel();
+        user.setId(2L);
+        user.setUsername("reader");
+        user.setRoles(List.of("USER"));
+        when(userRepository.findByUsername("reader")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void anonymousVisitorCanReadPublicNote() {
+        when(noteRepository.findAccess(1L, null)).thenReturn(Optional.of(new NoteAccessDTO(NoteVisibility.PUBLIC, false, false)));
+
+        assertEquals(NoteAccess.PUBLIC, noteAccessPolicy.accessFor(1L, null));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void anonymousVisitorCannotReadPrivateNote() {
+        when(noteRepository.findAccess(1L, null)).thenReturn(Optional.of(new NoteAccessDTO(NoteVisibility.PRIVATE, false, false)));
+
+        assertEquals(NoteAccess.NONE, noteAccessPolicy.accessFor(1L, null));
+    }
+
+    @Test
+    void ownerCanReadPrivateNote() {
+        when(noteRepository.findAccess(1L, 2L)).thenReturn(Optional.of(new NoteAccessDTO(NoteVisibility.PRIVATE, true, false)));
+
+        assertEquals(NoteAccess.OWNER, noteAccessPolicy.accessFor(1L, "reader"));
+    }
+
+    @Test
+    void sharedUserCanReadPrivateNote() {
+        when(noteRepository.findAccess(1L, 2L)).thenReturn(Optional.of(new NoteAccessDTO(NoteVisibility.PRIVATE, false, true)));
+
+        assertEquals(NoteAccess.SHARED, noteAccessPolicy.accessFor(1L, "reader"));
+    }
+
+    @Test
+    void adminCanReadAnyExistingNote() {
+        user.setRoles(List.of("ADMIN", "USER"));
+        when(noteRepository.findAccess(1L, 2L)).thenReturn(Optional.of(new NoteAccessDTO(NoteVisibility.PRIVATE, false, false)));
+
+        assertEquals(NoteAccess.ADMIN, noteAccessPolicy.accessFor(1L, "reader"));
+    }
+
+    @Test
+    void otherUserCannotReadPrivateNote() {
+        when(noteRepository.findAccess(1L, 2L)).thenReturn(Optional.of(new NoteAccessDTO(NoteVisibility.PRIVATE, false, false)));
+
+        assertEquals(NoteAccess.NONE, noteAccessPolicy.accessFor(1L, "reader"));
+        assertFalse(noteAccessPolicy.accessFor(1L, "reader").canRead());
+    }
+
+    @Test
+    void unknownUserIsTreatedAsAnonymous() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+        when(noteRepository.findAccess(1L, null)).thenReturn(Optional.of(new NoteAccessDTO(NoteVisibility.PUBLIC, false, false)));
+
+        assertEquals(NoteAccess.PUBLIC, noteAccessPolicy.accessFor(1L, "ghost"));
+    }
+
+    @Test
+    void missingNoteGrantsNothing() {
+        user.setRoles(List.of("ADMIN"));
+        when(noteRepository.findAccess(99L, 2L)).thenReturn(Optional.empty());
+
+        assertEquals(NoteAccess.NONE, noteAccessPolicy.accessFor(99L, "reader"));
+    }
+}
@@ -5,6 +5,8 @@ import static org.mockito.Mockito.*;
 
 import java.net.URI;
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -16,9 +18,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
 import es.wrapitup.wrapitup_planner.controller.NoteRestController;
+import es.wrapitup.wrapitup_planner.dto.CursorPageDTO;
 import es.wrapitup.wrapitup_planner.dto.NoteDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteShareRequestDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteShareResultDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteSummaryDTO;
 import es.wrapitup.wrapitup_planner.dto.QuizResultDTO;
 import es.wrapitup.wrapitup_planner.service.NoteService;
+import es.wrapitup.wrapitup_planner.service.NoteSharingService;
 import jakarta.servlet.http.HttpServletRequest;
 
 @Tag("unit")
@@ -29,6 +36,9 @@ public class NoteRestControllerTest {
     @Mock
     private NoteService noteService;
 
+    @Mock
+    private NoteSharingService noteSharingService;
+
     @Mock
     private HttpServletRequest request;
 
@@ -38,23 +48,47 @@ public class NoteRestControllerTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        controller = new NoteRestController(noteService);
+        controller = new NoteRestController(noteService, noteSharingService);
     }
 
     @Test
     void getSharedNotes_unauthenticated_and_forbidden() {
         when(request.getUserPrincipal()).thenReturn(null);
-        var resp = controller.getSharedNotes(0,10,null, request);
+        var resp = controller.getSharedNotes(0,10,null,null, request);
         assertEquals(401, resp.getStatusCodeValue());
 
         when(request.getUserPrincipal()).thenReturn(principal);
         when(principal.getName()).thenReturn("u");
         when(noteService.findNotesSharedWithUser(eq("u"), any(), any())).thenThrow(new SecurityException("Admins do not have shared notes"));
 
-        var resp2 = controller.getSharedNotes(0,10,null, request);
+        var resp2 = controller.getSharedNotes(0,10,null,null, request);
         assertEquals(403, resp2.getStatusCodeValue());
     }
 
+    @Test
+    void getRecentNotes_withCursor_usesFeed() {
+        when(request.getUserPrincipal()).thenReturn(principal);
+        when(principal.getName()).thenReturn("u");
+        CursorPageDTO<NoteSummaryDTO> feed = new CursorPageDTO<>(new ArrayList<>(), null, true);
+        when(noteService.findRecentNotesFeed("u", "", 10, "MATHS")).thenReturn(feed);
+
+        var resp = controller.getRecentNotes(0, 10, "MATHS", null, "", request);
+
+        assertEquals(200, resp.getStatusCodeValue());
+        assertSame(feed, resp.getBody());
+        verify(noteService, never()).findRecentNotesByUser(any(), any(), any(), any());
+    }
+
+    @Test
+    void getRecentNotes_cursorWithSearchOrBadCursor_returns400() {
+        when(request.getUserPrincipal()).thenReturn(principal);
+        when(principal.getName()).thenReturn("u");
+        when(noteService.findSharedNotesFeed("u", "bad", 10)).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        assertEquals(400, controller.getRecentNotes(0, 10, null, "algebra", "", request).getStatusCodeValue());
+        assertEquals(400, controller.getSharedNotes(0, 10, null, "bad", request).getStatusCodeValue());
+    }
+
     @Test
     void submitQuizResult_unauthenticated_and_badrequest() {
         when(request.getUserPrincipal()).thenReturn(null);
@@ -113,4 +147,30 @@ public class NoteRestControllerTest {
         var resp = controller.generateQuestionsWithAi(1L, file, request);
         assertEquals(502, resp.getStatusCodeValue());
     }
+
+    @Test
+    void shareNoteWithUsernames_mapsOutcomesToStatus() {
+        NoteShareRequestDTO body = new NoteShareRequestDTO();
+        body.setUsernames(List.of("a", "b"));
+
+        when(request.getUserPrincipal()).thenReturn(null);
+        assertEquals(401, controller.shareNoteWithUsernames(1L, body, request).getStatusCodeValue());
+
+        when(request.getUserPrincipal()).thenReturn(principal);
+        when(principal.getName()).thenReturn("u");
+        NoteShareResultDTO result = new NoteShareResultDTO(1L, List.of("a", "b"), List.of(), List.of(), 2);
+        when(noteSharingService.shareWithUsernames(1L, body.getUsernames(), "u")).thenReturn(Optional.of(result));
+        var ok = controller.shareNoteWithUsernames(1L, body, request);
+        assertEquals(200, ok.getStatusCodeValue());
+        assertSame(result, ok.getBody());
+
+        when(noteSharingService.shareWithUsernames(2L, body.getUsernames(), "u")).thenReturn(Optional.empty());
+        assertEquals(404, controller.shareNoteWithUsernames(2L, body, request).getStatusCodeValue());
+
+        when(noteSharingService.unshareWithUsernames(1L, body.getUsernames(), "u")).thenThrow(new SecurityException("nope"));
+        assertEquals(403, controller.unshareNoteWithUsernames(1L, body, request).getStatusCodeValue());
+
+        when(noteSharingService.unshareWithUsernames(3L, body.getUsernames(), "u")).thenThrow(new IllegalArgumentException("bad"));
+        assertEquals(400, controller.unshareNoteWithUsernames(3L, body, request).getStatusCodeValue());
+    }
 }
@@ -16,10 +16,14 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 
+import es.wrapitup.wrapitup_planner.dto.CursorPageDTO;
 import es.wrapitup.wrapitup_planner.dto.NoteDTO;
+import es.wrapitup.wrapitup_planner.dto.NoteSummaryDTO;
 import es.wrapitup.wrapitup_planner.dto.NoteMapper;
 import es.wrapitup.wrapitup_planner.dto.QuizResultDTO;
 import es.wrapitup.wrapitup_planner.dto.AiNoteResult;
@@ -33,6 +37,9 @@ import es.wrapitup.wrapitup_planner.repository.NoteRepository;
 import es.wrapitup.wrapitup_planner.repository.QuizScoreRepository;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
 import es.wrapitup.wrapitup_planner.service.DocumentTextExtractorService;
+import es.wrapitup.wrapitup_planner.service.KeysetCursor;
+import es.wrapitup.wrapitup_planner.service.NoteAccess;
+import es.wrapitup.wrapitup_planner.service.NoteAccessPolicy;
 import es.wrapitup.wrapitup_planner.service.NoteService;
 import es.wrapitup.wrapitup_planner.service.OpenAiService;
 import org.springframework.mock.web.MockMultipartFile;
@@ -58,6 +65,9 @@ public class NoteServiceUnitTest {
     @Mock
     private QuizScoreRepository quizScoreRepository;
 
+    @Mock
+    private NoteAccessPolicy noteAccessPolicy;
+
     @InjectMocks
     private NoteService noteService;
 
@@ -235,6 +245,7 @@ public class NoteServiceUnitTest {
     @Test
     void findByIdPublicNoteWithoutLoginAndNoteIsAvailable() {
         testNote.setVisibility(NoteVisibility.PUBLIC);
+        when(noteAccessPolicy.accessFor(1L, null)).thenReturn(NoteAccess.PUBLIC);
         when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
         when(noteMapper.toDto(testNote)).thenReturn(testNoteDTO);
 
@@ -245,18 +256,18 @@ public class NoteServiceUnitTest {
 
     @Test
     void findByIdPrivateNoteNotAvailable() {
-        testNote.setVisibility(NoteVisibility.PRIVATE);
-        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
+        when(noteAccessPolicy.accessFor(1L, null)).thenReturn(NoteAccess.NONE);
 
         Optional<NoteDTO> result = noteService.findByIdWithPermissions(1L, null);
 
         assertFalse(result.isPresent());
+        verify(noteRepository, never()).findById(1L);
     }
 
     @Test
     void findByIdByOwnerAndGetsAccess() {
+        when(noteAccessPolicy.accessFor(1L, "testuser")).thenReturn(NoteAccess.OWNER);
         when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(noteMapper.toDto(testNote)).thenReturn(testNoteDTO);
 
         Optional<NoteDTO> result = noteService.findByIdWithPermissions(1L, "testuser");
@@ -266,8 +277,7 @@ public class NoteServiceUnitTest {
 
     @Test
     void findByIdPrivateNoteAndUserHasNoAccess() {
-        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
-        when(userRepository.findByUsername("otheruser")).thenReturn(Optional.of(otherUser));
+        when(noteAccessPolicy.accessFor(1L, "otheruser")).thenReturn(NoteAccess.NONE);
 
         Optional<NoteDTO> result = noteService.findByIdWithPermissions(1L, "otheruser");
 
@@ -276,12 +286,8 @@ public class NoteServiceUnitTest {
 
     @Test
     void findByIdPrivateNoteAndUserHasAccess() {
-        Set<UserModel> sharedWith = new HashSet<>();
-        sharedWith.add(otherUser);
-        testNote.setSharedWith(sharedWith);
-
+        when(noteAccessPolicy.accessFor(1L, "otheruser")).thenReturn(NoteAccess.SHARED);
         when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
-        when(userRepository.findByUsername("otheruser")).thenReturn(Optional.of(otherUser));
         when(noteMapper.toDto(testNote)).thenReturn(testNoteDTO);
 
         Optional<NoteDTO> result = noteService.findByIdWithPermissions(1L, "otheruser");
@@ -466,8 +472,8 @@ public class NoteServiceUnitTest {
         admin.setEmail("admin@example.com");
         admin.setRoles(java.util.List.of("ADMIN", "USER"));
 
+        when(noteAccessPolicy.accessFor(1L, "admin")).thenReturn(NoteAccess.ADMIN);
         when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
-        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
         when(noteMapper.toDto(testNote)).thenReturn(testNoteDTO);
 
         Optional<NoteDTO> result = noteService.findByIdWithPermissions(1L, "admin");
@@ -481,58 +487,82 @@ public class NoteServiceUnitTest {
     @Test
     @SuppressWarnings("unchecked")
     void findRecentNotesByUserWithNoFilters() {
-        Page<Note> page = mock(Page.class);
-        when(page.map(any())).thenReturn(mock(Page.class));
+        Page<NoteSummaryDTO> page = mock(Page.class);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(noteRepository.findByUserIdOrderByLastModifiedDesc(eq(1L), any())).thenReturn(page);
+        when(noteRepository.findSummariesByUserId(eq(1L), any())).thenReturn(page);
 
-        noteService.findRecentNotesByUser("testuser", PageRequest.of(0, 10), null, null);
+        Page<NoteSummaryDTO> result = noteService.findRecentNotesByUser("testuser", PageRequest.of(0, 10), null, null);
 
-        verify(noteRepository).findByUserIdOrderByLastModifiedDesc(eq(1L), any());
-        verify(noteRepository, never()).findByUserIdAndCategoryOrderByLastModifiedDesc(any(), any(), any());
-        verify(noteRepository, never()).findByUserIdAndTitleContainingOrderByLastModifiedDesc(any(), any(), any());
+        assertSame(page, result);
+        verify(noteRepository).findSummariesByUserId(eq(1L), any());
+        verify(noteMapper, never()).toDto(any(Note.class));
+        verify(noteRepository, never()).findSummariesByUserIdAndCategory(any(), any(), any());
+        verify(noteRepository, never()).findSummariesByUserIdAndTitleContaining(any(), any(), any());
     }
 
     @Test
     @SuppressWarnings("unchecked")
     void findRecentNotesByUserWithCategoryFilter() {
-        Page<Note> page = mock(Page.class);
-        when(page.map(any())).thenReturn(mock(Page.class));
+        Page<NoteSummaryDTO> page = mock(Page.class);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(noteRepository.findByUserIdAndCategoryOrderByLastModifiedDesc(eq(1L), eq(NoteCategory.MATHS), any())).thenReturn(page);
+        when(noteRepository.findSummariesByUserIdAndCategory(eq(1L), eq(NoteCategory.MATHS), any())).thenReturn(page);
 
         noteService.findRecentNotesByUser("testuser", PageRequest.of(0, 10), "MATHS", null);
 
-        verify(noteRepository).findByUserIdAndCategoryOrderByLastModifiedDesc(eq(1L), eq(NoteCategory.MATHS), any());
-        verify(noteRepository, never()).findByUserIdOrderByLastModifiedDesc(any(), any());
+        verify(noteRepository).findSummariesByUserIdAndCategory(eq(1L), eq(NoteCategory.MATHS), any());
+        verify(noteRepository, never()).findSummariesByUserId(any(), any());
     }
 
     @Test
-    @SuppressWarnings("unchecked")
     void findRecentNotesByUserWithSearchFilter() {
-        Page<Note> page = mock(Page.class);
-        when(page.map(any())).thenReturn(mock(Page.class));
+        Page<NoteSummaryDTO> page = new PageImpl<>(List.of(summary("Test note")));
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(noteRepository.findByUserIdAndTitleContainingOrderByLastModifiedDesc(eq(1L), eq("test"), any())).thenReturn(page);
+        when(noteRepository.findSummariesByUserIdMatching(eq(1L), eq("+test*"), any())).thenReturn(page);
 
-        noteService.findRecentNotesByUser("testuser", PageRequest.of(0, 10), null, "test");
+        Page<NoteSummaryDTO> result = noteService.findRecentNotesByUser("testuser", PageRequest.of(0, 10), null, "test");
 
-        verify(noteRepository).findByUserIdAndTitleContainingOrderByLastModifiedDesc(eq(1L), eq("test"), any());
-        verify(noteRepository, never()).findByUserIdOrderByLastModifiedDesc(any(), any());
+        assertSame(page, result);
+        verify(noteRepository).findSummariesByUserIdMatching(eq(1L), eq("+test*"), any());
+        verify(noteRepository, never()).findSummariesByUserIdAndTitleContaining(any(), any(), any());
+        verify(noteRepository, never()).findSummariesByUserId(any(), any());
+    }
+
+    @Test
+    void findRecentNotesByUserFallsBackToTitleSubstringsWhenNothingMatches() {
+        Page<NoteSummaryDTO> titleMatches = new PageImpl<>(List.of(summary("Pythagorean Theorem")));
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(noteRepository.findSummariesByUserIdMatching(eq(1L), eq("+orem*"), any())).thenReturn(Page.empty());
+        when(noteRepository.findSummariesByUserIdAndTitleContaining(eq(1L), eq("orem"), any())).thenReturn(titleMatches);
+
+        Page<NoteSummaryDTO> result = noteService.findRecentNotesByUser("testuser", PageRequest.of(0, 10), null, "orem");
+
+        assertSame(titleMatches, result);
     }
 
     @Test
     @SuppressWarnings("unchecked")
+    void findRecentNotesByUserWithShortSearchFallsBackToTitleSearch() {
+        Page<NoteSummaryDTO> page = mock(Page.class);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(noteRepository.findSummariesByUserIdAndTitleContaining(eq(1L), eq("c#"), any())).thenReturn(page);
+
+        noteService.findRecentNotesByUser("testuser", PageRequest.of(0, 10), null, "c#");
+
+        verify(noteRepository).findSummariesByUserIdAndTitleContaining(eq(1L), eq("c#"), any());
+        verify(noteRepository, never()).findSummariesByUserIdMatching(any(), any(), any());
+    }
+
+    @Test
     void findRecentNotesByUserWithCategoryAndSearchFilter() {
-        Page<Note> page = mock(Page.class);
-        when(page.map(any())).thenReturn(mock(Page.class));
+        Page<NoteSummaryDTO> page = new PageImpl<>(List.of(summary("Biology basics")));
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(noteRepository.findByUserIdAndCategoryAndTitleContainingOrderByLastModifiedDesc(eq(1L), eq(NoteCategory.SCIENCE), eq("biology"), any())).thenReturn(page);
+        when(noteRepository.findSummariesByUserIdAndCategoryMatching(eq(1L), eq(NoteCategory.SCIENCE), eq("+biology*"), any())).thenReturn(page);
 
         noteService.findRecentNotesByUser("testuser", PageRequest.of(0, 10), "SCIENCE", "biology");
 
-        verify(noteRepository).findByUserIdAndCategoryAndTitleContainingOrderByLastModifiedDesc(eq(1L), eq(NoteCategory.SCIENCE), eq("biology"), any());
-        verify(noteRepository, never()).findByUserIdOrderByLastModifiedDesc(any(), any());
+        verify(noteRepository).findSummariesByUserIdAndCategoryMatching(eq(1L), eq(NoteCategory.SCIENCE), eq("+biology*"), any());
+        verify(noteRepository, never()).findSummariesByUserIdAndCategoryAndTitleContaining(any(), any(), any(), any());
+        verify(noteRepository, never()).findSummariesByUserId(any(), any());
     }
 
     // Shared notes tests
@@ -540,27 +570,63 @@ public class NoteServiceUnitTest {
     @Test
     @SuppressWarnings("unchecked")
     void findNotesSharedWithUserSuccess() {
-        Page<Note> page = mock(Page.class);
-        when(page.map(any())).thenReturn(mock(Page.class));
-        when(noteRepository.findNotesSharedWithUser(eq("testuser"), any())).thenReturn(page);
+        Page<NoteSummaryDTO> page = mock(Page.class);
+        when(noteRepository.findSummariesSharedWithUser(eq("testuser"), any())).thenReturn(page);
 
         noteService.findNotesSharedWithUser("testuser", PageRequest.of(0, 10), null);
 
-        verify(noteRepository).findNotesSharedWithUser(eq("testuser"), any());
-        verify(noteRepository, never()).findNotesSharedWithUserAndTitleContaining(any(), any(), any());
+        verify(noteRepository).findSummariesSharedWithUser(eq("testuser"), any());
+        verify(noteRepository, never()).findSummariesSharedWithUserAndTitleContaining(any(), any(), any());
+        verify(noteRepository, never()).findSummariesSharedWithUserMatching(any(), any(), any());
     }
 
     @Test
-    @SuppressWarnings("unchecked")
     void findNotesSharedWithUserWithSearchFilter() {
-        Page<Note> page = mock(Page.class);
-        when(page.map(any())).thenReturn(mock(Page.class));
-        when(noteRepository.findNotesSharedWithUserAndTitleContaining(eq("testuser"), eq("biology"), any())).thenReturn(page);
+        Page<NoteSummaryDTO> page = new PageImpl<>(List.of(summary("Biology basics")));
+        when(noteRepository.findSummariesSharedWithUserMatching(eq("testuser"), eq("+biology*"), any())).thenReturn(page);
 
         noteService.findNotesSharedWithUser("testuser", PageRequest.of(0, 10), "biology");
 
-        verify(noteRepository).findNotesSharedWithUserAndTitleContaining(eq("testuser"), eq("biology"), any());
-        verify(noteRepository, never()).findNotesSharedWithUser(any(), any());
+        verify(noteRepository).findSummariesSharedWithUserMatching(eq("testuser"), eq("+biology*"), any());
+        verify(noteRepository, never()).findSummariesSharedWithUserAndTitleContaining(any(), any(), any());
+        verify(noteRepository, never()).findSummariesSharedWithUser(any(), any());
+    }
+
+    // Keyset feed tests
+
+    @Test
+    void findRecentNotesFeedFirstPageWithCategory() {
+        NoteSummaryDTO summary = new NoteSummaryDTO(5L, "Limits", NoteCategory.MATHS, NoteVisibility.PRIVATE,
+                LocalDateTime.of(2025, 2, 1, 8, 0), 1L, 0, 0);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(noteRepository.findSummaryFeedByUserIdAndCategory(1L, NoteCategory.MATHS, Limit.of(11))).thenReturn(List.of(summary));
+
+        CursorPageDTO<NoteSummaryDTO> result = noteService.findRecentNotesFeed("testuser", "", 10, "maths");
+
+        assertEquals(List.of(summary), result.getContent());
+        assertTrue(result.isLast());
+        verify(noteRepository, never()).findSummaryFeedByUserId(any(), any());
+    }
+
+    @Test
+    void findRecentNotesFeedContinuesAfterCursor() {
+        LocalDateTime lastModified = LocalDateTime.of(2025, 2, 1, 8, 0);
+        String cursor = new KeysetCursor(lastModified, 5L).encode();
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(noteRepository.findSummaryFeedByUserIdAfter(1L, lastModified, 5L, Limit.of(3))).thenReturn(List.of());
+
+        CursorPageDTO<NoteSummaryDTO> result = noteService.findRecentNotesFeed("testuser", cursor, 2, null);
+
+        assertTrue(result.getContent().isEmpty());
+        assertTrue(result.isLast());
+    }
+
+    @Test
+    void findSharedNotesFeedRejectsBadCursor() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+
+        assertThrows(IllegalArgumentException.class, () -> noteService.findSharedNotesFeed("testuser", "%%%", 10));
+        verify(noteRepository, never()).findSummaryFeedSharedWithUser(any(), any());
     }
 
     @Test
@@ -705,8 +771,8 @@ public class NoteServiceUnitTest {
         QuizScore first = new QuizScore(testNote, testUser, 2, 5);
         QuizScore second = new QuizScore(testNote, testUser, 3, 5);
 
+        when(noteAccessPolicy.accessFor(1L, "testuser")).thenReturn(NoteAccess.PUBLIC);
         when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
-        when(noteMapper.toDto(testNote)).thenReturn(testNoteDTO);
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
         when(quizScoreRepository.findByNoteIdAndUserIdOrderByCreatedAtAsc(1L, 1L)).thenReturn(List.of(first, second));
 
@@ -743,8 +809,7 @@ public class NoteServiceUnitTest {
         input.setQuizScore(1);
         input.setQuizMaxScore(2);
 
-        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
-        when(userRepository.findByUsername("otheruser")).thenReturn(Optional.of(otherUser));
+        when(noteAccessPolicy.accessFor(1L, "otheruser")).thenReturn(NoteAccess.NONE);
 
         assertThrows(SecurityException.class, () -> {
             noteService.saveQuizResult(1L, "otheruser", input);
@@ -796,8 +861,8 @@ public class NoteServiceUnitTest {
         input.setQuizScore(1);
         input.setQuizMaxScore(2);
 
-        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote), Optional.of(testNote));
-        when(noteMapper.toDto(testNote)).thenReturn(testNoteDTO);
+        when(noteAccessPolicy.accessFor(1L, "testuser")).thenReturn(NoteAccess.PUBLIC);
+        when(noteRepository.findById(1L)).thenReturn(Optional.of(testNote));
         when(userRepository.findByUsername("testuser")).thenReturn(Optional.empty());
 
         assertThrows(IllegalArgumentException.class, () -> {
@@ -806,4 +871,9 @@ public class NoteServiceUnitTest {
 
         verify(quizScoreRepository, never()).save(any(QuizScore.class));
     }
+
+    private static NoteSummaryDTO summary(String title) {
+        return new NoteSummaryDTO(1L, title, NoteCategory.OTHERS, NoteVisibility.PRIVATE,
+                LocalDateTime.of(2025, 2, 1, 8, 0), 1L, 0, 0);
+    }
 }
@@ -0,0 +1,150 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import es.wrapitup.wrapitup_planner.dto.NoteShareResultDTO;
+import es.wrapitup.wrapitup_planner.model.Note;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.NoteRepository;
+import es.wrapitup.wrapitup_planner.repository.NoteShareJdbcRepository;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.NoteAccess;
+import es.wrapitup.wrapitup_planner.service.NoteAccessPolicy;
+import es.wrapitup.wrapitup_planner.service.NoteSharingService;
+import jakarta.persistence.EntityManagerFactory;
+
+@Tag("unit")
+public class NoteSharingServiceUnitTest {
+
+    @Mock
+    private NoteRepository noteRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private NoteShareJdbcRepository noteShareJdbcRepository;
+
+    @Mock
+    private NoteAccessPolicy noteAccessPolicy;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    private NoteSharingService noteSharingService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        noteSharingService = new NoteSharingService(noteRepository, userRepository, noteShareJdbcRepository,
+                noteAccessPolicy, entityManagerFactory);
+
+        when(noteAccessPolicy.accessFor(1L, "owner")).thenReturn(NoteAccess.OWNER);
+        when(userRepository.findByUsernameIn(anyCollection())).thenReturn(List.of(
+                user(1L, "owner"), user(2L, "alice"), user(3L, "bob"), user(4L, "carol")));
+    }
+
+    @Test
+    void shareInsertsOnlyUsersNotAlreadySharedWith() {
+        when(noteShareJdbcRepository.findSharedUserIds(1L)).thenReturn(List.of(3L));
+
+        NoteShareResultDTO result = noteSharingService
+                .shareWithUsernames(1L, List.of("carol", "bob", " alice ", "alice", "ghost", "owner"), "owner")
+                .orElseThrow();
+
+        verify(userRepository).findByUsernameIn(argThat(names -> names.size() == 5));
+        verify(noteShareJdbcRepository).insert(1L, List.of(4L, 2L));
+        verify(cache).evictCollectionData(Note.class.getName() + ".sharedWith", 1L);
+        assertEquals(List.of("alice", "carol"), result.getChanged());
+        assertEquals(List.of("bob", "owner"), result.getUnchanged());
+        assertEquals(List.of("ghost"), result.getNotFound());
+        assertEquals(3, result.getSharedWithCount());
+    }
+
+    @Test
+    void shareWithNothingNewWritesNothing() {
+        when(noteShareJdbcRepository.findSharedUserIds(1L)).thenReturn(List.of(2L, 3L));
+
+        NoteShareResultDTO result = noteSharingService.shareWithUsernames(1L, List.of("alice", "bob"), "owner").orElseThrow();
+
+        verify(noteShareJdbcRepository, never()).insert(anyLong(), anyCollection());
+        verifyNoInteractions(cache);
+        assertTrue(result.getChanged().isEmpty());
+        assertEquals(2, result.getSharedWithCount());
+    }
+
+    @Test
+    void unshareDeletesOnlyUsersCurrentlySharedWith() {
+        when(noteShareJdbcRepository.findSharedUserIds(1L)).thenReturn(List.of(2L, 3L));
+
+        NoteShareResultDTO result = noteSharingService.unshareWithUsernames(1L, List.of("alice", "carol"), "owner").orElseThrow();
+
+        verify(noteShareJdbcRepository).delete(1L, List.of(2L));
+        assertEquals(List.of("alice"), result.getChanged());
+        assertEquals(List.of("carol"), result.getUnchanged());
+        assertEquals(1, result.getSharedWithCount());
+    }
+
+    @Test
+    void nonOwnerIsRejected() {
+        when(noteAccessPolicy.accessFor(1L, "alice")).thenReturn(NoteAccess.SHARED);
+        when(noteRepository.existsById(1L)).thenReturn(true);
+
+        assertThrows(SecurityException.class, () -> noteSharingService.shareWithUsernames(1L, List.of("bob"), "alice"));
+        verifyNoInteractions(noteShareJdbcRepository);
+    }
+
+    @Test
+    void missingNoteReturnsEmpty() {
+        when(noteAccessPolicy.accessFor(9L, "owner")).thenReturn(NoteAccess.NONE);
+        when(noteRepository.existsById(9L)).thenReturn(false);
+
+        Optional<NoteShareResultDTO> result = noteSharingService.shareWithUsernames(9L, List.of("bob"), "owner");
+
+        assertTrue(result.isEmpty());
+        verifyNoInteractions(noteShareJdbcRepository);
+    }
+
+    @Test
+    void emptyOrOversizedRequestsAreRejected() {
+        Collection<String> tooMany = new ArrayList<>();
+        for (int i = 0; i <= 500; i++) {
+            tooMany.add("user" + i);
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> noteSharingService.shareWithUsernames(1L, null, "owner"));
+        assertThrows(IllegalArgumentException.class, () -> noteSharingService.shareWithUsernames(1L, List.of(" "), "owner"));
+        assertThrows(IllegalArgumentException.class, () -> noteSharingService.shareWithUsernames(1L, tooMany, "owner"));
+        verifyNoInteractions(noteShareJdbcRepository);
+    }
+
+    private UserModel user(Long id, String username) {
+        UserModel user = new UserModel();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
@@ -0,0 +1,135 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.wrapitup.wrapitup_planner.service.OpenAiRequestGate;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+public class OpenAiRequestGateUnitTest {
+
+    @Test
+    void requestsBeyondMaxInFlightWaitInQueue() throws Exception {
+        OpenAiRequestGate gate = new OpenAiRequestGate(1, 5);
+        CompletableFuture<String> firstCall = new CompletableFuture<>();
+        AtomicInteger secondStarted = new AtomicInteger();
+
+        CompletableFuture<String> first = gate.submit(() -> firstCall);
+        CompletableFuture<String> second = gate.submit(() -> {
+            secondStarted.incrementAndGet();
+            return CompletableFuture.completedFuture("second");
+        });
+
+        assertEquals(0, secondStarted.get());
+        assertEquals(1, gate.getStats().inFlight());
+        assertEquals(1, gate.getStats().queued());
+
+        firstCall.complete("first");
+
+        assertEquals("first", first.get());
+        assertEquals("second", second.get());
+        assertEquals(1, secondStarted.get());
+        assertEquals(0, gate.getStats().inFlight());
+        assertEquals(2, gate.getStats().started());
+        assertEquals(1, gate.getStats().totalQueued());
+    }
+
+    @Test
+    void requestsBeyondQueueCapacityAreRejected() {
+        OpenAiRequestGate gate = new OpenAiRequestGate(1, 0);
+        gate.submit(CompletableFuture::new);
+
+        CompletableFuture<String> rejected = gate.submit(() -> CompletableFuture.completedFuture("x"));
+
+        ExecutionException error = assertThrows(ExecutionException.class, rejected::get);
+        assertTrue(error.getCause() instanceof IllegalStateException);
+        assertEquals(1, gate.getStats().rejected());
+    }
+
+    @Test
+    void failedRequestReleasesPermit() throws Exception {
+        OpenAiRequestGate gate = new OpenAiRequestGate(1, 0);
+
+        CompletableFuture<String> failed = gate.submit(() -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<String> next = gate.submit(() -> CompletableFuture.completedFuture("ok"));
+
+        assertTrue(failed.isCompletedExceptionally());
+        assertFalse(next.isCompletedExceptionally());
+        assertEquals("ok", next.get());
+        assertEquals(0, gate.getStats().inFlight());
+    }
+
+    @Test
+    void invalidMaxInFlightThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> new OpenAiRequestGate(0, 1));
+    }
+
+    @Test
+    void cancelledWaiterLeavesQueueWithoutTakingAPermit() throws Exception {
+        OpenAiRequestGate gate = new OpenAiRequestGate(1, 5);
+        CompletableFuture<String> firstCall = new CompletableFuture<>();
+        AtomicInteger cancelledStarted = new AtomicInteger();
+
+        gate.submit(() -> firstCall);
+        CompletableFuture<String> cancelled = gate.submit(() -> {
+            cancelledStarted.incrementAndGet();
+            return CompletableFuture.completedFuture("unused");
+        });
+        CompletableFuture<String> next = gate.submit(() -> CompletableFuture.completedFuture("next"));
+
+        cancelled.cancel(false);
+        assertEquals(1, gate.getStats().queued());
+
+        firstCall.complete("first");
+
+        assertEquals("next", next.get());
+        assertEquals(0, cancelledStarted.get());
+        assertEquals(1, gate.getStats().abandoned());
+        assertEquals(0, gate.getStats().inFlight());
+    }
+
+    @Test
+    void waitersGiveUpAfterMaxQueueWait() throws Exception {
+        OpenAiRequestGate gate = new OpenAiRequestGate(1, 5, Duration.ofMillis(50));
+        CompletableFuture<String> firstCall = new CompletableFuture<>();
+        AtomicInteger secondStarted = new AtomicInteger();
+
+        gate.submit(() -> firstCall);
+        CompletableFuture<String> second = gate.submit(() -> {
+            secondStarted.incrementAndGet();
+            return CompletableFuture.completedFuture("second");
+        });
+
+        ExecutionException error = assertThrows(ExecutionException.class, second::get);
+        assertTrue(error.getCause() instanceof IllegalStateException);
+        assertEquals(0, gate.getStats().queued());
+        assertEquals(1, gate.getStats().abandoned());
+
+        firstCall.complete("first");
+
+        assertEquals(0, secondStarted.get());
+        assertEquals(0, gate.getStats().inFlight());
+    }
+
+    @Test
+    void maxQueueWaitDoesNotApplyOnceStarted() throws Exception {
+        OpenAiRequestGate gate = new OpenAiRequestGate(1, 5, Duration.ofMillis(50));
+        CompletableFuture<String> call = new CompletableFuture<>();
+
+        CompletableFuture<String> result = gate.submit(() -> call);
+        Thread.sleep(150);
+        call.complete("slow");
+
+        assertEquals("slow", result.get());
+    }
+}
@@ -3,13 +3,29 @@ package es.wrapitup.wrapitup_planner.unit;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpServer;
 import es.wrapitup.wrapitup_planner.dto.AiNoteResult;
+import es.wrapitup.wrapitup_planner.repository.AiResultCacheRepository;
+import es.wrapitup.wrapitup_planner.service.AiResultCacheService;
 import es.wrapitup.wrapitup_planner.service.OpenAiService;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
@@ -173,4 +189,180 @@ public class OpenAiServiceUnitTest {
         assertTrue(body.contains(prompt));
         assertTrue(body.contains("\"response_format\""));
     }
+
+    @Test
+    void generateNoteFromTextAsyncWithoutApiKeyReturnsFailedFuture() throws Exception {
+        OpenAiService service = new OpenAiService(objectMapper);
+        setField(service, "apiKey", "");
+
+        CompletableFuture<AiNoteResult> future = service.generateNoteFromTextAsync("Some text");
+
+        ExecutionException error = assertThrows(ExecutionException.class, future::get);
+        assertTrue(error.getCause() instanceof IllegalStateException);
+    }
+
+    @Test
+    void generateQuizFromTextAsyncParsesUpstreamResponse() throws Exception {
+        String quiz = "{\"questions\":[" + String.join(",", Collections.nCopies(5,
+                "{\"question\":\"Q\",\"options\":[\"A\",\"B\",\"C\",\"D\"],\"correctOptionIndex\":1}")) + "]}";
+        String body = objectMapper.createObjectNode()
+                .set("choices", objectMapper.createArrayNode().add(objectMapper.createObjectNode()
+                        .set("message", objectMapper.createObjectNode().put("content", quiz))))
+                .toString();
+
+        HttpServer server = startServer(200, body);
+        try {
+            OpenAiService service = new OpenAiService(objectMapper);
+            setField(service, "apiKey", "token");
+            setField(service, "maxInputChars", 100);
+            setField(service, "apiBase", "http://localhost:" + server.getAddress().getPort());
+
+            String result = service.generateQuizFromTextAsync("Some text").get();
+
+            assertTrue(result.contains("\"questions\""));
+            assertEquals(0, service.getRequestStats().inFlight());
+            assertEquals(1, service.getRequestStats().started());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void generateNoteFromTextWithUpstreamErrorThrowsIllegalState() throws Exception {
+        HttpServer server = startServer(500, "{}");
+        try {
+            OpenAiService service = new OpenAiService(objectMapper);
+            setField(service, "apiKey", "token");
+            setField(service, "maxInputChars", 100);
+            setField(service, "apiBase", "http://localhost:" + server.getAddress().getPort());
+
+            IllegalStateException error = assertThrows(IllegalStateException.class, () -> service.generateNoteFromText("Some text"));
+            assertEquals("OpenAI request failed with status 500", error.getMessage());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static HttpServer startServer(int status, String body) throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/chat/completions", exchange -> {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+        return server;
+    }
+
+    @Test
+    void generateNoteFromTextServesCachedResultWithoutCallingUpstream() throws Exception {
+        AiResultCacheRepository repository = mock(AiResultCacheRepository.class);
+        when(repository.findByCacheKey(any())).thenReturn(Optional.empty());
+        AiResultCacheService cache = new AiResultCacheService(repository, true, 10, Runnable::run);
+
+        OpenAiService service = new OpenAiService(objectMapper, cache, 1, 1, 0, 60);
+        setField(service, "apiKey", "token");
+        setField(service, "maxInputChars", 100);
+        setField(service, "maxOverviewChars", 600);
+        setField(service, "maxSummaryChars", 5000);
+        setField(service, "apiBase", "http://localhost:1");
+
+        String cacheKey = AiResultCacheService.cacheKey("note|1|gpt-4o|600|5000", "Some text");
+        cache.put(cacheKey, "{\"title\":\"Cached\",\"overview\":\"o\",\"completeSummary\":\"s\",\"jsonQuestions\":\"\"}");
+
+        AiNoteResult result = service.generateNoteFromText("  Some   text ");
+
+        assertEquals("Cached", result.getTitle());
+        assertEquals(0, service.getRequestStats().started());
+    }
+
+    @Test
+    void streamNoteFromTextForwardsDeltasAndParsesAssembledContent() throws Exception {
+        String content = "{\"title\":\"Streamed\",\"overview\":\"o\",\"completeSummary\":\"s\"}";
+        String half = content.substring(0, 10);
+        StringBuilder body = new StringBuilder();
+        for (String part : new String[] { half, content.substring(10) }) {
+            ObjectNode chunk = objectMapper.createObjectNode();
+            chunk.putArray("choices").addObject().putObject("delta").put("content", part);
+            body.append("data: ").append(objectMapper.writeValueAsString(chunk)).append("\n\n");
+        }
+        body.append("data: [DONE]\n\n");
+
+        HttpServer server = startServer(200, body.toString());
+        try {
+            OpenAiService service = new OpenAiService(objectMapper);
+            setField(service, "apiKey", "token");
+            setField(service, "maxInputChars", 100);
+            setField(service, "maxOverviewChars", 600);
+            setField(service, "maxSummaryChars", 5000);
+            setField(service, "apiBase", "http://localhost:" + server.getAddress().getPort());
+
+            List<String> deltas = new ArrayList<>();
+            AiNoteResult result = service.streamNoteFromText("Some text", deltas::add);
+
+            assertEquals(List.of(half, content.substring(10)), deltas);
+            assertEquals("Streamed", result.getTitle());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void generateNoteFromTextSummarizesLongDocumentInChunks() throws Exception {
+        AtomicInteger chunkCalls = new AtomicInteger();
+        AtomicInteger reduceCalls = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/chat/completions", exchange -> {
+            String request = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            String content;
+            if (request.contains("of a longer document")) {
+                chunkCalls.incrementAndGet();
+                content = "{\"summary\":\"part\"}";
+            } else {
+                reduceCalls.incrementAndGet();
+                content = "{\"title\":\"Reduced\",\"overview\":\"o\",\"completeSummary\":\"s\"}";
+            }
+            ObjectNode response = objectMapper.createObjectNode();
+            response.putArray("choices").addObject().putObject("message").put("content", content);
+            byte[] bytes = objectMapper.writeValueAsBytes(response);
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+        try {
+            OpenAiService service = new OpenAiService(objectMapper);
+            setField(service, "apiKey", "token");
+            setField(service, "maxInputChars", 1000);
+            setField(service, "maxDocumentChars", 10000);
+            setField(service, "chunkChars", 500);
+            setField(service, "chunkParallelism", 2);
+            setField(service, "maxOverviewChars", 600);
+            setField(service, "maxSummaryChars", 5000);
+            setField(service, "apiBase", "http://localhost:" + server.getAddress().getPort());
+
+            String paragraph = "Word ".repeat(80).trim();
+            String document = String.join("\n\n", Collections.nCopies(10, paragraph));
+
+            AiNoteResult result = service.generateNoteFromText(document);
+
+            assertEquals("Reduced", result.getTitle());
+            assertEquals(10, chunkCalls.get());
+            assertEquals(1, reduceCalls.get());
+            assertEquals(0, service.getRequestStats().inFlight());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void generateNoteFromTextAboveDocumentLimitThrowsException() throws Exception {
+        OpenAiService service = new OpenAiService(objectMapper);
+        setField(service, "apiKey", "token");
+        setField(service, "maxInputChars", 3);
+        setField(service, "maxDocumentChars", 5);
+
+        assertThrows(IllegalArgumentException.class, () -> service.generateNoteFromText("abcdef"));
+    }
 }
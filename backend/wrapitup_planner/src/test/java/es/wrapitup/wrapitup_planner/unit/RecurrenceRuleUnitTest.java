@@ -0,0 +1,130 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import es.wrapitup.wrapitup_planner.model.RecurrenceRule;
+
+@Tag("unit")
+public class RecurrenceRuleUnitTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 31, 9, 0);
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Test
+    void parsesIntoCanonicalForm() {
+        assertEquals("FREQ=WEEKLY;INTERVAL=2;BYDAY=MO,FR;COUNT=8",
+                RecurrenceRule.parse("RRULE:freq=weekly;byday=FR,MO;interval=2;count=8").toString());
+        assertEquals("FREQ=DAILY;UNTIL=20260301T235959", RecurrenceRule.parse("FREQ=DAILY;UNTIL=20260301").toString());
+        assertEquals("FREQ=MONTHLY;UNTIL=20260301T120000", RecurrenceRule.parse("FREQ=MONTHLY;UNTIL=20260301T120000Z").toString());
+    }
+
+    @Test
+    void rejectsUnsupportedRules() {
+        for (String rule : List.of("", "INTERVAL=2", "FREQ=HOURLY", "FREQ=DAILY;COUNT=0", "FREQ=DAILY;COUNT=3;UNTIL=20260101",
+                "FREQ=MONTHLY;BYDAY=MO", "FREQ=WEEKLY;BYDAY=XX", "FREQ=DAILY;BYMONTH=2", "FREQ=DAILY;INTERVAL=x",
+                "FREQ=DAILY;UNTIL=2026")) {
+            assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.parse(rule), rule);
+        }
+    }
+
+    @Test
+    void monthlyRulesClampToShortMonths() {
+        List<LocalDateTime> occurrences = RecurrenceRule.parse("FREQ=MONTHLY;COUNT=3")
+                .occurrencesBetween(START, HOUR, START, START.plusYears(1));
+
+        assertEquals(List.of(START, LocalDateTime.of(2026, 2, 28, 9, 0), LocalDateTime.of(2026, 3, 31, 9, 0)), occurrences);
+    }
+
+    @Test
+    void weeklyByDaySkipsDaysBeforeTheFirstOccurrence() {
+        // 2026-01-31 is a Saturday
+        List<LocalDateTime> occurrences = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,SA;COUNT=3")
+                .occurrencesBetween(START, HOUR, START.minusDays(10), START.plusDays(30));
+
+        assertEquals(List.of(START, LocalDateTime.of(2026, 2, 2, 9, 0), LocalDateTime.of(2026, 2, 7, 9, 0)), occurrences);
+        assertEquals(LocalDateTime.of(2026, 2, 7, 10, 0),
+                RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,SA;COUNT=3").seriesEnd(START, HOUR));
+    }
+
+    @Test
+    void includesOccurrencesStartedBeforeTheWindow() {
+        List<LocalDateTime> occurrences = RecurrenceRule.parse("FREQ=DAILY")
+                .occurrencesBetween(START, Duration.ofHours(30), LocalDateTime.of(2026, 2, 10, 0, 0), LocalDateTime.of(2026, 2, 10, 23, 0));
+
+        assertEquals(List.of(LocalDateTime.of(2026, 2, 9, 9, 0), LocalDateTime.of(2026, 2, 10, 9, 0)), occurrences);
+    }
+
+    @Test
+    void openEndedSeriesReachTheOpenEnd() {
+        assertEquals(RecurrenceRule.OPEN_END, RecurrenceRule.parse("FREQ=YEARLY").seriesEnd(START, HOUR));
+        assertEquals(RecurrenceRule.OPEN_END, RecurrenceRule.parse("FREQ=YEARLY;INTERVAL=1000;COUNT=10000").seriesEnd(START, HOUR));
+        assertEquals(LocalDateTime.of(2026, 3, 1, 23, 59, 59).plus(HOUR),
+                RecurrenceRule.parse("FREQ=DAILY;UNTIL=20260301").seriesEnd(START, HOUR));
+    }
+
+    @Test
+    void distantWindowsOnlyWalkTheirOwnOccurrences() {
+        List<LocalDateTime> occurrences = RecurrenceRule.parse("FREQ=DAILY")
+                .occurrencesBetween(START, HOUR, LocalDateTime.of(9000, 6, 1, 0, 0), LocalDateTime.of(9000, 6, 3, 23, 0));
+
+        assertEquals(3, occurrences.size());
+        assertEquals(LocalDateTime.of(9000, 6, 1, 9, 0), occurrences.get(0));
+    }
+
+    @Test
+    void isOccurrenceFollowsTheRule() {
+        // Every other week counted from the week of the first occurrence, whose Tuesday came before it
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;INTERVAL=2;BYDAY=TU;COUNT=2");
+
+        assertFalse(rule.isOccurrence(START, LocalDateTime.of(2026, 2, 3, 9, 0)));
+        assertTrue(rule.isOccurrence(START, LocalDateTime.of(2026, 2, 10, 9, 0)));
+        assertFalse(rule.isOccurrence(START, LocalDateTime.of(2026, 2, 17, 9, 0)));
+        assertTrue(rule.isOccurrence(START, LocalDateTime.of(2026, 2, 24, 9, 0)));
+        assertFalse(rule.isOccurrence(START, LocalDateTime.of(2026, 3, 10, 9, 0)));
+        assertFalse(rule.isOccurrence(START, LocalDateTime.of(2026, 2, 10, 9, 30)));
+    }
+
+    @Test
+    void matchesExpandingFromTheFirstOccurrence() {
+        Random random = new Random(7);
+        String[] frequencies = { "DAILY", "WEEKLY", "MONTHLY", "YEARLY" };
+        String[] days = { "MO", "TU", "WE", "TH", "FR", "SA", "SU" };
+        for (int i = 0; i < 500; i++) {
+            String frequency = frequencies[random.nextInt(frequencies.length)];
+            StringBuilder text = new StringBuilder("FREQ=").append(frequency).append(";INTERVAL=").append(1 + random.nextInt(3));
+            if (frequency.equals("WEEKLY") && random.nextBoolean()) {
+                text.append(";BYDAY=").append(days[random.nextInt(7)]).append(',').append(days[random.nextInt(7)]);
+            }
+            if (random.nextBoolean()) {
+                text.append(";COUNT=").append(1 + random.nextInt(60));
+            }
+            RecurrenceRule rule = RecurrenceRule.parse(text.toString());
+            LocalDateTime seriesStart = START.plusDays(random.nextInt(60)).plusHours(random.nextInt(24));
+            Duration length = Duration.ofHours(random.nextInt(80));
+            LocalDateTime windowStart = START.plusDays(random.nextInt(900));
+            LocalDateTime windowEnd = windowStart.plusDays(random.nextInt(45));
+
+            List<LocalDateTime> expected = new ArrayList<>();
+            for (LocalDateTime occurrence : rule.occurrencesBetween(seriesStart, length, seriesStart, windowEnd)) {
+                if (!occurrence.plus(length).isBefore(windowStart)) {
+                    expected.add(occurrence);
+                }
+            }
+
+            assertEquals(expected, rule.occurrencesBetween(seriesStart, length, windowStart, windowEnd), text.toString());
+            if (!expected.isEmpty()) {
+                assertFalse(rule.seriesEnd(seriesStart, length).isBefore(expected.get(expected.size() - 1).plus(length)),
+                        text.toString());
+            }
+        }
+    }
+}
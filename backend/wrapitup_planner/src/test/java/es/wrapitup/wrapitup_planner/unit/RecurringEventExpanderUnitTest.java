@@ -0,0 +1,117 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import es.wrapitup.wrapitup_planner.dto.CalendarEventDTO;
+import es.wrapitup.wrapitup_planner.dto.CalendarEventMapper;
+import es.wrapitup.wrapitup_planner.model.CalendarEvent;
+import es.wrapitup.wrapitup_planner.model.CalendarEventException;
+import es.wrapitup.wrapitup_planner.model.EventColor;
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.repository.CalendarEventExceptionRepository;
+import es.wrapitup.wrapitup_planner.service.RecurringEventExpander;
+
+@Tag("unit")
+public class RecurringEventExpanderUnitTest {
+
+    private static final LocalDateTime WINDOW_START = LocalDateTime.of(2026, 3, 1, 0, 0);
+    private static final LocalDateTime WINDOW_END = LocalDateTime.of(2026, 3, 7, 23, 59);
+
+    private CalendarEventExceptionRepository exceptionRepository;
+    private RecurringEventExpander expander;
+    private CalendarEvent standup;
+
+    @BeforeEach
+    void setUp() {
+        exceptionRepository = mock(CalendarEventExceptionRepository.class);
+        CalendarEventMapper eventMapper = mock(CalendarEventMapper.class);
+        when(eventMapper.toDto(any(CalendarEvent.class))).thenAnswer(invocation -> {
+            CalendarEvent event = invocation.getArgument(0);
+            CalendarEventDTO dto = new CalendarEventDTO();
+            dto.setId(event.getId());
+            dto.setTitle(event.getTitle());
+            dto.setStartDate(event.getStartDate());
+            dto.setEndDate(event.getEndDate());
+            dto.setColor(event.getColor());
+            dto.setRecurrenceRule(event.getRecurrenceRule());
+            return dto;
+        });
+        expander = new RecurringEventExpander(exceptionRepository, eventMapper);
+
+        UserModel user = new UserModel();
+        user.setId(1L);
+        standup = new CalendarEvent(user, "Standup", null, LocalDateTime.of(2026, 1, 5, 9, 0),
+                LocalDateTime.of(2026, 1, 5, 9, 15), EventColor.GREEN, false);
+        standup.setId(7L);
+        standup.setRecurrenceRule("FREQ=DAILY");
+    }
+
+    @Test
+    void expandsOnlyTheOccurrencesOfTheWindow() {
+        List<CalendarEventDTO> occurrences = expander.expand(List.of(standup), WINDOW_START, WINDOW_END);
+
+        assertEquals(7, occurrences.size());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 9, 0), occurrences.get(0).getStartDate());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 9, 15), occurrences.get(0).getEndDate());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 9, 0), occurrences.get(0).getOccurrenceStart());
+        assertEquals(7L, occurrences.get(6).getId());
+        assertEquals("FREQ=DAILY", occurrences.get(6).getRecurrenceRule());
+        verify(exceptionRepository).findForEventsInRange(List.of(7L), WINDOW_START.minusMinutes(15), WINDOW_START, WINDOW_END);
+    }
+
+    @Test
+    void appliesCancelledEditedAndMovedOccurrences() {
+        CalendarEventException cancelled = new CalendarEventException(standup, LocalDateTime.of(2026, 3, 2, 9, 0));
+        cancelled.setCancelled(true);
+        CalendarEventException edited = new CalendarEventException(standup, LocalDateTime.of(2026, 3, 3, 9, 0));
+        edited.setTitle("Planning");
+        edited.setColor(EventColor.RED);
+        CalendarEventException movedOut = new CalendarEventException(standup, LocalDateTime.of(2026, 3, 4, 9, 0));
+        movedOut.setStartDate(LocalDateTime.of(2026, 3, 20, 9, 0));
+        movedOut.setEndDate(LocalDateTime.of(2026, 3, 20, 9, 15));
+        CalendarEventException movedIn = new CalendarEventException(standup, LocalDateTime.of(2026, 2, 20, 9, 0));
+        movedIn.setStartDate(LocalDateTime.of(2026, 3, 5, 8, 0));
+        movedIn.setEndDate(LocalDateTime.of(2026, 3, 5, 8, 30));
+        when(exceptionRepository.findForEventsInRange(anyCollection(), any(), any(), any()))
+                .thenReturn(List.of(cancelled, edited, movedOut, movedIn));
+
+        List<CalendarEventDTO> occurrences = expander.expand(List.of(standup), WINDOW_START, WINDOW_END);
+
+        assertEquals(List.of(
+                LocalDateTime.of(2026, 3, 1, 9, 0),
+                LocalDateTime.of(2026, 3, 3, 9, 0),
+                LocalDateTime.of(2026, 3, 5, 8, 0),
+                LocalDateTime.of(2026, 3, 5, 9, 0),
+                LocalDateTime.of(2026, 3, 6, 9, 0),
+                LocalDateTime.of(2026, 3, 7, 9, 0)),
+                occurrences.stream().map(CalendarEventDTO::getStartDate).toList());
+        assertEquals("Planning", occurrences.get(1).getTitle());
+        assertEquals(EventColor.RED.getHexCode(), occurrences.get(1).getColorHex());
+        assertEquals(LocalDateTime.of(2026, 2, 20, 9, 0), occurrences.get(2).getOccurrenceStart());
+    }
+
+    @Test
+    void cancelledOccurrenceHasNoDto() {
+        CalendarEventException cancelled = new CalendarEventException(standup, LocalDateTime.of(2026, 3, 2, 9, 0));
+        cancelled.setCancelled(true);
+
+        assertNull(expander.toOccurrence(standup, cancelled.getOccurrenceStart(), cancelled));
+        assertEquals("Standup", expander.toOccurrence(standup, cancelled.getOccurrenceStart(), null).getTitle());
+    }
+
+    @Test
+    void emptySeriesSkipsTheExceptionQuery() {
+        assertTrue(expander.expand(List.of(), WINDOW_START, WINDOW_END).isEmpty());
+        verifyNoInteractions(exceptionRepository);
+    }
+}
@@ -0,0 +1,115 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.RepositoryUserDetailsService;
+import es.wrapitup.wrapitup_planner.security.ResolvedUserDetails;
+import es.wrapitup.wrapitup_planner.service.UserAccessChangedEvent;
+import es.wrapitup.wrapitup_planner.service.UserUpdatedEvent;
+
+@Tag("unit")
+public class RepositoryUserDetailsServiceUnitTest {
+
+    private UserRepository userRepository;
+    private RepositoryUserDetailsService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        UserModel user = new UserModel("alice", "alice@example.com", "hash", UserStatus.ACTIVE, "USER");
+        user.setId(7L);
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        service = new RepositoryUserDetailsService(userRepository, 100, 60);
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        service.loadUserByUsername("alice");
+        UserDetails cached = service.loadUserByUsername("alice");
+
+        assertEquals("alice", cached.getUsername());
+        assertEquals("hash", cached.getPassword());
+        verify(userRepository, times(1)).findByUsername("alice");
+    }
+
+    @Test
+    void cacheHitsResolveTheUserWithoutQuerying() {
+        service.loadUserByUsername("alice");
+        ResolvedUserDetails cached = (ResolvedUserDetails) service.loadUserByUsername("alice");
+
+        assertEquals(7L, cached.getUser().getId());
+        assertEquals("alice", cached.getUser().getUsername());
+        assertEquals(UserStatus.ACTIVE, cached.getUser().getStatus());
+        verify(userRepository, times(1)).findByUsername("alice");
+    }
+
+    @Test
+    void modifyingAResolvedUserDoesNotAffectCachedEntry() {
+        service.loadUserByUsername("alice");
+        ((ResolvedUserDetails) service.loadUserByUsername("alice")).getUser().setStatus(UserStatus.BANNED);
+
+        assertEquals(UserStatus.ACTIVE, ((ResolvedUserDetails) service.loadUserByUsername("alice")).getUser().getStatus());
+    }
+
+    @Test
+    void erasingCredentialsDoesNotAffectCachedEntry() {
+        service.loadUserByUsername("alice");
+        ((User) service.loadUserByUsername("alice")).eraseCredentials();
+
+        assertEquals("hash", service.loadUserByUsername("alice").getPassword());
+    }
+
+    @Test
+    void accessChangeEvictsCachedUser() {
+        service.loadUserByUsername("alice");
+
+        UserModel banned = new UserModel("alice", "alice@example.com", "hash", UserStatus.BANNED, "USER");
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(banned));
+        service.onUserAccessChanged(new UserAccessChangedEvent("alice"));
+        ResolvedUserDetails reloaded = (ResolvedUserDetails) service.loadUserByUsername("alice");
+
+        assertEquals(UserStatus.BANNED, reloaded.getUser().getStatus());
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+
+    @Test
+    void profileUpdateEvictsCachedUser() {
+        service.loadUserByUsername("alice");
+
+        service.onUserUpdated(new UserUpdatedEvent("alice"));
+
+        assertEquals(0, service.cachedUsers());
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    void disabledCacheAlwaysQueriesRepository() {
+        RepositoryUserDetailsService uncached = new RepositoryUserDetailsService(userRepository);
+
+        uncached.loadUserByUsername("alice");
+        uncached.loadUserByUsername("alice");
+
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+}
@@ -0,0 +1,90 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import es.wrapitup.wrapitup_planner.model.UserModel;
+import es.wrapitup.wrapitup_planner.model.UserStatus;
+import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.security.RepositoryUserDetailsService;
+import es.wrapitup.wrapitup_planner.security.ResolvedUserDetails;
+import es.wrapitup.wrapitup_planner.security.ResolvedUsers;
+
+@Tag("unit")
+public class ResolvedUsersUnitTest {
+
+    private UserRepository userRepository;
+    private UserModel user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        user = new UserModel("alice", "alice@example.com", "secret", UserStatus.ACTIVE, "USER");
+        user.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findByUsernameReusesAuthenticatedUser() {
+        authenticate(user);
+
+        Optional<UserModel> result = ResolvedUsers.findByUsername("alice", userRepository);
+
+        assertSame(user, result.get());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void findByUsernameForAnotherUserQueriesRepository() {
+        authenticate(user);
+        UserModel bob = new UserModel("bob", "bob@example.com", "secret", UserStatus.ACTIVE, "USER");
+        when(userRepository.findByUsername("bob")).thenReturn(Optional.of(bob));
+
+        Optional<UserModel> result = ResolvedUsers.findByUsername("bob", userRepository);
+
+        assertSame(bob, result.get());
+    }
+
+    @Test
+    void findByUsernameWithoutAuthenticationQueriesRepository() {
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+
+        Optional<UserModel> result = ResolvedUsers.findByUsername("alice", userRepository);
+
+        assertTrue(result.isPresent());
+        verify(userRepository).findByUsername("alice");
+    }
+
+    @Test
+    void loadUserByUsernameReturnsResolvedPrincipal() {
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user));
+        RepositoryUserDetailsService service = new RepositoryUserDetailsService(userRepository);
+
+        ResolvedUserDetails details = (ResolvedUserDetails) service.loadUserByUsername("alice");
+
+        assertSame(user, details.getUser());
+        assertEquals("alice", details.getUsername());
+        assertTrue(details.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private void authenticate(UserModel user) {
+        ResolvedUserDetails details = new ResolvedUserDetails(user, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities()));
+    }
+}
@@ -0,0 +1,71 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import es.wrapitup.wrapitup_planner.service.TextChunker;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+@Tag("unit")
+public class TextChunkerUnitTest {
+
+    @Test
+    void shortTextIsSingleChunk() {
+        assertEquals(List.of("Hello world"), TextChunker.split("  Hello world \n", 100));
+    }
+
+    @Test
+    void blankTextHasNoChunks() {
+        assertTrue(TextChunker.split(" \n ", 100).isEmpty());
+        assertTrue(TextChunker.split(null, 100).isEmpty());
+    }
+
+    @Test
+    void splitsOnParagraphBoundariesAndPacksGreedily() {
+        String text = "aaaa\n\nbbbb\n\ncccc";
+
+        List<String> chunks = TextChunker.split(text, 10);
+
+        assertEquals(List.of("aaaa\n\nbbbb", "cccc"), chunks);
+    }
+
+    @Test
+    void longParagraphFallsBackToSentences() {
+        String text = "One two. Three four. Five six.";
+
+        List<String> chunks = TextChunker.split(text, 12);
+
+        assertEquals(List.of("One two.", "Three four.", "Five six."), chunks);
+    }
+
+    @Test
+    void unbreakableTextIsCutAtLimit() {
+        List<String> chunks = TextChunker.split("abcdefghij", 4);
+
+        assertEquals(List.of("abcd", "efgh", "ij"), chunks);
+    }
+
+    @Test
+    void chunksNeverExceedLimit() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("Sentence number ").append(i).append(" talks about a topic. ");
+            if (i % 7 == 0) {
+                text.append("\n\n");
+            }
+        }
+
+        List<String> chunks = TextChunker.split(text.toString(), 150);
+
+        assertTrue(chunks.size() > 1);
+        chunks.forEach(chunk -> assertTrue(chunk.length() <= 150));
+    }
+
+    @Test
+    void nonPositiveLimitThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> TextChunker.split("text", 0));
+    }
+}
@@ -0,0 +1,87 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import es.wrapitup.wrapitup_planner.security.jwt.JwtTokenProvider;
+import es.wrapitup.wrapitup_planner.security.jwt.TokenRevocationService;
+import es.wrapitup.wrapitup_planner.security.jwt.TokenType;
+import es.wrapitup.wrapitup_planner.service.UserAccessChangedEvent;
+
+@Tag("unit")
+public class TokenRevocationServiceUnitTest {
+
+    private static final Instant NOW = Instant.parse("2025-03-01T10:00:00.400Z");
+
+    @Test
+    void tokensIssuedBeforeRevocationAreRejected() {
+        TokenRevocationService service = new TokenRevocationService(Clock.fixed(NOW, ZoneOffset.UTC));
+
+        service.onUserAccessChanged(new UserAccessChangedEvent("alice"));
+
+        assertTrue(service.isRevoked("alice", Date.from(NOW.minusSeconds(60))));
+        assertTrue(service.isRevoked("alice", Date.from(Instant.parse("2025-03-01T10:00:00Z"))));
+        assertFalse(service.isRevoked("alice", Date.from(NOW.plusSeconds(1))));
+        assertFalse(service.isRevoked("bob", Date.from(NOW.minusSeconds(60))));
+    }
+
+    @Test
+    void revocationExpiresWithAccessTokenLifetime() {
+        MutableClock clock = new MutableClock(NOW);
+        TokenRevocationService service = new TokenRevocationService(clock);
+        service.revoke("alice");
+
+        clock.now = NOW.plus(TokenType.ACCESS.duration).plus(Duration.ofMinutes(1));
+
+        assertFalse(service.isRevoked("alice", Date.from(NOW.minusSeconds(60))));
+        assertEquals(0, service.size());
+    }
+
+    @Test
+    void authoritiesAreReadBackFromTokenClaims() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        User user = new User("alice", "secret", List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+
+        var claims = provider.validateToken(provider.generateAccessToken(user));
+
+        assertEquals("alice", claims.getSubject());
+        assertEquals(Set.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")),
+                Set.copyOf(provider.authoritiesFromClaims(claims)));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
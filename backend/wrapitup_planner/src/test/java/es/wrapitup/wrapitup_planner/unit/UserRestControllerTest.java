@@ -0,0 +1,120 @@
+package es.wrapitup.wrapitup_planner.unit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import es.wrapitup.wrapitup_planner.controller.UserRestController;
+import es.wrapitup.wrapitup_planner.dto.StoredImageDTO;
+import es.wrapitup.wrapitup_planner.service.ImageStore;
+import es.wrapitup.wrapitup_planner.service.UserService;
+
+@Tag("unit")
+public class UserRestControllerTest {
+
+    private static final String HASH = "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad";
+
+    private UserRestController controller;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ImageStore imageStore;
+
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        controller = new UserRestController(userService, imageStore);
+        request = new MockHttpServletRequest("GET", "/api/v1/users/profile-image/1");
+        response = new MockHttpServletResponse();
+        when(imageStore.findProfileImage(1L))
+                .thenReturn(Optional.of(new StoredImageDTO(HASH, "image/png", 3, LocalDateTime.of(2024, 1, 1, 12, 0))));
+    }
+
+    @Test
+    void getProfileImage_versionedUrl_isImmutable() {
+        var resp = controller.getProfileImage(1L, "ba7816bf8f01", webRequest(), response);
+
+        assertEquals(200, resp.getStatusCode().value());
+        assertEquals("\"" + HASH + "\"", resp.getHeaders().getETag());
+        assertEquals("image/png", resp.getHeaders().getContentType().toString());
+        assertEquals(3, resp.getHeaders().getContentLength());
+        assertTrue(resp.getHeaders().getCacheControl().contains("immutable"));
+        assertNotNull(resp.getBody());
+    }
+
+    @Test
+    void getProfileImage_staleOrMissingVersion_revalidates() {
+        var resp = controller.getProfileImage(1L, "000000000000", webRequest(), response);
+        assertTrue(resp.getHeaders().getCacheControl().contains("no-cache"));
+
+        var bare = controller.getProfileImage(1L, null, webRequest(), response);
+        assertTrue(bare.getHeaders().getCacheControl().contains("no-cache"));
+    }
+
+    @Test
+    void getProfileImage_matchingEtag_returnsNotModifiedWithoutReadingBytes() {
+        request.addHeader("If-None-Match", "\"" + HASH + "\"");
+
+        var resp = controller.getProfileImage(1L, null, webRequest(), response);
+
+        assertEquals(304, resp.getStatusCode().value());
+        assertNull(resp.getBody());
+        verify(imageStore, never()).writeTo(any(), any());
+    }
+
+    @Test
+    void getProfileImage_noImage_returnsNotFound() {
+        when(imageStore.findProfileImage(2L)).thenReturn(Optional.empty());
+
+        var resp = controller.getProfileImage(2L, null, webRequest(), response);
+
+        assertEquals(404, resp.getStatusCode().value());
+    }
+
+    @Test
+    void getProfileImage_blobDeletedBeforeStreaming_sendsUncachedNotFound() throws Exception {
+        when(imageStore.writeTo(eq(HASH), any())).thenReturn(false);
+        var resp = controller.getProfileImage(1L, "ba7816bf8f01", webRequest(), response);
+        // What the MVC layer does with the entity headers before streaming the body
+        response.setHeader("Cache-Control", resp.getHeaders().getCacheControl());
+        response.setContentLength(3);
+
+        resp.getBody().writeTo(response.getOutputStream());
+
+        assertEquals(404, response.getStatus());
+        assertEquals("no-store", response.getHeader("Cache-Control"));
+        assertNull(response.getHeader("Content-Length"));
+    }
+
+    @Test
+    void getProfileImage_streamsBlob() throws Exception {
+        when(imageStore.writeTo(eq(HASH), any())).thenReturn(true);
+        var resp = controller.getProfileImage(1L, "ba7816bf8f01", webRequest(), response);
+
+        resp.getBody().writeTo(response.getOutputStream());
+
+        assertEquals(200, response.getStatus());
+        verify(imageStore).writeTo(eq(HASH), any());
+    }
+
+    private ServletWebRequest webRequest() {
+        return new ServletWebRequest(request, response);
+    }
+}
@@ -4,7 +4,6 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
-import java.sql.Blob;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -16,6 +15,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import es.wrapitup.wrapitup_planner.dto.UserMapper;
@@ -23,7 +24,10 @@ import es.wrapitup.wrapitup_planner.dto.UserModelDTO;
 import es.wrapitup.wrapitup_planner.model.UserModel;
 import es.wrapitup.wrapitup_planner.model.UserStatus;
 import es.wrapitup.wrapitup_planner.repository.UserRepository;
+import es.wrapitup.wrapitup_planner.service.ImageStore;
+import es.wrapitup.wrapitup_planner.service.UserAccessChangedEvent;
 import es.wrapitup.wrapitup_planner.service.UserService;
+import es.wrapitup.wrapitup_planner.service.UserUpdatedEvent;
 
 @Tag("unit")
 public class UserServiceUnitTest {
@@ -31,12 +35,18 @@ public class UserServiceUnitTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ImageStore imageStore;
+
     @Mock
     private UserMapper userMapper;
 
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserService userService;
 
@@ -205,6 +215,7 @@ public class UserServiceUnitTest {
         assertEquals("New Name", result.getDisplayName());
         assertEquals("new@example.com", result.getEmail());
         assertEquals("/path/to/image.jpg", result.getImage());
+        verify(eventPublisher).publishEvent(new UserUpdatedEvent("testuser"));
     }
 
     @Test
@@ -281,60 +292,31 @@ public class UserServiceUnitTest {
     }
 
     @Test
-    void updateUserWithBlobUpdatesProfilePic() throws Exception {
+    void updateProfileImageStoresImageAndSetsVersionedUrl() throws Exception {
         UserModel existingUser = new UserModel();
         existingUser.setId(1L);
         existingUser.setUsername("testuser");
 
-        Blob mockBlob = mock(Blob.class);
-
-        UserModelDTO updateDTO = new UserModelDTO();
-        updateDTO.setEmail("new@example.com");
+        MockMultipartFile image = new MockMultipartFile("image", "a.png", "image/png", "png".getBytes());
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(existingUser));
+        when(imageStore.assignProfileImage(1L, image)).thenReturn("/api/v1/users/profile-image/1?v=abc");
         when(userRepository.save(any(UserModel.class))).thenReturn(existingUser);
         when(userMapper.toDto(any(UserModel.class))).thenReturn(new UserModelDTO());
 
-        UserModelDTO result = userService.updateUserWithBlob(1L, updateDTO, mockBlob);
+        UserModelDTO result = userService.updateProfileImage(1L, image);
 
         assertNotNull(result);
-        verify(userRepository).save(argThat(user -> user.getProfilePic() == mockBlob));
-    }
-
-    @Test
-    void getProfileImageReturnsBlob() throws Exception {
-        Blob mockBlob = mock(Blob.class);
-        UserModel user = new UserModel();
-        user.setId(1L);
-        user.setProfilePic(mockBlob);
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-
-        Blob result = userService.getProfileImage(1L);
-
-        assertEquals(mockBlob, result);
+        assertEquals("/api/v1/users/profile-image/1?v=abc", existingUser.getImage());
+        verify(eventPublisher).publishEvent(new UserUpdatedEvent("testuser"));
     }
 
     @Test
-    void getProfileImageReturnsNullWhenUserNotFound() {
+    void updateProfileImageReturnsNullWhenUserNotFound() throws Exception {
         when(userRepository.findById(99L)).thenReturn(Optional.empty());
 
-        Blob result = userService.getProfileImage(99L);
-
-        assertNull(result);
-    }
-
-    @Test
-    void getProfileImageReturnsNullWhenNoPicture() {
-        UserModel user = new UserModel();
-        user.setId(1L);
-        user.setProfilePic(null);
-
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-
-        Blob result = userService.getProfileImage(1L);
-
-        assertNull(result);
+        assertNull(userService.updateProfileImage(99L, new MockMultipartFile("image", new byte[] { 1 })));
+        verifyNoInteractions(imageStore);
     }
 
     // Ban/Unban tests
@@ -359,6 +341,7 @@ public class UserServiceUnitTest {
         assertNotNull(result);
         assertEquals(UserStatus.BANNED, result.getStatus());
         verify(userRepository).save(argThat(u -> u.getStatus() == UserStatus.BANNED));
+        verify(eventPublisher).publishEvent(new UserAccessChangedEvent("testuser"));
     }
 
     @Test
@@ -369,6 +352,7 @@ public class UserServiceUnitTest {
 
         assertNull(result);
         verify(userRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -2,7 +2,8 @@ import { Component, OnInit } from '@angular/core';
 import { Router } from '@angular/router';
 import { NoteService } from '../../services/note.service';
 import { UserService } from '../../services/user.service';
-import { NoteDTO, NoteCategory } from '../../dtos/note.dto';
+import { NoteCategory } from '../../dtos/note.dto';
+import { NoteSummaryDTO } from '../../dtos/note-summary.dto';
 import { Page } from '../../dtos/page.dto';
 import { UserModelDTO } from '../../dtos/user.dto';
 
@@ -13,7 +14,7 @@ import { UserModelDTO } from '../../dtos/user.dto';
 })
 export class MyNotesComponent implements OnInit {
   
-  filteredNotes: NoteDTO[] = [];
+  filteredNotes: NoteSummaryDTO[] = [];
   searchQuery: string = '';
   selectedCategory: NoteCategory | 'SHARED_WITH_ME' | null = null;
   
@@ -51,7 +52,7 @@ export class MyNotesComponent implements OnInit {
       this.selectedCategory || undefined,
       this.searchQuery || undefined
     ).subscribe({
-      next: (response: Page<NoteDTO>) => {
+      next: (response: Page<NoteSummaryDTO>) => {
         if (this.currentPage === 0) {
           this.filteredNotes = response.content || [];
         } else {
@@ -115,7 +116,7 @@ export class MyNotesComponent implements OnInit {
       this.pageSize,
       this.searchQuery || undefined
     ).subscribe({
-      next: (response: Page<NoteDTO>) => {
+      next: (response: Page<NoteSummaryDTO>) => {
         if (this.currentPage === 0) {
           this.filteredNotes = response.content || [];
         } else {
@@ -150,7 +151,7 @@ export class MyNotesComponent implements OnInit {
     if (confirm('Are you sure you want to delete this note?')) {
       this.noteService.deleteNote(noteId).subscribe({
         next: () => {
-          this.filteredNotes = this.filteredNotes.filter((note: NoteDTO) => note.id !== noteId);
+          this.filteredNotes = this.filteredNotes.filter((note: NoteSummaryDTO) => note.id !== noteId);
         },
         error: (err: any) => {
           console.error('Error deleting note:', err);
@@ -10,6 +10,10 @@ export interface CalendarEventDTO {
   allDay: boolean;
   color: EventColor;
   colorHex?: string;
+  // RRULE subset, e.g. 'FREQ=WEEKLY;BYDAY=MO,WE;COUNT=10'
+  recurrenceRule?: string;
+  // Set on each occurrence of a recurring event; identifies it for updateOccurrence / cancelOccurrence
+  occurrenceStart?: string;
   createdAt?: string;
   updatedAt?: string;
 }
@@ -0,0 +1,7 @@
+import { CalendarMonthDTO } from './calendar-month.dto';
+
+export interface CalendarRangeDTO {
+  startDate: string;
+  endDate: string;
+  months: CalendarMonthDTO[];
+}
@@ -0,0 +1,12 @@
+import { NoteCategory } from './note.dto';
+
+export interface NoteSummaryDTO {
+  id?: number;
+  title?: string;
+  category?: NoteCategory;
+  visibility?: 'PUBLIC' | 'PRIVATE';
+  lastModified?: string;
+  userId?: number;
+  commentCount?: number;
+  sharedWithCount?: number;
+}
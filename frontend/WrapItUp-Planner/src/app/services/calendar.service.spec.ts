@@ -61,6 +61,22 @@ describe('CalendarService', () => {
     req.flush(mockMonth);
   });
 
+  it('getRangeView should GET /months with start and count', () => {
+    service.getRangeView('2026-01', 6).subscribe();
+    const req = httpMock.expectOne(r => r.url === `${BASE_URL}/months`);
+    expect(req.request.method).toBe('GET');
+    expect(req.request.params.get('start')).toBe('2026-01');
+    expect(req.request.params.get('count')).toBe('6');
+    req.flush({ startDate: '2026-01-01', endDate: '2026-06-30', months: [] });
+  });
+
+  it('getYearView should GET /year/:year', () => {
+    service.getYearView(2026).subscribe();
+    const req = httpMock.expectOne(`${BASE_URL}/year/2026`);
+    expect(req.request.method).toBe('GET');
+    req.flush({ startDate: '2026-01-01', endDate: '2026-12-31', months: [] });
+  });
+
   it('getDayView should GET /day/:year/:month/:day', () => {
     service.getDayView(2026, 3, 1).subscribe();
     const req = httpMock.expectOne(`${BASE_URL}/day/2026/3/1`);
@@ -91,6 +107,23 @@ describe('CalendarService', () => {
     req.flush(null);
   });
 
+  it('updateOccurrence should PUT to events/:id/occurrence with the occurrence start', () => {
+    service.updateOccurrence(1, '2026-03-04T09:00:00', { title: 'Retro' }).subscribe();
+    const req = httpMock.expectOne(r => r.url === `${EVENTS_URL}/1/occurrence`);
+    expect(req.request.method).toBe('PUT');
+    expect(req.request.params.get('start')).toBe('2026-03-04T09:00:00');
+    expect(req.request.body).toEqual({ title: 'Retro' });
+    req.flush(mockEvent);
+  });
+
+  it('cancelOccurrence should DELETE events/:id/occurrence with the occurrence start', () => {
+    service.cancelOccurrence(1, '2026-03-04T09:00:00').subscribe();
+    const req = httpMock.expectOne(r => r.url === `${EVENTS_URL}/1/occurrence`);
+    expect(req.request.method).toBe('DELETE');
+    expect(req.request.params.get('start')).toBe('2026-03-04T09:00:00');
+    req.flush(null);
+  });
+
   it('createTask should POST to tasks endpoint', () => {
     const newTask: CalendarTaskDTO = { userId: 1, title: 'New Task', taskDate: '2026-03-01', completed: false };
     service.createTask(newTask).subscribe();
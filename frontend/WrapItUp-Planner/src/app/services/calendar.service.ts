@@ -5,6 +5,7 @@ import { CalendarEventDTO } from '../dtos/calendar-event.dto';
 import { CalendarTaskDTO } from '../dtos/calendar-task.dto';
 import { CalendarDayDTO } from '../dtos/calendar-day.dto';
 import { CalendarMonthDTO } from '../dtos/calendar-month.dto';
+import { CalendarRangeDTO } from '../dtos/calendar-range.dto';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -22,6 +23,18 @@ export class CalendarService {
     return this.http.get<CalendarMonthDTO>(`${this.apiUrl}/month/${year}/${month}`, { withCredentials: true });
   }
 
+  // start is 'YYYY-MM'; the backend returns up to 12 consecutive months in one response
+  getRangeView(start: string, count: number): Observable<CalendarRangeDTO> {
+    return this.http.get<CalendarRangeDTO>(`${this.apiUrl}/months`, {
+      params: { start, count: String(count) },
+      withCredentials: true
+    });
+  }
+
+  getYearView(year: number): Observable<CalendarRangeDTO> {
+    return this.http.get<CalendarRangeDTO>(`${this.apiUrl}/year/${year}`, { withCredentials: true });
+  }
+
   getDayView(year: number, month: number, day: number): Observable<CalendarDayDTO> {
     return this.http.get<CalendarDayDTO>(`${this.apiUrl}/day/${year}/${month}/${day}`, { withCredentials: true });
   }
@@ -45,6 +58,21 @@ export class CalendarService {
     return this.http.delete<void>(`${this.eventsUrl}/${id}`, { withCredentials: true });
   }
 
+  // Only the occurrence starting at occurrenceStart changes; the rest of the series is kept
+  updateOccurrence(id: number, occurrenceStart: string, event: Partial<CalendarEventDTO>): Observable<CalendarEventDTO> {
+    return this.http.put<CalendarEventDTO>(`${this.eventsUrl}/${id}/occurrence`, event, {
+      params: { start: occurrenceStart },
+      withCredentials: true
+    });
+  }
+
+  cancelOccurrence(id: number, occurrenceStart: string): Observable<void> {
+    return this.http.delete<void>(`${this.eventsUrl}/${id}/occurrence`, {
+      params: { start: occurrenceStart },
+      withCredentials: true
+    });
+  }
+
   getEvents(startDate?: string, endDate?: string): Observable<CalendarEventDTO[]> {
     let params = new HttpParams();
     if (startDate) params = params.set('startDate', startDate);
@@ -2,6 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { NoteDTO } from '../dtos/note.dto';
+import { NoteSummaryDTO } from '../dtos/note-summary.dto';
 import { Page } from '../dtos/page.dto';
 import { QuizResultDTO } from '../dtos/quiz-result.dto';
 import { environment } from '../../environments/environment';
@@ -47,7 +48,7 @@ export class NoteService {
     return this.http.delete<void>(`${this.apiUrl}/${id}`, { withCredentials: true });
   }
 
-  getRecentNotes(page: number = 0, size: number = 10, category?: string, search?: string): Observable<Page<NoteDTO>> {
+  getRecentNotes(page: number = 0, size: number = 10, category?: string, search?: string): Observable<Page<NoteSummaryDTO>> {
     let params = `page=${page}&size=${size}`;
     if (category) {
       params += `&category=${category}`;
@@ -55,14 +56,14 @@ export class NoteService {
     if (search) {
       params += `&search=${encodeURIComponent(search)}`;
     }
-    return this.http.get<Page<NoteDTO>>(`${this.apiUrl}?${params}`, { withCredentials: true });
+    return this.http.get<Page<NoteSummaryDTO>>(`${this.apiUrl}?${params}`, { withCredentials: true });
   }
   
-  getSharedWithMe(page: number = 0, size: number = 10, search?: string): Observable<Page<NoteDTO>> {
+  getSharedWithMe(page: number = 0, size: number = 10, search?: string): Observable<Page<NoteSummaryDTO>> {
     let params = `page=${page}&size=${size}`;
     if (search) {
       params += `&search=${encodeURIComponent(search)}`;
     }
-    return this.http.get<Page<NoteDTO>>(`${this.apiUrl}/shared?${params}`, { withCredentials: true });
+    return this.http.get<Page<NoteSummaryDTO>>(`${this.apiUrl}/shared?${params}`, { withCredentials: true });
   }
 }